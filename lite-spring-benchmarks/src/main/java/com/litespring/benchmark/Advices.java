@@ -0,0 +1,75 @@
+package com.litespring.benchmark;
+
+import com.litespring.aop.AfterReturningAdvice;
+import com.litespring.aop.DefaultPointcutAdvisor;
+import com.litespring.aop.MethodBeforeAdvice;
+import com.litespring.aop.MethodInterceptor;
+import com.litespring.aop.NameMatchPointcut;
+import com.litespring.aop.ProxyFactory;
+
+/**
+ * 基准测试使用的通知和代理配置
+ * 通知本身不做任何事情，测出的是通知链的调度开销
+ * 
+ * @author lite-spring
+ */
+public final class Advices {
+    
+    /**
+     * 通知类型
+     */
+    public enum Type {
+        BEFORE, AFTER_RETURNING, AROUND, BEFORE_AND_AFTER
+    }
+    
+    static final MethodBeforeAdvice BEFORE = (method, args, target) -> { };
+    
+    static final AfterReturningAdvice AFTER_RETURNING = (returnValue, method, args, target) -> { };
+    
+    static final MethodInterceptor AROUND = invocation -> invocation.proceed();
+    
+    private Advices() {
+    }
+    
+    /**
+     * 创建匹配add方法的通知器
+     */
+    static DefaultPointcutAdvisor advisor(Type type, int index) {
+        NameMatchPointcut pointcut = new NameMatchPointcut();
+        pointcut.addMethodName("add");
+        switch (type) {
+            case BEFORE:
+                return new DefaultPointcutAdvisor(pointcut, BEFORE);
+            case AFTER_RETURNING:
+                return new DefaultPointcutAdvisor(pointcut, AFTER_RETURNING);
+            case AROUND:
+                return new DefaultPointcutAdvisor(pointcut, AROUND);
+            default:
+                return new DefaultPointcutAdvisor(pointcut, index % 2 == 0 ? BEFORE : AFTER_RETURNING);
+        }
+    }
+    
+    /**
+     * 创建不匹配任何方法的通知器
+     */
+    static DefaultPointcutAdvisor nonMatchingAdvisor() {
+        NameMatchPointcut pointcut = new NameMatchPointcut();
+        pointcut.addMethodName("subtract");
+        return new DefaultPointcutAdvisor(pointcut, AROUND);
+    }
+    
+    /**
+     * 创建代理
+     * 
+     * @param subclass true使用子类代理，false使用JDK动态代理
+     */
+    static Calculator proxy(boolean subclass, DefaultPointcutAdvisor... advisors) {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new SimpleCalculator());
+        proxyFactory.setProxyTargetClass(subclass);
+        for (DefaultPointcutAdvisor advisor : advisors) {
+            proxyFactory.addAdvisor(advisor);
+        }
+        return (Calculator) proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,54 @@
+package com.litespring.benchmark;
+
+import com.litespring.aop.DefaultPointcutAdvisor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 有通知的代理调用：1/5/10个前置、返回后、环绕通知
+ * 
+ * 只有前置和返回后通知（BEFORE、AFTER_RETURNING、BEFORE_AND_AFTER）的链不创建MethodInvocation：
+ * -prof gc的gc.alloc.rate.norm在子类代理下为0，JDK代理下只有java.lang.reflect.Proxy创建的参数数组；
+ * 有环绕通知（AROUND）时每次调用还要创建一个MethodInvocation
+ * 
+ * 运行：java -jar target/benchmarks.jar AdvisedInvocationBenchmark -prof gc
+ * 
+ * @author lite-spring
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdvisedInvocationBenchmark {
+    
+    @Param({"1", "5", "10"})
+    private int advisorCount;
+    
+    @Param({"BEFORE", "AFTER_RETURNING", "AROUND", "BEFORE_AND_AFTER"})
+    private Advices.Type adviceType;
+    
+    @Param({"JDK", "SUBCLASS"})
+    private String proxyType;
+    
+    private Calculator proxy;
+    
+    private int a = 17;
+    private int b = 25;
+    
+    @Setup
+    public void setUp() {
+        DefaultPointcutAdvisor[] advisors = new DefaultPointcutAdvisor[advisorCount];
+        for (int i = 0; i < advisorCount; i++) {
+            advisors[i] = Advices.advisor(adviceType, i);
+        }
+        proxy = Advices.proxy("SUBCLASS".equals(proxyType), advisors);
+    }
+    
+    @Benchmark
+    public int advisedCall() {
+        return proxy.add(a, b);
+    }
+}
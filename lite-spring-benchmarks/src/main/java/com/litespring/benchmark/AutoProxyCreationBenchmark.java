@@ -0,0 +1,85 @@
+package com.litespring.benchmark;
+
+import com.litespring.aop.Advice;
+import com.litespring.aop.DefaultAdvisorAutoProxyCreator;
+import com.litespring.aop.NameMatchPointcut;
+import com.litespring.aop.Pointcut;
+import com.litespring.aop.PointcutAdvisor;
+import com.litespring.core.BeanDefinition;
+import com.litespring.core.DefaultBeanFactory_v4;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DefaultAdvisorAutoProxyCreator创建代理的耗时
+ * 
+ * - prototypeBean：从容器获取原型Bean，Advisor列表和按类匹配结果已缓存
+ * - coldCreator：每次使用新的自动代理创建器，包括扫描容器和匹配切点
+ * 
+ * 运行：java -jar target/benchmarks.jar AutoProxyCreationBenchmark -prof gc
+ * 
+ * @author lite-spring
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AutoProxyCreationBenchmark {
+    
+    @Param({"1", "10", "50"})
+    private int advisorCount;
+    
+    private DefaultBeanFactory_v4 factory;
+    
+    /**
+     * 匹配add方法的通知器（通过Bean定义注册，需要无参构造器）
+     */
+    public static class AddMethodAdvisor implements PointcutAdvisor {
+        
+        private final NameMatchPointcut pointcut = new NameMatchPointcut();
+        
+        public AddMethodAdvisor() {
+            pointcut.addMethodName("add");
+        }
+        
+        @Override
+        public Pointcut getPointcut() {
+            return pointcut;
+        }
+        
+        @Override
+        public Advice getAdvice() {
+            return Advices.AROUND;
+        }
+    }
+    
+    @Setup
+    public void setUp() {
+        factory = new DefaultBeanFactory_v4();
+        BeanDefinition calculator = new BeanDefinition(SimpleCalculator.class);
+        calculator.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        factory.registerBeanDefinition("calculator", calculator);
+        for (int i = 0; i < advisorCount; i++) {
+            factory.registerBeanDefinition("advisor" + i, new BeanDefinition(AddMethodAdvisor.class));
+        }
+        
+        DefaultAdvisorAutoProxyCreator autoProxyCreator = new DefaultAdvisorAutoProxyCreator();
+        autoProxyCreator.setBeanFactory(factory);
+        factory.addBeanPostProcessor(autoProxyCreator);
+    }
+    
+    @Benchmark
+    public Object prototypeBean() {
+        return factory.getBean("calculator");
+    }
+    
+    @Benchmark
+    public Object coldCreator() {
+        DefaultAdvisorAutoProxyCreator autoProxyCreator = new DefaultAdvisorAutoProxyCreator();
+        autoProxyCreator.setBeanFactory(factory);
+        return autoProxyCreator.postProcessAfterInitialization(new SimpleCalculator(), "calculator");
+    }
+}
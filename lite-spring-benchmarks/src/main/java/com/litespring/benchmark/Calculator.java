@@ -0,0 +1,11 @@
+package com.litespring.benchmark;
+
+/**
+ * 基准测试使用的目标接口
+ * 
+ * @author lite-spring
+ */
+public interface Calculator {
+    
+    int add(int a, int b);
+}
@@ -0,0 +1,105 @@
+package com.litespring.benchmark;
+
+import com.litespring.aop.AdvisedSupport;
+import com.litespring.aop.DefaultPointcutAdvisor;
+import com.litespring.aop.ExpressionPointcut;
+import com.litespring.aop.NameMatchPointcut;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 切点匹配的规模开销
+ * 
+ * 用有nameCount个方法名的NameMatchPointcut匹配String类的所有方法，
+ * 并与按方法缓存的ExpressionPointcut、未缓存/已缓存的通知链查找比较
+ * 
+ * 运行：java -jar target/benchmarks.jar PointcutMatchingBenchmark
+ * 
+ * @author lite-spring
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointcutMatchingBenchmark {
+    
+    @Param({"10", "100", "1000"})
+    private int nameCount;
+    
+    private Method[] methods;
+    private NameMatchPointcut nameMatchPointcut;
+    private ExpressionPointcut expressionPointcut;
+    private AdvisedSupport advised;
+    
+    @Setup
+    public void setUp() {
+        methods = String.class.getMethods();
+        
+        nameMatchPointcut = new NameMatchPointcut();
+        for (int i = 0; i < nameCount; i++) {
+            nameMatchPointcut.addMethodName("method" + i);
+        }
+        nameMatchPointcut.addMethodName("indexOf");
+        
+        expressionPointcut = new ExpressionPointcut("execution(* java.lang.String.index*(..))");
+        
+        // nameCount个通知器，每个匹配一个方法名
+        advised = new AdvisedSupport();
+        advised.setTargetClass(String.class);
+        for (int i = 0; i < Math.min(nameCount, 100); i++) {
+            NameMatchPointcut pointcut = new NameMatchPointcut();
+            pointcut.addMethodName(i == 0 ? "indexOf" : "method" + i);
+            advised.addAdvisor(new DefaultPointcutAdvisor(pointcut, Advices.AROUND));
+        }
+    }
+    
+    @Benchmark
+    public int nameMatchPointcut() {
+        int matched = 0;
+        for (Method method : methods) {
+            if (nameMatchPointcut.matches(method, String.class)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+    
+    @Benchmark
+    public int expressionPointcutCached() {
+        int matched = 0;
+        for (Method method : methods) {
+            if (expressionPointcut.matches(method, String.class)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+    
+    /**
+     * 每次重新匹配所有通知器（最多100个）
+     */
+    @Benchmark
+    public int interceptorChainUncached() {
+        int size = 0;
+        for (Method method : methods) {
+            size += advised.getInterceptors(method).size();
+        }
+        return size;
+    }
+    
+    /**
+     * 按方法缓存的通知链
+     */
+    @Benchmark
+    public int interceptorChainCached() {
+        int size = 0;
+        for (Method method : methods) {
+            size += advised.getInterceptorChain(method).length;
+        }
+        return size;
+    }
+}
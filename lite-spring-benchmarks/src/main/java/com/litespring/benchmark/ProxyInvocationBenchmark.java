@@ -0,0 +1,54 @@
+package com.litespring.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 代理的基本开销：直接调用 vs 没有匹配通知的代理
+ * 
+ * 没有匹配通知时JDK代理只剩InvocationHandler分派和缓存的通知链查找，
+ * 子类代理直接调用目标方法；配合-prof gc可以看到子类代理每次调用不分配内存，
+ * JDK代理只分配java.lang.reflect.Proxy传入的参数数组
+ * 
+ * 运行：java -jar target/benchmarks.jar ProxyInvocationBenchmark -prof gc
+ * 
+ * @author lite-spring
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProxyInvocationBenchmark {
+    
+    private Calculator direct;
+    private Calculator jdkProxy;
+    private Calculator subclassProxy;
+    
+    private int a = 17;
+    private int b = 25;
+    
+    @Setup
+    public void setUp() {
+        direct = new SimpleCalculator();
+        jdkProxy = Advices.proxy(false, Advices.nonMatchingAdvisor());
+        subclassProxy = Advices.proxy(true, Advices.nonMatchingAdvisor());
+    }
+    
+    @Benchmark
+    public int directCall() {
+        return direct.add(a, b);
+    }
+    
+    @Benchmark
+    public int jdkProxyNoMatchingAdvice() {
+        return jdkProxy.add(a, b);
+    }
+    
+    @Benchmark
+    public int subclassProxyNoMatchingAdvice() {
+        return subclassProxy.add(a, b);
+    }
+}
@@ -0,0 +1,14 @@
+package com.litespring.benchmark;
+
+/**
+ * 基准测试使用的目标类（方法足够简单，测出的基本就是代理本身的开销）
+ * 
+ * @author lite-spring
+ */
+public class SimpleCalculator implements Calculator {
+    
+    @Override
+    public int add(int a, int b) {
+        return a + b;
+    }
+}
@@ -0,0 +1,29 @@
+package com.litespring.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 异步执行注解
+ * 被标注的方法在容器管理的执行器中执行，调用方立即返回
+ * 
+ * 方法的返回类型：
+ * - void：调用方不等待结果，方法抛出的异常只记录日志
+ * - Future/CompletableFuture：返回一个在方法执行完成后完成的CompletableFuture
+ * 
+ * 标注在类上时，类中返回void或Future的方法都异步执行，其他方法仍然同步执行
+ * 
+ * 需要容器中注册AsyncAnnotationAdvisor和DefaultAdvisorAutoProxyCreator
+ * 
+ * @author lite-spring
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Async {
+    
+    /**
+     * 执行器Bean的名称
+     * 为空时使用名为taskExecutor的Bean、唯一的Executor类型的Bean或默认执行器
+     */
+    String value() default "";
+}
@@ -0,0 +1,37 @@
+package com.litespring.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 微批处理注解
+ * 把并发的单个调用（如findById）合并成一次批量调用（如findByIds），再把结果分发给各个调用方
+ * 
+ * 被标注的方法只能有一个参数（键）。批量方法与它在同一个类中，
+ * 唯一的参数是Collection（或List），返回Map&lt;键, 结果&gt;，或者与参数顺序一致的List
+ * 
+ * 批次中第一个调用最多等待maxDelay毫秒收集其他调用，攒够maxBatchSize个时立即执行
+ * 
+ * 需要容器中注册BatchedAnnotationAdvisor和DefaultAdvisorAutoProxyCreator
+ * 
+ * @author lite-spring
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Batched {
+    
+    /**
+     * 批量方法的名称
+     */
+    String value();
+    
+    /**
+     * 每批最多的键数
+     */
+    int maxBatchSize() default 100;
+    
+    /**
+     * 收集窗口（毫秒）
+     */
+    long maxDelay() default 5;
+}
@@ -0,0 +1,45 @@
+package com.litespring.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 舱壁注解
+ * 限制同时执行被标注方法的线程数，超过上限的调用最多等待maxWait毫秒，仍然拿不到许可则立即失败
+ * （抛出BulkheadFullException），避免下游变慢时线程全部堆积在少数方法里
+ * 
+ * 标注在类上时对类中所有方法生效，每个方法各自计数
+ * 
+ * 需要容器中注册BulkheadAnnotationAdvisor和DefaultAdvisorAutoProxyCreator
+ * 
+ * @author lite-spring
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+    
+    /**
+     * 最大并发数（自适应模式下为并发上限的最大值）
+     */
+    int maxConcurrent() default 10;
+    
+    /**
+     * 拿不到许可时的最长等待时间（毫秒），0表示不等待
+     */
+    long maxWait() default 0;
+    
+    /**
+     * 是否根据观测到的延迟自动调整并发上限（AIMD）
+     */
+    boolean adaptive() default false;
+    
+    /**
+     * 自适应模式下并发上限的最小值
+     */
+    int minConcurrent() default 1;
+    
+    /**
+     * 自适应模式下的延迟阈值（毫秒）：调用耗时超过阈值时成倍降低上限，否则逐个提高
+     */
+    long latencyThreshold() default 1000;
+}
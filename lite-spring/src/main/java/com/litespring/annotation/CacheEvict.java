@@ -0,0 +1,43 @@
+package com.litespring.annotation;
+
+import com.litespring.aop.interceptor.KeyGenerator;
+import com.litespring.aop.interceptor.SimpleKeyGenerator;
+
+import java.lang.annotation.*;
+
+/**
+ * 从缓存中移除条目
+ * 默认在方法正常返回后按参数键移除；方法抛出异常时不移除
+ * 
+ * @author lite-spring
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheEvict {
+    
+    /**
+     * 缓存名称，不能为空
+     */
+    String[] value();
+    
+    /**
+     * 参与计算键的参数下标，为空表示全部参数
+     */
+    int[] keyArgs() default {};
+    
+    /**
+     * 键生成器，需要有无参构造方法
+     */
+    Class<? extends KeyGenerator> keyGenerator() default SimpleKeyGenerator.class;
+    
+    /**
+     * 是否清空整个缓存（此时不计算键）
+     */
+    boolean allEntries() default false;
+    
+    /**
+     * 是否在方法执行前移除，为true时方法抛出异常也已经移除
+     */
+    boolean beforeInvocation() default false;
+}
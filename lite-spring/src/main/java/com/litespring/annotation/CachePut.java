@@ -0,0 +1,35 @@
+package com.litespring.annotation;
+
+import com.litespring.aop.interceptor.KeyGenerator;
+import com.litespring.aop.interceptor.SimpleKeyGenerator;
+
+import java.lang.annotation.*;
+
+/**
+ * 总是执行方法，并用返回值更新缓存
+ * 用于写操作：更新数据后把新值放入&#64;Cacheable方法使用的缓存，键的计算方式需要与之一致
+ * 
+ * 方法抛出异常时不更新缓存
+ * 
+ * @author lite-spring
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CachePut {
+    
+    /**
+     * 缓存名称，不能为空
+     */
+    String[] value();
+    
+    /**
+     * 参与计算键的参数下标，为空表示全部参数
+     */
+    int[] keyArgs() default {};
+    
+    /**
+     * 键生成器，需要有无参构造方法
+     */
+    Class<? extends KeyGenerator> keyGenerator() default SimpleKeyGenerator.class;
+}
@@ -0,0 +1,44 @@
+package com.litespring.annotation;
+
+import com.litespring.aop.interceptor.KeyGenerator;
+import com.litespring.aop.interceptor.SimpleKeyGenerator;
+
+import java.lang.annotation.*;
+
+/**
+ * 缓存方法的返回值
+ * 调用前按参数键依次查找各个缓存，命中时直接返回缓存的值（包括null），不执行方法；
+ * 都未命中时执行方法，把返回值放入全部缓存。方法抛出异常时不缓存
+ * 
+ * 默认键生成器对单个非数组参数直接用参数本身作为键，不分配内存
+ * 
+ * 只有一个缓存时，使用LocalCacheManager的缓存同一个键的并发未命中只执行一次方法；
+ * 缓存配置了提前刷新时，值过了TTL的一定比例后在后台重新执行方法，调用方继续得到旧值
+ * 
+ * 标注在类上时对类中所有方法生效，未指定缓存名称时每个方法使用名为"类名.方法名"的缓存
+ * 
+ * 需要容器中注册CacheAnnotationAdvisor和DefaultAdvisorAutoProxyCreator，
+ * 缓存来自容器中的CacheManager（没有时使用拦截器自己的LocalCacheManager）
+ * 
+ * @author lite-spring
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Cacheable {
+    
+    /**
+     * 缓存名称，默认为"类名.方法名"
+     */
+    String[] value() default {};
+    
+    /**
+     * 参与计算键的参数下标，为空表示全部参数
+     */
+    int[] keyArgs() default {};
+    
+    /**
+     * 键生成器，需要有无参构造方法
+     */
+    Class<? extends KeyGenerator> keyGenerator() default SimpleKeyGenerator.class;
+}
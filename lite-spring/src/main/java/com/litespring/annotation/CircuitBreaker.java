@@ -0,0 +1,74 @@
+package com.litespring.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 熔断注解
+ * 统计被标注方法最近的调用结果，失败率或慢调用率超过阈值时打开熔断器，
+ * 之后的调用直接失败（抛出CallNotPermittedException或执行降级方法），不再等待已经不可用的下游；
+ * 等待一段时间后放行少量试探调用，成功则恢复
+ * 
+ * 降级方法与原方法在同一个类中，返回类型相同，参数与原方法相同，
+ * 或者在最后多一个Throwable参数（接收失败原因）
+ * 
+ * 标注在类上时对类中所有方法生效，每个方法一个熔断器
+ * 
+ * 需要容器中注册CircuitBreakerAnnotationAdvisor和DefaultAdvisorAutoProxyCreator
+ * 
+ * @author lite-spring
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CircuitBreaker {
+    
+    /**
+     * 熔断器名称，默认为"类名.方法名"
+     */
+    String name() default "";
+    
+    /**
+     * 失败率阈值（百分比）
+     */
+    float failureRateThreshold() default 50;
+    
+    /**
+     * 慢调用率阈值（百分比）
+     */
+    float slowCallRateThreshold() default 100;
+    
+    /**
+     * 耗时达到多少毫秒算慢调用
+     */
+    long slowCallDuration() default 60000;
+    
+    /**
+     * 滑动窗口大小（最近多少次调用）
+     */
+    int slidingWindowSize() default 100;
+    
+    /**
+     * 至少多少次调用后才计算失败率
+     */
+    int minimumNumberOfCalls() default 10;
+    
+    /**
+     * 打开状态保持多少毫秒后进入半开状态
+     */
+    long waitDurationInOpenState() default 60000;
+    
+    /**
+     * 半开状态下放行的试探调用数
+     */
+    int permittedNumberOfCallsInHalfOpenState() default 10;
+    
+    /**
+     * 降级方法名，为空时直接抛出异常
+     */
+    String fallbackMethod() default "";
+    
+    /**
+     * 不计为失败的异常（既不算成功也不算失败，原样抛出）
+     */
+    Class<? extends Throwable>[] ignoreExceptions() default {};
+}
@@ -0,0 +1,33 @@
+package com.litespring.annotation;
+
+import com.litespring.aop.interceptor.KeyGenerator;
+import com.litespring.aop.interceptor.SimpleKeyGenerator;
+
+import java.lang.annotation.*;
+
+/**
+ * 请求合并注解（single-flight）
+ * 并发调用同一个方法且参数键相同时，只有第一个调用真正执行，
+ * 其余调用等待它完成并得到同一个结果（或同一个异常）
+ * 
+ * 与缓存不同，执行结束后不保留结果，下一次调用会重新执行
+ * 
+ * 需要容器中注册CoalesceAnnotationAdvisor和DefaultAdvisorAutoProxyCreator
+ * 
+ * @author lite-spring
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesce {
+    
+    /**
+     * 参与计算键的参数下标，为空表示全部参数
+     */
+    int[] keyArgs() default {};
+    
+    /**
+     * 键生成器，需要有无参构造方法
+     */
+    Class<? extends KeyGenerator> keyGenerator() default SimpleKeyGenerator.class;
+}
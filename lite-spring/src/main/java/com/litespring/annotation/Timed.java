@@ -0,0 +1,26 @@
+package com.litespring.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 计时注解
+ * 记录被标注方法每次调用的耗时（System.nanoTime）和异常次数，
+ * 耗时分布保存在固定大小的直方图中，可以随时获取p50/p99/max
+ * 
+ * 标注在类上时对类中所有方法生效，每个方法一个计时器
+ * 
+ * 需要容器中注册TimedAnnotationAdvisor和DefaultAdvisorAutoProxyCreator，
+ * 计时器注册到容器中的MetricsRegistry（没有时使用拦截器自己的注册表）
+ * 
+ * @author lite-spring
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Timed {
+    
+    /**
+     * 计时器名称，默认为"类名.方法名"
+     */
+    String value() default "";
+}
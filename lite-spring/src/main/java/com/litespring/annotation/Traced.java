@@ -0,0 +1,26 @@
+package com.litespring.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 跟踪注解
+ * 被标注方法的每次调用记录为一个跨度（Span），嵌套调用的跨度组成调用树，
+ * 最外层的调用是请求的根跨度，由采样器决定整个请求是否被记录
+ * 
+ * 标注在类上时对类中所有方法生效
+ * 
+ * 需要容器中注册TracedAnnotationAdvisor和DefaultAdvisorAutoProxyCreator；
+ * 不使用注解时也可以把TracingInterceptor和任意切点组合（例如按包名匹配所有Controller和DAO）
+ * 
+ * @author lite-spring
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Traced {
+    
+    /**
+     * 跨度名称，默认为"类名.方法名"
+     */
+    String value() default "";
+}
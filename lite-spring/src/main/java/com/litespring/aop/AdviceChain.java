@@ -0,0 +1,121 @@
+package com.litespring.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * 某个方法匹配到的通知链（不可变，按方法缓存）
+ * 
+ * 如果链中只有前置通知和返回后通知（静态通知），可以不创建MethodInvocation、不递归proceed()，
+ * 而是直接执行：
+ *   1. 按链中顺序执行所有前置通知
+ *   2. 调用目标方法
+ *   3. 按链中的逆序执行所有返回后通知
+ * 执行顺序与ReflectiveMethodInvocation逐个proceed()的结果一致，且每次调用不需要分配对象。
+ * 链中有MethodInterceptor或需要动态匹配的通知（{@link InterceptorAndDynamicMethodMatcher}）时，
+ * 仍然需要创建MethodInvocation
+ * 
+ * @author lite-spring
+ */
+public final class AdviceChain {
+    
+    /**
+     * 没有匹配任何通知的方法共享的空链
+     */
+    public static final AdviceChain EMPTY = new AdviceChain(new Object[0]);
+    
+    private final Object[] interceptors;
+    
+    /**
+     * 是否只包含前置通知和返回后通知
+     */
+    private final boolean staticAdvice;
+    
+    private final MethodBeforeAdvice[] beforeAdvices;
+    
+    /**
+     * 返回后通知（已经按执行顺序排列，即链中的逆序）
+     */
+    private final AfterReturningAdvice[] afterReturningAdvices;
+    
+    private AdviceChain(Object[] interceptors) {
+        this.interceptors = interceptors;
+        
+        int beforeCount = 0;
+        int afterCount = 0;
+        boolean onlyStatic = true;
+        for (Object interceptor : interceptors) {
+            if (interceptor instanceof MethodInterceptor
+                    || interceptor instanceof InterceptorAndDynamicMethodMatcher) {
+                onlyStatic = false;
+            } else if (interceptor instanceof MethodBeforeAdvice) {
+                beforeCount++;
+            } else if (interceptor instanceof AfterReturningAdvice) {
+                afterCount++;
+            }
+        }
+        
+        this.staticAdvice = onlyStatic;
+        if (onlyStatic) {
+            this.beforeAdvices = new MethodBeforeAdvice[beforeCount];
+            this.afterReturningAdvices = new AfterReturningAdvice[afterCount];
+            int b = 0;
+            int a = afterCount;
+            for (Object interceptor : interceptors) {
+                if (interceptor instanceof MethodBeforeAdvice) {
+                    this.beforeAdvices[b++] = (MethodBeforeAdvice) interceptor;
+                } else if (interceptor instanceof AfterReturningAdvice) {
+                    this.afterReturningAdvices[--a] = (AfterReturningAdvice) interceptor;
+                }
+            }
+        } else {
+            this.beforeAdvices = null;
+            this.afterReturningAdvices = null;
+        }
+    }
+    
+    /**
+     * 创建通知链
+     * 
+     * @param interceptors 按顺序排列的通知（数组被链持有，调用方之后不能修改）
+     */
+    public static AdviceChain of(Object[] interceptors) {
+        return interceptors.length == 0 ? EMPTY : new AdviceChain(interceptors);
+    }
+    
+    /**
+     * 获取链中的所有通知（共享数组，不能修改）
+     */
+    public Object[] getInterceptors() {
+        return interceptors;
+    }
+    
+    public boolean isEmpty() {
+        return interceptors.length == 0;
+    }
+    
+    /**
+     * 是否可以不创建MethodInvocation直接执行
+     */
+    public boolean isStatic() {
+        return staticAdvice;
+    }
+    
+    /**
+     * 执行所有前置通知（仅用于静态通知链）
+     */
+    public void invokeBefore(Method method, Object[] args, Object target) throws Throwable {
+        for (MethodBeforeAdvice advice : beforeAdvices) {
+            advice.before(method, args, target);
+        }
+    }
+    
+    /**
+     * 执行所有返回后通知（仅用于静态通知链）
+     */
+    public void invokeAfterReturning(Object returnValue, Method method, Object[] args, Object target)
+            throws Throwable {
+        for (AfterReturningAdvice advice : afterReturningAdvices) {
+            advice.afterReturning(returnValue, method, args, target);
+        }
+    }
+}
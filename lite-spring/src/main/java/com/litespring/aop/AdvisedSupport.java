@@ -1,27 +1,51 @@
 package com.litespring.aop;
 
+import com.litespring.aop.target.SingletonTargetSource;
+
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * AOP代理配置
  * 持有代理所需的所有信息
  * 
+ * 每个方法匹配到的通知链在第一次调用时计算并缓存（{@link AdviceChain}），
+ * 之后的调用不再执行切点匹配；通知器或目标类变化时缓存失效
+ * 
+ * 目标对象由{@link TargetSource}提供：setTarget等价于使用单例目标源，
+ * 也可以通过setTargetSource使用池化、线程本地等非静态目标源，此时代理在每次调用前后获取和归还目标对象
+ * 
  * @author lite-spring
  */
 public class AdvisedSupport {
     
-    private Object target;  // 目标对象
+    private TargetSource targetSource;  // 目标源
+    private Object target;  // 静态目标源的目标对象
     private Class<?> targetClass;  // 目标类
     private List<Advisor> advisors = new ArrayList<>();  // 通知器列表
-    private boolean proxyTargetClass = false;  // 是否强制CGLIB代理
+    private boolean proxyTargetClass = false;  // 是否强制代理目标类（使用子类代理）
+    
+    /**
+     * 方法 -> 通知链缓存（目标类和通知器相同的配置之间可以共享）
+     * 通知器变化时整个替换，读取方只使用读到的那一个实例
+     */
+    private volatile Map<Method, AdviceChain> methodCache = new ConcurrentHashMap<>(32);
+    
+    /**
+     * 目标对象的连接点调用器（随目标对象一起更换）
+     */
+    private JoinpointInvoker joinpointInvoker;
     
     /**
      * 添加通知器
      */
     public void addAdvisor(Advisor advisor) {
         this.advisors.add(advisor);
+        adviceChanged();
     }
     
     /**
@@ -29,17 +53,67 @@ public class AdvisedSupport {
      */
     public void addAdvisor(int pos, Advisor advisor) {
         this.advisors.add(pos, advisor);
+        adviceChanged();
     }
     
     /**
-     * 获取所有通知器
+     * 获取所有通知器（只读，修改请使用addAdvisor，以便拦截器链缓存失效）
      */
     public List<Advisor> getAdvisors() {
-        return this.advisors;
+        return Collections.unmodifiableList(this.advisors);
+    }
+    
+    /**
+     * 通知配置发生变化，清除拦截器链缓存
+     * 换用新的缓存而不是清空原缓存，因为原缓存可能与其他配置共享
+     */
+    protected void adviceChanged() {
+        this.methodCache = new ConcurrentHashMap<>(32);
+    }
+    
+    /**
+     * 与另一个配置共享通知链缓存
+     * 同一个类的多个代理（例如原型Bean）可以共用一份已计算好的通知链，不必各自重新匹配切点；
+     * 之后任何一方的通知配置变化都会让它换用独立的缓存
+     * 
+     * @param other 目标类和通知器都与当前配置相同的配置
+     * @throws IllegalArgumentException 如果目标类或通知器不同
+     */
+    public void shareAdviceChainCache(AdvisedSupport other) {
+        if (other.targetClass != this.targetClass || !other.advisors.equals(this.advisors)) {
+            throw new IllegalArgumentException("只有目标类和通知器都相同的配置才能共享通知链缓存");
+        }
+        this.methodCache = other.methodCache;
+    }
+    
+    /**
+     * 获取匹配指定方法的拦截器链（带缓存）
+     * 返回的数组在多次调用之间共享，调用方不能修改
+     * 
+     * @param method 被调用的方法
+     * @return 拦截器链，没有匹配的通知时返回空数组
+     */
+    public Object[] getInterceptorChain(Method method) {
+        return getAdviceChain(method).getInterceptors();
+    }
+    
+    /**
+     * 获取匹配指定方法的通知链（带缓存）
+     * 
+     * @param method 被调用的方法
+     * @return 通知链，没有匹配的通知时返回{@link AdviceChain#EMPTY}
+     */
+    public AdviceChain getAdviceChain(Method method) {
+        Map<Method, AdviceChain> cache = this.methodCache;
+        AdviceChain chain = cache.get(method);
+        if (chain == null) {
+            chain = cache.computeIfAbsent(method, m -> AdviceChain.of(getInterceptors(m).toArray()));
+        }
+        return chain;
     }
     
     /**
-     * 获取匹配指定方法的拦截器
+     * 获取匹配指定方法的拦截器（不使用缓存，每次重新匹配切点）
      */
     public List<Object> getInterceptors(Method method) {
         List<Object> interceptors = new ArrayList<>();
@@ -49,8 +123,14 @@ public class AdvisedSupport {
                 PointcutAdvisor pointcutAdvisor = (PointcutAdvisor) advisor;
                 
                 // 检查切点是否匹配
-                if (pointcutAdvisor.getPointcut().matches(method, this.targetClass)) {
-                    interceptors.add(pointcutAdvisor.getAdvice());
+                Pointcut pointcut = pointcutAdvisor.getPointcut();
+                if (pointcut.matchesClass(this.targetClass) && pointcut.matches(method, this.targetClass)) {
+                    // 需要动态匹配的通知连同切点一起放入链中，调用时再根据参数判断
+                    if (pointcut.isRuntime()) {
+                        interceptors.add(new InterceptorAndDynamicMethodMatcher(pointcutAdvisor.getAdvice(), pointcut));
+                    } else {
+                        interceptors.add(pointcutAdvisor.getAdvice());
+                    }
                 }
             }
         }
@@ -60,15 +140,50 @@ public class AdvisedSupport {
     
     // ==================== Getter和Setter ====================
     
+    /**
+     * 获取目标对象
+     * 
+     * @return 静态目标源的目标对象；非静态目标源每次调用的目标对象不同，返回null
+     */
     public Object getTarget() {
         return target;
     }
     
     public void setTarget(Object target) {
-        this.target = target;
-        if (target != null) {
-            this.targetClass = target.getClass();
+        setTargetSource(target != null ? new SingletonTargetSource(target) : null);
+    }
+    
+    public TargetSource getTargetSource() {
+        return targetSource;
+    }
+    
+    /**
+     * 设置目标源
+     * 静态目标源的目标对象在这里获取一次并绑定连接点调用器
+     */
+    public void setTargetSource(TargetSource targetSource) {
+        this.targetSource = targetSource;
+        this.target = null;
+        this.joinpointInvoker = null;
+        if (targetSource == null) {
+            return;
+        }
+        if (targetSource.isStatic()) {
+            try {
+                this.target = targetSource.getTarget();
+            } catch (Exception e) {
+                throw new IllegalStateException("无法从目标源获取目标对象: " + targetSource, e);
+            }
+            this.joinpointInvoker = new JoinpointInvoker(this.target);
         }
+        setTargetClass(targetSource.getTargetClass());
+    }
+    
+    /**
+     * 获取调用目标方法的连接点调用器（只有静态目标源才有）
+     */
+    public JoinpointInvoker getJoinpointInvoker() {
+        return joinpointInvoker;
     }
     
     public Class<?> getTargetClass() {
@@ -76,7 +191,11 @@ public class AdvisedSupport {
     }
     
     public void setTargetClass(Class<?> targetClass) {
-        this.targetClass = targetClass;
+        if (this.targetClass != targetClass) {
+            this.targetClass = targetClass;
+            // 切点匹配依赖目标类
+            adviceChanged();
+        }
     }
     
     public boolean isProxyTargetClass() {
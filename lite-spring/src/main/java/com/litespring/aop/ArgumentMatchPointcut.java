@@ -0,0 +1,61 @@
+package com.litespring.aop;
+
+import java.lang.reflect.Method;
+import java.util.function.Predicate;
+
+/**
+ * 按参数值匹配的动态切点
+ * 静态匹配由另一个切点决定（并要求方法至少有argIndex+1个参数），
+ * 调用时再用谓词检查指定位置的参数
+ * 
+ * 动态匹配直接从调用的参数数组中取值，不创建对象；
+ * 谓词本身也应避免分配（例如不要在其中装箱或拼接字符串）
+ * 
+ * 示例：只在金额超过10000时执行审计通知
+ * <pre>
+ * new ArgumentMatchPointcut(new ExpressionPointcut("execution(* *..PaymentService.pay(..))"),
+ *     1, amount -&gt; ((Long) amount) &gt; 10000);
+ * </pre>
+ * 
+ * @author lite-spring
+ */
+public class ArgumentMatchPointcut implements Pointcut {
+    
+    private final Pointcut staticPointcut;
+    private final int argIndex;
+    private final Predicate<Object> predicate;
+    
+    /**
+     * @param staticPointcut 静态匹配的切点
+     * @param argIndex 要检查的参数下标
+     * @param predicate 参数谓词
+     */
+    public ArgumentMatchPointcut(Pointcut staticPointcut, int argIndex, Predicate<Object> predicate) {
+        if (argIndex < 0) {
+            throw new IllegalArgumentException("参数下标不能为负数: " + argIndex);
+        }
+        this.staticPointcut = staticPointcut;
+        this.argIndex = argIndex;
+        this.predicate = predicate;
+    }
+    
+    @Override
+    public boolean matchesClass(Class<?> targetClass) {
+        return staticPointcut.matchesClass(targetClass);
+    }
+    
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return method.getParameterCount() > argIndex && staticPointcut.matches(method, targetClass);
+    }
+    
+    @Override
+    public boolean isRuntime() {
+        return true;
+    }
+    
+    @Override
+    public boolean matches(Method method, Class<?> targetClass, Object[] args) {
+        return predicate.test(args[argIndex]);
+    }
+}
@@ -7,8 +7,11 @@ import com.litespring.core.DefaultBeanFactory_v4;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 默认的Advisor自动代理创建器
@@ -17,14 +20,24 @@ import java.util.Map;
  * 这是将AOP集成到IoC容器的关键组件
  * 在BeanPostProcessor的后置处理中自动创建代理
  * 
+ * Advisor列表在第一次使用时解析并缓存，只有Advisor的Bean定义变化后才重新获取；
+ * 每个Bean类匹配到的Advisor和通知链也按类缓存，
+ * 同一个类的Bean（例如原型Bean）再次创建代理时只需要查一次缓存，不再扫描容器和方法
+ * 
  * @author lite-spring
  */
 public class DefaultAdvisorAutoProxyCreator implements BeanPostProcessor {
     
     private BeanFactory beanFactory;
     
+    /**
+     * 当前的Advisor缓存，Advisor的Bean定义变化时整体替换
+     */
+    private volatile AdvisorCache advisorCache;
+    
     public void setBeanFactory(BeanFactory beanFactory) {
         this.beanFactory = beanFactory;
+        this.advisorCache = null;
     }
     
     @Override
@@ -36,12 +49,12 @@ public class DefaultAdvisorAutoProxyCreator implements BeanPostProcessor {
             return bean;
         }
         
-        // 2. 获取匹配的Advisor
-        List<Advisor> advisors = getMatchingAdvisors(bean.getClass());
+        // 2. 获取匹配的Advisor（按类缓存）
+        EligibleAdvisors eligible = getEligibleAdvisors(bean.getClass());
         
         // 3. 如果有匹配的Advisor，创建代理
-        if (!advisors.isEmpty()) {
-            return createProxy(bean, advisors);
+        if (eligible != null) {
+            return createProxy(bean, eligible);
         }
         
         // 4. 没有匹配的Advisor，返回原Bean
@@ -58,27 +71,63 @@ public class DefaultAdvisorAutoProxyCreator implements BeanPostProcessor {
     }
     
     /**
-     * 获取匹配的Advisor
+     * 获取Bean类适用的Advisor
+     * 
+     * @return 适用的Advisor，没有适用的Advisor时返回null
      */
-    private List<Advisor> getMatchingAdvisors(Class<?> beanClass) {
-        List<Advisor> matchingAdvisors = new ArrayList<>();
+    private EligibleAdvisors getEligibleAdvisors(Class<?> beanClass) {
+        AdvisorCache cache = getAdvisorCache();
+        if (cache == null || cache.advisors.isEmpty()) {
+            return null;
+        }
         
+        EligibleAdvisors eligible = cache.eligibleByClass.get(beanClass);
+        if (eligible == null) {
+            eligible = findEligibleAdvisors(cache.advisors, beanClass);
+            cache.eligibleByClass.put(beanClass, eligible);
+        }
+        return eligible == EligibleAdvisors.NONE ? null : eligible;
+    }
+    
+    /**
+     * 获取Advisor缓存
+     * 容器中Advisor的Bean名称与缓存时不同（注册了新的Advisor定义）时重新获取
+     */
+    private AdvisorCache getAdvisorCache() {
         // 从容器中获取所有Advisor类型的Bean
         if (!(beanFactory instanceof DefaultBeanFactory_v4)) {
-            return matchingAdvisors;
+            return null;
         }
         
         DefaultBeanFactory_v4 factory = (DefaultBeanFactory_v4) beanFactory;
-        Map<String, Advisor> advisorBeans = factory.getBeansOfType(Advisor.class);
+        String[] advisorNames = factory.getBeanNamesForType(Advisor.class);
+        
+        AdvisorCache cache = this.advisorCache;
+        if (cache != null && Arrays.equals(cache.advisorNames, advisorNames)) {
+            return cache;
+        }
         
-        // 检查每个Advisor是否适用于当前Bean
-        for (Advisor advisor : advisorBeans.values()) {
+        Map<String, Advisor> advisorBeans = factory.getBeansOfType(Advisor.class);
+        cache = new AdvisorCache(advisorNames, new ArrayList<>(advisorBeans.values()));
+        this.advisorCache = cache;
+        return cache;
+    }
+    
+    /**
+     * 检查每个Advisor是否适用于Bean类
+     */
+    private EligibleAdvisors findEligibleAdvisors(List<Advisor> advisors, Class<?> beanClass) {
+        List<Advisor> matchingAdvisors = new ArrayList<>();
+        for (Advisor advisor : advisors) {
             if (canApply(advisor, beanClass)) {
                 matchingAdvisors.add(advisor);
             }
         }
         
-        return matchingAdvisors;
+        if (matchingAdvisors.isEmpty()) {
+            return EligibleAdvisors.NONE;
+        }
+        return new EligibleAdvisors(beanClass, matchingAdvisors);
     }
     
     /**
@@ -93,6 +142,11 @@ public class DefaultAdvisorAutoProxyCreator implements BeanPostProcessor {
         PointcutAdvisor pointcutAdvisor = (PointcutAdvisor) advisor;
         Pointcut pointcut = pointcutAdvisor.getPointcut();
         
+        // 类级别预过滤：整个类都不可能匹配时不再逐个检查方法
+        if (!pointcut.matchesClass(targetClass)) {
+            return false;
+        }
+        
         // 检查类中是否有方法匹配切点
         Method[] methods = targetClass.getDeclaredMethods();
         for (Method method : methods) {
@@ -107,7 +161,7 @@ public class DefaultAdvisorAutoProxyCreator implements BeanPostProcessor {
     /**
      * 创建代理对象
      */
-    private Object createProxy(Object bean, List<Advisor> advisors) {
+    private Object createProxy(Object bean, EligibleAdvisors eligible) {
         ProxyFactory proxyFactory = new ProxyFactory();
         
         // 设置目标对象
@@ -115,12 +169,56 @@ public class DefaultAdvisorAutoProxyCreator implements BeanPostProcessor {
         proxyFactory.setTargetClass(bean.getClass());
         
         // 添加所有Advisor
-        for (Advisor advisor : advisors) {
+        for (Advisor advisor : eligible.advisors) {
             proxyFactory.addAdvisor(advisor);
         }
         
+        // 同一个类的代理共用已计算的通知链
+        proxyFactory.shareAdviceChainCache(eligible.chainCache);
+        
         // 创建并返回代理
         return proxyFactory.getProxy();
     }
+    
+    /**
+     * 某一时刻容器中的全部Advisor，以及每个Bean类适用的Advisor
+     */
+    private static final class AdvisorCache {
+        
+        final String[] advisorNames;
+        final List<Advisor> advisors;
+        final Map<Class<?>, EligibleAdvisors> eligibleByClass = new ConcurrentHashMap<>();
+        
+        AdvisorCache(String[] advisorNames, List<Advisor> advisors) {
+            this.advisorNames = advisorNames;
+            this.advisors = advisors;
+        }
+    }
+    
+    /**
+     * 一个Bean类适用的Advisor，以及这个类的代理共用的通知链缓存
+     */
+    private static final class EligibleAdvisors {
+        
+        /**
+         * 没有适用的Advisor（ConcurrentHashMap不能存null）
+         */
+        static final EligibleAdvisors NONE = new EligibleAdvisors(null, Collections.emptyList());
+        
+        final List<Advisor> advisors;
+        
+        /**
+         * 只用于持有通知链缓存的配置（不设置目标对象）
+         */
+        final AdvisedSupport chainCache = new AdvisedSupport();
+        
+        EligibleAdvisors(Class<?> beanClass, List<Advisor> advisors) {
+            this.advisors = advisors;
+            this.chainCache.setTargetClass(beanClass);
+            for (Advisor advisor : advisors) {
+                this.chainCache.addAdvisor(advisor);
+            }
+        }
+    }
 }
 
@@ -0,0 +1,104 @@
+package com.litespring.aop;
+
+import com.litespring.aop.expression.PointcutExpressionParser;
+import com.litespring.aop.expression.PointcutMatcher;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于表达式的切点
+ * 
+ * 表达式在设置时编译成{@link PointcutMatcher}，匹配时不再解析字符串；
+ * 类级别和方法级别的匹配结果都会缓存，同一个(方法, 目标类)只计算一次
+ * 
+ * 示例：
+ * <pre>
+ * new ExpressionPointcut("execution(* com.acme.service..*Service.find*(..)) &amp;&amp; !@annotation(com.acme.NoTrace)")
+ * </pre>
+ * 
+ * @see PointcutExpressionParser
+ * @author lite-spring
+ */
+public class ExpressionPointcut implements Pointcut {
+    
+    private String expression;
+    
+    private volatile PointcutMatcher matcher;
+    
+    private final Map<Class<?>, Boolean> classMatchCache = new ConcurrentHashMap<>();
+    
+    /**
+     * 方法匹配结果缓存：目标类 -> (方法 -> 是否匹配)
+     * 分两层存储，查询时不需要创建组合键
+     */
+    private final Map<Class<?>, Map<Method, Boolean>> methodMatchCache = new ConcurrentHashMap<>();
+    
+    public ExpressionPointcut() {
+    }
+    
+    public ExpressionPointcut(String expression) {
+        setExpression(expression);
+    }
+    
+    /**
+     * 设置并编译切点表达式，同时清空匹配缓存
+     * 
+     * @throws IllegalArgumentException 如果表达式语法错误
+     */
+    public void setExpression(String expression) {
+        this.matcher = PointcutExpressionParser.parse(expression);
+        this.expression = expression;
+        this.classMatchCache.clear();
+        this.methodMatchCache.clear();
+    }
+    
+    public String getExpression() {
+        return expression;
+    }
+    
+    @Override
+    public boolean matchesClass(Class<?> targetClass) {
+        PointcutMatcher matcher = obtainMatcher();
+        if (targetClass == null) {
+            return true;
+        }
+        return classMatchCache.computeIfAbsent(targetClass, matcher::couldMatch);
+    }
+    
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        PointcutMatcher matcher = obtainMatcher();
+        if (targetClass == null) {
+            return matcher.matches(method, null);
+        }
+        if (!matchesClass(targetClass)) {
+            return false;
+        }
+        
+        Map<Method, Boolean> methodCache = methodMatchCache.get(targetClass);
+        if (methodCache == null) {
+            methodCache = methodMatchCache.computeIfAbsent(targetClass, k -> new ConcurrentHashMap<>());
+        }
+        Boolean matched = methodCache.get(method);
+        if (matched == null) {
+            matched = matcher.matches(method, targetClass);
+            methodCache.put(method, matched);
+        }
+        return matched;
+    }
+    
+    private PointcutMatcher obtainMatcher() {
+        PointcutMatcher matcher = this.matcher;
+        if (matcher == null) {
+            throw new IllegalStateException("未设置切点表达式");
+        }
+        return matcher;
+    }
+    
+    @Override
+    public String toString() {
+        return "ExpressionPointcut: " + expression;
+    }
+}
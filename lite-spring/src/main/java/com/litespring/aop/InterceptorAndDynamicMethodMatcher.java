@@ -0,0 +1,26 @@
+package com.litespring.aop;
+
+/**
+ * 通知链中需要动态匹配的元素：通知和它的切点
+ * ReflectiveMethodInvocation执行到这个元素时先用本次调用的参数匹配切点，匹配才执行通知，否则跳过
+ * 
+ * @author lite-spring
+ */
+public final class InterceptorAndDynamicMethodMatcher {
+    
+    private final Object interceptor;
+    private final Pointcut pointcut;
+    
+    public InterceptorAndDynamicMethodMatcher(Object interceptor, Pointcut pointcut) {
+        this.interceptor = interceptor;
+        this.pointcut = pointcut;
+    }
+    
+    public Object getInterceptor() {
+        return interceptor;
+    }
+    
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+}
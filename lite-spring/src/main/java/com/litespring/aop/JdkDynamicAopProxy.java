@@ -3,12 +3,16 @@ package com.litespring.aop;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.util.List;
 
 /**
  * JDK动态代理实现
  * 使用Java原生的Proxy和InvocationHandler
  * 
+ * 静态目标源（单例）走缓存的连接点调用器；非静态目标源（池化、线程本地）
+ * 每次调用前获取目标对象，调用结束后（包括抛出异常）归还。
+ * 返回还没完成的CompletionStage时等它完成后再归还；
+ * 拦截器用{@link MethodInvocation#detach()}把调用交给其他线程时，由分离的调用自己获取和归还目标对象
+ * 
  * @author lite-spring
  */
 public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
@@ -26,12 +30,12 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
     
     @Override
     public Object getProxy(ClassLoader classLoader) {
-        Class<?>[] interfaces = advised.getTarget().getClass().getInterfaces();
+        Class<?>[] interfaces = advised.getTargetClass().getInterfaces();
         
         if (interfaces.length == 0) {
             throw new IllegalArgumentException(
                 "目标对象没有实现接口，无法使用JDK动态代理。" +
-                "请考虑使用CGLIB代理或让目标类实现接口"
+                "请使用子类代理（ProxyFactory会自动选择）或让目标类实现接口"
             );
         }
         
@@ -44,28 +48,66 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
      */
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        Object target = advised.getTarget();
+        JoinpointInvoker invoker = advised.getJoinpointInvoker();
+        if (invoker == null) {
+            return invokeWithTargetSource(method, args);
+        }
         
         // 处理Object类的方法（equals、hashCode、toString）
         if (method.getDeclaringClass() == Object.class) {
-            return method.invoke(target, args);
+            return invoker.invoke(method, args);
         }
         
-        // 获取匹配的拦截器链
-        List<Object> chain = advised.getInterceptors(method);
+        // 获取匹配的通知链（按方法缓存，不会每次重新匹配切点）
+        AdviceChain chain = advised.getAdviceChain(method);
         
         // 如果没有拦截器，直接调用目标方法
         if (chain.isEmpty()) {
-            return method.invoke(target, args);
+            return invoker.invoke(method, args);
+        }
+        
+        // 只有前置/返回后通知：直接执行，不创建方法调用对象
+        if (chain.isStatic()) {
+            Object target = invoker.getTarget();
+            chain.invokeBefore(method, args, target);
+            Object returnValue = invoker.invoke(method, args);
+            chain.invokeAfterReturning(returnValue, method, args, target);
+            return returnValue;
         }
         
         // 创建方法调用对象，执行拦截器链
         MethodInvocation invocation = new ReflectiveMethodInvocation(
-            target, method, args, chain
+            invoker, method, args, chain.getInterceptors()
         );
         
         // 执行拦截器链
         return invocation.proceed();
     }
+    
+    /**
+     * 非静态目标源：获取目标对象，执行调用，最后归还
+     */
+    private Object invokeWithTargetSource(Method method, Object[] args) throws Throwable {
+        TargetSource targetSource = advised.getTargetSource();
+        Object target = targetSource.getTarget();
+        Object result;
+        boolean detached = false;
+        try {
+            Object[] chain = method.getDeclaringClass() == Object.class
+                ? AdviceChain.EMPTY.getInterceptors() : advised.getInterceptorChain(method);
+            if (chain.length == 0) {
+                result = JoinpointInvoker.invokeReflectively(target, method, args);
+            } else {
+                ReflectiveMethodInvocation invocation = new ReflectiveMethodInvocation(target, method, args, chain);
+                invocation.setTargetSource(targetSource);
+                result = invocation.proceed();
+                detached = invocation.isDetached();
+            }
+        } catch (Throwable ex) {
+            targetSource.releaseTarget(target);
+            throw ex;
+        }
+        return ReflectiveMethodInvocation.releaseAfter(targetSource, target, result, detached);
+    }
 }
 
@@ -0,0 +1,102 @@
+package com.litespring.aop;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 连接点调用器
+ * 使用绑定了目标对象的MethodHandle调用目标方法，替代Method.invoke
+ * 
+ * 与Method.invoke相比：
+ * - 每个方法的MethodHandle只解析一次并缓存
+ * - 目标方法抛出的异常原样抛出，不会被包装成InvocationTargetException
+ * - 调用路径对JIT透明，可以被内联
+ * 
+ * 每个MethodHandle都被适配成 (Object[])Object 的形式，
+ * 这样所有方法都可以用同一个invokeExact调用点执行
+ * 
+ * @author lite-spring
+ */
+public class JoinpointInvoker {
+    
+    private static final Object[] EMPTY_ARGS = new Object[0];
+    
+    private static final MethodType GENERIC_TYPE = MethodType.methodType(Object.class, Object[].class);
+    
+    private final Object target;
+    
+    /**
+     * 方法 -> 绑定了目标对象的MethodHandle
+     */
+    private final Map<Method, MethodHandle> handleCache = new ConcurrentHashMap<>(32);
+    
+    public JoinpointInvoker(Object target) {
+        if (target == null) {
+            throw new IllegalArgumentException("目标对象不能为null");
+        }
+        this.target = target;
+    }
+    
+    public Object getTarget() {
+        return target;
+    }
+    
+    /**
+     * 调用目标方法
+     * 
+     * @param method 要调用的方法
+     * @param args 参数（无参方法可以为null）
+     * @return 方法返回值，void方法返回null
+     * @throws Throwable 目标方法抛出的异常（不包装）
+     */
+    public Object invoke(Method method, Object[] args) throws Throwable {
+        MethodHandle handle = this.handleCache.get(method);
+        if (handle == null) {
+            handle = resolveHandle(method);
+            this.handleCache.put(method, handle);
+        }
+        return (Object) handle.invokeExact(args != null ? args : EMPTY_ARGS);
+    }
+    
+    /**
+     * 解析方法对应的MethodHandle并适配成通用形式
+     */
+    private MethodHandle resolveHandle(Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            // 非public的类或方法，打开访问权限后再解析
+            try {
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new IllegalStateException("无法访问目标方法: " + method, ex);
+            }
+        }
+        
+        return handle.bindTo(this.target)
+            .asSpreader(Object[].class, method.getParameterCount())
+            .asType(GENERIC_TYPE);
+    }
+    
+    /**
+     * 通过反射调用目标方法，并解开InvocationTargetException
+     * 用于没有调用器的场景（如直接创建的ReflectiveMethodInvocation）
+     */
+    public static Object invokeReflectively(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            if (!method.canAccess(target)) {
+                method.setAccessible(true);
+            }
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
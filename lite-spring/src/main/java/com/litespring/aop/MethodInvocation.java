@@ -32,5 +32,15 @@ public interface MethodInvocation {
      * 获取目标对象
      */
     Object getThis();
+    
+    /**
+     * 把调用交给其他线程、在调用方返回之后继续执行时，用返回的调用对象代替当前对象执行proceed
+     * 
+     * 静态目标源返回当前对象；非静态目标源（池化、线程本地）的目标对象在调用方返回时就已归还，
+     * 返回的调用对象在proceed时从目标源重新获取目标对象，执行结束后归还
+     */
+    default MethodInvocation detach() {
+        return this;
+    }
 }
 
@@ -6,6 +6,11 @@ import java.lang.reflect.Method;
  * 切点接口
  * 用于判断方法是否匹配
  * 
+ * 静态匹配（{@link #matches(Method, Class)}）在创建通知链时执行一次并缓存；
+ * 需要根据参数值判断的切点让{@link #isRuntime()}返回true，
+ * 静态匹配通过的方法在每次调用时再执行{@link #matches(Method, Class, Object[])}，
+ * 静态匹配不通过的方法不受影响
+ * 
  * @author lite-spring
  */
 public interface Pointcut {
@@ -18,5 +23,37 @@ public interface Pointcut {
      * @return 如果匹配返回true
      */
     boolean matches(Method method, Class<?> targetClass);
+    
+    /**
+     * 类级别的预过滤
+     * 返回false表示目标类的任何方法都不可能匹配，调用方可以跳过逐个方法的匹配；
+     * 返回true只表示可能匹配
+     * 
+     * @param targetClass 目标类
+     * @return 如果目标类的方法可能匹配返回true
+     */
+    default boolean matchesClass(Class<?> targetClass) {
+        return true;
+    }
+    
+    /**
+     * 是否需要在每次调用时根据参数再次匹配
+     */
+    default boolean isRuntime() {
+        return false;
+    }
+    
+    /**
+     * 调用时的动态匹配（只对静态匹配通过的方法、且{@link #isRuntime()}为true时执行）
+     * 每次调用都会执行，实现不应分配对象；args是调用的参数数组，不能修改
+     * 
+     * @param method 方法
+     * @param targetClass 目标类
+     * @param args 本次调用的参数
+     * @return 如果本次调用应该执行通知返回true
+     */
+    default boolean matches(Method method, Class<?> targetClass, Object[] args) {
+        return true;
+    }
 }
 
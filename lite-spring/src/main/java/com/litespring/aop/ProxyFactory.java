@@ -3,7 +3,7 @@ package com.litespring.aop;
 /**
  * 代理工厂
  * 用于创建AOP代理对象
- * 自动选择JDK代理或CGLIB代理
+ * 自动选择JDK代理或子类代理
  * 
  * @author lite-spring
  */
@@ -25,18 +25,15 @@ public class ProxyFactory extends AdvisedSupport {
     
     /**
      * 创建AopProxy
-     * 自动选择JDK代理或CGLIB代理
+     * 自动选择JDK代理或子类代理
      */
     private AopProxy createAopProxy() {
-        // 判断使用JDK代理还是CGLIB代理
+        // 判断使用JDK代理还是子类代理
         if (shouldUseJdkProxy()) {
             return new JdkDynamicAopProxy(this);
         } else {
-            // 第五阶段简化：暂不实现CGLIB
-            throw new UnsupportedOperationException(
-                "CGLIB代理暂未实现，请让目标类实现接口以使用JDK代理"
-            );
-            // return new CglibAopProxy(this);
+            // 目标类没有接口（或强制代理目标类）：运行时生成子类
+            return new SubclassAopProxy(this);
         }
     }
     
@@ -44,13 +41,13 @@ public class ProxyFactory extends AdvisedSupport {
      * 判断是否应该使用JDK代理
      */
     private boolean shouldUseJdkProxy() {
-        // 如果强制使用CGLIB
+        // 如果强制代理目标类
         if (isProxyTargetClass()) {
             return false;
         }
         
         // 如果目标类实现了接口，使用JDK代理
-        Class<?>[] interfaces = getTarget().getClass().getInterfaces();
+        Class<?>[] interfaces = getTargetClass().getInterfaces();
         return interfaces.length > 0;
     }
 }
@@ -2,6 +2,7 @@ package com.litespring.aop;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 /**
  * 反射方法调用实现
@@ -12,19 +13,55 @@ import java.util.List;
 public class ReflectiveMethodInvocation implements MethodInvocation {
     
     private final Object target;
+    private final JoinpointInvoker invoker;
     private final Method method;
     private final Object[] arguments;
-    private final List<Object> interceptorsAndDynamicMethodMatchers;
+    private final Object[] interceptorsAndDynamicMethodMatchers;
     
     private int currentInterceptorIndex = -1;
     
+    /**
+     * 非静态目标源（由代理设置），用于分离的调用重新获取目标对象
+     */
+    private TargetSource targetSource;
+    private boolean detached;
+    
     public ReflectiveMethodInvocation(
             Object target,
             Method method,
             Object[] arguments,
             List<Object> interceptorsAndDynamicMethodMatchers) {
         
+        this(target, method, arguments, interceptorsAndDynamicMethodMatchers.toArray());
+    }
+    
+    /**
+     * 使用拦截器链数组创建（数组只读，可以在多次调用之间共享）
+     */
+    public ReflectiveMethodInvocation(
+            Object target,
+            Method method,
+            Object[] arguments,
+            Object[] interceptorsAndDynamicMethodMatchers) {
+        
         this.target = target;
+        this.invoker = null;
+        this.method = method;
+        this.arguments = arguments;
+        this.interceptorsAndDynamicMethodMatchers = interceptorsAndDynamicMethodMatchers;
+    }
+    
+    /**
+     * 使用连接点调用器创建（目标方法通过缓存的MethodHandle调用）
+     */
+    public ReflectiveMethodInvocation(
+            JoinpointInvoker invoker,
+            Method method,
+            Object[] arguments,
+            Object[] interceptorsAndDynamicMethodMatchers) {
+        
+        this.target = invoker.getTarget();
+        this.invoker = invoker;
         this.method = method;
         this.arguments = arguments;
         this.interceptorsAndDynamicMethodMatchers = interceptorsAndDynamicMethodMatchers;
@@ -33,33 +70,49 @@ public class ReflectiveMethodInvocation implements MethodInvocation {
     @Override
     public Object proceed() throws Throwable {
         // 所有拦截器都执行完了，调用目标方法
-        if (this.currentInterceptorIndex == this.interceptorsAndDynamicMethodMatchers.size() - 1) {
+        if (this.currentInterceptorIndex == this.interceptorsAndDynamicMethodMatchers.length - 1) {
             return invokeJoinpoint();
         }
         
         // 获取下一个拦截器
         Object interceptorOrInterceptionAdvice = 
-            this.interceptorsAndDynamicMethodMatchers.get(++this.currentInterceptorIndex);
+            this.interceptorsAndDynamicMethodMatchers[++this.currentInterceptorIndex];
+        
+        // 需要动态匹配的通知：用本次调用的参数匹配切点，不匹配则跳过
+        if (interceptorOrInterceptionAdvice instanceof InterceptorAndDynamicMethodMatcher) {
+            InterceptorAndDynamicMethodMatcher dm = (InterceptorAndDynamicMethodMatcher) interceptorOrInterceptionAdvice;
+            Class<?> targetClass = (this.target != null ? this.target.getClass() : this.method.getDeclaringClass());
+            if (!dm.getPointcut().matches(this.method, targetClass, this.arguments)) {
+                return proceed();
+            }
+            interceptorOrInterceptionAdvice = dm.getInterceptor();
+        }
         
-        // 根据类型分别处理
+        return invokeAdvice(interceptorOrInterceptionAdvice);
+    }
+    
+    /**
+     * 根据通知类型执行当前通知
+     */
+    private Object invokeAdvice(Object interceptorOrInterceptionAdvice) throws Throwable {
         if (interceptorOrInterceptionAdvice instanceof MethodInterceptor) {
             // 环绕通知
             MethodInterceptor mi = (MethodInterceptor) interceptorOrInterceptionAdvice;
             return mi.invoke(this);
-            
+        
         } else if (interceptorOrInterceptionAdvice instanceof MethodBeforeAdvice) {
             // 前置通知
             MethodBeforeAdvice mba = (MethodBeforeAdvice) interceptorOrInterceptionAdvice;
             mba.before(this.method, this.arguments, this.target);
             return proceed();  // 继续执行链
-            
+        
         } else if (interceptorOrInterceptionAdvice instanceof AfterReturningAdvice) {
             // 返回后通知
             Object returnValue = proceed();  // 先执行方法
             AfterReturningAdvice ara = (AfterReturningAdvice) interceptorOrInterceptionAdvice;
             ara.afterReturning(returnValue, this.method, this.arguments, this.target);
             return returnValue;
-            
+        
         } else {
             // 未知类型，继续
             return proceed();
@@ -68,9 +121,13 @@ public class ReflectiveMethodInvocation implements MethodInvocation {
     
     /**
      * 调用目标方法
+     * 目标方法抛出的异常原样抛出
      */
     protected Object invokeJoinpoint() throws Throwable {
-        return this.method.invoke(this.target, this.arguments);
+        if (this.invoker != null) {
+            return this.invoker.invoke(this.method, this.arguments);
+        }
+        return JoinpointInvoker.invokeReflectively(this.target, this.method, this.arguments);
     }
     
     @Override
@@ -87,5 +144,118 @@ public class ReflectiveMethodInvocation implements MethodInvocation {
     public Object getThis() {
         return this.target;
     }
+    
+    /**
+     * 拦截器链（只读）
+     */
+    protected Object[] getInterceptorsAndDynamicMethodMatchers() {
+        return this.interceptorsAndDynamicMethodMatchers;
+    }
+    
+    @Override
+    public MethodInvocation detach() {
+        if (this.targetSource == null) {
+            return this;
+        }
+        this.detached = true;
+        return new DetachedMethodInvocation(this, this.targetSource, this.currentInterceptorIndex);
+    }
+    
+    /**
+     * 设置非静态目标源，调用结束前必须由代理归还当前的目标对象
+     */
+    void setTargetSource(TargetSource targetSource) {
+        this.targetSource = targetSource;
+    }
+    
+    /**
+     * 是否有拦截器把调用交给了其他线程（分离的调用自己获取和归还目标对象）
+     */
+    boolean isDetached() {
+        return this.detached;
+    }
+    
+    /**
+     * 用另一个目标对象创建同样的调用，从头执行拦截器链
+     */
+    protected ReflectiveMethodInvocation withTarget(Object target) {
+        return new ReflectiveMethodInvocation(target, this.method, this.arguments,
+            this.interceptorsAndDynamicMethodMatchers);
+    }
+    
+    /**
+     * 分离的调用：proceed时从目标源获取目标对象，从分离时的拦截器位置继续执行，结束后归还
+     */
+    private static final class DetachedMethodInvocation implements MethodInvocation {
+        
+        private final ReflectiveMethodInvocation origin;
+        private final TargetSource targetSource;
+        private final int interceptorIndex;
+        
+        /**
+         * 执行期间借出的目标对象，没有执行时为null（分离前的目标对象已经归还）
+         */
+        private volatile Object target;
+        
+        DetachedMethodInvocation(ReflectiveMethodInvocation origin, TargetSource targetSource, int interceptorIndex) {
+            this.origin = origin;
+            this.targetSource = targetSource;
+            this.interceptorIndex = interceptorIndex;
+        }
+        
+        @Override
+        public Object proceed() throws Throwable {
+            Object target = this.targetSource.getTarget();
+            ReflectiveMethodInvocation invocation = this.origin.withTarget(target);
+            invocation.currentInterceptorIndex = this.interceptorIndex;
+            invocation.setTargetSource(this.targetSource);
+            this.target = target;
+            Object result;
+            try {
+                result = invocation.proceed();
+            } catch (Throwable ex) {
+                this.target = null;
+                this.targetSource.releaseTarget(target);
+                throw ex;
+            }
+            this.target = null;
+            return releaseAfter(this.targetSource, target, result, invocation.isDetached());
+        }
+        
+        @Override
+        public Method getMethod() {
+            return this.origin.getMethod();
+        }
+        
+        @Override
+        public Object[] getArguments() {
+            return this.origin.getArguments();
+        }
+        
+        @Override
+        public Object getThis() {
+            return this.target;
+        }
+    }
+    
+    /**
+     * 调用正常返回后归还目标对象：返回值是还没完成的CompletionStage时（目标对象可能还在使用），
+     * 等它完成后再归还；调用已经分离时立即归还
+     */
+    static Object releaseAfter(TargetSource targetSource, Object target, Object result, boolean detached)
+            throws Exception {
+        if (!detached && result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, ex) -> {
+                try {
+                    targetSource.releaseTarget(target);
+                } catch (Exception e) {
+                    System.err.println("归还目标对象失败: " + target + ", " + e);
+                }
+            });
+        } else {
+            targetSource.releaseTarget(target);
+        }
+        return result;
+    }
 }
 
@@ -0,0 +1,160 @@
+package com.litespring.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * 基于子类的AOP代理（替代CGLIB代理）
+ * 目标类不需要实现接口
+ * 
+ * 代理类由{@link SubclassProxyGenerator}生成，每个目标类只生成一次；
+ * 每个代理实例绑定一个SubclassAopProxy，由它根据当前的通知配置分派调用。
+ * 生成的代码调用的方法（getAdviceChain、getTarget、invoke）必须是public的
+ * 
+ * 非静态目标源（池化、线程本地）的所有方法都按有通知处理，在invoke中获取和归还目标对象，
+ * 归还的时机与{@link JdkDynamicAopProxy}相同
+ * 
+ * 限制：final方法不能被覆盖，调用时执行的是代理实例自己（未初始化）的实现
+ * 
+ * @author lite-spring
+ */
+public class SubclassAopProxy implements AopProxy {
+    
+    private final AdvisedSupport advised;
+    
+    private final SubclassProxyGenerator.ProxyClass proxyClass;
+    
+    public SubclassAopProxy(AdvisedSupport config) {
+        if (config.getTargetSource() == null) {
+            throw new IllegalArgumentException("目标对象不能为null");
+        }
+        this.advised = config;
+        this.proxyClass = SubclassProxyGenerator.getProxyClass(config.getTargetClass());
+    }
+    
+    @Override
+    public Object getProxy() {
+        return getProxy(null);
+    }
+    
+    /**
+     * 创建代理对象
+     * 代理类总是定义在目标类的类加载器中，classLoader参数被忽略
+     */
+    @Override
+    public Object getProxy(ClassLoader classLoader) {
+        SubclassProxy proxy = proxyClass.newInstance();
+        proxy.lite$setAopProxy(this);
+        return proxy;
+    }
+    
+    // ==================== 生成的代码调用的方法 ====================
+    
+    /**
+     * 指定方法当前匹配的通知链，传给{@link #invoke}，每次调用只查找一次
+     * 
+     * @return 通知链；没有通知且可以直接调用目标对象时返回null
+     */
+    public AdviceChain getAdviceChain(int methodIndex) {
+        AdviceChain chain = advised.getAdviceChain(proxyClass.getMethod(methodIndex));
+        if (chain.isEmpty() && advised.getJoinpointInvoker() != null) {
+            return null;
+        }
+        return chain;
+    }
+    
+    /**
+     * 获取目标对象
+     */
+    public Object getTarget() {
+        return advised.getTarget();
+    }
+    
+    /**
+     * 执行有通知的方法调用
+     * 
+     * @param proxy 代理对象
+     * @param methodIndex 方法下标
+     * @param chain {@link #getAdviceChain}返回的通知链
+     * @param args 参数（基本类型已装箱）
+     * @return 返回值
+     * @throws Throwable 通知或目标方法抛出的异常
+     */
+    public Object invoke(Object proxy, int methodIndex, AdviceChain chain, Object[] args) throws Throwable {
+        Method method = proxyClass.getMethod(methodIndex);
+        if (advised.getJoinpointInvoker() == null) {
+            return invokeWithTargetSource(proxy, methodIndex, method, chain, args);
+        }
+        Object target = advised.getTarget();
+        
+        if (chain.isEmpty()) {
+            return ((SubclassProxy) proxy).lite$invokeTarget(methodIndex, target, args);
+        }
+        
+        // 只有前置/返回后通知：直接执行，不创建方法调用对象
+        if (chain.isStatic()) {
+            chain.invokeBefore(method, args, target);
+            Object returnValue = ((SubclassProxy) proxy).lite$invokeTarget(methodIndex, target, args);
+            chain.invokeAfterReturning(returnValue, method, args, target);
+            return returnValue;
+        }
+        
+        MethodInvocation invocation = new SubclassMethodInvocation(
+            (SubclassProxy) proxy, methodIndex, target, method, args, chain.getInterceptors()
+        );
+        return invocation.proceed();
+    }
+    
+    /**
+     * 非静态目标源：获取目标对象，执行调用，最后归还
+     */
+    private Object invokeWithTargetSource(Object proxy, int methodIndex, Method method,
+                                          AdviceChain chain, Object[] args) throws Throwable {
+        TargetSource targetSource = advised.getTargetSource();
+        Object target = targetSource.getTarget();
+        Object result;
+        boolean detached = false;
+        try {
+            if (chain.isEmpty()) {
+                result = ((SubclassProxy) proxy).lite$invokeTarget(methodIndex, target, args);
+            } else {
+                SubclassMethodInvocation invocation = new SubclassMethodInvocation(
+                    (SubclassProxy) proxy, methodIndex, target, method, args, chain.getInterceptors()
+                );
+                invocation.setTargetSource(targetSource);
+                result = invocation.proceed();
+                detached = invocation.isDetached();
+            }
+        } catch (Throwable ex) {
+            targetSource.releaseTarget(target);
+            throw ex;
+        }
+        return ReflectiveMethodInvocation.releaseAfter(targetSource, target, result, detached);
+    }
+    
+    /**
+     * 子类代理的方法调用：拦截器链执行完后通过生成的代码调用目标方法
+     */
+    private static class SubclassMethodInvocation extends ReflectiveMethodInvocation {
+        
+        private final SubclassProxy proxy;
+        private final int methodIndex;
+        
+        SubclassMethodInvocation(SubclassProxy proxy, int methodIndex, Object target,
+                                 Method method, Object[] arguments, Object[] chain) {
+            super(target, method, arguments, chain);
+            this.proxy = proxy;
+            this.methodIndex = methodIndex;
+        }
+        
+        @Override
+        protected Object invokeJoinpoint() throws Throwable {
+            return this.proxy.lite$invokeTarget(this.methodIndex, getThis(), getArguments());
+        }
+        
+        @Override
+        protected ReflectiveMethodInvocation withTarget(Object target) {
+            return new SubclassMethodInvocation(this.proxy, this.methodIndex, target,
+                getMethod(), getArguments(), getInterceptorsAndDynamicMethodMatchers());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.litespring.aop;
+
+/**
+ * 由{@link SubclassProxyGenerator}生成的子类代理实现的接口
+ * 方法名带lite$前缀，避免与目标类自己的方法冲突
+ * 
+ * @author lite-spring
+ */
+public interface SubclassProxy {
+    
+    /**
+     * 绑定分派调用的AopProxy（创建代理实例后调用一次）
+     */
+    void lite$setAopProxy(SubclassAopProxy aopProxy);
+    
+    /**
+     * 用invokevirtual直接调用目标对象的方法
+     * 
+     * @param methodIndex 方法在{@link SubclassProxyGenerator.ProxyClass#getMethods()}中的下标
+     * @param target 目标对象
+     * @param args 参数
+     * @return 返回值（基本类型已装箱，void方法返回null）
+     * @throws Throwable 目标方法抛出的异常
+     */
+    Object lite$invokeTarget(int methodIndex, Object target, Object[] args) throws Throwable;
+}
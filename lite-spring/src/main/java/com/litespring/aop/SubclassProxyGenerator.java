@@ -0,0 +1,527 @@
+package com.litespring.aop;
+
+import com.litespring.aop.bytecode.ClassFileWriter;
+import com.litespring.aop.bytecode.CodeWriter;
+import com.litespring.aop.bytecode.CodeWriter.Label;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 子类代理生成器
+ * 在运行时为没有实现接口的目标类生成子类，替代CGLIB
+ * 
+ * 对目标类的每个可覆盖的方法，生成的子类方法：
+ * 1. 该方法当前没有匹配的通知：用invokevirtual直接调用目标对象的方法
+ * 2. 有匹配的通知：参数装箱后交给{@link SubclassAopProxy#invoke}执行通知链，
+ *    拦截器链最后通过生成的lite$invokeTarget（tableswitch + invokevirtual）调用目标方法
+ * 
+ * 通知由每个代理实例绑定的SubclassAopProxy提供，生成的类本身不依赖通知配置，
+ * 因此每个目标类只生成一次，被所有通知组合共享（用ClassValue缓存，目标类卸载时一起回收）
+ * 
+ * 生成的类与目标类在同一个包和类加载器中（通过MethodHandles.privateLookupIn定义），
+ * 所以可以覆盖包可见的方法。以下方法不会被代理：
+ * - final、static、private方法
+ * - 其他包中父类声明的protected/包可见方法
+ * - 参数或返回值类型在目标类所在的包中不可访问的方法
+ * 
+ * @author lite-spring
+ */
+public class SubclassProxyGenerator {
+    
+    /**
+     * 生成的类名中的标记
+     */
+    public static final String PROXY_CLASS_SEPARATOR = "$$LiteSpringProxy$$";
+    
+    private static final String OBJECT = "java/lang/Object";
+    private static final String SUBCLASS_PROXY = internalName(SubclassProxy.class);
+    private static final String AOP_PROXY = internalName(SubclassAopProxy.class);
+    private static final String AOP_PROXY_DESCRIPTOR = "L" + AOP_PROXY + ";";
+    private static final String ADVICE_CHAIN_DESCRIPTOR = "L" + internalName(AdviceChain.class) + ";";
+    private static final String AOP_PROXY_FIELD = "lite$aopProxy";
+    
+    private static final AtomicInteger classCounter = new AtomicInteger();
+    
+    private static final Map<Class<?>, String> wrapperTypes = new HashMap<>(16);
+    
+    static {
+        wrapperTypes.put(boolean.class, "java/lang/Boolean");
+        wrapperTypes.put(byte.class, "java/lang/Byte");
+        wrapperTypes.put(char.class, "java/lang/Character");
+        wrapperTypes.put(short.class, "java/lang/Short");
+        wrapperTypes.put(int.class, "java/lang/Integer");
+        wrapperTypes.put(long.class, "java/lang/Long");
+        wrapperTypes.put(float.class, "java/lang/Float");
+        wrapperTypes.put(double.class, "java/lang/Double");
+    }
+    
+    /**
+     * 目标类 -> 生成的代理类
+     */
+    private static final ClassValue<ProxyClass> proxyClasses = new ClassValue<ProxyClass>() {
+        @Override
+        protected ProxyClass computeValue(Class<?> targetClass) {
+            return generate(targetClass);
+        }
+    };
+    
+    /**
+     * 获取目标类的代理类（第一次调用时生成）
+     * 
+     * @param targetClass 目标类（不能是final类、接口、数组或基本类型）
+     * @return 代理类信息
+     */
+    public static ProxyClass getProxyClass(Class<?> targetClass) {
+        Objects.requireNonNull(targetClass, "目标类不能为null");
+        return proxyClasses.get(targetClass);
+    }
+    
+    /**
+     * 判断对象是否是生成的子类代理
+     */
+    public static boolean isSubclassProxy(Object object) {
+        return object instanceof SubclassProxy;
+    }
+    
+    // ==================== 生成 ====================
+    
+    private static ProxyClass generate(Class<?> targetClass) {
+        if (targetClass.isInterface() || targetClass.isArray() || targetClass.isPrimitive()) {
+            throw new IllegalArgumentException("只能为普通类生成子类代理: " + targetClass.getName());
+        }
+        if (Modifier.isFinal(targetClass.getModifiers())) {
+            throw new IllegalArgumentException("无法为final类生成子类代理: " + targetClass.getName());
+        }
+        
+        List<Method> methods = collectProxyMethods(targetClass);
+        String targetName = internalName(targetClass);
+        String proxyName = targetName + PROXY_CLASS_SEPARATOR + classCounter.incrementAndGet();
+        
+        ClassFileWriter cw = new ClassFileWriter(
+            ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_SUPER | ClassFileWriter.ACC_SYNTHETIC,
+            proxyName, targetName, new String[] {SUBCLASS_PROXY});
+        cw.addField(ClassFileWriter.ACC_PRIVATE, AOP_PROXY_FIELD, AOP_PROXY_DESCRIPTOR);
+        
+        generateConstructor(cw, targetClass, targetName);
+        generateSetAopProxy(cw, proxyName);
+        for (int i = 0; i < methods.size(); i++) {
+            generateProxyMethod(cw, proxyName, targetName, methods.get(i), i);
+        }
+        generateInvokeTarget(cw, targetName, methods);
+        
+        Class<?> proxyClass;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup());
+            proxyClass = lookup.defineClass(cw.toByteArray());
+        } catch (IllegalAccessException | RuntimeException | LinkageError e) {
+            throw new IllegalStateException("生成子类代理失败: " + targetClass.getName(), e);
+        }
+        return new ProxyClass(proxyClass, methods.toArray(new Method[0]));
+    }
+    
+    /**
+     * 收集需要代理的方法（子类中的声明优先，覆盖父类的同签名方法）
+     */
+    private static List<Method> collectProxyMethods(Class<?> targetClass) {
+        // 签名 -> 方法（null表示该签名存在但不能代理，父类的同签名方法也不能再代理）
+        Map<String, Method> candidates = new LinkedHashMap<>();
+        for (Class<?> clazz = targetClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+                if (!candidates.containsKey(signature)) {
+                    candidates.put(signature, isProxyable(method, targetClass) ? method : null);
+                }
+            }
+        }
+        
+        // 接口的默认方法
+        for (Method method : targetClass.getMethods()) {
+            if (method.isDefault()) {
+                String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+                if (!candidates.containsKey(signature)) {
+                    candidates.put(signature, isProxyable(method, targetClass) ? method : null);
+                }
+            }
+        }
+        
+        List<Method> methods = new ArrayList<>();
+        for (Method method : candidates.values()) {
+            if (method != null) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+    
+    private static boolean isProxyable(Method method, Class<?> targetClass) {
+        int modifiers = method.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isPrivate(modifiers)
+                || Modifier.isAbstract(modifiers) || method.isBridge() || method.isSynthetic()) {
+            return false;
+        }
+        if (!Modifier.isPublic(modifiers) && !isSamePackage(method.getDeclaringClass(), targetClass)) {
+            return false;
+        }
+        if (!isAccessible(method.getReturnType(), targetClass)) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isAccessible(parameterType, targetClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isAccessible(Class<?> type, Class<?> fromClass) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getDeclaringClass()) {
+            if (!Modifier.isPublic(clazz.getModifiers()) && !isSamePackage(clazz, fromClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isSamePackage(Class<?> a, Class<?> b) {
+        return a.getClassLoader() == b.getClassLoader()
+            && a.getPackageName().equals(b.getPackageName());
+    }
+    
+    /**
+     * 无参构造器：调用父类的无参构造器
+     * 只在JVM不支持跳过构造器创建对象时使用
+     */
+    private static void generateConstructor(ClassFileWriter cw, Class<?> targetClass, String targetName) {
+        try {
+            Constructor<?> constructor = targetClass.getDeclaredConstructor();
+            if (Modifier.isPrivate(constructor.getModifiers())) {
+                return;
+            }
+        } catch (NoSuchMethodException e) {
+            return;
+        }
+        CodeWriter code = cw.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", "()V", 1, 1);
+        code.aload(0);
+        code.invokeSpecial(targetName, "<init>", "()V");
+        code.op(CodeWriter.RETURN);
+    }
+    
+    private static void generateSetAopProxy(ClassFileWriter cw, String proxyName) {
+        CodeWriter code = cw.addMethod(ClassFileWriter.ACC_PUBLIC, "lite$setAopProxy",
+            "(" + AOP_PROXY_DESCRIPTOR + ")V", 2, 2);
+        code.aload(0);
+        code.aload(1);
+        code.putField(proxyName, AOP_PROXY_FIELD, AOP_PROXY_DESCRIPTOR);
+        code.op(CodeWriter.RETURN);
+    }
+    
+    /**
+     * 生成覆盖目标方法的代理方法
+     */
+    private static void generateProxyMethod(ClassFileWriter cw, String proxyName, String targetName,
+                                            Method method, int index) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Class<?> returnType = method.getReturnType();
+        String descriptor = methodDescriptor(method);
+        int parameterSlots = slotsOf(parameterTypes);
+        int aopProxySlot = 1 + parameterSlots;
+        int chainSlot = aopProxySlot + 1;
+        
+        int access = method.getModifiers()
+            & (ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_PROTECTED);
+        CodeWriter code = cw.addMethod(access, method.getName(), descriptor,
+            parameterSlots + 9, chainSlot + 1);
+        
+        Label bound = new Label();
+        Label advised = new Label();
+        
+        // SubclassAopProxy aopProxy = this.lite$aopProxy;
+        code.aload(0);
+        code.getField(proxyName, AOP_PROXY_FIELD, AOP_PROXY_DESCRIPTOR);
+        code.astore(aopProxySlot);
+        
+        // 还没有绑定（目标类构造器中调用了被覆盖的方法）：执行父类的实现
+        code.aload(aopProxySlot);
+        code.ifNonNull(bound);
+        code.aload(0);
+        loadParameters(code, parameterTypes);
+        code.invokeSpecial(targetName, method.getName(), descriptor);
+        code.returnValue(returnType);
+        
+        // AdviceChain chain = aopProxy.getAdviceChain(index);
+        // 没有通知（chain == null）：((Target) aopProxy.getTarget()).method(args)
+        code.mark(bound);
+        code.aload(aopProxySlot);
+        code.pushInt(index);
+        code.invokeVirtual(AOP_PROXY, "getAdviceChain", "(I)" + ADVICE_CHAIN_DESCRIPTOR);
+        code.astore(chainSlot);
+        code.aload(chainSlot);
+        code.ifNonNull(advised);
+        code.aload(aopProxySlot);
+        code.invokeVirtual(AOP_PROXY, "getTarget", "()L" + OBJECT + ";");
+        code.checkCast(targetName);
+        loadParameters(code, parameterTypes);
+        code.invokeVirtual(targetName, method.getName(), descriptor);
+        code.returnValue(returnType);
+        
+        // 有通知：aopProxy.invoke(this, index, chain, new Object[] {args})
+        code.mark(advised);
+        code.aload(aopProxySlot);
+        code.aload(0);
+        code.pushInt(index);
+        code.aload(chainSlot);
+        if (parameterTypes.length == 0) {
+            // 无参方法不分配参数数组（与JDK代理一致，参数为null）
+            code.op(CodeWriter.ACONST_NULL);
+        } else {
+            code.pushInt(parameterTypes.length);
+            code.newArray(OBJECT);
+        }
+        int slot = 1;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            code.op(CodeWriter.DUP);
+            code.pushInt(i);
+            code.load(parameterTypes[i], slot);
+            box(code, parameterTypes[i]);
+            code.op(CodeWriter.AASTORE);
+            slot += slotsOf(parameterTypes[i]);
+        }
+        code.invokeVirtual(AOP_PROXY, "invoke",
+            "(L" + OBJECT + ";I" + ADVICE_CHAIN_DESCRIPTOR + "[L" + OBJECT + ";)L" + OBJECT + ";");
+        if (returnType == void.class) {
+            code.op(CodeWriter.POP);
+        } else {
+            unbox(code, returnType);
+        }
+        code.returnValue(returnType);
+    }
+    
+    /**
+     * 生成lite$invokeTarget：按方法下标tableswitch，用invokevirtual调用目标方法
+     */
+    private static void generateInvokeTarget(ClassFileWriter cw, String targetName, List<Method> methods) {
+        int maxParameterSlots = 0;
+        for (Method method : methods) {
+            maxParameterSlots = Math.max(maxParameterSlots, slotsOf(method.getParameterTypes()));
+        }
+        CodeWriter code = cw.addMethod(ClassFileWriter.ACC_PUBLIC, "lite$invokeTarget",
+            "(IL" + OBJECT + ";[L" + OBJECT + ";)L" + OBJECT + ";", maxParameterSlots + 4, 4);
+        
+        Label unknown = new Label();
+        if (!methods.isEmpty()) {
+            Label[] cases = new Label[methods.size()];
+            for (int i = 0; i < cases.length; i++) {
+                cases[i] = new Label();
+            }
+            code.load(int.class, 1);
+            code.tableSwitch(0, unknown, cases);
+            
+            for (int i = 0; i < cases.length; i++) {
+                Method method = methods.get(i);
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                code.mark(cases[i]);
+                code.aload(2);
+                code.checkCast(targetName);
+                for (int p = 0; p < parameterTypes.length; p++) {
+                    code.aload(3);
+                    code.pushInt(p);
+                    code.op(CodeWriter.AALOAD);
+                    unbox(code, parameterTypes[p]);
+                }
+                code.invokeVirtual(targetName, method.getName(), methodDescriptor(method));
+                if (method.getReturnType() == void.class) {
+                    code.op(CodeWriter.ACONST_NULL);
+                } else {
+                    box(code, method.getReturnType());
+                }
+                code.op(CodeWriter.ARETURN);
+            }
+        }
+        
+        code.mark(unknown);
+        code.newObject("java/lang/IllegalArgumentException");
+        code.op(CodeWriter.DUP);
+        code.invokeSpecial("java/lang/IllegalArgumentException", "<init>", "()V");
+        code.op(CodeWriter.ATHROW);
+    }
+    
+    // ==================== 辅助方法 ====================
+    
+    private static void loadParameters(CodeWriter code, Class<?>[] parameterTypes) {
+        int slot = 1;
+        for (Class<?> parameterType : parameterTypes) {
+            code.load(parameterType, slot);
+            slot += slotsOf(parameterType);
+        }
+    }
+    
+    private static void box(CodeWriter code, Class<?> type) {
+        if (type.isPrimitive()) {
+            String wrapper = wrapperTypes.get(type);
+            code.invokeStatic(wrapper, "valueOf", "(" + descriptorOf(type) + ")L" + wrapper + ";");
+        }
+    }
+    
+    private static void unbox(CodeWriter code, Class<?> type) {
+        if (type.isPrimitive()) {
+            String wrapper = wrapperTypes.get(type);
+            code.checkCast(wrapper);
+            code.invokeVirtual(wrapper, type.getName() + "Value", "()" + descriptorOf(type));
+        } else if (type != Object.class) {
+            code.checkCast(internalName(type));
+        }
+    }
+    
+    private static int slotsOf(Class<?>[] types) {
+        int slots = 0;
+        for (Class<?> type : types) {
+            slots += slotsOf(type);
+        }
+        return slots;
+    }
+    
+    private static int slotsOf(Class<?> type) {
+        return (type == long.class || type == double.class) ? 2 : 1;
+    }
+    
+    private static String internalName(Class<?> clazz) {
+        return clazz.getName().replace('.', '/');
+    }
+    
+    private static String methodDescriptor(Method method) {
+        StringBuilder sb = new StringBuilder("(");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            sb.append(descriptorOf(parameterType));
+        }
+        return sb.append(')').append(descriptorOf(method.getReturnType())).toString();
+    }
+    
+    private static String descriptorOf(Class<?> type) {
+        if (type.isPrimitive()) {
+            if (type == void.class) return "V";
+            if (type == boolean.class) return "Z";
+            if (type == byte.class) return "B";
+            if (type == char.class) return "C";
+            if (type == short.class) return "S";
+            if (type == int.class) return "I";
+            if (type == long.class) return "J";
+            if (type == float.class) return "F";
+            return "D";
+        }
+        if (type.isArray()) {
+            return internalName(type);
+        }
+        return "L" + internalName(type) + ";";
+    }
+    
+    // ==================== 代理类信息 ====================
+    
+    /**
+     * 生成的代理类及其代理的方法列表
+     */
+    public static final class ProxyClass {
+        
+        private final Class<?> proxyClass;
+        private final Method[] methods;
+        private final Constructor<?> instantiator;
+        
+        ProxyClass(Class<?> proxyClass, Method[] methods) {
+            this.proxyClass = proxyClass;
+            this.methods = methods;
+            this.instantiator = ProxyInstantiator.resolve(proxyClass);
+        }
+        
+        public Class<?> getProxyClass() {
+            return proxyClass;
+        }
+        
+        /**
+         * 被代理的方法，下标即生成代码中的方法下标
+         */
+        public Method[] getMethods() {
+            return methods.clone();
+        }
+        
+        Method getMethod(int index) {
+            return methods[index];
+        }
+        
+        /**
+         * 创建代理实例（尽量不执行目标类的构造器）
+         */
+        public SubclassProxy newInstance() {
+            try {
+                return (SubclassProxy) instantiator.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("创建子类代理实例失败: " + proxyClass.getName(), e);
+            }
+        }
+    }
+    
+    /**
+     * 代理实例的创建方式
+     * 
+     * 优先使用jdk.unsupported模块中的ReflectionFactory创建"序列化构造器"，
+     * 只执行Object的构造器，目标类的构造器（及其副作用）不会为代理实例再执行一次；
+     * 不可用时退回到生成的无参构造器
+     */
+    private static final class ProxyInstantiator {
+        
+        private static final Object reflectionFactory;
+        private static final Method newConstructorForSerialization;
+        
+        static {
+            Object factory = null;
+            Method method = null;
+            try {
+                Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+                factory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+                method = factoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+            } catch (Throwable e) {
+                // 不可用，使用生成的构造器
+            }
+            reflectionFactory = factory;
+            newConstructorForSerialization = method;
+        }
+        
+        static Constructor<?> resolve(Class<?> proxyClass) {
+            if (newConstructorForSerialization != null) {
+                try {
+                    Constructor<?> constructor = (Constructor<?>) newConstructorForSerialization.invoke(
+                        reflectionFactory, proxyClass, Object.class.getDeclaredConstructor());
+                    if (constructor != null) {
+                        constructor.setAccessible(true);
+                        return constructor;
+                    }
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    // 退回到生成的构造器
+                }
+            }
+            try {
+                Constructor<?> constructor = proxyClass.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(
+                    "目标类没有无参构造器，无法创建子类代理: " + proxyClass.getSuperclass().getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.litespring.aop;
+
+/**
+ * 目标源
+ * 代理每次调用前通过getTarget获取目标对象，调用结束后通过releaseTarget归还
+ * 
+ * 静态目标源（{@link #isStatic()}为true）每次返回同一个对象，代理可以缓存它并跳过获取/归还；
+ * 非静态目标源可以每次返回不同的对象，例如从对象池借出，或者每个线程一个
+ * 
+ * @author lite-spring
+ */
+public interface TargetSource {
+    
+    /**
+     * 目标对象的类型
+     */
+    Class<?> getTargetClass();
+    
+    /**
+     * 是否每次都返回同一个目标对象
+     */
+    boolean isStatic();
+    
+    /**
+     * 获取本次调用的目标对象
+     * 
+     * @throws Exception 如果无法获取目标对象
+     */
+    Object getTarget() throws Exception;
+    
+    /**
+     * 归还getTarget获取的目标对象
+     * 
+     * @throws Exception 如果归还失败
+     */
+    void releaseTarget(Object target) throws Exception;
+}
@@ -0,0 +1,275 @@
+package com.litespring.aop.bytecode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 最小化的class文件写入器
+ * 只支持生成代理类所需的结构：常量池、字段、带Code属性的方法
+ * 
+ * 生成的class文件版本为49（Java 5），这样不需要计算StackMapTable，
+ * JVM会使用类型推导验证器校验字节码
+ * 
+ * 用法：
+ * <pre>
+ * ClassFileWriter cw = new ClassFileWriter(ACC_PUBLIC | ACC_SUPER, "com/acme/Foo$$Proxy", "com/acme/Foo",
+ *     new String[] {"com/litespring/aop/SubclassProxy"});
+ * CodeWriter code = cw.addMethod(ACC_PUBLIC, "bar", "()V", 1, 1);
+ * code.op(CodeWriter.RETURN);
+ * byte[] bytes = cw.toByteArray();
+ * </pre>
+ * 
+ * @author lite-spring
+ */
+public class ClassFileWriter {
+    
+    public static final int ACC_PUBLIC = 0x0001;
+    public static final int ACC_PRIVATE = 0x0002;
+    public static final int ACC_PROTECTED = 0x0004;
+    public static final int ACC_STATIC = 0x0008;
+    public static final int ACC_FINAL = 0x0010;
+    public static final int ACC_SUPER = 0x0020;
+    public static final int ACC_SYNTHETIC = 0x1000;
+    
+    private static final int MAGIC = 0xCAFEBABE;
+    
+    private static final int VERSION = 49;
+    
+    // ==================== 常量池标签 ====================
+    
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> poolIndex = new HashMap<>();
+    private int poolCount = 1;
+    
+    private final int access;
+    private final int thisClass;
+    private final int superClass;
+    private final int[] interfaces;
+    
+    private final List<int[]> fields = new ArrayList<>();
+    private final List<MethodEntry> methods = new ArrayList<>();
+    
+    /**
+     * @param access 类的访问标志
+     * @param name 类的内部名称（用/分隔）
+     * @param superName 父类的内部名称
+     * @param interfaceNames 实现的接口的内部名称
+     */
+    public ClassFileWriter(int access, String name, String superName, String[] interfaceNames) {
+        this.access = access;
+        this.thisClass = classRef(name);
+        this.superClass = classRef(superName);
+        this.interfaces = new int[interfaceNames.length];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            this.interfaces[i] = classRef(interfaceNames[i]);
+        }
+    }
+    
+    /**
+     * 添加字段
+     */
+    public void addField(int access, String name, String descriptor) {
+        fields.add(new int[] {access, utf8(name), utf8(descriptor)});
+    }
+    
+    /**
+     * 添加方法，返回用于写入方法体的CodeWriter
+     * 
+     * @param maxStack 操作数栈最大深度（可以偏大）
+     * @param maxLocals 局部变量表大小（包括this和参数）
+     */
+    public CodeWriter addMethod(int access, String name, String descriptor, int maxStack, int maxLocals) {
+        CodeWriter code = new CodeWriter(this);
+        methods.add(new MethodEntry(access, utf8(name), utf8(descriptor), maxStack, maxLocals, code));
+        return code;
+    }
+    
+    /**
+     * 生成class文件字节
+     */
+    public byte[] toByteArray() {
+        try {
+            int codeAttributeName = utf8("Code");
+            
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeShort(0);
+            out.writeShort(VERSION);
+            out.writeShort(poolCount);
+            pool.flush();
+            poolBytes.writeTo(out);
+            
+            out.writeShort(access);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.length);
+            for (int itf : interfaces) {
+                out.writeShort(itf);
+            }
+            
+            out.writeShort(fields.size());
+            for (int[] field : fields) {
+                out.writeShort(field[0]);
+                out.writeShort(field[1]);
+                out.writeShort(field[2]);
+                out.writeShort(0);
+            }
+            
+            out.writeShort(methods.size());
+            for (MethodEntry method : methods) {
+                byte[] code = method.code.toByteArray();
+                out.writeShort(method.access);
+                out.writeShort(method.name);
+                out.writeShort(method.descriptor);
+                out.writeShort(1);
+                out.writeShort(codeAttributeName);
+                out.writeInt(12 + code.length);
+                out.writeShort(method.maxStack);
+                out.writeShort(method.maxLocals);
+                out.writeInt(code.length);
+                out.write(code);
+                out.writeShort(0);  // 异常表
+                out.writeShort(0);  // 属性
+            }
+            
+            out.writeShort(0);  // 类属性
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // 写入内存流不会失败
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    // ==================== 常量池 ====================
+    
+    int utf8(String value) {
+        Integer index = poolIndex.get("U" + value);
+        if (index != null) {
+            return index;
+        }
+        try {
+            pool.writeByte(CONSTANT_UTF8);
+            pool.writeUTF(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return register("U" + value);
+    }
+    
+    int integer(int value) {
+        Integer index = poolIndex.get("I" + value);
+        if (index != null) {
+            return index;
+        }
+        write(CONSTANT_INTEGER, value >>> 16, value & 0xFFFF);
+        return register("I" + value);
+    }
+    
+    int classRef(String internalName) {
+        Integer index = poolIndex.get("C" + internalName);
+        if (index != null) {
+            return index;
+        }
+        int name = utf8(internalName);
+        write(CONSTANT_CLASS, name);
+        return register("C" + internalName);
+    }
+    
+    int fieldRef(String owner, String name, String descriptor) {
+        return memberRef(CONSTANT_FIELDREF, owner, name, descriptor);
+    }
+    
+    int methodRef(String owner, String name, String descriptor) {
+        return memberRef(CONSTANT_METHODREF, owner, name, descriptor);
+    }
+    
+    int interfaceMethodRef(String owner, String name, String descriptor) {
+        return memberRef(CONSTANT_INTERFACE_METHODREF, owner, name, descriptor);
+    }
+    
+    private int memberRef(int tag, String owner, String name, String descriptor) {
+        String key = tag + owner + "." + name + descriptor;
+        Integer index = poolIndex.get(key);
+        if (index != null) {
+            return index;
+        }
+        int ownerIndex = classRef(owner);
+        int nameAndType = nameAndType(name, descriptor);
+        write(tag, ownerIndex, nameAndType);
+        return register(key);
+    }
+    
+    private int nameAndType(String name, String descriptor) {
+        String key = "N" + name + ":" + descriptor;
+        Integer index = poolIndex.get(key);
+        if (index != null) {
+            return index;
+        }
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        write(CONSTANT_NAME_AND_TYPE, nameIndex, descriptorIndex);
+        return register(key);
+    }
+    
+    private void write(int tag, int u2a, int u2b) {
+        try {
+            pool.writeByte(tag);
+            pool.writeShort(u2a);
+            pool.writeShort(u2b);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private void write(int tag, int u2) {
+        try {
+            pool.writeByte(tag);
+            pool.writeShort(u2);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private int register(String key) {
+        int index = poolCount++;
+        poolIndex.put(key, index);
+        if (poolCount > 0xFFFF) {
+            throw new IllegalStateException("常量池超出限制");
+        }
+        return index;
+    }
+    
+    private static final class MethodEntry {
+        final int access;
+        final int name;
+        final int descriptor;
+        final int maxStack;
+        final int maxLocals;
+        final CodeWriter code;
+        
+        MethodEntry(int access, int name, int descriptor, int maxStack, int maxLocals, CodeWriter code) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.maxStack = maxStack;
+            this.maxLocals = maxLocals;
+            this.code = code;
+        }
+    }
+}
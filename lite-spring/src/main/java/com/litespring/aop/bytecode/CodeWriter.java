@@ -0,0 +1,318 @@
+package com.litespring.aop.bytecode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 方法体字节码写入器
+ * 提供生成代理方法所需的指令，跳转目标用{@link Label}表示，写完后统一回填偏移量
+ * 
+ * @author lite-spring
+ */
+public class CodeWriter {
+    
+    // ==================== 操作码 ====================
+    
+    public static final int ACONST_NULL = 0x01;
+    public static final int AALOAD = 0x32;
+    public static final int AASTORE = 0x53;
+    public static final int POP = 0x57;
+    public static final int DUP = 0x59;
+    public static final int IRETURN = 0xac;
+    public static final int LRETURN = 0xad;
+    public static final int FRETURN = 0xae;
+    public static final int DRETURN = 0xaf;
+    public static final int ARETURN = 0xb0;
+    public static final int RETURN = 0xb1;
+    public static final int ATHROW = 0xbf;
+    
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int ILOAD = 0x15;
+    private static final int LLOAD = 0x16;
+    private static final int FLOAD = 0x17;
+    private static final int DLOAD = 0x18;
+    private static final int ALOAD = 0x19;
+    private static final int ASTORE = 0x3a;
+    private static final int IFNE = 0x9a;
+    private static final int GOTO = 0xa7;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int NEW = 0xbb;
+    private static final int ANEWARRAY = 0xbd;
+    private static final int CHECKCAST = 0xc0;
+    private static final int WIDE = 0xc4;
+    private static final int IFNONNULL = 0xc7;
+    
+    private final ClassFileWriter classWriter;
+    
+    private byte[] code = new byte[64];
+    private int length = 0;
+    
+    /**
+     * 待回填的跳转：{指令位置, 偏移量位置, 偏移量宽度}
+     */
+    private final List<int[]> fixups = new ArrayList<>();
+    private final List<Label> fixupLabels = new ArrayList<>();
+    
+    CodeWriter(ClassFileWriter classWriter) {
+        this.classWriter = classWriter;
+    }
+    
+    /**
+     * 跳转目标
+     */
+    public static final class Label {
+        private int position = -1;
+    }
+    
+    // ==================== 指令 ====================
+    
+    /**
+     * 写入无操作数的指令
+     */
+    public void op(int opcode) {
+        u1(opcode);
+    }
+    
+    /**
+     * 压入int常量
+     */
+    public void pushInt(int value) {
+        if (value >= -1 && value <= 5) {
+            u1(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            u1(BIPUSH);
+            u1(value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            u1(SIPUSH);
+            u2(value);
+        } else {
+            u1(LDC_W);
+            u2(classWriter.integer(value));
+        }
+    }
+    
+    /**
+     * 按类型加载局部变量
+     */
+    public void load(Class<?> type, int slot) {
+        localOp(loadOpcode(type), slot);
+    }
+    
+    public void aload(int slot) {
+        localOp(ALOAD, slot);
+    }
+    
+    public void astore(int slot) {
+        localOp(ASTORE, slot);
+    }
+    
+    /**
+     * 按类型返回（void写入return）
+     */
+    public void returnValue(Class<?> type) {
+        if (type == void.class) {
+            u1(RETURN);
+        } else if (type == long.class) {
+            u1(LRETURN);
+        } else if (type == float.class) {
+            u1(FRETURN);
+        } else if (type == double.class) {
+            u1(DRETURN);
+        } else if (type.isPrimitive()) {
+            u1(IRETURN);
+        } else {
+            u1(ARETURN);
+        }
+    }
+    
+    public void getField(String owner, String name, String descriptor) {
+        u1(GETFIELD);
+        u2(classWriter.fieldRef(owner, name, descriptor));
+    }
+    
+    public void putField(String owner, String name, String descriptor) {
+        u1(PUTFIELD);
+        u2(classWriter.fieldRef(owner, name, descriptor));
+    }
+    
+    public void invokeVirtual(String owner, String name, String descriptor) {
+        u1(INVOKEVIRTUAL);
+        u2(classWriter.methodRef(owner, name, descriptor));
+    }
+    
+    public void invokeSpecial(String owner, String name, String descriptor) {
+        u1(INVOKESPECIAL);
+        u2(classWriter.methodRef(owner, name, descriptor));
+    }
+    
+    public void invokeStatic(String owner, String name, String descriptor) {
+        u1(INVOKESTATIC);
+        u2(classWriter.methodRef(owner, name, descriptor));
+    }
+    
+    /**
+     * @param argumentSlots 参数占用的局部变量槽数（不包括接收者）
+     */
+    public void invokeInterface(String owner, String name, String descriptor, int argumentSlots) {
+        u1(INVOKEINTERFACE);
+        u2(classWriter.interfaceMethodRef(owner, name, descriptor));
+        u1(argumentSlots + 1);
+        u1(0);
+    }
+    
+    public void newObject(String internalName) {
+        u1(NEW);
+        u2(classWriter.classRef(internalName));
+    }
+    
+    public void newArray(String elementInternalName) {
+        u1(ANEWARRAY);
+        u2(classWriter.classRef(elementInternalName));
+    }
+    
+    public void checkCast(String internalName) {
+        u1(CHECKCAST);
+        u2(classWriter.classRef(internalName));
+    }
+    
+    // ==================== 跳转 ====================
+    
+    public void ifNe(Label target) {
+        jump(IFNE, target);
+    }
+    
+    public void ifNonNull(Label target) {
+        jump(IFNONNULL, target);
+    }
+    
+    public void goTo(Label target) {
+        jump(GOTO, target);
+    }
+    
+    /**
+     * tableswitch：栈顶int值为low+i时跳转到targets[i]，否则跳转到defaultTarget
+     */
+    public void tableSwitch(int low, Label defaultTarget, Label[] targets) {
+        int opcodePosition = length;
+        u1(TABLESWITCH);
+        while (length % 4 != 0) {
+            u1(0);
+        }
+        fixup(opcodePosition, defaultTarget, 4);
+        u4(low);
+        u4(low + targets.length - 1);
+        for (Label target : targets) {
+            fixup(opcodePosition, target, 4);
+        }
+    }
+    
+    /**
+     * 将标签绑定到当前位置
+     */
+    public void mark(Label label) {
+        label.position = length;
+    }
+    
+    private void jump(int opcode, Label target) {
+        int opcodePosition = length;
+        u1(opcode);
+        fixup(opcodePosition, target, 2);
+    }
+    
+    private void fixup(int opcodePosition, Label target, int width) {
+        fixups.add(new int[] {opcodePosition, length, width});
+        fixupLabels.add(target);
+        if (width == 2) {
+            u2(0);
+        } else {
+            u4(0);
+        }
+    }
+    
+    /**
+     * 回填跳转偏移量并返回字节码
+     */
+    byte[] toByteArray() {
+        for (int i = 0; i < fixups.size(); i++) {
+            int[] fixup = fixups.get(i);
+            Label label = fixupLabels.get(i);
+            if (label.position < 0) {
+                throw new IllegalStateException("跳转目标未绑定");
+            }
+            int offset = label.position - fixup[0];
+            if (fixup[2] == 2) {
+                if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE) {
+                    throw new IllegalStateException("跳转距离超出限制");
+                }
+                putU2(fixup[1], offset);
+            } else {
+                putU2(fixup[1], offset >>> 16);
+                putU2(fixup[1] + 2, offset);
+            }
+        }
+        return Arrays.copyOf(code, length);
+    }
+    
+    // ==================== 底层写入 ====================
+    
+    private static int loadOpcode(Class<?> type) {
+        if (type == long.class) {
+            return LLOAD;
+        } else if (type == float.class) {
+            return FLOAD;
+        } else if (type == double.class) {
+            return DLOAD;
+        } else if (type.isPrimitive()) {
+            return ILOAD;
+        }
+        return ALOAD;
+    }
+    
+    private void localOp(int opcode, int slot) {
+        if (slot > 0xFF) {
+            u1(WIDE);
+            u1(opcode);
+            u2(slot);
+        } else {
+            u1(opcode);
+            u1(slot);
+        }
+    }
+    
+    private void u1(int value) {
+        ensureCapacity(1);
+        code[length++] = (byte) value;
+    }
+    
+    private void u2(int value) {
+        ensureCapacity(2);
+        code[length++] = (byte) (value >>> 8);
+        code[length++] = (byte) value;
+    }
+    
+    private void u4(int value) {
+        u2(value >>> 16);
+        u2(value);
+    }
+    
+    private void putU2(int position, int value) {
+        code[position] = (byte) (value >>> 8);
+        code[position + 1] = (byte) value;
+    }
+    
+    private void ensureCapacity(int extra) {
+        if (length + extra > code.length) {
+            code = Arrays.copyOf(code, Math.max(code.length * 2, length + extra));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.litespring.aop.cache;
+
+/**
+ * 缓存SPI
+ * 
+ * 值可以是null：get返回null表示没有缓存，缓存的null值包装在{@link ValueWrapper}中返回。
+ * 实现需要是线程安全的，并在get中记录命中/未命中统计
+ * 
+ * @author lite-spring
+ */
+public interface Cache {
+    
+    /**
+     * 缓存名称
+     */
+    String getName();
+    
+    /**
+     * 查找缓存的值
+     * 
+     * @return 值的包装，没有缓存时返回null
+     */
+    ValueWrapper get(Object key);
+    
+    /**
+     * 获取缓存的值，没有时调用loader加载并放入缓存
+     * 
+     * @return 缓存的或者新加载的值（可以是null）
+     */
+    default Object get(Object key, ValueLoader loader) throws Throwable {
+        return get(key, loader, ValueLoader::load);
+    }
+    
+    /**
+     * 获取缓存的值，没有时用loader从context加载并放入缓存。
+     * 加载需要的状态通过context传入，调用方可以使用常量loader，命中时不分配内存
+     * 
+     * 默认实现先查找，未命中时加载、记录加载耗时并放入。
+     * 实现可以覆盖它来合并同一个键的并发加载，或者在值快过期时异步刷新并先返回旧值
+     * （异步加载前用{@link ContextLoader#detach}取得在其他线程使用的context）
+     * 
+     * @return 缓存的或者新加载的值（可以是null）
+     */
+    default <C> Object get(Object key, C context, ContextLoader<C> loader) throws Throwable {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return cached.get();
+        }
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = loader.load(context);
+        } catch (Throwable ex) {
+            getStats().recordLoadFailure(System.nanoTime() - start);
+            throw ex;
+        }
+        getStats().recordLoadSuccess(System.nanoTime() - start);
+        put(key, value);
+        return value;
+    }
+    
+    /**
+     * 放入值，已有的值被覆盖
+     */
+    void put(Object key, Object value);
+    
+    /**
+     * 移除键对应的值
+     */
+    void evict(Object key);
+    
+    /**
+     * 移除全部值
+     */
+    void clear();
+    
+    /**
+     * 缓存的统计
+     */
+    CacheStats getStats();
+    
+    /**
+     * 缓存值的包装，用来区分"没有缓存"和"缓存了null"
+     */
+    interface ValueWrapper {
+        
+        Object get();
+    }
+    
+    /**
+     * 缓存值的加载器，可以抛出任何异常
+     */
+    @FunctionalInterface
+    interface ValueLoader {
+        
+        Object load() throws Throwable;
+    }
+    
+    /**
+     * 从context加载缓存值的加载器
+     */
+    @FunctionalInterface
+    interface ContextLoader<C> {
+        
+        Object load(C context) throws Throwable;
+        
+        /**
+         * 在调用方返回之后、在其他线程加载时使用的context，默认就是原来的context
+         */
+        default C detach(C context) {
+            return context;
+        }
+    }
+}
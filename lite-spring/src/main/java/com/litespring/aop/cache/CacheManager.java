@@ -0,0 +1,26 @@
+package com.litespring.aop.cache;
+
+import java.util.Collection;
+
+/**
+ * 缓存管理器SPI，按名称提供缓存
+ * 
+ * 容器中注册了唯一的CacheManager类型的Bean时，缓存拦截器使用它；
+ * 否则使用默认的LocalCacheManager（有界的W-TinyLFU本地缓存）
+ * 
+ * @author lite-spring
+ */
+public interface CacheManager {
+    
+    /**
+     * 获取缓存
+     * 
+     * @return 缓存，不存在且不能创建时返回null
+     */
+    Cache getCache(String name);
+    
+    /**
+     * 已知的缓存名称
+     */
+    Collection<String> getCacheNames();
+}
@@ -0,0 +1,122 @@
+package com.litespring.aop.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存的统计：命中、未命中、加载次数和耗时、容量淘汰次数
+ * 
+ * 计数用LongAdder，多线程记录时没有竞争，读取的是近似的瞬时值
+ * 
+ * @author lite-spring
+ */
+public class CacheStats {
+    
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    
+    public void recordHit() {
+        hitCount.increment();
+    }
+    
+    public void recordMiss() {
+        missCount.increment();
+    }
+    
+    /**
+     * 记录一次成功的加载
+     * 
+     * @param loadTime 加载耗时（纳秒）
+     */
+    public void recordLoadSuccess(long loadTime) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(loadTime);
+    }
+    
+    /**
+     * 记录一次失败的加载
+     * 
+     * @param loadTime 加载耗时（纳秒）
+     */
+    public void recordLoadFailure(long loadTime) {
+        loadFailureCount.increment();
+        totalLoadTime.add(loadTime);
+    }
+    
+    /**
+     * 记录一次因容量或过期被淘汰的条目（不包括显式evict）
+     */
+    public void recordEviction() {
+        evictionCount.increment();
+    }
+    
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+    
+    public long getMissCount() {
+        return missCount.sum();
+    }
+    
+    public long getRequestCount() {
+        return getHitCount() + getMissCount();
+    }
+    
+    /**
+     * 命中率，没有请求时为1
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long requests = hits + getMissCount();
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+    
+    public long getLoadSuccessCount() {
+        return loadSuccessCount.sum();
+    }
+    
+    public long getLoadFailureCount() {
+        return loadFailureCount.sum();
+    }
+    
+    /**
+     * 加载的总耗时（纳秒）
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime.sum();
+    }
+    
+    /**
+     * 平均每次加载的耗时（纳秒），没有加载时为0
+     */
+    public double getAverageLoadPenalty() {
+        long loads = getLoadSuccessCount() + getLoadFailureCount();
+        return loads == 0 ? 0.0 : (double) getTotalLoadTime() / loads;
+    }
+    
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+    
+    /**
+     * 清零全部计数
+     */
+    public void reset() {
+        hitCount.reset();
+        missCount.reset();
+        loadSuccessCount.reset();
+        loadFailureCount.reset();
+        totalLoadTime.reset();
+        evictionCount.reset();
+    }
+    
+    @Override
+    public String toString() {
+        return "CacheStats[hits=" + getHitCount() + ", misses=" + getMissCount()
+            + ", loadSuccess=" + getLoadSuccessCount() + ", loadFailure=" + getLoadFailureCount()
+            + ", totalLoadTime=" + getTotalLoadTime() + "ns, evictions=" + getEvictionCount() + "]";
+    }
+}
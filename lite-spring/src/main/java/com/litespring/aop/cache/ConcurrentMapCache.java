@@ -0,0 +1,76 @@
+package com.litespring.aop.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 基于ConcurrentHashMap的无界缓存
+ * 
+ * 表中直接保存{@link SimpleValueWrapper}，命中时返回已有的包装对象，不分配内存。
+ * 没有容量上限和过期，适合数据量可控的参考数据；需要有界时使用LocalCacheManager
+ * 
+ * @author lite-spring
+ */
+public class ConcurrentMapCache implements Cache {
+    
+    private final String name;
+    
+    private final ConcurrentMap<Object, SimpleValueWrapper> store = new ConcurrentHashMap<>();
+    
+    private final CacheStats stats = new CacheStats();
+    
+    public ConcurrentMapCache(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("缓存名称不能为null");
+        }
+        this.name = name;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public ValueWrapper get(Object key) {
+        SimpleValueWrapper wrapper = store.get(key);
+        if (wrapper != null) {
+            stats.recordHit();
+        } else {
+            stats.recordMiss();
+        }
+        return wrapper;
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        store.put(key, new SimpleValueWrapper(value));
+    }
+    
+    @Override
+    public void evict(Object key) {
+        store.remove(key);
+    }
+    
+    @Override
+    public void clear() {
+        store.clear();
+    }
+    
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+    
+    /**
+     * 当前条目数
+     */
+    public int size() {
+        return store.size();
+    }
+    
+    @Override
+    public String toString() {
+        return "ConcurrentMapCache[" + name + ", size=" + store.size() + "]";
+    }
+}
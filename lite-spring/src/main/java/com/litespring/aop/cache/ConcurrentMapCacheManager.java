@@ -0,0 +1,59 @@
+package com.litespring.aop.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 默认的缓存管理器，缓存为{@link ConcurrentMapCache}
+ * 
+ * 默认第一次使用某个名称时创建缓存；设置了cacheNames后只提供这些缓存，
+ * 其他名称返回null（拦截器会报错），可以用来发现注解中拼错的名称
+ * 
+ * @author lite-spring
+ */
+public class ConcurrentMapCacheManager implements CacheManager {
+    
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+    
+    private volatile boolean dynamic = true;
+    
+    public ConcurrentMapCacheManager() {
+    }
+    
+    public ConcurrentMapCacheManager(String... cacheNames) {
+        setCacheNames(cacheNames);
+    }
+    
+    /**
+     * 固定缓存名称，之后不再按需创建缓存
+     */
+    public void setCacheNames(String... cacheNames) {
+        for (String name : cacheNames) {
+            caches.computeIfAbsent(name, this::createCache);
+        }
+        this.dynamic = false;
+    }
+    
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache == null && dynamic) {
+            cache = caches.computeIfAbsent(name, this::createCache);
+        }
+        return cache;
+    }
+    
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+    
+    /**
+     * 创建缓存，子类可以覆盖以使用其他实现
+     */
+    protected Cache createCache(String name) {
+        return new ConcurrentMapCache(name);
+    }
+}
@@ -0,0 +1,25 @@
+package com.litespring.aop.cache;
+
+/**
+ * {@link Cache.ValueWrapper}的简单实现
+ * 
+ * @author lite-spring
+ */
+public final class SimpleValueWrapper implements Cache.ValueWrapper {
+    
+    private final Object value;
+    
+    public SimpleValueWrapper(Object value) {
+        this.value = value;
+    }
+    
+    @Override
+    public Object get() {
+        return value;
+    }
+    
+    @Override
+    public String toString() {
+        return "SimpleValueWrapper[" + value + "]";
+    }
+}
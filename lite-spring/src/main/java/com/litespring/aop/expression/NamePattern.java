@@ -0,0 +1,61 @@
+package com.litespring.aop.expression;
+
+import java.util.regex.Pattern;
+
+/**
+ * 名称模式（用于方法名）
+ * "*"匹配任意字符序列，如 find*、*User、*
+ * 
+ * @author lite-spring
+ */
+public final class NamePattern {
+    
+    private final String pattern;
+    private final boolean any;
+    private final Pattern regex;
+    
+    private NamePattern(String pattern) {
+        this.pattern = pattern;
+        this.any = "*".equals(pattern);
+        if (this.any || pattern.indexOf('*') < 0) {
+            this.regex = null;
+        } else {
+            StringBuilder sb = new StringBuilder();
+            String[] parts = pattern.split("\\*", -1);
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    sb.append(".*");
+                }
+                if (!parts[i].isEmpty()) {
+                    sb.append(Pattern.quote(parts[i]));
+                }
+            }
+            this.regex = Pattern.compile(sb.toString());
+        }
+    }
+    
+    /**
+     * 编译名称模式
+     */
+    public static NamePattern compile(String pattern) {
+        if (pattern == null || pattern.trim().isEmpty()) {
+            throw new IllegalArgumentException("名称模式不能为空");
+        }
+        return new NamePattern(pattern.trim());
+    }
+    
+    public boolean matches(String name) {
+        if (this.any) {
+            return true;
+        }
+        if (this.regex == null) {
+            return this.pattern.equals(name);
+        }
+        return this.regex.matcher(name).matches();
+    }
+    
+    @Override
+    public String toString() {
+        return this.pattern;
+    }
+}
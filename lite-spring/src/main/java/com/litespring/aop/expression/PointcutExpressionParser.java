@@ -0,0 +1,240 @@
+package com.litespring.aop.expression;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 切点表达式解析器
+ * 把AspectJ风格的表达式编译成{@link PointcutMatcher}树，只在创建切点时解析一次
+ * 
+ * 支持的指示符：
+ * - execution(public * com.acme..*Service.find*(..))
+ * - within(com.acme.service..*)
+ * - &#64;annotation(com.acme.Timed)
+ * - &#64;within(com.acme.Monitored)
+ * 
+ * 支持的运算符：&amp;&amp;（and）、||（or）、!（not）和括号
+ * 
+ * @author lite-spring
+ */
+public final class PointcutExpressionParser {
+    
+    private final String expression;
+    private int position;
+    
+    private PointcutExpressionParser(String expression) {
+        this.expression = expression;
+    }
+    
+    /**
+     * 解析切点表达式
+     * 
+     * @param expression 表达式
+     * @return 编译后的匹配器
+     * @throws IllegalArgumentException 如果表达式语法错误
+     */
+    public static PointcutMatcher parse(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            throw new IllegalArgumentException("切点表达式不能为空");
+        }
+        PointcutExpressionParser parser = new PointcutExpressionParser(expression);
+        PointcutMatcher matcher = parser.parseOr();
+        parser.skipWhitespace();
+        if (parser.position < expression.length()) {
+            throw parser.error("多余的内容");
+        }
+        return matcher;
+    }
+    
+    // ==================== 表达式 ====================
+    
+    private PointcutMatcher parseOr() {
+        PointcutMatcher left = parseAnd();
+        while (consume("||") || consumeKeyword("or")) {
+            left = new PointcutMatchers.Or(left, parseAnd());
+        }
+        return left;
+    }
+    
+    private PointcutMatcher parseAnd() {
+        PointcutMatcher left = parseNot();
+        while (consume("&&") || consumeKeyword("and")) {
+            left = new PointcutMatchers.And(left, parseNot());
+        }
+        return left;
+    }
+    
+    private PointcutMatcher parseNot() {
+        if (consume("!") || consumeKeyword("not")) {
+            return new PointcutMatchers.Not(parseNot());
+        }
+        return parsePrimary();
+    }
+    
+    private PointcutMatcher parsePrimary() {
+        if (consume("(")) {
+            PointcutMatcher inner = parseOr();
+            if (!consume(")")) {
+                throw error("缺少')'");
+            }
+            return inner;
+        }
+        
+        skipWhitespace();
+        int start = position;
+        if (position < expression.length() && expression.charAt(position) == '@') {
+            position++;
+        }
+        while (position < expression.length() && Character.isJavaIdentifierPart(expression.charAt(position))) {
+            position++;
+        }
+        String designator = expression.substring(start, position);
+        if (designator.isEmpty()) {
+            throw error("缺少切点指示符");
+        }
+        if (!consume("(")) {
+            throw error("指示符" + designator + "后缺少'('");
+        }
+        String body = readBody().trim();
+        
+        switch (designator) {
+            case "execution":
+                return parseExecution(body);
+            case "within":
+                return new PointcutMatchers.Within(TypePattern.compile(body));
+            case "@annotation":
+                return new PointcutMatchers.AnnotatedMethod(TypePattern.compile(body));
+            case "@within":
+                return new PointcutMatchers.AnnotatedType(TypePattern.compile(body));
+            default:
+                throw new IllegalArgumentException("不支持的切点指示符: " + designator);
+        }
+    }
+    
+    /**
+     * 读取指示符括号中的内容（已消费左括号），返回后位于右括号之后
+     */
+    private String readBody() {
+        int start = position;
+        int depth = 1;
+        while (position < expression.length()) {
+            char c = expression.charAt(position++);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return expression.substring(start, position - 1);
+            }
+        }
+        throw error("缺少')'");
+    }
+    
+    // ==================== execution ====================
+    
+    /**
+     * 解析execution的内容：修饰符* 返回类型 (声明类型.)?方法名(参数) (throws ...)?
+     */
+    private static PointcutMatcher parseExecution(String body) {
+        int open = body.indexOf('(');
+        int close = body.indexOf(')', open + 1);
+        if (open < 0 || close < 0) {
+            throw new IllegalArgumentException("execution缺少参数列表: " + body);
+        }
+        String trailing = body.substring(close + 1).trim();
+        if (!trailing.isEmpty() && !trailing.startsWith("throws")) {
+            throw new IllegalArgumentException("execution中多余的内容: " + trailing);
+        }
+        
+        String[] tokens = body.substring(0, open).trim().split("\\s+");
+        if (tokens.length < 2) {
+            throw new IllegalArgumentException("execution缺少返回类型或方法名: " + body);
+        }
+        
+        int modifiers = 0;
+        for (int i = 0; i < tokens.length - 2; i++) {
+            modifiers |= parseModifier(tokens[i]);
+        }
+        TypePattern returnType = TypePattern.compile(tokens[tokens.length - 2]);
+        
+        String qualifiedName = tokens[tokens.length - 1];
+        TypePattern declaringType = TypePattern.ANY;
+        String methodName = qualifiedName;
+        int dot = qualifiedName.lastIndexOf('.');
+        if (dot >= 0) {
+            methodName = qualifiedName.substring(dot + 1);
+            String typePart = qualifiedName.substring(0, dot);
+            // com.acme..find* 表示com.acme包及子包中任意类型的find*方法
+            if (typePart.endsWith(".")) {
+                typePart = typePart + ".*";
+            }
+            declaringType = TypePattern.compile(typePart);
+        }
+        
+        List<TypePattern> parameters = new ArrayList<>();
+        String parameterList = body.substring(open + 1, close).trim();
+        if (!parameterList.isEmpty()) {
+            for (String parameter : parameterList.split(",")) {
+                String text = parameter.trim();
+                parameters.add("..".equals(text) ? null : TypePattern.compile(text));
+            }
+        }
+        
+        return new PointcutMatchers.Execution(
+            modifiers, returnType, declaringType, NamePattern.compile(methodName), parameters
+        );
+    }
+    
+    private static int parseModifier(String token) {
+        switch (token) {
+            case "public":
+                return Modifier.PUBLIC;
+            case "protected":
+                return Modifier.PROTECTED;
+            case "private":
+                return Modifier.PRIVATE;
+            case "static":
+                return Modifier.STATIC;
+            case "final":
+                return Modifier.FINAL;
+            case "synchronized":
+                return Modifier.SYNCHRONIZED;
+            default:
+                throw new IllegalArgumentException("不支持的修饰符: " + token);
+        }
+    }
+    
+    // ==================== 词法 ====================
+    
+    private boolean consume(String token) {
+        skipWhitespace();
+        if (expression.startsWith(token, position)) {
+            position += token.length();
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * 消费单词形式的运算符（and、or、not），要求后面不是标识符字符
+     */
+    private boolean consumeKeyword(String keyword) {
+        skipWhitespace();
+        int end = position + keyword.length();
+        if (expression.startsWith(keyword, position)
+            && (end == expression.length() || !Character.isJavaIdentifierPart(expression.charAt(end)))) {
+            position = end;
+            return true;
+        }
+        return false;
+    }
+    
+    private void skipWhitespace() {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+    }
+    
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + "（位置" + position + "）: " + expression);
+    }
+}
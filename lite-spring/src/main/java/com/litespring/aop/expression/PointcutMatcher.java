@@ -0,0 +1,30 @@
+package com.litespring.aop.expression;
+
+import java.lang.reflect.Method;
+
+/**
+ * 编译后的切点表达式
+ * 由{@link PointcutExpressionParser}解析表达式得到，匹配时不再解析字符串
+ * 
+ * @author lite-spring
+ */
+public interface PointcutMatcher {
+    
+    /**
+     * 类级别的预判断
+     * 返回false表示目标类的任何方法都不可能匹配
+     * 
+     * @param targetClass 目标类
+     * @return 如果可能匹配返回true
+     */
+    boolean couldMatch(Class<?> targetClass);
+    
+    /**
+     * 判断方法是否匹配
+     * 
+     * @param method 方法
+     * @param targetClass 目标类
+     * @return 如果匹配返回true
+     */
+    boolean matches(Method method, Class<?> targetClass);
+}
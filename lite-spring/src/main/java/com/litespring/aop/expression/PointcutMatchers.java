@@ -0,0 +1,288 @@
+package com.litespring.aop.expression;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * 切点表达式的各种匹配节点
+ * 
+ * @author lite-spring
+ */
+final class PointcutMatchers {
+    
+    private PointcutMatchers() {
+    }
+    
+    // ==================== 逻辑运算 ====================
+    
+    static final class And implements PointcutMatcher {
+        
+        private final PointcutMatcher left;
+        private final PointcutMatcher right;
+        
+        And(PointcutMatcher left, PointcutMatcher right) {
+            this.left = left;
+            this.right = right;
+        }
+        
+        @Override
+        public boolean couldMatch(Class<?> targetClass) {
+            return left.couldMatch(targetClass) && right.couldMatch(targetClass);
+        }
+        
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return left.matches(method, targetClass) && right.matches(method, targetClass);
+        }
+    }
+    
+    static final class Or implements PointcutMatcher {
+        
+        private final PointcutMatcher left;
+        private final PointcutMatcher right;
+        
+        Or(PointcutMatcher left, PointcutMatcher right) {
+            this.left = left;
+            this.right = right;
+        }
+        
+        @Override
+        public boolean couldMatch(Class<?> targetClass) {
+            return left.couldMatch(targetClass) || right.couldMatch(targetClass);
+        }
+        
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return left.matches(method, targetClass) || right.matches(method, targetClass);
+        }
+    }
+    
+    static final class Not implements PointcutMatcher {
+        
+        private final PointcutMatcher operand;
+        
+        Not(PointcutMatcher operand) {
+            this.operand = operand;
+        }
+        
+        /**
+         * 操作数在类级别不匹配时取反后可能匹配任何方法，所以类级别不能过滤
+         */
+        @Override
+        public boolean couldMatch(Class<?> targetClass) {
+            return true;
+        }
+        
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return !operand.matches(method, targetClass);
+        }
+    }
+    
+    // ==================== 指示符 ====================
+    
+    /**
+     * execution(修饰符? 返回类型 声明类型?方法名(参数))
+     */
+    static final class Execution implements PointcutMatcher {
+        
+        private final int modifiers;
+        private final TypePattern returnType;
+        private final TypePattern declaringType;
+        private final NamePattern name;
+        
+        /**
+         * 参数模式，null元素表示".."（任意个任意类型的参数）
+         */
+        private final TypePattern[] parameters;
+        
+        Execution(int modifiers, TypePattern returnType, TypePattern declaringType,
+                  NamePattern name, List<TypePattern> parameters) {
+            this.modifiers = modifiers;
+            this.returnType = returnType;
+            this.declaringType = declaringType;
+            this.name = name;
+            this.parameters = parameters.toArray(new TypePattern[0]);
+        }
+        
+        @Override
+        public boolean couldMatch(Class<?> targetClass) {
+            return declaringType.isAny() || declaringType.matchesHierarchy(targetClass);
+        }
+        
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            // 先比较代价最低的部分
+            if (!name.matches(method.getName())) {
+                return false;
+            }
+            if ((method.getModifiers() & modifiers) != modifiers) {
+                return false;
+            }
+            if (!matchesParameters(method.getParameterTypes(), 0, 0)) {
+                return false;
+            }
+            if (!returnType.matches(method.getReturnType())) {
+                return false;
+            }
+            if (declaringType.isAny()) {
+                return true;
+            }
+            return declaringType.matches(method.getDeclaringClass())
+                || (targetClass != null && declaringType.matches(targetClass));
+        }
+        
+        private boolean matchesParameters(Class<?>[] types, int typeIndex, int patternIndex) {
+            while (patternIndex < parameters.length) {
+                TypePattern pattern = parameters[patternIndex];
+                if (pattern == null) {
+                    // ".."：尝试吞掉0到剩余全部参数
+                    for (int skip = typeIndex; skip <= types.length; skip++) {
+                        if (matchesParameters(types, skip, patternIndex + 1)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+                if (typeIndex >= types.length || !pattern.matches(types[typeIndex])) {
+                    return false;
+                }
+                typeIndex++;
+                patternIndex++;
+            }
+            return typeIndex == types.length;
+        }
+    }
+    
+    /**
+     * within(类型模式)：目标类匹配
+     */
+    static final class Within implements PointcutMatcher {
+        
+        private final TypePattern type;
+        
+        Within(TypePattern type) {
+            this.type = type;
+        }
+        
+        @Override
+        public boolean couldMatch(Class<?> targetClass) {
+            return type.matches(targetClass);
+        }
+        
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return type.matches(targetClass != null ? targetClass : method.getDeclaringClass());
+        }
+    }
+    
+    /**
+     * &#64;annotation(注解类型)：方法（或目标类中覆盖它的方法）上有指定注解
+     */
+    static final class AnnotatedMethod implements PointcutMatcher {
+        
+        private final TypePattern annotationType;
+        
+        AnnotatedMethod(TypePattern annotationType) {
+            this.annotationType = annotationType;
+        }
+        
+        /**
+         * 判断类中有没有带注解的方法需要遍历所有方法，代价和逐个匹配相同，所以不在类级别过滤
+         */
+        @Override
+        public boolean couldMatch(Class<?> targetClass) {
+            return true;
+        }
+        
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            if (hasAnnotation(method.getAnnotations())) {
+                return true;
+            }
+            Method specific = findMostSpecificMethod(method, targetClass);
+            return specific != null && specific != method && hasAnnotation(specific.getAnnotations());
+        }
+        
+        private boolean hasAnnotation(Annotation[] annotations) {
+            for (Annotation annotation : annotations) {
+                if (annotationType.matches(annotation.annotationType())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        /**
+         * 查找目标类中与接口方法对应的实现方法
+         */
+        private static Method findMostSpecificMethod(Method method, Class<?> targetClass) {
+            if (targetClass == null || Modifier.isPrivate(method.getModifiers())) {
+                return null;
+            }
+            for (Class<?> type = targetClass; type != null && type != Object.class; type = type.getSuperclass()) {
+                try {
+                    return type.getDeclaredMethod(method.getName(), method.getParameterTypes());
+                } catch (NoSuchMethodException e) {
+                    // 继续查找父类
+                }
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * &#64;within(注解类型)：目标类（或其父类、方法的声明类）上有指定注解
+     */
+    static final class AnnotatedType implements PointcutMatcher {
+        
+        private final TypePattern annotationType;
+        
+        AnnotatedType(TypePattern annotationType) {
+            this.annotationType = annotationType;
+        }
+        
+        /**
+         * 方法可能声明在父类或接口中，所以检查整个类型层次
+         */
+        @Override
+        public boolean couldMatch(Class<?> targetClass) {
+            if (targetClass == null) {
+                return false;
+            }
+            if (isAnnotated(targetClass)) {
+                return true;
+            }
+            for (Class<?> itf : targetClass.getInterfaces()) {
+                if (couldMatch(itf)) {
+                    return true;
+                }
+            }
+            return couldMatch(targetClass.getSuperclass());
+        }
+        
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            if (isAnnotated(method.getDeclaringClass())) {
+                return true;
+            }
+            for (Class<?> type = targetClass; type != null; type = type.getSuperclass()) {
+                if (isAnnotated(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private boolean isAnnotated(Class<?> type) {
+            for (Annotation annotation : type.getDeclaredAnnotations()) {
+                if (annotationType.matches(annotation.annotationType())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.litespring.aop.expression;
+
+import java.util.regex.Pattern;
+
+/**
+ * 类型模式
+ * 
+ * 支持的写法：
+ * - *                      任意类型（包括基本类型和数组）
+ * - java.lang.String       完全限定名
+ * - String、*Service       不含"."的模式匹配简单类名
+ * - com.acme.*             com.acme包中的类（不含子包）
+ * - com.acme..*Service     com.acme包及其子包中以Service结尾的类
+ * - com.acme.BaseService+  BaseService及其子类/实现类
+ * - int、String[]          基本类型和数组
+ * - Outer$Inner、Outer.Inner 内部类（两种写法等价）
+ * 
+ * 不含通配符的模式直接比较字符串，含通配符的模式在编译时转换成正则表达式
+ * 
+ * @author lite-spring
+ */
+public final class TypePattern {
+    
+    /**
+     * 匹配任意类型
+     */
+    public static final TypePattern ANY = new TypePattern("*", true, false, 0, null, false, null);
+    
+    private final String pattern;
+    private final boolean any;
+    private final boolean includeSubtypes;
+    private final int arrayDimensions;
+    
+    /**
+     * 不含通配符时的类型名称
+     */
+    private final String exactName;
+    
+    /**
+     * 模式中没有"."，按简单类名匹配
+     */
+    private final boolean simpleName;
+    
+    /**
+     * 含通配符时编译的正则表达式
+     */
+    private final Pattern regex;
+    
+    private TypePattern(String pattern, boolean any, boolean includeSubtypes, int arrayDimensions,
+                        String exactName, boolean simpleName, Pattern regex) {
+        this.pattern = pattern;
+        this.any = any;
+        this.includeSubtypes = includeSubtypes;
+        this.arrayDimensions = arrayDimensions;
+        this.exactName = exactName;
+        this.simpleName = simpleName;
+        this.regex = regex;
+    }
+    
+    /**
+     * 编译类型模式
+     * 
+     * @param pattern 类型模式
+     * @return 编译后的模式
+     * @throws IllegalArgumentException 如果模式为空
+     */
+    public static TypePattern compile(String pattern) {
+        String text = pattern == null ? "" : pattern.trim();
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("类型模式不能为空");
+        }
+        if ("*".equals(text)) {
+            return ANY;
+        }
+        
+        int dimensions = 0;
+        while (text.endsWith("[]")) {
+            dimensions++;
+            text = text.substring(0, text.length() - 2).trim();
+        }
+        
+        boolean subtypes = text.endsWith("+");
+        if (subtypes) {
+            text = text.substring(0, text.length() - 1);
+        }
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("无效的类型模式: " + pattern);
+        }
+        
+        // 内部类名中的"$"和"."等价
+        text = text.replace('$', '.');
+        boolean simple = text.indexOf('.') < 0;
+        if (text.indexOf('*') < 0 && !text.contains("..")) {
+            return new TypePattern(pattern, false, subtypes, dimensions, text, simple, null);
+        }
+        return new TypePattern(pattern, false, subtypes, dimensions, null, simple, Pattern.compile(toRegex(text)));
+    }
+    
+    /**
+     * 判断类型是否匹配
+     */
+    public boolean matches(Class<?> type) {
+        if (this.any) {
+            return true;
+        }
+        for (int i = 0; i < this.arrayDimensions; i++) {
+            if (!type.isArray()) {
+                return false;
+            }
+            type = type.getComponentType();
+        }
+        if (type.isArray() && this.regex == null) {
+            return false;
+        }
+        
+        if (!this.includeSubtypes) {
+            return matchesName(type);
+        }
+        return matchesHierarchy(type);
+    }
+    
+    /**
+     * 判断类型或其任一父类/接口是否匹配
+     */
+    public boolean matchesHierarchy(Class<?> type) {
+        if (this.any) {
+            return true;
+        }
+        if (type == null) {
+            return false;
+        }
+        if (matchesName(type)) {
+            return true;
+        }
+        for (Class<?> itf : type.getInterfaces()) {
+            if (matchesHierarchy(itf)) {
+                return true;
+            }
+        }
+        return matchesHierarchy(type.getSuperclass());
+    }
+    
+    public boolean isAny() {
+        return this.any;
+    }
+    
+    private boolean matchesName(Class<?> type) {
+        String name = this.simpleName ? type.getSimpleName() : type.getName().replace('$', '.');
+        if (this.exactName != null) {
+            return this.exactName.equals(name);
+        }
+        return this.regex.matcher(name).matches();
+    }
+    
+    /**
+     * 将类型名称模式转换为正则表达式
+     * "*"不跨越包，".."匹配任意层子包
+     */
+    private static String toRegex(String text) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '.' && i + 1 < text.length() && text.charAt(i + 1) == '.') {
+                sb.append(i == 0 ? "(?:[^.]+\\.)*" : "\\.(?:[^.]+\\.)*");
+                i += 2;
+                continue;
+            }
+            if (c == '*') {
+                sb.append("[^.]*");
+            } else if (c == '.') {
+                sb.append("\\.");
+            } else if (Character.isJavaIdentifierPart(c)) {
+                sb.append(c);
+            } else {
+                sb.append('\\').append(c);
+            }
+            i++;
+        }
+        return sb.toString();
+    }
+    
+    @Override
+    public String toString() {
+        return this.pattern;
+    }
+}
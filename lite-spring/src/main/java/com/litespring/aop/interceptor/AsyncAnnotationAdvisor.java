@@ -0,0 +1,50 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.Async;
+import com.litespring.aop.Advice;
+import com.litespring.aop.ExpressionPointcut;
+import com.litespring.aop.Pointcut;
+import com.litespring.aop.PointcutAdvisor;
+import com.litespring.core.BeanFactory;
+import com.litespring.core.BeanFactoryAware;
+import com.litespring.core.DisposableBean;
+
+/**
+ * &#64;Async的通知器
+ * 注册为Bean后由DefaultAdvisorAutoProxyCreator为带&#64;Async的Bean创建代理
+ * 
+ * 切点：标注了&#64;Async的方法，以及标注了&#64;Async的类中返回void或Future的方法
+ * 
+ * @author lite-spring
+ */
+public class AsyncAnnotationAdvisor implements PointcutAdvisor, BeanFactoryAware, DisposableBean {
+    
+    private static final String ASYNC = Async.class.getName();
+    
+    static final String EXPRESSION = "@annotation(" + ASYNC + ") || (@within(" + ASYNC + ")"
+        + " && (execution(void *(..)) || execution(java.util.concurrent.Future+ *(..))))";
+    
+    private final ExpressionPointcut pointcut = new ExpressionPointcut(EXPRESSION);
+    
+    private final AsyncExecutionInterceptor interceptor = new AsyncExecutionInterceptor();
+    
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.interceptor.setBeanFactory(beanFactory);
+    }
+    
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+    
+    @Override
+    public Advice getAdvice() {
+        return interceptor;
+    }
+    
+    @Override
+    public void destroy() throws InterruptedException {
+        this.interceptor.destroy();
+    }
+}
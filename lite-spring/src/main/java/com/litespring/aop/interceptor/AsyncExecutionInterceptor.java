@@ -0,0 +1,191 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.Async;
+import com.litespring.aop.MethodInterceptor;
+import com.litespring.aop.MethodInvocation;
+import com.litespring.core.BeanFactory;
+import com.litespring.core.BeanFactoryAware;
+import com.litespring.core.BeansException;
+import com.litespring.core.DefaultBeanFactory_v4;
+import com.litespring.scheduling.ThreadPoolTaskExecutor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+/**
+ * 异步执行拦截器
+ * 把{@link Async}方法的调用提交到执行器，调用线程立即返回
+ * 
+ * 执行器的选择顺序：
+ * 1. &#64;Async指定名称的Bean
+ * 2. 名为taskExecutor的Bean
+ * 3. 容器中唯一的Executor类型的Bean
+ * 4. 拦截器自己创建的默认线程池
+ * 
+ * 每个(目标类, 方法)解析出的执行器会被缓存
+ * 
+ * @author lite-spring
+ */
+public class AsyncExecutionInterceptor implements MethodInterceptor, BeanFactoryAware {
+    
+    public static final String DEFAULT_EXECUTOR_BEAN_NAME = "taskExecutor";
+    
+    private BeanFactory beanFactory;
+    
+    /**
+     * 容器中没有执行器时使用的默认线程池
+     */
+    private volatile ThreadPoolTaskExecutor defaultExecutor;
+    
+    /**
+     * (目标类, 方法) -> 执行器
+     */
+    private final MethodAttributeCache<Executor> executorCache = new MethodAttributeCache<>();
+    
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+        this.executorCache.clear();
+    }
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() != null
+            ? invocation.getThis().getClass() : method.getDeclaringClass();
+        Class<?> returnType = method.getReturnType();
+        
+        if (returnType != void.class && !returnType.isAssignableFrom(CompletableFuture.class)) {
+            throw new IllegalStateException("@Async方法的返回类型必须是void、Future或CompletableFuture: " + method);
+        }
+        
+        Executor executor = getExecutor(method, targetClass);
+        // 调用方返回后才执行，池化/线程本地的目标对象由执行线程重新获取
+        MethodInvocation task = invocation.detach();
+        
+        if (returnType == void.class) {
+            executor.execute(() -> {
+                try {
+                    task.proceed();
+                } catch (Throwable ex) {
+                    handleUncaughtException(ex, method);
+                }
+            });
+            return null;
+        }
+        
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                complete(result, task.proceed());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * 用方法的返回值完成调用方持有的Future
+     */
+    private static void complete(CompletableFuture<Object> result, Object value) {
+        if (value instanceof CompletableFuture) {
+            ((CompletableFuture<?>) value).whenComplete((v, ex) -> {
+                if (ex != null) {
+                    result.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null
+                        ? ex.getCause() : ex);
+                } else {
+                    result.complete(v);
+                }
+            });
+        } else if (value instanceof Future) {
+            try {
+                result.complete(((Future<?>) value).get());
+            } catch (ExecutionException e) {
+                result.completeExceptionally(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(e);
+            }
+        } else {
+            result.complete(value);
+        }
+    }
+    
+    /**
+     * 处理void方法抛出的异常（调用方已经返回，只能记录）
+     */
+    protected void handleUncaughtException(Throwable ex, Method method) {
+        System.err.println("异步方法执行失败: " + method + ", " + ex);
+    }
+    
+    // ==================== 执行器解析 ====================
+    
+    /**
+     * 获取方法使用的执行器（带缓存）
+     */
+    protected Executor getExecutor(Method method, Class<?> targetClass) {
+        return executorCache.get(method, targetClass, (m, type) -> {
+            Async async = MethodAttributeCache.findAnnotation(m, type, Async.class);
+            return resolveExecutor(async != null ? async.value() : "");
+        });
+    }
+    
+    private Executor resolveExecutor(String name) {
+        if (!name.isEmpty()) {
+            if (beanFactory == null) {
+                throw new BeansException("没有BeanFactory，无法获取执行器: " + name);
+            }
+            Object bean = beanFactory.getBean(name);
+            if (!(bean instanceof Executor)) {
+                throw new BeansException("Bean[" + name + "]不是Executor: " + bean.getClass().getName());
+            }
+            return (Executor) bean;
+        }
+        
+        if (beanFactory != null && beanFactory.containsBean(DEFAULT_EXECUTOR_BEAN_NAME)) {
+            Object bean = beanFactory.getBean(DEFAULT_EXECUTOR_BEAN_NAME);
+            if (bean instanceof Executor) {
+                return (Executor) bean;
+            }
+        }
+        if (beanFactory instanceof DefaultBeanFactory_v4) {
+            Map<String, Executor> executors = ((DefaultBeanFactory_v4) beanFactory).getBeansOfType(Executor.class);
+            if (executors.size() == 1) {
+                return executors.values().iterator().next();
+            }
+        }
+        return getDefaultExecutor();
+    }
+    
+    private ThreadPoolTaskExecutor getDefaultExecutor() {
+        ThreadPoolTaskExecutor executor = this.defaultExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.defaultExecutor;
+                if (executor == null) {
+                    executor = new ThreadPoolTaskExecutor();
+                    executor.setThreadNamePrefix("litespring-async-");
+                    executor.initialize();
+                    this.defaultExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+    
+    /**
+     * 关闭默认线程池（如果创建过）
+     */
+    public void destroy() throws InterruptedException {
+        ThreadPoolTaskExecutor executor = this.defaultExecutor;
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+}
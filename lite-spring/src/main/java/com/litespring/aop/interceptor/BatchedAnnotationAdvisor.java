@@ -0,0 +1,36 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.Batched;
+import com.litespring.aop.Advice;
+import com.litespring.aop.ExpressionPointcut;
+import com.litespring.aop.Pointcut;
+import com.litespring.aop.PointcutAdvisor;
+
+/**
+ * &#64;Batched的通知器
+ * 注册为Bean后由DefaultAdvisorAutoProxyCreator为带&#64;Batched方法的Bean创建代理
+ * 
+ * @author lite-spring
+ */
+public class BatchedAnnotationAdvisor implements PointcutAdvisor {
+    
+    private final ExpressionPointcut pointcut = new ExpressionPointcut(
+        "@annotation(" + Batched.class.getName() + ")"
+    );
+    
+    private final BatchingInterceptor interceptor = new BatchingInterceptor();
+    
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+    
+    @Override
+    public Advice getAdvice() {
+        return interceptor;
+    }
+    
+    public BatchingInterceptor getInterceptor() {
+        return interceptor;
+    }
+}
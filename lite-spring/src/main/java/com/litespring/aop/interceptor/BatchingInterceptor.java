@@ -0,0 +1,226 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.Batched;
+import com.litespring.aop.JoinpointInvoker;
+import com.litespring.aop.MethodInterceptor;
+import com.litespring.aop.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 微批处理拦截器
+ * 
+ * 每个(目标类, 方法)有一个批次收集器，每个目标对象同时最多有一个正在收集的批次：
+ * - 打开批次的调用（第一个调用）等待收集窗口结束，然后关闭批次并执行批量方法
+ * - 加入后使批次达到上限的调用立即关闭并执行批次，同时唤醒第一个调用
+ * - 其余调用只等待结果
+ * 
+ * 批量方法直接在目标对象上调用，不经过代理；
+ * 被标注方法的拦截器链中排在本拦截器之后的通知不会执行，所以它应该是最内层的通知
+ * 
+ * @author lite-spring
+ */
+public class BatchingInterceptor implements MethodInterceptor {
+    
+    private final MethodAttributeCache<Batcher> batchers = new MethodAttributeCache<>();
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? target.getClass() : method.getDeclaringClass();
+        Batcher batcher = batchers.get(method, targetClass, BatchingInterceptor::createBatcher);
+        return batcher.submit(target, invocation.getArguments()[0]);
+    }
+    
+    /**
+     * 执行过的批量调用次数
+     */
+    public long getBatchCount(Method method, Class<?> targetClass) {
+        return batchers.get(method, targetClass, BatchingInterceptor::createBatcher).batches.sum();
+    }
+    
+    /**
+     * 被合并到批量调用中的单个调用次数
+     */
+    public long getCallCount(Method method, Class<?> targetClass) {
+        return batchers.get(method, targetClass, BatchingInterceptor::createBatcher).calls.sum();
+    }
+    
+    private static Batcher createBatcher(Method method, Class<?> targetClass) {
+        Batched config = MethodAttributeCache.findAnnotation(method, targetClass, Batched.class);
+        if (config == null) {
+            throw new IllegalStateException("方法没有@Batched注解: " + method);
+        }
+        if (method.getParameterCount() != 1) {
+            throw new IllegalStateException("@Batched方法只能有一个参数: " + method);
+        }
+        if (config.maxBatchSize() < 1) {
+            throw new IllegalStateException("@Batched的maxBatchSize必须大于0: " + method);
+        }
+        return new Batcher(findBatchMethod(targetClass, config.value()), config.maxBatchSize(),
+            TimeUnit.MILLISECONDS.toNanos(config.maxDelay()));
+    }
+    
+    /**
+     * 查找唯一参数可以接收List的批量方法
+     */
+    private static Method findBatchMethod(Class<?> targetClass, String name) {
+        for (Class<?> type = targetClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Method candidate : type.getDeclaredMethods()) {
+                if (candidate.getName().equals(name) && candidate.getParameterCount() == 1
+                    && candidate.getParameterTypes()[0].isAssignableFrom(ArrayList.class)) {
+                    candidate.setAccessible(true);
+                    return candidate;
+                }
+            }
+        }
+        throw new IllegalStateException("找不到批量方法" + name + "(Collection): " + targetClass.getName());
+    }
+    
+    /**
+     * 一个方法的批次收集器
+     */
+    private static final class Batcher {
+        
+        final Method batchMethod;
+        final int maxBatchSize;
+        final long maxDelayNanos;
+        
+        /**
+         * 目标对象 -> 正在收集的批次（按对象身份区分，访问时同步）
+         */
+        private final Map<Object, Batch> openBatches = new IdentityHashMap<>();
+        
+        final LongAdder batches = new LongAdder();
+        final LongAdder calls = new LongAdder();
+        
+        Batcher(Method batchMethod, int maxBatchSize, long maxDelayNanos) {
+            this.batchMethod = batchMethod;
+            this.maxBatchSize = maxBatchSize;
+            this.maxDelayNanos = maxDelayNanos;
+        }
+        
+        Object submit(Object target, Object key) throws Throwable {
+            CompletableFuture<Object> result = new CompletableFuture<>();
+            Batch batch;
+            boolean opened = false;
+            boolean full = false;
+            synchronized (this) {
+                batch = openBatches.get(target);
+                if (batch == null) {
+                    batch = new Batch(target);
+                    openBatches.put(target, batch);
+                    opened = true;
+                }
+                batch.add(key, result);
+                if (batch.size >= maxBatchSize) {
+                    openBatches.remove(target);
+                    full = true;
+                }
+            }
+            calls.increment();
+            
+            if (full) {
+                batch.filled.countDown();
+                execute(batch);
+            } else if (opened) {
+                batch.awaitFilled(maxDelayNanos);
+                if (close(batch)) {
+                    execute(batch);
+                }
+            }
+            return Futures.awaitUninterruptibly(result);
+        }
+        
+        /**
+         * 收集窗口结束时关闭批次
+         * 
+         * @return 如果批次还没有被其他调用关闭返回true
+         */
+        private synchronized boolean close(Batch batch) {
+            if (openBatches.get(batch.target) == batch) {
+                openBatches.remove(batch.target);
+                return true;
+            }
+            return false;
+        }
+        
+        private void execute(Batch batch) {
+            batches.increment();
+            List<Object> keys = new ArrayList<>(batch.waiters.keySet());
+            try {
+                Object results = JoinpointInvoker.invokeReflectively(batch.target, batchMethod, new Object[] {keys});
+                distribute(batch, keys, results);
+            } catch (Throwable ex) {
+                for (List<CompletableFuture<Object>> futures : batch.waiters.values()) {
+                    for (CompletableFuture<Object> future : futures) {
+                        future.completeExceptionally(ex);
+                    }
+                }
+            }
+        }
+        
+        private void distribute(Batch batch, List<Object> keys, Object results) {
+            if (results instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) results;
+                for (Map.Entry<Object, List<CompletableFuture<Object>>> entry : batch.waiters.entrySet()) {
+                    complete(entry.getValue(), map.get(entry.getKey()));
+                }
+            } else if (results instanceof List && ((List<?>) results).size() == keys.size()) {
+                List<?> list = (List<?>) results;
+                for (int i = 0; i < keys.size(); i++) {
+                    complete(batch.waiters.get(keys.get(i)), list.get(i));
+                }
+            } else {
+                throw new IllegalStateException("批量方法必须返回Map或与参数个数相同的List: " + batchMethod);
+            }
+        }
+        
+        private static void complete(List<CompletableFuture<Object>> futures, Object value) {
+            for (CompletableFuture<Object> future : futures) {
+                future.complete(value);
+            }
+        }
+    }
+    
+    /**
+     * 一个批次：键 -> 等待该键结果的调用
+     */
+    private static final class Batch {
+        
+        final Object target;
+        final Map<Object, List<CompletableFuture<Object>>> waiters = new LinkedHashMap<>();
+        final CountDownLatch filled = new CountDownLatch(1);
+        int size;
+        
+        Batch(Object target) {
+            this.target = target;
+        }
+        
+        void add(Object key, CompletableFuture<Object> future) {
+            waiters.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+            size++;
+        }
+        
+        /**
+         * 等待批次攒满或收集窗口结束；被中断时提前结束等待，中断状态保留
+         */
+        void awaitFilled(long timeoutNanos) {
+            try {
+                filled.await(timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
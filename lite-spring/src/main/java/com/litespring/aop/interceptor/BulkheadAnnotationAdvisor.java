@@ -0,0 +1,38 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.Bulkhead;
+import com.litespring.aop.Advice;
+import com.litespring.aop.ExpressionPointcut;
+import com.litespring.aop.Pointcut;
+import com.litespring.aop.PointcutAdvisor;
+
+/**
+ * &#64;Bulkhead的通知器
+ * 注册为Bean后由DefaultAdvisorAutoProxyCreator为带&#64;Bulkhead的Bean创建代理
+ * 
+ * @author lite-spring
+ */
+public class BulkheadAnnotationAdvisor implements PointcutAdvisor {
+    
+    private static final String BULKHEAD = Bulkhead.class.getName();
+    
+    private final ExpressionPointcut pointcut = new ExpressionPointcut(
+        "@annotation(" + BULKHEAD + ") || @within(" + BULKHEAD + ")"
+    );
+    
+    private final BulkheadInterceptor interceptor = new BulkheadInterceptor();
+    
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+    
+    @Override
+    public Advice getAdvice() {
+        return interceptor;
+    }
+    
+    public BulkheadInterceptor getInterceptor() {
+        return interceptor;
+    }
+}
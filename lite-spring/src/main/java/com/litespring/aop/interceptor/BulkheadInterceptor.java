@@ -0,0 +1,93 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.Bulkhead;
+import com.litespring.aop.MethodInterceptor;
+import com.litespring.aop.MethodInvocation;
+import com.litespring.resilience.AdaptiveConcurrencyLimiter;
+import com.litespring.resilience.BulkheadFullException;
+import com.litespring.resilience.ConcurrencyLimiter;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 舱壁拦截器
+ * 按{@link Bulkhead}的配置限制每个方法的并发数，拿不到许可时抛出{@link BulkheadFullException}
+ * 
+ * 每个(目标类, 方法)有独立的限制器，第一次调用时根据注解创建；
+ * 通过{@link #getLimiters()}可以获取每个方法的执行中/拒绝计数
+ * 
+ * @author lite-spring
+ */
+public class BulkheadInterceptor implements MethodInterceptor {
+    
+    private final MethodAttributeCache<MethodBulkhead> bulkheads = new MethodAttributeCache<>();
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() != null
+            ? invocation.getThis().getClass() : method.getDeclaringClass();
+        MethodBulkhead bulkhead = bulkheads.get(method, targetClass, BulkheadInterceptor::createBulkhead);
+        
+        ConcurrencyLimiter limiter = bulkhead.limiter;
+        if (!limiter.acquire(bulkhead.maxWaitNanos)) {
+            throw new BulkheadFullException(limiter.getName(), limiter.getLimit());
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * 获取方法的限制器（还没有调用过时创建）
+     */
+    public ConcurrencyLimiter getLimiter(Method method, Class<?> targetClass) {
+        return bulkheads.get(method, targetClass, BulkheadInterceptor::createBulkhead).limiter;
+    }
+    
+    /**
+     * 获取所有已创建的限制器
+     */
+    public Collection<ConcurrencyLimiter> getLimiters() {
+        Collection<MethodBulkhead> values = bulkheads.values();
+        List<ConcurrencyLimiter> limiters = new ArrayList<>(values.size());
+        for (MethodBulkhead bulkhead : values) {
+            limiters.add(bulkhead.limiter);
+        }
+        return limiters;
+    }
+    
+    private static MethodBulkhead createBulkhead(Method method, Class<?> targetClass) {
+        Bulkhead config = MethodAttributeCache.findAnnotation(method, targetClass, Bulkhead.class);
+        if (config == null) {
+            throw new IllegalStateException("方法没有@Bulkhead注解: " + method);
+        }
+        String name = targetClass.getSimpleName() + "." + method.getName();
+        ConcurrencyLimiter limiter;
+        if (config.adaptive()) {
+            limiter = new AdaptiveConcurrencyLimiter(name, config.minConcurrent(), config.maxConcurrent(),
+                config.latencyThreshold(), TimeUnit.MILLISECONDS);
+        } else {
+            limiter = new ConcurrencyLimiter(name, config.maxConcurrent());
+        }
+        return new MethodBulkhead(limiter, TimeUnit.MILLISECONDS.toNanos(config.maxWait()));
+    }
+    
+    private static final class MethodBulkhead {
+        
+        final ConcurrencyLimiter limiter;
+        final long maxWaitNanos;
+        
+        MethodBulkhead(ConcurrencyLimiter limiter, long maxWaitNanos) {
+            this.limiter = limiter;
+            this.maxWaitNanos = maxWaitNanos;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.CacheEvict;
+import com.litespring.annotation.CachePut;
+import com.litespring.annotation.Cacheable;
+import com.litespring.aop.Advice;
+import com.litespring.aop.ExpressionPointcut;
+import com.litespring.aop.Pointcut;
+import com.litespring.aop.PointcutAdvisor;
+import com.litespring.core.BeanFactory;
+import com.litespring.core.BeanFactoryAware;
+
+/**
+ * &#64;Cacheable、&#64;CachePut和&#64;CacheEvict的通知器
+ * 注册为Bean后由DefaultAdvisorAutoProxyCreator为带这些注解的Bean创建代理
+ * 
+ * @author lite-spring
+ */
+public class CacheAnnotationAdvisor implements PointcutAdvisor, BeanFactoryAware {
+    
+    private static final String CACHEABLE = Cacheable.class.getName();
+    private static final String CACHE_PUT = CachePut.class.getName();
+    private static final String CACHE_EVICT = CacheEvict.class.getName();
+    
+    private final ExpressionPointcut pointcut = new ExpressionPointcut(
+        "@annotation(" + CACHEABLE + ") || @within(" + CACHEABLE + ")"
+            + " || @annotation(" + CACHE_PUT + ") || @annotation(" + CACHE_EVICT + ")"
+    );
+    
+    private final CacheInterceptor interceptor = new CacheInterceptor();
+    
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.interceptor.setBeanFactory(beanFactory);
+    }
+    
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+    
+    @Override
+    public Advice getAdvice() {
+        return interceptor;
+    }
+    
+    public CacheInterceptor getInterceptor() {
+        return interceptor;
+    }
+}
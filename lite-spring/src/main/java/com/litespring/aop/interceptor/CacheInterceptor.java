@@ -0,0 +1,273 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.CacheEvict;
+import com.litespring.annotation.CachePut;
+import com.litespring.annotation.Cacheable;
+import com.litespring.aop.MethodInterceptor;
+import com.litespring.aop.MethodInvocation;
+import com.litespring.aop.cache.Cache;
+import com.litespring.aop.cache.CacheManager;
+import com.litespring.cache.LocalCacheManager;
+import com.litespring.core.BeanFactory;
+import com.litespring.core.BeanFactoryAware;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * 缓存拦截器，处理{@link Cacheable}、{@link CachePut}和{@link CacheEvict}
+ * 
+ * 一次调用的处理顺序：
+ * - beforeInvocation的&#64;CacheEvict先移除
+ * - &#64;Cacheable只有一个缓存且没有&#64;CachePut时，交给{@link Cache#get(Object, Object, Cache.ContextLoader)}查找和加载，
+ *   缓存实现可以合并并发加载、提前异步刷新（见{@link com.litespring.cache.LocalCacheConfig#setRefreshAheadFactor}）
+ * - 否则&#64;Cacheable依次查找各个缓存，命中且没有&#64;CachePut时直接返回
+ * - 否则执行方法，&#64;Cacheable未命中时记录加载耗时并放入缓存，&#64;CachePut用返回值更新缓存
+ * - 方法正常返回后执行其余的&#64;CacheEvict
+ * 
+ * 每个(目标类, 方法)的注解、键生成器和缓存在第一次调用时解析并缓存。
+ * 计算键时单个参数（包括keyArgs只选了一个参数）直接作为键，不分配内存
+ * 
+ * @author lite-spring
+ */
+public class CacheInterceptor implements MethodInterceptor, BeanFactoryAware {
+    
+    /**
+     * 用方法调用加载缓存值；异步刷新时使用分离的调用
+     */
+    private static final Cache.ContextLoader<MethodInvocation> PROCEED = new Cache.ContextLoader<MethodInvocation>() {
+        
+        @Override
+        public Object load(MethodInvocation invocation) throws Throwable {
+            return invocation.proceed();
+        }
+        
+        @Override
+        public MethodInvocation detach(MethodInvocation invocation) {
+            return invocation.detach();
+        }
+    };
+    
+    private final SingleBeanLookup<CacheManager> cacheManager =
+        new SingleBeanLookup<>(CacheManager.class, LocalCacheManager::new);
+    
+    private final MethodAttributeCache<CacheOperations> operations = new MethodAttributeCache<>();
+    
+    /**
+     * 解析注解的函数，保存在字段中，每次调用不用重新创建方法引用
+     */
+    private final BiFunction<Method, Class<?>, CacheOperations> operationsFactory = this::createOperations;
+    
+    /**
+     * 键生成器实例（按类型共享）
+     */
+    private final Map<Class<? extends KeyGenerator>, KeyGenerator> keyGenerators = new ConcurrentHashMap<>();
+    
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.cacheManager.setBeanFactory(beanFactory);
+    }
+    
+    public void setCacheManager(CacheManager cacheManager) {
+        this.cacheManager.set(cacheManager);
+        this.operations.clear();
+    }
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? target.getClass() : method.getDeclaringClass();
+        CacheOperations ops = operations.get(method, targetClass, operationsFactory);
+        Object[] arguments = invocation.getArguments();
+        
+        if (ops.evict != null && ops.evictBeforeInvocation) {
+            ops.evict.evict(target, method, arguments, ops.evictAllEntries);
+        }
+        
+        Object key = null;
+        if (ops.cacheable != null) {
+            key = ops.cacheable.generateKey(target, method, arguments);
+            if (ops.cacheable.caches.length == 1 && ops.put == null) {
+                Object result = ops.cacheable.caches[0].get(key, invocation, PROCEED);
+                evictAfterInvocation(ops, target, method, arguments);
+                return result;
+            }
+            for (Cache cache : ops.cacheable.caches) {
+                Cache.ValueWrapper cached = cache.get(key);
+                if (cached != null && ops.put == null) {
+                    evictAfterInvocation(ops, target, method, arguments);
+                    return cached.get();
+                }
+                if (cached != null) {
+                    // 有@CachePut时总是执行方法
+                    key = null;
+                    break;
+                }
+            }
+        }
+        
+        Object result;
+        if (key != null) {
+            result = load(ops.cacheable.caches, key, invocation);
+        } else {
+            result = invocation.proceed();
+        }
+        if (ops.put != null) {
+            Object putKey = ops.put.generateKey(target, method, arguments);
+            for (Cache cache : ops.put.caches) {
+                cache.put(putKey, result);
+            }
+        }
+        evictAfterInvocation(ops, target, method, arguments);
+        return result;
+    }
+    
+    /**
+     * 执行方法，记录加载耗时并把返回值放入全部缓存
+     */
+    private Object load(Cache[] caches, Object key, MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable ex) {
+            long elapsed = System.nanoTime() - start;
+            for (Cache cache : caches) {
+                cache.getStats().recordLoadFailure(elapsed);
+            }
+            throw ex;
+        }
+        long elapsed = System.nanoTime() - start;
+        for (Cache cache : caches) {
+            cache.getStats().recordLoadSuccess(elapsed);
+            cache.put(key, result);
+        }
+        return result;
+    }
+    
+    private void evictAfterInvocation(CacheOperations ops, Object target, Method method, Object[] arguments) {
+        if (ops.evict != null && !ops.evictBeforeInvocation) {
+            ops.evict.evict(target, method, arguments, ops.evictAllEntries);
+        }
+    }
+    
+    /**
+     * 获取使用的缓存管理器（第一次调用时解析）
+     */
+    public CacheManager getCacheManager() {
+        return this.cacheManager.get();
+    }
+    
+    private CacheOperations createOperations(Method method, Class<?> targetClass) {
+        CacheOperations ops = new CacheOperations();
+        Cacheable cacheable = MethodAttributeCache.findAnnotation(method, targetClass, Cacheable.class);
+        if (cacheable != null) {
+            String[] names = cacheable.value().length > 0
+                ? cacheable.value() : new String[] {targetClass.getSimpleName() + "." + method.getName()};
+            ops.cacheable = createOperation(method, "@Cacheable", names, cacheable.keyArgs(), cacheable.keyGenerator());
+        }
+        CachePut put = MethodAttributeCache.findAnnotation(method, targetClass, CachePut.class);
+        if (put != null) {
+            ops.put = createOperation(method, "@CachePut", put.value(), put.keyArgs(), put.keyGenerator());
+        }
+        CacheEvict evict = MethodAttributeCache.findAnnotation(method, targetClass, CacheEvict.class);
+        if (evict != null) {
+            ops.evict = createOperation(method, "@CacheEvict", evict.value(), evict.keyArgs(), evict.keyGenerator());
+            ops.evictAllEntries = evict.allEntries();
+            ops.evictBeforeInvocation = evict.beforeInvocation();
+        }
+        return ops;
+    }
+    
+    private CacheOperation createOperation(Method method, String annotation, String[] names,
+                                           int[] keyArgs, Class<? extends KeyGenerator> keyGeneratorType) {
+        if (names.length == 0) {
+            throw new IllegalStateException(annotation + "需要指定缓存名称: " + method);
+        }
+        for (int index : keyArgs) {
+            if (index < 0 || index >= method.getParameterCount()) {
+                throw new IllegalStateException(annotation + "的keyArgs下标越界: " + index + ", " + method);
+            }
+        }
+        CacheManager manager = getCacheManager();
+        Cache[] caches = new Cache[names.length];
+        for (int i = 0; i < names.length; i++) {
+            caches[i] = manager.getCache(names[i]);
+            if (caches[i] == null) {
+                throw new IllegalStateException("找不到名为 '" + names[i] + "' 的缓存: " + method);
+            }
+        }
+        KeyGenerator keyGenerator = keyGenerators.computeIfAbsent(keyGeneratorType, type -> {
+            try {
+                return type.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("无法创建键生成器: " + type.getName(), e);
+            }
+        });
+        return new CacheOperation(caches, keyGenerator, keyArgs);
+    }
+    
+    /**
+     * 一个方法上的缓存注解
+     */
+    private static final class CacheOperations {
+        
+        CacheOperation cacheable;
+        CacheOperation put;
+        CacheOperation evict;
+        boolean evictAllEntries;
+        boolean evictBeforeInvocation;
+    }
+    
+    /**
+     * 一个缓存注解：目标缓存和计算键的方式
+     */
+    private static final class CacheOperation {
+        
+        final Cache[] caches;
+        final KeyGenerator keyGenerator;
+        final int[] keyArgs;
+        final boolean simpleKey;
+        
+        CacheOperation(Cache[] caches, KeyGenerator keyGenerator, int[] keyArgs) {
+            this.caches = caches;
+            this.keyGenerator = keyGenerator;
+            this.keyArgs = keyArgs;
+            this.simpleKey = keyGenerator.getClass() == SimpleKeyGenerator.class;
+        }
+        
+        Object generateKey(Object target, Method method, Object[] arguments) {
+            if (keyArgs.length == 0) {
+                return keyGenerator.generate(target, method, arguments);
+            }
+            if (keyArgs.length == 1 && simpleKey) {
+                // 只选了一个参数时不复制参数数组
+                Object param = arguments[keyArgs[0]];
+                if (param != null && !param.getClass().isArray()) {
+                    return param;
+                }
+            }
+            Object[] params = new Object[keyArgs.length];
+            for (int i = 0; i < keyArgs.length; i++) {
+                params[i] = arguments[keyArgs[i]];
+            }
+            return keyGenerator.generate(target, method, params);
+        }
+        
+        void evict(Object target, Method method, Object[] arguments, boolean allEntries) {
+            if (allEntries) {
+                for (Cache cache : caches) {
+                    cache.clear();
+                }
+                return;
+            }
+            Object key = generateKey(target, method, arguments);
+            for (Cache cache : caches) {
+                cache.evict(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.CircuitBreaker;
+import com.litespring.aop.Advice;
+import com.litespring.aop.ExpressionPointcut;
+import com.litespring.aop.Pointcut;
+import com.litespring.aop.PointcutAdvisor;
+import com.litespring.core.BeanFactory;
+import com.litespring.core.BeanFactoryAware;
+
+/**
+ * &#64;CircuitBreaker的通知器
+ * 注册为Bean后由DefaultAdvisorAutoProxyCreator为带&#64;CircuitBreaker的Bean创建代理
+ * 
+ * @author lite-spring
+ */
+public class CircuitBreakerAnnotationAdvisor implements PointcutAdvisor, BeanFactoryAware {
+    
+    private static final String CIRCUIT_BREAKER = CircuitBreaker.class.getName();
+    
+    private final ExpressionPointcut pointcut = new ExpressionPointcut(
+        "@annotation(" + CIRCUIT_BREAKER + ") || @within(" + CIRCUIT_BREAKER + ")"
+    );
+    
+    private final CircuitBreakerInterceptor interceptor = new CircuitBreakerInterceptor();
+    
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.interceptor.setBeanFactory(beanFactory);
+    }
+    
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+    
+    @Override
+    public Advice getAdvice() {
+        return interceptor;
+    }
+    
+    public CircuitBreakerInterceptor getInterceptor() {
+        return interceptor;
+    }
+}
@@ -0,0 +1,206 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.aop.MethodInterceptor;
+import com.litespring.aop.MethodInvocation;
+import com.litespring.core.BeanFactory;
+import com.litespring.core.BeanFactoryAware;
+import com.litespring.core.DefaultBeanFactory_v4;
+import com.litespring.resilience.CallNotPermittedException;
+import com.litespring.resilience.CircuitBreaker;
+import com.litespring.resilience.CircuitBreakerConfig;
+import com.litespring.resilience.CircuitBreakerListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 熔断拦截器
+ * 按{@link com.litespring.annotation.CircuitBreaker}的配置为每个方法维护一个熔断器
+ * 
+ * 熔断器打开时不调用目标方法，直接执行降级方法或抛出{@link CallNotPermittedException}，
+ * 调用方的耗时只剩一次状态判断。
+ * 
+ * 状态变化通知给通过{@link #addListener}添加的监听器，以及容器中所有{@link CircuitBreakerListener}类型的Bean
+ * 
+ * @author lite-spring
+ */
+public class CircuitBreakerInterceptor implements MethodInterceptor, BeanFactoryAware {
+    
+    private BeanFactory beanFactory;
+    
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+    
+    private final MethodAttributeCache<MethodCircuitBreaker> breakers = new MethodAttributeCache<>();
+    
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+    
+    /**
+     * 添加监听器（只对之后创建的熔断器生效）
+     */
+    public void addListener(CircuitBreakerListener listener) {
+        this.listeners.add(listener);
+    }
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() != null
+            ? invocation.getThis().getClass() : method.getDeclaringClass();
+        MethodCircuitBreaker config = breakers.get(method, targetClass, this::createCircuitBreaker);
+        CircuitBreaker breaker = config.breaker;
+        
+        if (!breaker.tryAcquirePermission()) {
+            return fallback(config, invocation,
+                new CallNotPermittedException(breaker.getName(), breaker.getState()));
+        }
+        
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable ex) {
+            if (config.isIgnored(ex)) {
+                breaker.releasePermission();
+                throw ex;
+            }
+            breaker.onError(System.nanoTime() - start);
+            return fallback(config, invocation, ex);
+        }
+        breaker.onSuccess(System.nanoTime() - start);
+        return result;
+    }
+    
+    /**
+     * 执行降级方法，没有降级方法时抛出原异常
+     */
+    private Object fallback(MethodCircuitBreaker config, MethodInvocation invocation, Throwable ex) throws Throwable {
+        Method fallback = config.fallbackMethod;
+        if (fallback == null) {
+            throw ex;
+        }
+        Object[] arguments = invocation.getArguments();
+        if (arguments == null) {
+            // 无参方法的参数数组是null
+            arguments = new Object[0];
+        }
+        if (fallback.getParameterCount() > arguments.length) {
+            arguments = Arrays.copyOf(arguments, arguments.length + 1);
+            arguments[arguments.length - 1] = ex;
+        }
+        try {
+            return fallback.invoke(invocation.getThis(), arguments);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+    
+    /**
+     * 获取方法的熔断器（还没有调用过时创建）
+     */
+    public CircuitBreaker getCircuitBreaker(Method method, Class<?> targetClass) {
+        return breakers.get(method, targetClass, this::createCircuitBreaker).breaker;
+    }
+    
+    /**
+     * 获取所有已创建的熔断器
+     */
+    public Collection<CircuitBreaker> getCircuitBreakers() {
+        Collection<MethodCircuitBreaker> values = breakers.values();
+        List<CircuitBreaker> result = new ArrayList<>(values.size());
+        for (MethodCircuitBreaker value : values) {
+            result.add(value.breaker);
+        }
+        return result;
+    }
+    
+    private MethodCircuitBreaker createCircuitBreaker(Method method, Class<?> targetClass) {
+        com.litespring.annotation.CircuitBreaker annotation = MethodAttributeCache.findAnnotation(
+            method, targetClass, com.litespring.annotation.CircuitBreaker.class);
+        if (annotation == null) {
+            throw new IllegalStateException("方法没有@CircuitBreaker注解: " + method);
+        }
+        
+        CircuitBreakerConfig config = new CircuitBreakerConfig();
+        config.setFailureRateThreshold(annotation.failureRateThreshold());
+        config.setSlowCallRateThreshold(annotation.slowCallRateThreshold());
+        config.setSlowCallDuration(annotation.slowCallDuration(), TimeUnit.MILLISECONDS);
+        config.setSlidingWindowSize(annotation.slidingWindowSize());
+        config.setMinimumNumberOfCalls(annotation.minimumNumberOfCalls());
+        config.setWaitDurationInOpenState(annotation.waitDurationInOpenState(), TimeUnit.MILLISECONDS);
+        config.setPermittedNumberOfCallsInHalfOpenState(annotation.permittedNumberOfCallsInHalfOpenState());
+        
+        String name = annotation.name().isEmpty()
+            ? targetClass.getSimpleName() + "." + method.getName() : annotation.name();
+        CircuitBreaker breaker = new CircuitBreaker(name, config);
+        for (CircuitBreakerListener listener : listeners) {
+            breaker.addListener(listener);
+        }
+        if (beanFactory instanceof DefaultBeanFactory_v4) {
+            for (CircuitBreakerListener listener
+                    : ((DefaultBeanFactory_v4) beanFactory).getBeansOfType(CircuitBreakerListener.class).values()) {
+                breaker.addListener(listener);
+            }
+        }
+        
+        Method fallback = annotation.fallbackMethod().isEmpty()
+            ? null : findFallbackMethod(method, targetClass, annotation.fallbackMethod());
+        return new MethodCircuitBreaker(breaker, fallback, annotation.ignoreExceptions());
+    }
+    
+    /**
+     * 查找降级方法：参数与原方法相同，或者多一个Throwable参数（优先）
+     */
+    private static Method findFallbackMethod(Method method, Class<?> targetClass, String name) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Class<?>[] withThrowable = Arrays.copyOf(parameterTypes, parameterTypes.length + 1);
+        withThrowable[parameterTypes.length] = Throwable.class;
+        
+        for (Class<?>[] candidate : Arrays.asList(withThrowable, parameterTypes)) {
+            for (Class<?> type = targetClass; type != null && type != Object.class; type = type.getSuperclass()) {
+                try {
+                    Method fallback = type.getDeclaredMethod(name, candidate);
+                    if (!method.getReturnType().isAssignableFrom(fallback.getReturnType())) {
+                        throw new IllegalStateException("降级方法的返回类型与原方法不兼容: " + fallback);
+                    }
+                    fallback.setAccessible(true);
+                    return fallback;
+                } catch (NoSuchMethodException e) {
+                    // 继续查找父类
+                }
+            }
+        }
+        throw new IllegalStateException("找不到降级方法" + name + "，参数应与原方法相同（可以多一个Throwable）: " + method);
+    }
+    
+    private static final class MethodCircuitBreaker {
+        
+        final CircuitBreaker breaker;
+        final Method fallbackMethod;
+        final Class<? extends Throwable>[] ignoreExceptions;
+        
+        MethodCircuitBreaker(CircuitBreaker breaker, Method fallbackMethod,
+                             Class<? extends Throwable>[] ignoreExceptions) {
+            this.breaker = breaker;
+            this.fallbackMethod = fallbackMethod;
+            this.ignoreExceptions = ignoreExceptions;
+        }
+        
+        boolean isIgnored(Throwable ex) {
+            for (Class<? extends Throwable> type : ignoreExceptions) {
+                if (type.isInstance(ex)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.Coalesce;
+import com.litespring.aop.Advice;
+import com.litespring.aop.ExpressionPointcut;
+import com.litespring.aop.Pointcut;
+import com.litespring.aop.PointcutAdvisor;
+
+/**
+ * &#64;Coalesce的通知器
+ * 注册为Bean后由DefaultAdvisorAutoProxyCreator为带&#64;Coalesce方法的Bean创建代理
+ * 
+ * @author lite-spring
+ */
+public class CoalesceAnnotationAdvisor implements PointcutAdvisor {
+    
+    private final ExpressionPointcut pointcut = new ExpressionPointcut(
+        "@annotation(" + Coalesce.class.getName() + ")"
+    );
+    
+    private final CoalescingInterceptor interceptor = new CoalescingInterceptor();
+    
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+    
+    @Override
+    public Advice getAdvice() {
+        return interceptor;
+    }
+    
+    public CoalescingInterceptor getInterceptor() {
+        return interceptor;
+    }
+}
@@ -0,0 +1,143 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.Coalesce;
+import com.litespring.aop.MethodInterceptor;
+import com.litespring.aop.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 请求合并拦截器（single-flight）
+ * 
+ * 每个方法维护一张"键 -> 执行中的调用"表：
+ * - putIfAbsent成功的调用是执行者，执行目标方法，结束后先移出表再发布结果
+ * - 其余调用等待执行者的结果，得到同一个返回值或重新抛出同一个异常
+ * 
+ * 快速路径只有一次ConcurrentHashMap操作，不加锁；
+ * 执行者在执行过程中用同样的键递归调用自己时直接执行，不会等待自己
+ * 
+ * @author lite-spring
+ */
+public class CoalescingInterceptor implements MethodInterceptor {
+    
+    private final MethodAttributeCache<CoalesceGroup> groups = new MethodAttributeCache<>();
+    
+    /**
+     * 键生成器实例（按类型共享）
+     */
+    private final Map<Class<? extends KeyGenerator>, KeyGenerator> keyGenerators = new ConcurrentHashMap<>();
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? target.getClass() : method.getDeclaringClass();
+        CoalesceGroup group = groups.get(method, targetClass, this::createGroup);
+        
+        Object key = group.generateKey(target, method, invocation.getArguments());
+        InFlightCall call = new InFlightCall(Thread.currentThread());
+        InFlightCall existing = group.calls.putIfAbsent(key, call);
+        
+        if (existing == null) {
+            // 执行者
+            group.executions.increment();
+            Object result;
+            try {
+                result = invocation.proceed();
+            } catch (Throwable ex) {
+                group.calls.remove(key, call);
+                call.completeExceptionally(ex);
+                throw ex;
+            }
+            group.calls.remove(key, call);
+            call.complete(result);
+            return result;
+        }
+        
+        if (existing.leader == Thread.currentThread()) {
+            // 执行者递归调用自己，不能等待自己的结果
+            return invocation.proceed();
+        }
+        
+        group.coalesced.increment();
+        return Futures.awaitUninterruptibly(existing);
+    }
+    
+    /**
+     * 方法被执行的次数
+     */
+    public long getExecutionCount(Method method, Class<?> targetClass) {
+        return groups.get(method, targetClass, this::createGroup).executions.sum();
+    }
+    
+    /**
+     * 方法被合并（共享其他调用的结果）的调用次数
+     */
+    public long getCoalescedCount(Method method, Class<?> targetClass) {
+        return groups.get(method, targetClass, this::createGroup).coalesced.sum();
+    }
+    
+    private CoalesceGroup createGroup(Method method, Class<?> targetClass) {
+        Coalesce config = MethodAttributeCache.findAnnotation(method, targetClass, Coalesce.class);
+        if (config == null) {
+            return new CoalesceGroup(new SimpleKeyGenerator(), new int[0]);
+        }
+        KeyGenerator keyGenerator = keyGenerators.computeIfAbsent(config.keyGenerator(), type -> {
+            try {
+                return type.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("无法创建键生成器: " + type.getName(), e);
+            }
+        });
+        for (int index : config.keyArgs()) {
+            if (index < 0 || index >= method.getParameterCount()) {
+                throw new IllegalStateException("@Coalesce的keyArgs下标越界: " + index + ", " + method);
+            }
+        }
+        return new CoalesceGroup(keyGenerator, config.keyArgs());
+    }
+    
+    /**
+     * 一个方法的合并状态
+     */
+    private static final class CoalesceGroup {
+        
+        final KeyGenerator keyGenerator;
+        final int[] keyArgs;
+        final Map<Object, InFlightCall> calls = new ConcurrentHashMap<>();
+        final LongAdder executions = new LongAdder();
+        final LongAdder coalesced = new LongAdder();
+        
+        CoalesceGroup(KeyGenerator keyGenerator, int[] keyArgs) {
+            this.keyGenerator = keyGenerator;
+            this.keyArgs = keyArgs;
+        }
+        
+        Object generateKey(Object target, Method method, Object[] arguments) {
+            Object[] params = arguments;
+            if (keyArgs.length > 0) {
+                params = new Object[keyArgs.length];
+                for (int i = 0; i < keyArgs.length; i++) {
+                    params[i] = arguments[keyArgs[i]];
+                }
+            }
+            return keyGenerator.generate(target, method, params);
+        }
+    }
+    
+    /**
+     * 执行中的调用，完成时携带返回值或异常
+     */
+    private static final class InFlightCall extends CompletableFuture<Object> {
+        
+        final Thread leader;
+        
+        InFlightCall(Thread leader) {
+            this.leader = leader;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.litespring.aop.interceptor;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * 拦截器等待其他线程执行结果的工具方法
+ * 
+ * @author lite-spring
+ */
+final class Futures {
+    
+    private Futures() {
+    }
+    
+    /**
+     * 等待结果，不响应中断（中断状态在返回前恢复）
+     * 方法调用被其他线程代为执行时，调用方的语义应该与直接调用一样，不能因为中断而提前返回
+     * 
+     * @return 结果
+     * @throws Throwable 执行时抛出的原始异常
+     */
+    static Object awaitUninterruptibly(Future<?> future) throws Throwable {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.litespring.aop.interceptor;
+
+import java.lang.reflect.Method;
+
+/**
+ * 根据方法调用生成键
+ * 生成的键需要正确实现equals和hashCode
+ * 
+ * @author lite-spring
+ */
+@FunctionalInterface
+public interface KeyGenerator {
+    
+    /**
+     * 生成键
+     * 
+     * @param target 目标对象
+     * @param method 被调用的方法
+     * @param params 参数
+     * @return 键
+     */
+    Object generate(Object target, Method method, Object... params);
+}
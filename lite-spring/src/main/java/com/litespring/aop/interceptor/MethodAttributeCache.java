@@ -0,0 +1,84 @@
+package com.litespring.aop.interceptor;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * 按(目标类, 方法)缓存拦截器从注解解析出的配置或状态
+ * 分两层存储，查询时不需要创建组合键
+ * 
+ * @param <V> 缓存的值
+ * @author lite-spring
+ */
+final class MethodAttributeCache<V> {
+    
+    private final Map<Class<?>, Map<Method, V>> cache = new ConcurrentHashMap<>();
+    
+    /**
+     * 获取缓存的值，不存在时通过factory创建
+     * 并发创建时只保留先放入的值
+     */
+    V get(Method method, Class<?> targetClass, BiFunction<Method, Class<?>, V> factory) {
+        Map<Method, V> methodCache = cache.get(targetClass);
+        if (methodCache == null) {
+            methodCache = cache.computeIfAbsent(targetClass, k -> new ConcurrentHashMap<>());
+        }
+        V value = methodCache.get(method);
+        if (value == null) {
+            // 不用computeIfAbsent：factory可能获取Bean，不能在持有map内部锁时执行
+            value = factory.apply(method, targetClass);
+            V existing = methodCache.putIfAbsent(method, value);
+            if (existing != null) {
+                value = existing;
+            }
+        }
+        return value;
+    }
+    
+    /**
+     * 所有已缓存的值
+     */
+    Collection<V> values() {
+        List<V> values = new ArrayList<>();
+        for (Map<Method, V> methodCache : cache.values()) {
+            values.addAll(methodCache.values());
+        }
+        return values;
+    }
+    
+    void clear() {
+        cache.clear();
+    }
+    
+    /**
+     * 查找方法生效的注解
+     * 方法上的注解优先（包括目标类中覆盖接口方法的实现方法），其次是目标类及其父类上的注解，
+     * 最后是方法的声明类上的注解
+     * 
+     * @return 注解，没有时返回null
+     */
+    static <A extends Annotation> A findAnnotation(Method method, Class<?> targetClass, Class<A> annotationType) {
+        A annotation = method.getAnnotation(annotationType);
+        if (annotation == null && targetClass != null && targetClass != method.getDeclaringClass()) {
+            try {
+                annotation = targetClass.getMethod(method.getName(), method.getParameterTypes())
+                    .getAnnotation(annotationType);
+            } catch (NoSuchMethodException e) {
+                // 非public方法，只看类上的注解
+            }
+        }
+        for (Class<?> type = targetClass; annotation == null && type != null; type = type.getSuperclass()) {
+            annotation = type.getAnnotation(annotationType);
+        }
+        if (annotation == null) {
+            annotation = method.getDeclaringClass().getAnnotation(annotationType);
+        }
+        return annotation;
+    }
+}
@@ -0,0 +1,45 @@
+package com.litespring.aop.interceptor;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * 由多个参数组成的键
+ * 按内容比较（数组参数比较元素），哈希值在创建时计算。
+ * 参数都可序列化时键也可以序列化，可以用作堆外缓存的键
+ * 
+ * @author lite-spring
+ */
+public final class SimpleKey implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * 无参数方法的键
+     */
+    public static final SimpleKey EMPTY = new SimpleKey();
+    
+    private final Object[] params;
+    private final int hashCode;
+    
+    public SimpleKey(Object... params) {
+        this.params = params.clone();
+        this.hashCode = Arrays.deepHashCode(this.params);
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        return this == other
+            || (other instanceof SimpleKey && Arrays.deepEquals(this.params, ((SimpleKey) other).params));
+    }
+    
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+    
+    @Override
+    public String toString() {
+        return "SimpleKey " + Arrays.deepToString(params);
+    }
+}
@@ -0,0 +1,34 @@
+package com.litespring.aop.interceptor;
+
+import java.lang.reflect.Method;
+
+/**
+ * 默认的键生成器
+ * - 没有参数：{@link SimpleKey#EMPTY}
+ * - 一个非null、非数组的参数：参数本身
+ * - 其他情况：由全部参数组成的{@link SimpleKey}
+ * 
+ * 键中不包含方法，调用方需要按方法分别使用
+ * 
+ * @author lite-spring
+ */
+public class SimpleKeyGenerator implements KeyGenerator {
+    
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return generateKey(params);
+    }
+    
+    public static Object generateKey(Object... params) {
+        if (params == null || params.length == 0) {
+            return SimpleKey.EMPTY;
+        }
+        if (params.length == 1) {
+            Object param = params[0];
+            if (param != null && !param.getClass().isArray()) {
+                return param;
+            }
+        }
+        return new SimpleKey(params);
+    }
+}
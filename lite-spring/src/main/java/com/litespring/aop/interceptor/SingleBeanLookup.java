@@ -0,0 +1,68 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.core.BeanFactory;
+import com.litespring.core.DefaultBeanFactory_v4;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 拦截器依赖的协作对象（注册表、跟踪器、缓存管理器等）
+ * 显式设置的对象优先；否则第一次使用时查找容器中该类型的唯一Bean，
+ * 没有或有多个时创建默认对象
+ * 
+ * @param <T> 协作对象类型
+ * @author lite-spring
+ */
+final class SingleBeanLookup<T> {
+    
+    private final Class<T> beanType;
+    private final Supplier<? extends T> defaultFactory;
+    
+    private BeanFactory beanFactory;
+    
+    private volatile T value;
+    
+    SingleBeanLookup(Class<T> beanType, Supplier<? extends T> defaultFactory) {
+        this.beanType = beanType;
+        this.defaultFactory = defaultFactory;
+    }
+    
+    void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+    
+    /**
+     * 显式设置，null表示下次使用时重新查找
+     */
+    void set(T value) {
+        this.value = value;
+    }
+    
+    /**
+     * 获取协作对象（第一次调用时解析）
+     */
+    T get() {
+        T result = this.value;
+        if (result == null) {
+            synchronized (this) {
+                result = this.value;
+                if (result == null) {
+                    result = resolve();
+                    this.value = result;
+                }
+            }
+        }
+        return result;
+    }
+    
+    private T resolve() {
+        if (beanFactory instanceof DefaultBeanFactory_v4) {
+            Map<String, T> beans = ((DefaultBeanFactory_v4) beanFactory).getBeansOfType(beanType);
+            if (beans.size() == 1) {
+                return beans.values().iterator().next();
+            }
+        }
+        return defaultFactory.get();
+    }
+}
@@ -0,0 +1,45 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.Timed;
+import com.litespring.aop.Advice;
+import com.litespring.aop.ExpressionPointcut;
+import com.litespring.aop.Pointcut;
+import com.litespring.aop.PointcutAdvisor;
+import com.litespring.core.BeanFactory;
+import com.litespring.core.BeanFactoryAware;
+
+/**
+ * &#64;Timed的通知器
+ * 注册为Bean后由DefaultAdvisorAutoProxyCreator为带&#64;Timed的Bean创建代理
+ * 
+ * @author lite-spring
+ */
+public class TimedAnnotationAdvisor implements PointcutAdvisor, BeanFactoryAware {
+    
+    private static final String TIMED = Timed.class.getName();
+    
+    private final ExpressionPointcut pointcut = new ExpressionPointcut(
+        "@annotation(" + TIMED + ") || @within(" + TIMED + ")"
+    );
+    
+    private final TimedInterceptor interceptor = new TimedInterceptor();
+    
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.interceptor.setBeanFactory(beanFactory);
+    }
+    
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+    
+    @Override
+    public Advice getAdvice() {
+        return interceptor;
+    }
+    
+    public TimedInterceptor getInterceptor() {
+        return interceptor;
+    }
+}
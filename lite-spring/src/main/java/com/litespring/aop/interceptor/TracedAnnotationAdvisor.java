@@ -0,0 +1,45 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.Traced;
+import com.litespring.aop.Advice;
+import com.litespring.aop.ExpressionPointcut;
+import com.litespring.aop.Pointcut;
+import com.litespring.aop.PointcutAdvisor;
+import com.litespring.core.BeanFactory;
+import com.litespring.core.BeanFactoryAware;
+
+/**
+ * &#64;Traced的通知器
+ * 注册为Bean后由DefaultAdvisorAutoProxyCreator为带&#64;Traced的Bean创建代理
+ * 
+ * @author lite-spring
+ */
+public class TracedAnnotationAdvisor implements PointcutAdvisor, BeanFactoryAware {
+    
+    private static final String TRACED = Traced.class.getName();
+    
+    private final ExpressionPointcut pointcut = new ExpressionPointcut(
+        "@annotation(" + TRACED + ") || @within(" + TRACED + ")"
+    );
+    
+    private final TracingInterceptor interceptor = new TracingInterceptor();
+    
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.interceptor.setBeanFactory(beanFactory);
+    }
+    
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+    
+    @Override
+    public Advice getAdvice() {
+        return interceptor;
+    }
+    
+    public TracingInterceptor getInterceptor() {
+        return interceptor;
+    }
+}
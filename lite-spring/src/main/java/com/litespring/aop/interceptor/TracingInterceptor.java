@@ -0,0 +1,76 @@
+package com.litespring.aop.interceptor;
+
+import com.litespring.annotation.Traced;
+import com.litespring.aop.MethodInterceptor;
+import com.litespring.aop.MethodInvocation;
+import com.litespring.core.BeanFactory;
+import com.litespring.core.BeanFactoryAware;
+import com.litespring.tracing.Span;
+import com.litespring.tracing.Tracer;
+
+import java.lang.reflect.Method;
+
+/**
+ * 跟踪拦截器
+ * 为每次调用打开一个跨度，嵌套的被通知方法成为子跨度
+ * 
+ * 请求未被采样时，子调用只读一次线程本地变量就直接执行目标方法；
+ * 跨度名称按(目标类, 方法)缓存，不在每次调用时拼接
+ * 
+ * 跟踪器优先使用容器中唯一的Tracer类型的Bean
+ * 
+ * @author lite-spring
+ */
+public class TracingInterceptor implements MethodInterceptor, BeanFactoryAware {
+    
+    private final SingleBeanLookup<Tracer> tracer = new SingleBeanLookup<>(Tracer.class, Tracer::new);
+    
+    private final MethodAttributeCache<String> spanNames = new MethodAttributeCache<>();
+    
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.tracer.setBeanFactory(beanFactory);
+    }
+    
+    public void setTracer(Tracer tracer) {
+        this.tracer.set(tracer);
+    }
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer tracer = getTracer();
+        Span current = tracer.currentSpan();
+        if (current != null && !current.isSampled()) {
+            return invocation.proceed();
+        }
+        
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() != null
+            ? invocation.getThis().getClass() : method.getDeclaringClass();
+        Span span = tracer.startSpan(spanNames.get(method, targetClass, TracingInterceptor::spanName));
+        Throwable error = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            error = ex;
+            throw ex;
+        } finally {
+            tracer.finishSpan(span, error);
+        }
+    }
+    
+    /**
+     * 获取使用的跟踪器（第一次调用时解析）
+     */
+    public Tracer getTracer() {
+        return this.tracer.get();
+    }
+    
+    private static String spanName(Method method, Class<?> targetClass) {
+        Traced traced = MethodAttributeCache.findAnnotation(method, targetClass, Traced.class);
+        if (traced != null && !traced.value().isEmpty()) {
+            return traced.value();
+        }
+        return targetClass.getSimpleName() + "." + method.getName();
+    }
+}
@@ -0,0 +1,114 @@
+package com.litespring.aop.target;
+
+import com.litespring.aop.TargetSource;
+import com.litespring.core.BeanDefinition;
+import com.litespring.core.BeanFactory;
+import com.litespring.core.BeanFactoryAware;
+import com.litespring.core.BeansException;
+import com.litespring.core.DefaultBeanFactory_v4;
+import com.litespring.core.DisposableBean;
+
+import java.util.function.Supplier;
+
+/**
+ * 需要创建多个目标对象的目标源的基类
+ * 
+ * 目标对象的来源二选一：
+ * - targetBeanName：容器中的原型Bean，每次通过getBean创建新实例
+ * - targetFactory：直接提供创建方法（此时必须设置targetClass）
+ * 
+ * @author lite-spring
+ */
+public abstract class AbstractPrototypeTargetSource implements TargetSource, BeanFactoryAware {
+    
+    private BeanFactory beanFactory;
+    private String targetBeanName;
+    private Supplier<?> targetFactory;
+    private volatile Class<?> targetClass;
+    
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+    
+    public void setTargetBeanName(String targetBeanName) {
+        this.targetBeanName = targetBeanName;
+    }
+    
+    public String getTargetBeanName() {
+        return targetBeanName;
+    }
+    
+    public void setTargetFactory(Supplier<?> targetFactory) {
+        this.targetFactory = targetFactory;
+    }
+    
+    public void setTargetClass(Class<?> targetClass) {
+        this.targetClass = targetClass;
+    }
+    
+    @Override
+    public boolean isStatic() {
+        return false;
+    }
+    
+    /**
+     * 获取目标类型：优先使用设置的targetClass，否则从目标Bean的定义解析
+     */
+    @Override
+    public Class<?> getTargetClass() {
+        Class<?> type = this.targetClass;
+        if (type == null) {
+            BeanDefinition bd = getTargetBeanDefinition();
+            try {
+                type = bd.resolveBeanClass(Thread.currentThread().getContextClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new BeansException("无法解析目标Bean的类型: " + targetBeanName, e);
+            }
+            this.targetClass = type;
+        }
+        return type;
+    }
+    
+    /**
+     * 创建新的目标对象
+     */
+    protected Object newPrototypeInstance() {
+        if (targetFactory != null) {
+            return targetFactory.get();
+        }
+        getTargetBeanDefinition();
+        return beanFactory.getBean(targetBeanName);
+    }
+    
+    /**
+     * 销毁不再使用的目标对象（调用DisposableBean.destroy）
+     */
+    protected void destroyPrototypeInstance(Object target) {
+        if (target instanceof DisposableBean) {
+            try {
+                ((DisposableBean) target).destroy();
+            } catch (Exception e) {
+                System.err.println("销毁目标对象失败: " + target + ", " + e);
+            }
+        }
+    }
+    
+    private BeanDefinition getTargetBeanDefinition() {
+        if (targetBeanName == null) {
+            throw new IllegalStateException("必须设置targetBeanName或targetFactory和targetClass");
+        }
+        if (!(beanFactory instanceof DefaultBeanFactory_v4)) {
+            throw new IllegalStateException("使用targetBeanName需要DefaultBeanFactory_v4");
+        }
+        BeanDefinition bd = ((DefaultBeanFactory_v4) beanFactory).getBeanDefinition(targetBeanName);
+        if (bd == null) {
+            throw new BeansException("找不到目标Bean的定义: " + targetBeanName);
+        }
+        if (!bd.isPrototype()) {
+            // 单例Bean每次getBean都返回同一个对象，池化或按线程隔离没有意义
+            throw new BeansException("目标Bean必须是原型作用域: " + targetBeanName);
+        }
+        return bd;
+    }
+}
@@ -0,0 +1,195 @@
+package com.litespring.aop.target;
+
+import com.litespring.core.DisposableBean;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 池化目标源
+ * 每次调用从有界对象池借出一个目标对象，调用结束后归还，同一时刻一个目标对象只被一个调用使用，
+ * 有状态、非线程安全的对象不需要自己加锁
+ * 
+ * 对象按需创建，最多maxSize个；全部借出时等待maxWait毫秒（负数表示一直等待），
+ * 仍然借不到则抛出IllegalStateException
+ * 
+ * @author lite-spring
+ */
+public class PoolingTargetSource extends AbstractPrototypeTargetSource implements DisposableBean {
+    
+    /**
+     * 等待对象时检查对象池是否已关闭的间隔（纳秒）
+     */
+    private static final long DESTROY_CHECK_INTERVAL = TimeUnit.MILLISECONDS.toNanos(50);
+    
+    private int maxSize = 8;
+    private long maxWait = -1;
+    
+    private volatile BlockingQueue<Object> idle;
+    
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    
+    private volatile boolean destroyed = false;
+    
+    /**
+     * 池中最多的对象数（第一次借出之前设置）
+     */
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("对象池大小必须大于0: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+    
+    /**
+     * 对象全部借出时的最长等待时间（毫秒），负数表示一直等待
+     */
+    public void setMaxWait(long maxWait) {
+        this.maxWait = maxWait;
+    }
+    
+    @Override
+    public Object getTarget() throws Exception {
+        checkNotDestroyed();
+        BlockingQueue<Object> queue = getIdleQueue();
+        Object target = queue.poll();
+        if (target == null) {
+            target = createIfUnderLimit();
+        }
+        if (target == null) {
+            target = awaitIdle(queue);
+        }
+        active.incrementAndGet();
+        if (destroyed) {
+            // 借出的同时对象池被关闭，归还时销毁
+            releaseTarget(target);
+            checkNotDestroyed();
+        }
+        return target;
+    }
+    
+    /**
+     * 等待其他调用归还对象
+     * 分段等待，每段结束时检查对象池是否已关闭，关闭时等待中的调用不会一直阻塞
+     */
+    private Object awaitIdle(BlockingQueue<Object> queue) throws InterruptedException {
+        long deadline = maxWait < 0 ? Long.MAX_VALUE : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWait);
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new IllegalStateException("对象池已耗尽（最多" + maxSize + "个对象），等待" + maxWait + "毫秒后仍无可用对象");
+            }
+            Object target = queue.poll(Math.min(remaining, DESTROY_CHECK_INTERVAL), TimeUnit.NANOSECONDS);
+            if (target != null) {
+                return target;
+            }
+            checkNotDestroyed();
+        }
+    }
+    
+    private void checkNotDestroyed() {
+        if (destroyed) {
+            throw new IllegalStateException("对象池已关闭");
+        }
+    }
+    
+    @Override
+    public void releaseTarget(Object target) {
+        active.decrementAndGet();
+        if (destroyed || !getIdleQueue().offer(target)) {
+            created.decrementAndGet();
+            destroyPrototypeInstance(target);
+        } else if (destroyed) {
+            // 放回之前destroy()已经清空了对象池，再清空一次
+            destroyIdle();
+        }
+    }
+    
+    /**
+     * 对象数没有达到上限时创建新对象
+     * 
+     * @return 新对象，已达到上限时返回null
+     */
+    private Object createIfUnderLimit() {
+        while (true) {
+            int count = created.get();
+            if (count >= maxSize) {
+                return null;
+            }
+            if (created.compareAndSet(count, count + 1)) {
+                try {
+                    return newPrototypeInstance();
+                } catch (RuntimeException e) {
+                    created.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private BlockingQueue<Object> getIdleQueue() {
+        BlockingQueue<Object> queue = this.idle;
+        if (queue == null) {
+            synchronized (this) {
+                queue = this.idle;
+                if (queue == null) {
+                    queue = new ArrayBlockingQueue<>(maxSize);
+                    this.idle = queue;
+                }
+            }
+        }
+        return queue;
+    }
+    
+    /**
+     * 销毁空闲对象并唤醒等待中的调用；借出中的对象在归还时销毁
+     */
+    @Override
+    public void destroy() {
+        destroyed = true;
+        destroyIdle();
+    }
+    
+    private void destroyIdle() {
+        BlockingQueue<Object> queue = this.idle;
+        if (queue == null) {
+            return;
+        }
+        Object target;
+        while ((target = queue.poll()) != null) {
+            created.decrementAndGet();
+            destroyPrototypeInstance(target);
+        }
+    }
+    
+    // ==================== 指标 ====================
+    
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    /**
+     * 借出中的对象数
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+    
+    /**
+     * 空闲的对象数
+     */
+    public int getIdleCount() {
+        BlockingQueue<Object> queue = this.idle;
+        return queue == null ? 0 : queue.size();
+    }
+    
+    /**
+     * 已创建（尚未销毁）的对象数
+     */
+    public int getCreatedCount() {
+        return created.get();
+    }
+}
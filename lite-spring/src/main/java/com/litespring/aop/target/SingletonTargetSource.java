@@ -0,0 +1,46 @@
+package com.litespring.aop.target;
+
+import com.litespring.aop.TargetSource;
+
+/**
+ * 单例目标源
+ * 持有一个目标对象，每次调用都使用它（AdvisedSupport.setTarget的默认行为）
+ * 
+ * @author lite-spring
+ */
+public class SingletonTargetSource implements TargetSource {
+    
+    private final Object target;
+    
+    public SingletonTargetSource(Object target) {
+        if (target == null) {
+            throw new IllegalArgumentException("目标对象不能为null");
+        }
+        this.target = target;
+    }
+    
+    @Override
+    public Class<?> getTargetClass() {
+        return target.getClass();
+    }
+    
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+    
+    @Override
+    public Object getTarget() {
+        return target;
+    }
+    
+    @Override
+    public void releaseTarget(Object target) {
+        // 不需要归还
+    }
+    
+    @Override
+    public String toString() {
+        return "SingletonTargetSource[" + target + "]";
+    }
+}
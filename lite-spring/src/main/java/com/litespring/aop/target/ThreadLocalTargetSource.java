@@ -0,0 +1,87 @@
+package com.litespring.aop.target;
+
+import com.litespring.core.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程本地目标源
+ * 每个线程第一次调用时创建自己的目标对象，之后一直使用它，线程之间互不影响
+ * 
+ * 注意：线程池中的线程会一直持有自己的目标对象，直到目标源被销毁
+ * 
+ * @author lite-spring
+ */
+public class ThreadLocalTargetSource extends AbstractPrototypeTargetSource implements DisposableBean {
+    
+    private final ThreadLocal<Object> targetInThread = new ThreadLocal<>();
+    
+    /**
+     * 所有线程创建的目标对象，用于销毁
+     */
+    private final Set<Object> targetSet = Collections.synchronizedSet(
+        Collections.newSetFromMap(new IdentityHashMap<>()));
+    
+    private final LongAdder invocationCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    
+    @Override
+    public Object getTarget() {
+        invocationCount.increment();
+        Object target = targetInThread.get();
+        if (target == null) {
+            target = newPrototypeInstance();
+            targetInThread.set(target);
+            targetSet.add(target);
+        } else {
+            hitCount.increment();
+        }
+        return target;
+    }
+    
+    @Override
+    public void releaseTarget(Object target) {
+        // 目标对象留给当前线程的下一次调用
+    }
+    
+    /**
+     * 销毁所有线程的目标对象
+     */
+    @Override
+    public void destroy() {
+        List<Object> targets;
+        synchronized (targetSet) {
+            targets = new ArrayList<>(targetSet);
+            targetSet.clear();
+        }
+        for (Object target : targets) {
+            destroyPrototypeInstance(target);
+        }
+        targetInThread.remove();
+    }
+    
+    // ==================== 指标 ====================
+    
+    /**
+     * 已创建的目标对象数（即使用过的线程数）
+     */
+    public int getObjectCount() {
+        return targetSet.size();
+    }
+    
+    public long getInvocationCount() {
+        return invocationCount.sum();
+    }
+    
+    /**
+     * 当前线程已有目标对象的调用次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+}
@@ -0,0 +1,64 @@
+package com.litespring.cache;
+
+/**
+ * 按访问顺序排列的侵入式双向链表，头部最久未访问
+ * 不是线程安全的，只在维护锁内使用
+ * 
+ * @author lite-spring
+ */
+final class AccessOrderDeque<K, V> {
+    
+    private Node<K, V> first;
+    private Node<K, V> last;
+    
+    Node<K, V> peekFirst() {
+        return first;
+    }
+    
+    Node<K, V> peekLast() {
+        return last;
+    }
+    
+    Node<K, V> pollFirst() {
+        Node<K, V> node = first;
+        if (node != null) {
+            remove(node);
+        }
+        return node;
+    }
+    
+    void addLast(Node<K, V> node) {
+        node.prev = last;
+        node.next = null;
+        if (last == null) {
+            first = node;
+        } else {
+            last.next = node;
+        }
+        last = node;
+    }
+    
+    void remove(Node<K, V> node) {
+        Node<K, V> prev = node.prev;
+        Node<K, V> next = node.next;
+        if (prev == null) {
+            first = next;
+        } else {
+            prev.next = next;
+        }
+        if (next == null) {
+            last = prev;
+        } else {
+            next.prev = prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+    
+    void moveToBack(Node<K, V> node) {
+        if (node != last) {
+            remove(node);
+            addLast(node);
+        }
+    }
+}
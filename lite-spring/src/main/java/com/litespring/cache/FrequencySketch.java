@@ -0,0 +1,103 @@
+package com.litespring.cache;
+
+/**
+ * 访问频率的近似统计（4位计数的Count-Min Sketch），TinyLFU准入策略用它比较新旧条目的热度
+ * 
+ * 每个long保存16个4位计数器，8个long组成一个64字节的块（一条缓存行）。
+ * 一个键先哈希到一个块，再在块内选4个计数器，频率取4个计数的最小值（最大为15），
+ * 每次读写只访问一条缓存行。
+ * 增加的次数达到条目数的10倍时所有计数减半，让过去的热点逐渐老化
+ * 
+ * 不是线程安全的，只在维护锁内使用
+ * 
+ * @author lite-spring
+ */
+final class FrequencySketch {
+    
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    
+    private final long[] table;
+    private final int blockMask;
+    private final int sampleSize;
+    private int size;
+    
+    FrequencySketch(long maximumSize) {
+        int maximum = (int) Math.min(maximumSize, 1 << 30);
+        this.table = new long[Math.max(ceilingPowerOfTwo(maximum), 8)];
+        this.blockMask = (table.length >>> 3) - 1;
+        this.sampleSize = (int) Math.min(10L * maximum, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * 键的估计频率（0-15）
+     */
+    int frequency(Object key) {
+        int blockHash = spread(key.hashCode());
+        int counterHash = rehash(blockHash);
+        int block = (blockHash & blockMask) << 3;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int h = counterHash >>> (i << 3);
+            int counter = (h >>> 1) & 15;
+            int index = block + (h & 1) + (i << 1);
+            frequency = Math.min(frequency, (int) ((table[index] >>> (counter << 2)) & 0xfL));
+        }
+        return frequency;
+    }
+    
+    /**
+     * 键的频率加1（已到15的计数器不变）
+     */
+    void increment(Object key) {
+        int blockHash = spread(key.hashCode());
+        int counterHash = rehash(blockHash);
+        int block = (blockHash & blockMask) << 3;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int h = counterHash >>> (i << 3);
+            added |= incrementAt(block + (h & 1) + (i << 1), (h >>> 1) & 15);
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+    
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * 所有计数减半
+     */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (odd >>> 2);
+    }
+    
+    private static int rehash(int x) {
+        x *= 0x31848bab;
+        x ^= x >>> 14;
+        return x;
+    }
+    
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+    
+    static int ceilingPowerOfTwo(int x) {
+        return x <= 1 ? 1 : Integer.highestOneBit(x - 1) << 1;
+    }
+}
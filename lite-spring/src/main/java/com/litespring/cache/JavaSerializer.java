@@ -0,0 +1,37 @@
+package com.litespring.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * 基于Java序列化的序列化器，对象需要实现Serializable
+ * 
+ * 通用但字节较多，字符串类型的键值用{@link StringSerializer}更紧凑
+ * 
+ * @author lite-spring
+ */
+public class JavaSerializer implements Serializer<Object> {
+    
+    @Override
+    public byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("无法序列化: " + value.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    @Override
+    public Object deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("无法反序列化缓存的值", e);
+        }
+    }
+}
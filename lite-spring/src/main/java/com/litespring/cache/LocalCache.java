@@ -0,0 +1,670 @@
+package com.litespring.cache;
+
+import com.litespring.aop.cache.CacheStats;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 有界的本地缓存，淘汰策略为W-TinyLFU
+ * 
+ * 数据保存在ConcurrentHashMap中，读操作只有一次哈希表查找和一次有损缓冲区写入，不加锁。
+ * 淘汰策略的状态（LRU链表、频率统计、时间轮）只在维护锁内修改：
+ * - 读操作记录到{@link ReadBuffer}，缓冲区满时尝试执行维护
+ * - 写操作把添加/更新/移除任务放入写队列，然后尝试执行维护（tryLock，拿不到锁由持锁线程处理）
+ * 
+ * W-TinyLFU：
+ * - 新条目先进入占容量1%的窗口LRU，窗口满时最久未访问的条目进入主区的试用LRU成为候选
+ * - 主区分为试用区和占80%的保护区，试用区的条目再次被访问时晋升到保护区
+ * - 超出容量时候选者和试用区头部的条目比较{@link FrequencySketch}中的访问频率，频率高的留下。
+ *   只访问一次的扫描流量因此很难挤掉热点数据
+ * 
+ * 过期（写入后/访问后）由{@link TimerWheel}处理；读取时也检查过期时间，
+ * 过期但还没被清理的条目对读操作不可见
+ * 
+ * 配置了提前刷新时，带加载器的读取发现条目已经接近过期，就在刷新执行器上异步重新加载，
+ * 本次和之后的读取继续得到旧值，直到新值写入；同一个键同时只有一个刷新在执行
+ * 
+ * 键和值都不能为null
+ * 
+ * @author lite-spring
+ */
+public class LocalCache<K, V> {
+    
+    /**
+     * 频率达到这个值的候选者在比较失败时仍有1/128的概率被接纳，
+     * 防止攻击者制造高频的受害者使热点条目永远无法进入
+     */
+    private static final int ADMIT_HASHDOS_THRESHOLD = 6;
+    
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    
+    private final long maximumSize;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final long refreshAfterWriteNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier ticker;
+    private final long origin;
+    
+    private final CacheStats stats = new CacheStats();
+    
+    /**
+     * 执行中的刷新，用来合并同一个键的并发刷新
+     */
+    private final ConcurrentHashMap<K, CompletableFuture<V>> refreshes = new ConcurrentHashMap<>();
+    
+    /**
+     * 执行中的加载，用来合并同一个键的并发未命中
+     */
+    private final ConcurrentHashMap<K, Loading<V>> loads = new ConcurrentHashMap<>();
+    
+    private final ReadBuffer<Node<K, V>> readBuffer = new ReadBuffer<>();
+    private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Consumer<Node<K, V>> accessReplayer = this::onAccess;
+    
+    // 以下字段只在维护锁内访问
+    private final FrequencySketch sketch;
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedDeque = new AccessOrderDeque<>();
+    private final TimerWheel<K, V> timerWheel;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private long windowSize;
+    private long protectedSize;
+    private long size;
+    
+    public LocalCache() {
+        this(new LocalCacheConfig());
+    }
+    
+    public LocalCache(LocalCacheConfig config) {
+        this.maximumSize = config.getMaximumSize();
+        this.expireAfterWriteNanos = config.getExpireAfterWriteNanos();
+        this.expireAfterAccessNanos = config.getExpireAfterAccessNanos();
+        this.refreshAfterWriteNanos = config.getRefreshAfterWriteNanos();
+        this.refreshExecutor = config.getRefreshExecutor();
+        if (config.getRefreshAheadFactor() > 0 && expireAfterWriteNanos == 0) {
+            throw new IllegalArgumentException("提前刷新需要设置expireAfterWrite");
+        }
+        if (config.getRefreshAheadFactor() > 0 && refreshExecutor == null) {
+            throw new IllegalArgumentException("提前刷新需要设置refreshExecutor");
+        }
+        this.ticker = config.getTicker();
+        this.origin = ticker.getAsLong();
+        this.sketch = new FrequencySketch(maximumSize);
+        this.timerWheel = new TimerWheel<>(now());
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (maximumSize - windowMaximum) * 80 / 100;
+    }
+    
+    /**
+     * 获取缓存的值
+     * 
+     * @return 值，没有或已过期时返回null
+     */
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            stats.recordMiss();
+            return null;
+        }
+        long now = hasExpiration() ? now() : 0L;
+        if (isExpired(node, now)) {
+            stats.recordMiss();
+            return null;
+        }
+        V value = node.value;
+        afterRead(node, now);
+        stats.recordHit();
+        return value;
+    }
+    
+    /**
+     * 获取缓存的值，没有时调用loader加载并放入缓存
+     * 同一个键的并发加载只执行一次，其他调用等待并得到同一个值（或同一个异常）。
+     * 加载在锁外执行，loader可以读写这个缓存；loader返回null时不缓存
+     * 
+     * 配置了提前刷新且条目已经到了刷新时间时，用loader异步刷新，本次返回旧值
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Node<K, V> node = data.get(key);
+        long now = now();
+        if (node != null && !isExpired(node, now)) {
+            V value = node.value;
+            afterRead(node, now);
+            stats.recordHit();
+            if (refreshAfterWriteNanos > 0 && now - node.writeTime >= refreshAfterWriteNanos) {
+                refresh(key, loader, node, value);
+            }
+            return value;
+        }
+        stats.recordMiss();
+        return load(key, loader);
+    }
+    
+    /**
+     * 未命中之后加载（已经记录过未命中），同一个键的并发加载只执行一次
+     * 
+     * 执行者用putIfAbsent登记一个Future，加载完成后先放入缓存、移出登记再发布结果；
+     * 其余调用等待这个Future。执行者在加载过程中递归加载同一个键时直接加载，不会等待自己
+     */
+    V load(K key, Function<? super K, ? extends V> loader) {
+        Thread current = Thread.currentThread();
+        Loading<V> loading = new Loading<>(current);
+        Loading<V> existing = loads.putIfAbsent(key, loading);
+        if (existing != null) {
+            if (existing.owner == current) {
+                return loadAndPut(key, loader);
+            }
+            return await(existing);
+        }
+        V value;
+        try {
+            Node<K, V> node = data.get(key);
+            if (node != null && !isExpired(node, now())) {
+                // 其他线程刚加载完
+                value = node.value;
+            } else {
+                value = loadAndPut(key, loader);
+            }
+        } catch (RuntimeException | Error ex) {
+            loads.remove(key, loading);
+            loading.completeExceptionally(ex);
+            throw ex;
+        }
+        loads.remove(key, loading);
+        loading.complete(value);
+        return value;
+    }
+    
+    private V loadAndPut(K key, Function<? super K, ? extends V> loader) {
+        long start = System.nanoTime();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error ex) {
+            stats.recordLoadFailure(System.nanoTime() - start);
+            throw ex;
+        }
+        stats.recordLoadSuccess(System.nanoTime() - start);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+    
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+    
+    /**
+     * 条目已经到了提前刷新的时间，且没有刷新在执行（没有配置提前刷新时总是false）
+     */
+    boolean isRefreshDue(K key) {
+        if (refreshAfterWriteNanos == 0) {
+            return false;
+        }
+        Node<K, V> node = data.get(key);
+        return node != null && now() - node.writeTime >= refreshAfterWriteNanos && !refreshes.containsKey(key);
+    }
+    
+    /**
+     * 在刷新执行器上异步重新加载，完成后替换缓存的值（加载期间值被其他写入覆盖或移除时丢弃结果）
+     * 同一个键已有刷新在执行时返回它的结果，不再重复加载
+     * 
+     * @return 新加载的值，loader返回null时为null
+     */
+    public CompletableFuture<V> refresh(K key, Function<? super K, ? extends V> loader) {
+        if (refreshExecutor == null) {
+            throw new IllegalStateException("没有设置refreshExecutor，不能异步刷新");
+        }
+        Node<K, V> node = data.get(key);
+        return refresh(key, loader, node, node != null ? node.value : null);
+    }
+    
+    private CompletableFuture<V> refresh(K key, Function<? super K, ? extends V> loader,
+                                         Node<K, V> node, V observedValue) {
+        CompletableFuture<V> existing = refreshes.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<V> future = new CompletableFuture<>();
+        existing = refreshes.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        long observedWriteTime = node != null ? node.writeTime : 0L;
+        try {
+            refreshExecutor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    V value = loader.apply(key);
+                    stats.recordLoadSuccess(System.nanoTime() - start);
+                    if (value != null) {
+                        replaceIfUnchanged(key, node, observedWriteTime, observedValue, value);
+                    }
+                    refreshes.remove(key, future);
+                    future.complete(value);
+                } catch (Throwable ex) {
+                    stats.recordLoadFailure(System.nanoTime() - start);
+                    refreshes.remove(key, future);
+                    future.completeExceptionally(ex);
+                    System.err.println("缓存刷新失败: " + key + ", " + ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshes.remove(key, future);
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+    
+    /**
+     * 刷新得到的新值只在条目没有被覆盖或移除时写入
+     */
+    private void replaceIfUnchanged(K key, Node<K, V> node, long observedWriteTime, V observedValue, V value) {
+        if (node == null) {
+            if (data.get(key) == null) {
+                put(key, value);
+            }
+            return;
+        }
+        long now = now();
+        synchronized (node) {
+            if (!node.alive || node.writeTime != observedWriteTime || node.value != observedValue) {
+                return;
+            }
+            node.value = value;
+            node.writeTime = now;
+            node.accessTime = now;
+        }
+        afterWrite(new UpdateTask(node));
+    }
+    
+    /**
+     * 放入值，已有的值被覆盖
+     */
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("键和值都不能为null");
+        }
+        long now = now();
+        for (;;) {
+            Node<K, V> prior = data.get(key);
+            if (prior == null) {
+                Node<K, V> node = new Node<>(key, value, now);
+                prior = data.putIfAbsent(key, node);
+                if (prior == null) {
+                    afterWrite(new AddTask(node));
+                    return;
+                }
+            }
+            synchronized (prior) {
+                if (!prior.alive) {
+                    // 已被移除，重新插入
+                    continue;
+                }
+                prior.value = value;
+                prior.writeTime = now;
+                prior.accessTime = now;
+            }
+            afterWrite(new UpdateTask(prior));
+            return;
+        }
+    }
+    
+    /**
+     * 移除键对应的值
+     */
+    public void invalidate(K key) {
+        Node<K, V> node = data.remove(key);
+        if (node != null) {
+            retire(node);
+            afterWrite(new RemovalTask(node));
+        }
+    }
+    
+    /**
+     * 移除全部值
+     */
+    public void invalidateAll() {
+        for (K key : data.keySet()) {
+            invalidate(key);
+        }
+    }
+    
+    /**
+     * 估计的条目数（可能包含已过期但还没清理的条目）
+     */
+    public long estimatedSize() {
+        return data.size();
+    }
+    
+    /**
+     * 立即执行待处理的维护：重放读写记录、清理过期条目、淘汰超出容量的条目
+     */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+    
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+    
+    public CacheStats getStats() {
+        return stats;
+    }
+    
+    private void afterRead(Node<K, V> node, long now) {
+        if (expireAfterAccessNanos > 0) {
+            node.accessTime = now;
+        }
+        if (readBuffer.offer(node)) {
+            scheduleDrain();
+        }
+    }
+    
+    private void afterWrite(Runnable task) {
+        writeBuffer.add(task);
+        scheduleDrain();
+    }
+    
+    /**
+     * 拿到锁时执行维护；拿不到时由持锁线程在释放锁后发现新任务并继续处理
+     */
+    private void scheduleDrain() {
+        do {
+            if (!evictionLock.tryLock()) {
+                return;
+            }
+            try {
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+        } while (!writeBuffer.isEmpty());
+    }
+    
+    private void maintenance() {
+        readBuffer.drainTo(accessReplayer);
+        Runnable task;
+        while ((task = writeBuffer.poll()) != null) {
+            task.run();
+        }
+        if (hasExpiration()) {
+            timerWheel.advance(now(), this::expire);
+        }
+        evictEntries();
+    }
+    
+    /**
+     * 重放一次访问：增加频率并调整在LRU中的位置
+     */
+    private void onAccess(Node<K, V> node) {
+        if (node.queueType == Node.NONE) {
+            // 还没加入或已经移除
+            return;
+        }
+        sketch.increment(node.key);
+        if (node.queueType == Node.WINDOW) {
+            window.moveToBack(node);
+        } else if (node.queueType == Node.PROBATION) {
+            probation.remove(node);
+            node.queueType = Node.PROTECTED;
+            protectedDeque.addLast(node);
+            protectedSize++;
+            while (protectedSize > protectedMaximum) {
+                Node<K, V> demoted = protectedDeque.pollFirst();
+                demoted.queueType = Node.PROBATION;
+                probation.addLast(demoted);
+                protectedSize--;
+            }
+        } else {
+            protectedDeque.moveToBack(node);
+        }
+    }
+    
+    /**
+     * 窗口溢出的条目进入试用区成为候选者，超出容量时候选者与试用区头部的受害者按频率淘汰一个
+     */
+    private void evictEntries() {
+        Node<K, V> candidate = null;
+        while (windowSize > windowMaximum) {
+            Node<K, V> node = window.pollFirst();
+            node.queueType = Node.PROBATION;
+            probation.addLast(node);
+            windowSize--;
+            if (candidate == null) {
+                candidate = node;
+            }
+        }
+        while (size > maximumSize) {
+            Node<K, V> victim = probation.peekFirst();
+            if (victim == null) {
+                victim = protectedDeque.peekFirst();
+            }
+            if (victim == null) {
+                victim = window.peekFirst();
+            }
+            if (candidate == null || candidate == victim) {
+                if (candidate == victim) {
+                    candidate = candidate.next;
+                }
+                evictNode(victim);
+            } else {
+                Node<K, V> next = candidate.next;
+                if (admit(candidate.key, victim.key)) {
+                    evictNode(victim);
+                } else {
+                    evictNode(candidate);
+                }
+                candidate = next;
+            }
+        }
+    }
+    
+    private boolean admit(K candidateKey, K victimKey) {
+        int victimFrequency = sketch.frequency(victimKey);
+        int candidateFrequency = sketch.frequency(candidateKey);
+        if (candidateFrequency > victimFrequency) {
+            return true;
+        }
+        if (candidateFrequency < ADMIT_HASHDOS_THRESHOLD) {
+            return false;
+        }
+        return (ThreadLocalRandom.current().nextInt() & 127) == 0;
+    }
+    
+    /**
+     * 因容量淘汰条目
+     */
+    private void evictNode(Node<K, V> node) {
+        if (data.remove(node.key, node)) {
+            retire(node);
+            stats.recordEviction();
+        }
+        // 并发移除的条目也在这里解除链接，之后的RemovalTask不再处理
+        unlink(node);
+    }
+    
+    /**
+     * 时间轮中到期的条目，在computeIfPresent中再次检查，并发的写入可能已经推迟了过期时间
+     */
+    private boolean expire(Node<K, V> node, long now) {
+        node.variableTime = expirationTime(node);
+        if (node.variableTime - now > 0) {
+            return false;
+        }
+        boolean[] removed = new boolean[1];
+        data.computeIfPresent(node.key, (k, current) -> {
+            if (current != node) {
+                return current;
+            }
+            synchronized (node) {
+                if (!isExpired(node, now)) {
+                    return current;
+                }
+                node.alive = false;
+            }
+            removed[0] = true;
+            return null;
+        });
+        if (!removed[0] && node.alive && data.get(node.key) == node) {
+            node.variableTime = expirationTime(node);
+            return false;
+        }
+        if (removed[0]) {
+            stats.recordEviction();
+        }
+        unlink(node);
+        return true;
+    }
+    
+    private void unlink(Node<K, V> node) {
+        switch (node.queueType) {
+            case Node.WINDOW:
+                window.remove(node);
+                windowSize--;
+                break;
+            case Node.PROBATION:
+                probation.remove(node);
+                break;
+            case Node.PROTECTED:
+                protectedDeque.remove(node);
+                protectedSize--;
+                break;
+            default:
+                return;
+        }
+        node.queueType = Node.NONE;
+        size--;
+        timerWheel.deschedule(node);
+    }
+    
+    private void retire(Node<K, V> node) {
+        synchronized (node) {
+            node.alive = false;
+        }
+    }
+    
+    private boolean hasExpiration() {
+        return expireAfterWriteNanos > 0 || expireAfterAccessNanos > 0;
+    }
+    
+    private boolean isExpired(Node<K, V> node, long now) {
+        return (expireAfterWriteNanos > 0 && now - node.writeTime >= expireAfterWriteNanos)
+            || (expireAfterAccessNanos > 0 && now - node.accessTime >= expireAfterAccessNanos);
+    }
+    
+    private long expirationTime(Node<K, V> node) {
+        long time = Long.MAX_VALUE;
+        if (expireAfterWriteNanos > 0) {
+            time = node.writeTime + expireAfterWriteNanos;
+        }
+        if (expireAfterAccessNanos > 0) {
+            time = Math.min(time, node.accessTime + expireAfterAccessNanos);
+        }
+        return time;
+    }
+    
+    /**
+     * 相对于创建时的时间，保证非负，时间轮可以直接移位计算格子
+     */
+    private long now() {
+        return ticker.getAsLong() - origin;
+    }
+    
+    private final class AddTask implements Runnable {
+        
+        private final Node<K, V> node;
+        
+        AddTask(Node<K, V> node) {
+            this.node = node;
+        }
+        
+        @Override
+        public void run() {
+            if (!node.alive) {
+                return;
+            }
+            sketch.increment(node.key);
+            node.queueType = Node.WINDOW;
+            window.addLast(node);
+            windowSize++;
+            size++;
+            if (hasExpiration()) {
+                node.variableTime = expirationTime(node);
+                timerWheel.schedule(node);
+            }
+        }
+    }
+    
+    private final class UpdateTask implements Runnable {
+        
+        private final Node<K, V> node;
+        
+        UpdateTask(Node<K, V> node) {
+            this.node = node;
+        }
+        
+        @Override
+        public void run() {
+            onAccess(node);
+        }
+    }
+    
+    private final class RemovalTask implements Runnable {
+        
+        private final Node<K, V> node;
+        
+        RemovalTask(Node<K, V> node) {
+            this.node = node;
+        }
+        
+        @Override
+        public void run() {
+            unlink(node);
+        }
+    }
+    
+    /**
+     * 执行中的加载，记录执行者线程以识别递归加载
+     */
+    private static final class Loading<V> extends CompletableFuture<V> {
+        
+        final Thread owner;
+        
+        Loading(Thread owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.litespring.cache;
+
+import com.litespring.aop.cache.Cache;
+import com.litespring.aop.cache.CacheStats;
+import com.litespring.aop.cache.SimpleValueWrapper;
+
+/**
+ * 把{@link LocalCache}适配为缓存注解使用的{@link Cache}
+ * 
+ * 本地缓存中直接保存{@link SimpleValueWrapper}，null值也能缓存，命中时不分配内存
+ * 
+ * @author lite-spring
+ */
+public class LocalCacheAdapter implements Cache {
+    
+    private final String name;
+    
+    private final LocalCache<Object, SimpleValueWrapper> cache;
+    
+    public LocalCacheAdapter(String name, LocalCacheConfig config) {
+        if (name == null) {
+            throw new IllegalArgumentException("缓存名称不能为null");
+        }
+        this.name = name;
+        this.cache = new LocalCache<>(config);
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public ValueWrapper get(Object key) {
+        return cache.getIfPresent(key);
+    }
+    
+    /**
+     * 同一个键的并发加载只执行一次；配置了提前刷新时，接近过期的值用分离的context在后台刷新，本次返回旧值。
+     * 命中时只有在需要刷新时才创建加载函数
+     */
+    @Override
+    public <C> Object get(Object key, C context, ContextLoader<C> loader) throws Throwable {
+        SimpleValueWrapper cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (cache.isRefreshDue(key)) {
+                C detached = loader.detach(context);
+                cache.refresh(key, k -> new SimpleValueWrapper(load(loader, detached)));
+            }
+            return cached.get();
+        }
+        try {
+            return cache.load(key, k -> new SimpleValueWrapper(load(loader, context))).get();
+        } catch (LoaderException ex) {
+            throw ex.getCause();
+        }
+    }
+    
+    private static <C> Object load(ContextLoader<C> loader, C context) {
+        try {
+            return loader.load(context);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new LoaderException(ex);
+        }
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        cache.put(key, new SimpleValueWrapper(value));
+    }
+    
+    @Override
+    public void evict(Object key) {
+        cache.invalidate(key);
+    }
+    
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+    
+    @Override
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+    
+    /**
+     * 底层的本地缓存
+     */
+    public LocalCache<Object, SimpleValueWrapper> getNativeCache() {
+        return cache;
+    }
+    
+    @Override
+    public String toString() {
+        return "LocalCacheAdapter[" + name + ", size=" + cache.estimatedSize() + "]";
+    }
+    
+    /**
+     * 在Function中传递加载器抛出的受检异常
+     */
+    private static final class LoaderException extends RuntimeException {
+        
+        LoaderException(Throwable cause) {
+            super(cause.toString(), cause, false, false);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.litespring.cache;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 本地缓存配置
+ * 
+ * @author lite-spring
+ */
+public class LocalCacheConfig {
+    
+    private long maximumSize = 10_000;
+    private long expireAfterWriteNanos;
+    private long expireAfterAccessNanos;
+    private double refreshAheadFactor;
+    private Executor refreshExecutor;
+    private LongSupplier ticker = System::nanoTime;
+    
+    /**
+     * 最多保存多少个条目
+     */
+    public void setMaximumSize(long maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("最大条目数必须大于0: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+    
+    /**
+     * 写入后多久过期，0表示不过期
+     */
+    public void setExpireAfterWrite(long duration, TimeUnit unit) {
+        this.expireAfterWriteNanos = checkDuration(unit.toNanos(duration));
+    }
+    
+    /**
+     * 最后一次读写后多久过期，0表示不过期
+     */
+    public void setExpireAfterAccess(long duration, TimeUnit unit) {
+        this.expireAfterAccessNanos = checkDuration(unit.toNanos(duration));
+    }
+    
+    /**
+     * 提前刷新：条目写入后经过expireAfterWrite的这个比例（0到1之间，不含两端）时，
+     * 带加载器的读取在执行器上异步重新加载，加载完成前继续返回旧值。0表示不提前刷新
+     */
+    public void setRefreshAheadFactor(double refreshAheadFactor) {
+        if (refreshAheadFactor < 0 || refreshAheadFactor >= 1) {
+            throw new IllegalArgumentException("提前刷新比例必须在0到1之间: " + refreshAheadFactor);
+        }
+        this.refreshAheadFactor = refreshAheadFactor;
+    }
+    
+    /**
+     * 执行异步刷新的执行器，使用提前刷新时必须设置。
+     * 加载器通常会阻塞（如查询数据库），应使用专用的有界线程池；执行器拒绝时本次不刷新
+     */
+    public void setRefreshExecutor(Executor refreshExecutor) {
+        if (refreshExecutor == null) {
+            throw new IllegalArgumentException("刷新执行器不能为null");
+        }
+        this.refreshExecutor = refreshExecutor;
+    }
+    
+    /**
+     * 纳秒时间源，默认System.nanoTime，测试中可以替换
+     */
+    public void setTicker(LongSupplier ticker) {
+        if (ticker == null) {
+            throw new IllegalArgumentException("时间源不能为null");
+        }
+        this.ticker = ticker;
+    }
+    
+    private static long checkDuration(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("过期时间不能为负数: " + nanos + "ns");
+        }
+        return nanos;
+    }
+    
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+    
+    public long getExpireAfterWriteNanos() {
+        return expireAfterWriteNanos;
+    }
+    
+    public long getExpireAfterAccessNanos() {
+        return expireAfterAccessNanos;
+    }
+    
+    public double getRefreshAheadFactor() {
+        return refreshAheadFactor;
+    }
+    
+    /**
+     * 条目写入多久后开始提前刷新（纳秒），0表示不提前刷新
+     */
+    public long getRefreshAfterWriteNanos() {
+        return (long) (expireAfterWriteNanos * refreshAheadFactor);
+    }
+    
+    public Executor getRefreshExecutor() {
+        return refreshExecutor;
+    }
+    
+    public LongSupplier getTicker() {
+        return ticker;
+    }
+}
@@ -0,0 +1,50 @@
+package com.litespring.cache;
+
+import com.litespring.aop.cache.Cache;
+import com.litespring.aop.cache.ConcurrentMapCacheManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存为{@link LocalCache}的缓存管理器，默认所有缓存使用同一份配置，
+ * 可以用{@link #setCacheConfig}给单个缓存指定配置（例如不同的TTL和提前刷新比例）。
+ * 是缓存拦截器在容器中没有CacheManager时的默认实现
+ * 
+ * 按需创建和固定名称的行为与{@link ConcurrentMapCacheManager}相同
+ * 
+ * @author lite-spring
+ */
+public class LocalCacheManager extends ConcurrentMapCacheManager {
+    
+    private final LocalCacheConfig cacheConfig;
+    
+    private final Map<String, LocalCacheConfig> cacheConfigs = new ConcurrentHashMap<>();
+    
+    public LocalCacheManager() {
+        this(new LocalCacheConfig());
+    }
+    
+    public LocalCacheManager(LocalCacheConfig cacheConfig) {
+        this.cacheConfig = cacheConfig;
+    }
+    
+    @Override
+    protected Cache createCache(String name) {
+        return new LocalCacheAdapter(name, cacheConfigs.getOrDefault(name, cacheConfig));
+    }
+    
+    /**
+     * 指定单个缓存的配置，只对之后创建的缓存生效
+     */
+    public void setCacheConfig(String name, LocalCacheConfig config) {
+        if (name == null || config == null) {
+            throw new IllegalArgumentException("缓存名称和配置都不能为null");
+        }
+        cacheConfigs.put(name, config);
+    }
+    
+    public LocalCacheConfig getCacheConfig() {
+        return cacheConfig;
+    }
+}
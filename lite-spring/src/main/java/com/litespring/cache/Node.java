@@ -0,0 +1,45 @@
+package com.litespring.cache;
+
+/**
+ * 缓存条目
+ * 
+ * value和时间戳是volatile的，读取不加锁；alive在同步块中修改，
+ * 条目被移出哈希表后为false，原地更新的写入看到false时改为插入新条目。
+ * 其余字段是淘汰策略的链表指针，只在维护锁内访问
+ * 
+ * @author lite-spring
+ */
+final class Node<K, V> {
+    
+    static final int NONE = 0;
+    static final int WINDOW = 1;
+    static final int PROBATION = 2;
+    static final int PROTECTED = 3;
+    
+    final K key;
+    volatile V value;
+    volatile long writeTime;
+    volatile long accessTime;
+    volatile boolean alive = true;
+    
+    /**
+     * 所在的LRU队列
+     */
+    int queueType = NONE;
+    Node<K, V> prev;
+    Node<K, V> next;
+    
+    /**
+     * 时间轮中的过期时间和链表指针
+     */
+    long variableTime;
+    Node<K, V> prevInTimer;
+    Node<K, V> nextInTimer;
+    
+    Node(K key, V value, long now) {
+        this.key = key;
+        this.value = value;
+        this.writeTime = now;
+        this.accessTime = now;
+    }
+}
@@ -0,0 +1,161 @@
+package com.litespring.cache;
+
+import com.litespring.aop.cache.Cache;
+import com.litespring.aop.cache.CacheStats;
+import com.litespring.aop.cache.SimpleValueWrapper;
+
+import java.util.Arrays;
+
+/**
+ * 数据保存在直接内存（堆外）中的缓存，实现缓存注解使用的{@link Cache}
+ * 
+ * 键和值序列化后写入按段划分的slab，索引也在直接内存中，
+ * 所以堆上只有固定数量的ByteBuffer对象，缓存装满多少数据都不增加GC需要扫描的对象。
+ * 超出预算时按CLOCK淘汰（最近读过的条目多保留一轮）
+ * 
+ * 代价是每次读取都要反序列化，适合较大而访问不那么频繁的值；
+ * 热点数据放在{@link TieredCache}的堆内一级缓存中
+ * 
+ * 键按序列化后的字节比较，序列化结果需要是确定的；超过一个段容量的条目不缓存
+ * 
+ * @author lite-spring
+ */
+public class OffHeapCache implements Cache {
+    
+    private final String name;
+    
+    private final Serializer<Object> keySerializer;
+    private final Serializer<Object> valueSerializer;
+    
+    private final OffHeapSegment[] segments;
+    private final int segmentShift;
+    
+    private final CacheStats stats = new CacheStats();
+    
+    public OffHeapCache(String name, OffHeapCacheConfig config) {
+        this(name, config, new JavaSerializer(), new JavaSerializer());
+    }
+    
+    /**
+     * @param keySerializer 键的序列化器，需要与键的类型匹配
+     * @param valueSerializer 值的序列化器，需要与值的类型匹配
+     */
+    @SuppressWarnings("unchecked")
+    public OffHeapCache(String name, OffHeapCacheConfig config,
+                        Serializer<?> keySerializer, Serializer<?> valueSerializer) {
+        if (name == null) {
+            throw new IllegalArgumentException("缓存名称不能为null");
+        }
+        this.name = name;
+        this.keySerializer = (Serializer<Object>) keySerializer;
+        this.valueSerializer = (Serializer<Object>) valueSerializer;
+        int count = config.getSegmentCount();
+        long segmentBudget = config.getMaximumBytes() / count;
+        if (segmentBudget < config.getBlockSize()) {
+            // 每段至少分配一个slab，预算不够一个块时总分配量会超出预算
+            throw new IllegalArgumentException("每段的预算" + segmentBudget + "字节小于块大小" + config.getBlockSize()
+                + "字节（总预算" + config.getMaximumBytes() + "字节，" + count + "段），请增加预算或减少段数");
+        }
+        this.segments = new OffHeapSegment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new OffHeapSegment(segmentBudget, config.getBlockSize(), config.getSlabSize(), stats);
+        }
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public ValueWrapper get(Object key) {
+        byte[] keyBytes = keySerializer.serialize(key);
+        int hash = hash(keyBytes);
+        byte[] value = segmentFor(hash).get(hash, keyBytes);
+        if (value == null) {
+            stats.recordMiss();
+            return null;
+        }
+        stats.recordHit();
+        return new SimpleValueWrapper(value == OffHeapSegment.NULL_VALUE ? null : valueSerializer.deserialize(value));
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        byte[] keyBytes = keySerializer.serialize(key);
+        byte[] valueBytes = value != null ? valueSerializer.serialize(value) : null;
+        int hash = hash(keyBytes);
+        segmentFor(hash).put(hash, keyBytes, valueBytes);
+    }
+    
+    @Override
+    public void evict(Object key) {
+        byte[] keyBytes = keySerializer.serialize(key);
+        int hash = hash(keyBytes);
+        segmentFor(hash).remove(hash, keyBytes);
+    }
+    
+    @Override
+    public void clear() {
+        for (OffHeapSegment segment : segments) {
+            segment.clear();
+        }
+    }
+    
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+    
+    /**
+     * 条目数
+     */
+    public long getEntryCount() {
+        long count = 0;
+        for (OffHeapSegment segment : segments) {
+            count += segment.size();
+        }
+        return count;
+    }
+    
+    /**
+     * 条目占用的直接内存（按块计算）
+     */
+    public long getUsedBytes() {
+        long bytes = 0;
+        for (OffHeapSegment segment : segments) {
+            bytes += segment.getUsedBytes();
+        }
+        return bytes;
+    }
+    
+    /**
+     * 已分配的直接内存，包括索引
+     */
+    public long getAllocatedBytes() {
+        long bytes = 0;
+        for (OffHeapSegment segment : segments) {
+            bytes += segment.getAllocatedBytes();
+        }
+        return bytes;
+    }
+    
+    private OffHeapSegment segmentFor(int hash) {
+        // 段用哈希的高位，段内索引用低位
+        return segmentShift == 32 ? segments[0] : segments[(hash * 0x9E3779B9) >>> segmentShift];
+    }
+    
+    private static int hash(byte[] keyBytes) {
+        int h = Arrays.hashCode(keyBytes);
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+    
+    @Override
+    public String toString() {
+        return "OffHeapCache[" + name + ", entries=" + getEntryCount() + ", usedBytes=" + getUsedBytes() + "]";
+    }
+}
@@ -0,0 +1,75 @@
+package com.litespring.cache;
+
+/**
+ * 堆外缓存配置
+ * 
+ * 总预算平均分给各个段，每段按需分配slab（直接内存），分配满预算后开始淘汰；
+ * 每段的预算不能小于一个块，否则创建缓存时抛出IllegalArgumentException。
+ * 条目按块存储，占用ceil((条目字节数 + 5) / (blockSize - 4))个块，
+ * 块越小浪费越少，块越大长条目的块链越短
+ * 
+ * @author lite-spring
+ */
+public class OffHeapCacheConfig {
+    
+    private long maximumBytes = 64L * 1024 * 1024;
+    private int segmentCount = 16;
+    private int blockSize = 256;
+    private int slabSize = 1024 * 1024;
+    
+    /**
+     * 直接内存的总预算（字节）
+     */
+    public void setMaximumBytes(long maximumBytes) {
+        if (maximumBytes < 1024) {
+            throw new IllegalArgumentException("堆外缓存预算不能小于1KB: " + maximumBytes);
+        }
+        this.maximumBytes = maximumBytes;
+    }
+    
+    /**
+     * 段数（2的幂），每段一把锁
+     */
+    public void setSegmentCount(int segmentCount) {
+        if (segmentCount < 1 || Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("段数必须是2的幂: " + segmentCount);
+        }
+        this.segmentCount = segmentCount;
+    }
+    
+    /**
+     * 块大小（字节），每个块的前4个字节是下一个块的编号
+     */
+    public void setBlockSize(int blockSize) {
+        if (blockSize < 64) {
+            throw new IllegalArgumentException("块大小不能小于64字节: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+    
+    /**
+     * 每次分配的直接内存大小（字节），超过每段的预算时按每段预算分配
+     */
+    public void setSlabSize(int slabSize) {
+        if (slabSize < 1024) {
+            throw new IllegalArgumentException("slab大小不能小于1KB: " + slabSize);
+        }
+        this.slabSize = slabSize;
+    }
+    
+    public long getMaximumBytes() {
+        return maximumBytes;
+    }
+    
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+    
+    public int getBlockSize() {
+        return blockSize;
+    }
+    
+    public int getSlabSize() {
+        return slabSize;
+    }
+}
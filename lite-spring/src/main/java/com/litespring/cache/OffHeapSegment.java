@@ -0,0 +1,386 @@
+package com.litespring.cache;
+
+import com.litespring.aop.cache.CacheStats;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 堆外缓存的一个段：块分配器、开放寻址索引和CLOCK淘汰，全部数据都在直接内存中
+ * 
+ * 存储：
+ * - slab是一块直接内存，切成固定大小的块，块的前4个字节是链表中下一个块的编号（-1表示结尾）
+ * - 空闲块用同样的指针串成空闲链表，分配n个块就是从表头摘下一段已经链好的链
+ * - 条目占一条块链，内容依次是：int键长度、byte是否有值、键的字节、值的字节
+ * 
+ * 索引是直接内存中的线性探测哈希表，每个槽16字节：int哈希、int首块编号、int条目字节数、int标志。
+ * 容量按块数的4/3取2的幂，条目数不会超过块数，所以总有空槽，查找一定会结束；
+ * 删除时把后面的条目往回移（backward shift），不需要墓碑
+ * 
+ * 空闲块不够且已分配满预算时，CLOCK指针沿索引槽转动：有访问标志的清除标志跳过，
+ * 没有的淘汰，直到空闲块足够
+ * 
+ * 方法都是synchronized的，由{@link OffHeapCache}按哈希分段降低竞争
+ * 
+ * @author lite-spring
+ */
+final class OffHeapSegment {
+    
+    /**
+     * 缓存的null值
+     */
+    static final byte[] NULL_VALUE = new byte[0];
+    
+    private static final int HEADER = 5;
+    private static final int SLOT_SIZE = 16;
+    private static final int OCCUPIED = 1;
+    private static final int REFERENCED = 2;
+    
+    private final int blockSize;
+    private final int payload;
+    private final int slabBlocks;
+    private final ByteBuffer[] slabs;
+    private int slabCount;
+    
+    private int freeHead = -1;
+    private int freeBlocks;
+    
+    private final ByteBuffer index;
+    private final int indexMask;
+    private int size;
+    private int clockHand;
+    
+    private final CacheStats stats;
+    
+    OffHeapSegment(long budget, int blockSize, int slabSize, CacheStats stats) {
+        this.blockSize = blockSize;
+        this.payload = blockSize - 4;
+        this.slabBlocks = Math.max(1, (int) Math.min(slabSize, budget) / blockSize);
+        int maxSlabs = (int) Math.max(1, budget / ((long) slabBlocks * blockSize));
+        this.slabs = new ByteBuffer[maxSlabs];
+        long totalBlocks = (long) maxSlabs * slabBlocks;
+        if (totalBlocks > (1 << 25)) {
+            throw new IllegalArgumentException("每段的块数过多: " + totalBlocks + "，请增加段数或块大小");
+        }
+        int capacity = FrequencySketch.ceilingPowerOfTwo((int) (totalBlocks + totalBlocks / 3 + 1));
+        this.index = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+        this.indexMask = capacity - 1;
+        this.stats = stats;
+    }
+    
+    /**
+     * 查找值
+     * 
+     * @return 值的字节，缓存的是null时返回{@link #NULL_VALUE}，没有时返回null
+     */
+    synchronized byte[] get(int hash, byte[] key) {
+        int slot = find(hash, key);
+        if (slot < 0) {
+            return null;
+        }
+        setFlags(slot, slotFlags(slot) | REFERENCED);
+        int block = slotBlock(slot);
+        ByteBuffer slab = slab(block);
+        int base = offset(block) + 4;
+        if (slab.get(base + 4) == 0) {
+            return NULL_VALUE;
+        }
+        int keyLength = slab.getInt(base);
+        byte[] value = new byte[slotSize(slot) - HEADER - keyLength];
+        read(block, HEADER + keyLength, value);
+        return value;
+    }
+    
+    /**
+     * 放入条目，需要时淘汰其他条目
+     * 
+     * @param value 值的字节，null表示缓存null值
+     * @return 条目超过整个段的容量时不保存，返回false
+     */
+    synchronized boolean put(int hash, byte[] key, byte[] value) {
+        int existing = find(hash, key);
+        if (existing >= 0) {
+            removeSlot(existing);
+        }
+        int entrySize = HEADER + key.length + (value != null ? value.length : 0);
+        int blocks = blocksFor(entrySize);
+        if (blocks > (long) slabs.length * slabBlocks) {
+            return false;
+        }
+        while (freeBlocks < blocks) {
+            if (slabCount < slabs.length) {
+                addSlab();
+            } else {
+                evictOne();
+            }
+        }
+        int first = takeBlocks(blocks);
+        ByteBuffer slab = slab(first);
+        int base = offset(first) + 4;
+        slab.putInt(base, key.length);
+        slab.put(base + 4, (byte) (value != null ? 1 : 0));
+        write(first, HEADER, key);
+        if (value != null) {
+            write(first, HEADER + key.length, value);
+        }
+        insert(hash, first, entrySize);
+        return true;
+    }
+    
+    synchronized void remove(int hash, byte[] key) {
+        int slot = find(hash, key);
+        if (slot >= 0) {
+            removeSlot(slot);
+        }
+    }
+    
+    /**
+     * 移除全部条目，已分配的slab保留给之后的写入
+     */
+    synchronized void clear() {
+        for (int slot = 0; slot <= indexMask; slot++) {
+            setFlags(slot, 0);
+        }
+        size = 0;
+        freeHead = -1;
+        freeBlocks = 0;
+        for (int s = slabCount - 1; s >= 0; s--) {
+            linkFreeBlocks(s);
+        }
+    }
+    
+    synchronized int size() {
+        return size;
+    }
+    
+    /**
+     * 条目占用的块的字节数
+     */
+    synchronized long getUsedBytes() {
+        return ((long) slabCount * slabBlocks - freeBlocks) * blockSize;
+    }
+    
+    /**
+     * 已分配的直接内存（slab和索引）
+     */
+    synchronized long getAllocatedBytes() {
+        return (long) slabCount * slabBlocks * blockSize + index.capacity();
+    }
+    
+    private int find(int hash, byte[] key) {
+        int slot = hash & indexMask;
+        for (;;) {
+            if ((slotFlags(slot) & OCCUPIED) == 0) {
+                return -1;
+            }
+            if (slotHash(slot) == hash && keyMatches(slotBlock(slot), key)) {
+                return slot;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+    }
+    
+    private void insert(int hash, int block, int entrySize) {
+        int slot = hash & indexMask;
+        while ((slotFlags(slot) & OCCUPIED) != 0) {
+            slot = (slot + 1) & indexMask;
+        }
+        int position = slot * SLOT_SIZE;
+        index.putInt(position, hash);
+        index.putInt(position + 4, block);
+        index.putInt(position + 8, entrySize);
+        index.putInt(position + 12, OCCUPIED);
+        size++;
+    }
+    
+    /**
+     * 释放条目的块并从索引中删除，后面同一探测序列上的条目前移填补空位
+     */
+    private void removeSlot(int slot) {
+        releaseBlocks(slotBlock(slot), blocksFor(slotSize(slot)));
+        size--;
+        int hole = slot;
+        int next = slot;
+        for (;;) {
+            next = (next + 1) & indexMask;
+            if ((slotFlags(next) & OCCUPIED) == 0) {
+                break;
+            }
+            int ideal = slotHash(next) & indexMask;
+            boolean reachable = hole <= next
+                ? hole < ideal && ideal <= next
+                : hole < ideal || ideal <= next;
+            if (!reachable) {
+                // 理想位置不在(hole, next]中，移到空位后仍能被探测到
+                for (int i = 0; i < SLOT_SIZE; i += 4) {
+                    index.putInt(hole * SLOT_SIZE + i, index.getInt(next * SLOT_SIZE + i));
+                }
+                hole = next;
+            }
+        }
+        setFlags(hole, 0);
+    }
+    
+    private void evictOne() {
+        for (;;) {
+            int slot = clockHand;
+            clockHand = (clockHand + 1) & indexMask;
+            int flags = slotFlags(slot);
+            if ((flags & OCCUPIED) == 0) {
+                continue;
+            }
+            if ((flags & REFERENCED) != 0) {
+                setFlags(slot, flags & ~REFERENCED);
+                continue;
+            }
+            removeSlot(slot);
+            stats.recordEviction();
+            return;
+        }
+    }
+    
+    private boolean keyMatches(int block, byte[] key) {
+        return slab(block).getInt(offset(block) + 4) == key.length && matches(block, HEADER, key);
+    }
+    
+    private boolean matches(int block, int position, byte[] expected) {
+        while (position >= payload) {
+            block = next(block);
+            position -= payload;
+        }
+        int i = 0;
+        while (i < expected.length) {
+            ByteBuffer slab = slab(block);
+            int base = offset(block) + 4 + position;
+            int n = Math.min(expected.length - i, payload - position);
+            for (int k = 0; k < n; k++) {
+                if (slab.get(base + k) != expected[i + k]) {
+                    return false;
+                }
+            }
+            i += n;
+            position = 0;
+            if (i < expected.length) {
+                block = next(block);
+            }
+        }
+        return true;
+    }
+    
+    private void read(int block, int position, byte[] target) {
+        while (position >= payload) {
+            block = next(block);
+            position -= payload;
+        }
+        int i = 0;
+        while (i < target.length) {
+            int n = Math.min(target.length - i, payload - position);
+            ByteBuffer slab = slab(block);
+            slab.position(offset(block) + 4 + position);
+            slab.get(target, i, n);
+            i += n;
+            position = 0;
+            if (i < target.length) {
+                block = next(block);
+            }
+        }
+    }
+    
+    private void write(int block, int position, byte[] source) {
+        while (position >= payload) {
+            block = next(block);
+            position -= payload;
+        }
+        int i = 0;
+        while (i < source.length) {
+            int n = Math.min(source.length - i, payload - position);
+            ByteBuffer slab = slab(block);
+            slab.position(offset(block) + 4 + position);
+            slab.put(source, i, n);
+            i += n;
+            position = 0;
+            if (i < source.length) {
+                block = next(block);
+            }
+        }
+    }
+    
+    private void addSlab() {
+        slabs[slabCount] = ByteBuffer.allocateDirect(slabBlocks * blockSize);
+        linkFreeBlocks(slabCount);
+        slabCount++;
+    }
+    
+    /**
+     * 把一个slab的全部块加到空闲链表头部
+     */
+    private void linkFreeBlocks(int slabIndex) {
+        int base = slabIndex * slabBlocks;
+        for (int i = slabBlocks - 1; i >= 0; i--) {
+            setNext(base + i, freeHead);
+            freeHead = base + i;
+        }
+        freeBlocks += slabBlocks;
+    }
+    
+    private int takeBlocks(int count) {
+        int first = freeHead;
+        int last = first;
+        for (int i = 1; i < count; i++) {
+            last = next(last);
+        }
+        freeHead = next(last);
+        setNext(last, -1);
+        freeBlocks -= count;
+        return first;
+    }
+    
+    private void releaseBlocks(int first, int count) {
+        int last = first;
+        for (int i = 1; i < count; i++) {
+            last = next(last);
+        }
+        setNext(last, freeHead);
+        freeHead = first;
+        freeBlocks += count;
+    }
+    
+    private int blocksFor(int entrySize) {
+        return (entrySize + payload - 1) / payload;
+    }
+    
+    private ByteBuffer slab(int block) {
+        return slabs[block / slabBlocks];
+    }
+    
+    private int offset(int block) {
+        return (block % slabBlocks) * blockSize;
+    }
+    
+    private int next(int block) {
+        return slab(block).getInt(offset(block));
+    }
+    
+    private void setNext(int block, int next) {
+        slab(block).putInt(offset(block), next);
+    }
+    
+    private int slotHash(int slot) {
+        return index.getInt(slot * SLOT_SIZE);
+    }
+    
+    private int slotBlock(int slot) {
+        return index.getInt(slot * SLOT_SIZE + 4);
+    }
+    
+    private int slotSize(int slot) {
+        return index.getInt(slot * SLOT_SIZE + 8);
+    }
+    
+    private int slotFlags(int slot) {
+        return index.getInt(slot * SLOT_SIZE + 12);
+    }
+    
+    private void setFlags(int slot, int flags) {
+        index.putInt(slot * SLOT_SIZE + 12, flags);
+    }
+}
@@ -0,0 +1,84 @@
+package com.litespring.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 记录读操作的有损缓冲区
+ * 
+ * 按线程分成多个条带，每个条带是固定大小的环形数组：读线程用一次CAS占位后写入，
+ * 条带满或CAS失败时直接丢弃这次记录（访问顺序只是策略的提示，丢失少量记录不影响正确性），
+ * 所以读操作从不加锁也不会阻塞。维护线程在锁内批量取出记录重放到淘汰策略
+ * 
+ * @author lite-spring
+ */
+final class ReadBuffer<E> {
+    
+    static final int BUFFER_SIZE = 16;
+    private static final int MASK = BUFFER_SIZE - 1;
+    
+    private final Stripe<E>[] stripes;
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ReadBuffer() {
+        int count = Math.min(FrequencySketch.ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors()), 16);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+    
+    /**
+     * 记录一个元素（可能被丢弃）
+     * 
+     * @return 条带是否已满，满时应尽快执行维护
+     */
+    boolean offer(E e) {
+        Stripe<E> stripe = stripes[stripeIndex()];
+        long head = stripe.readCounter;
+        long tail = stripe.writeCounter.get();
+        long size = tail - head;
+        if (size >= BUFFER_SIZE) {
+            return true;
+        }
+        if (stripe.writeCounter.compareAndSet(tail, tail + 1)) {
+            stripe.buffer.lazySet((int) (tail & MASK), e);
+            return size + 1 >= BUFFER_SIZE;
+        }
+        return false;
+    }
+    
+    /**
+     * 取出全部已发布的元素，只能由持有维护锁的线程调用
+     */
+    void drainTo(Consumer<E> consumer) {
+        for (Stripe<E> stripe : stripes) {
+            long head = stripe.readCounter;
+            long tail = stripe.writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & MASK);
+                E e = stripe.buffer.get(index);
+                if (e == null) {
+                    // 已占位但还没写入
+                    break;
+                }
+                stripe.buffer.lazySet(index, null);
+                consumer.accept(e);
+            }
+            stripe.readCounter = head;
+        }
+    }
+    
+    private int stripeIndex() {
+        long id = Thread.currentThread().getId() * 0x9e3779b97f4a7c15L;
+        return (int) (id >>> 32) & (stripes.length - 1);
+    }
+    
+    private static final class Stripe<E> {
+        
+        final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+        final AtomicLong writeCounter = new AtomicLong();
+        volatile long readCounter;
+    }
+}
@@ -0,0 +1,15 @@
+package com.litespring.cache;
+
+/**
+ * 堆外缓存的序列化器
+ * 
+ * 键按序列化后的字节比较，所以键的序列化结果必须是确定的：相等的键得到相同的字节
+ * 
+ * @author lite-spring
+ */
+public interface Serializer<T> {
+    
+    byte[] serialize(T value);
+    
+    T deserialize(byte[] bytes);
+}
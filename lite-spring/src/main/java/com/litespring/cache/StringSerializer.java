@@ -0,0 +1,21 @@
+package com.litespring.cache;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8编码的字符串序列化器，适合渲染好的JSON等文本
+ * 
+ * @author lite-spring
+ */
+public class StringSerializer implements Serializer<String> {
+    
+    @Override
+    public byte[] serialize(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public String deserialize(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
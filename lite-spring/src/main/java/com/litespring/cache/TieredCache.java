@@ -0,0 +1,91 @@
+package com.litespring.cache;
+
+import com.litespring.aop.cache.Cache;
+import com.litespring.aop.cache.CacheStats;
+
+/**
+ * 两级缓存：一级是容量较小的堆内缓存，二级是容量大的缓存（通常是{@link OffHeapCache}）
+ * 
+ * - 读取先查一级，未命中再查二级，二级命中时把值放入一级
+ * - 写入同时写两级（二级保存全部数据，一级按自己的策略只保留热点）
+ * - 移除和清空作用于两级
+ * 
+ * 统计只记录整体的命中/未命中和加载，各级自己的统计从各级缓存获取
+ * 
+ * @author lite-spring
+ */
+public class TieredCache implements Cache {
+    
+    private final String name;
+    
+    private final Cache heapCache;
+    
+    private final Cache secondLevelCache;
+    
+    private final CacheStats stats = new CacheStats();
+    
+    public TieredCache(String name, Cache heapCache, Cache secondLevelCache) {
+        if (name == null) {
+            throw new IllegalArgumentException("缓存名称不能为null");
+        }
+        this.name = name;
+        this.heapCache = heapCache;
+        this.secondLevelCache = secondLevelCache;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = heapCache.get(key);
+        if (value == null) {
+            value = secondLevelCache.get(key);
+            if (value == null) {
+                stats.recordMiss();
+                return null;
+            }
+            heapCache.put(key, value.get());
+        }
+        stats.recordHit();
+        return value;
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        secondLevelCache.put(key, value);
+        heapCache.put(key, value);
+    }
+    
+    @Override
+    public void evict(Object key) {
+        secondLevelCache.evict(key);
+        heapCache.evict(key);
+    }
+    
+    @Override
+    public void clear() {
+        secondLevelCache.clear();
+        heapCache.clear();
+    }
+    
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+    
+    public Cache getHeapCache() {
+        return heapCache;
+    }
+    
+    public Cache getSecondLevelCache() {
+        return secondLevelCache;
+    }
+    
+    @Override
+    public String toString() {
+        return "TieredCache[" + name + "]";
+    }
+}
@@ -0,0 +1,28 @@
+package com.litespring.cache;
+
+import com.litespring.aop.cache.Cache;
+import com.litespring.aop.cache.ConcurrentMapCacheManager;
+
+/**
+ * 缓存为{@link TieredCache}的缓存管理器：一级是{@link LocalCache}，二级是{@link OffHeapCache}
+ * 
+ * 每个缓存使用同一份配置，即每个缓存都有自己的堆外预算
+ * 
+ * @author lite-spring
+ */
+public class TieredCacheManager extends ConcurrentMapCacheManager {
+    
+    private final LocalCacheConfig heapConfig;
+    
+    private final OffHeapCacheConfig offHeapConfig;
+    
+    public TieredCacheManager(LocalCacheConfig heapConfig, OffHeapCacheConfig offHeapConfig) {
+        this.heapConfig = heapConfig;
+        this.offHeapConfig = offHeapConfig;
+    }
+    
+    @Override
+    protected Cache createCache(String name) {
+        return new TieredCache(name, new LocalCacheAdapter(name, heapConfig), new OffHeapCache(name, offHeapConfig));
+    }
+}
@@ -0,0 +1,146 @@
+package com.litespring.cache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分层时间轮，按过期时间组织条目，推进时间只处理到期的桶，
+ * 不需要按过期时间排序或扫描全部条目
+ * 
+ * 五层轮子的每格跨度约为1.07秒、1.14分、1.22小时、1.63天和6.5天（都取2的幂，用移位计算格子）。
+ * 远期条目先放在粗粒度的轮子里，所在的格子到期时重新放入更细的轮子。
+ * 条目的过期时间在到期时重新计算，之后的访问推迟了过期时间的条目会被重新放入时间轮，
+ * 因此访问时不需要移动条目
+ * 
+ * 不是线程安全的，只在维护锁内使用
+ * 
+ * @author lite-spring
+ */
+final class TimerWheel<K, V> {
+    
+    static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    
+    static final long[] SPANS = {
+        ceilingPowerOfTwo(TimeUnit.SECONDS.toNanos(1)),
+        ceilingPowerOfTwo(TimeUnit.MINUTES.toNanos(1)),
+        ceilingPowerOfTwo(TimeUnit.HOURS.toNanos(1)),
+        ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)),
+        BUCKETS[3] * ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)),
+    };
+    
+    static final long[] SHIFT = {
+        Long.numberOfTrailingZeros(SPANS[0]),
+        Long.numberOfTrailingZeros(SPANS[1]),
+        Long.numberOfTrailingZeros(SPANS[2]),
+        Long.numberOfTrailingZeros(SPANS[3]),
+        Long.numberOfTrailingZeros(SPANS[4]),
+    };
+    
+    private final Node<K, V>[][] wheel;
+    
+    private long nanos;
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimerWheel(long now) {
+        this.nanos = now;
+        this.wheel = new Node[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new Node[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                Node<K, V> sentinel = new Node<>(null, null, 0);
+                sentinel.prevInTimer = sentinel;
+                sentinel.nextInTimer = sentinel;
+                wheel[i][j] = sentinel;
+            }
+        }
+    }
+    
+    /**
+     * 按node.variableTime放入时间轮
+     */
+    void schedule(Node<K, V> node) {
+        Node<K, V> sentinel = findBucket(node.variableTime);
+        node.prevInTimer = sentinel.prevInTimer;
+        node.nextInTimer = sentinel;
+        sentinel.prevInTimer.nextInTimer = node;
+        sentinel.prevInTimer = node;
+    }
+    
+    /**
+     * 从时间轮中移除（不在时间轮中时什么也不做）
+     */
+    void deschedule(Node<K, V> node) {
+        if (node.nextInTimer != null) {
+            node.nextInTimer.prevInTimer = node.prevInTimer;
+            node.prevInTimer.nextInTimer = node.nextInTimer;
+            node.prevInTimer = null;
+            node.nextInTimer = null;
+        }
+    }
+    
+    /**
+     * 推进到当前时间，对经过的格子中的条目调用expirer，
+     * 返回false的条目（还没到期）按新的variableTime重新放入
+     */
+    void advance(long currentTimeNanos, Expirer<K, V> expirer) {
+        long previousTimeNanos = nanos;
+        nanos = currentTimeNanos;
+        for (int i = 0; i < SHIFT.length; i++) {
+            long previousTicks = previousTimeNanos >>> SHIFT[i];
+            long currentTicks = currentTimeNanos >>> SHIFT[i];
+            if (currentTicks - previousTicks <= 0L) {
+                break;
+            }
+            expire(i, previousTicks, currentTicks - previousTicks, expirer);
+        }
+    }
+    
+    private void expire(int index, long previousTicks, long delta, Expirer<K, V> expirer) {
+        Node<K, V>[] timerWheel = wheel[index];
+        int mask = timerWheel.length - 1;
+        int steps = (int) Math.min(1 + delta, timerWheel.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            Node<K, V> sentinel = timerWheel[i & mask];
+            Node<K, V> node = sentinel.nextInTimer;
+            sentinel.prevInTimer = sentinel;
+            sentinel.nextInTimer = sentinel;
+            while (node != sentinel) {
+                Node<K, V> next = node.nextInTimer;
+                node.prevInTimer = null;
+                node.nextInTimer = null;
+                if (!expirer.expire(node, nanos)) {
+                    schedule(node);
+                }
+                node = next;
+            }
+        }
+    }
+    
+    private Node<K, V> findBucket(long time) {
+        long duration = time - nanos;
+        int length = wheel.length - 1;
+        for (int i = 0; i < length; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFT[i];
+                int index = (int) (ticks & (wheel[i].length - 1));
+                return wheel[i][index];
+            }
+        }
+        return wheel[length][0];
+    }
+    
+    private static long ceilingPowerOfTwo(long x) {
+        return 1L << -Long.numberOfLeadingZeros(x - 1);
+    }
+    
+    /**
+     * 处理到期格子中的条目
+     */
+    interface Expirer<K, V> {
+        
+        /**
+         * @return true表示条目已移除，false表示还没到期（需要先更新variableTime）
+         */
+        boolean expire(Node<K, V> node, long now);
+    }
+}
@@ -3,17 +3,61 @@ package com.litespring.context;
 import com.litespring.annotation.ComponentScan;
 import com.litespring.annotation.Configuration;
 import com.litespring.core.*;
+import com.litespring.util.ClassUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * 基于注解的应用上下文
  * 支持@Configuration和@ComponentScan
  * 
+ * 启动模式通过系统属性配置（见{@link StartupMode}）：
+ * - litespring.startup.mode     启动模式，默认eager
+ * - litespring.startup.profile  热点集合文件路径，默认 .litespring/&lt;上下文标识&gt;.beans
+ * - litespring.startup.warmup   learned模式下是否在后台预热其余单例，默认false
+ * 
+ * 容器刷新完成后自动启动SmartLifecycle Bean，关闭时在销毁Bean之前按阶段停止它们
+ * （见{@link DefaultLifecycleProcessor}），每阶段超时时间通过系统属性配置：
+ * - litespring.lifecycle.timeout  每阶段启动/停止的超时时间（毫秒），默认30000
+ * 
  * @author lite-spring
  */
 public class AnnotationConfigApplicationContext {
     
+    public static final String STARTUP_MODE_PROPERTY = "litespring.startup.mode";
+    
+    public static final String USAGE_PROFILE_PROPERTY = "litespring.startup.profile";
+    
+    public static final String WARMUP_PROPERTY = "litespring.startup.warmup";
+    
+    public static final String LIFECYCLE_TIMEOUT_PROPERTY = "litespring.lifecycle.timeout";
+    
     private final DefaultBeanFactory_v4 beanFactory;
     private final ClassPathBeanDefinitionScanner scanner;
+    private DefaultLifecycleProcessor lifecycleProcessor;
+    
+    // ==================== 启动模式 ====================
+    
+    private StartupMode startupMode;
+    private Path usageProfilePath;
+    private boolean backgroundWarmup;
+    
+    /**
+     * learned模式下被标记为懒加载的单例
+     */
+    private final List<String> coldBeanNames = new ArrayList<>();
+    
+    /**
+     * 后台预热线程，关闭容器时等它结束再销毁单例
+     */
+    private Thread warmupThread;
+    
+    private volatile boolean closed = false;
     
     /**
      * 通过配置类创建容器
@@ -22,6 +66,12 @@ public class AnnotationConfigApplicationContext {
         this.beanFactory = new DefaultBeanFactory_v4();
         this.scanner = new ClassPathBeanDefinitionScanner(beanFactory);
         
+        String[] classNames = new String[configClasses.length];
+        for (int i = 0; i < configClasses.length; i++) {
+            classNames[i] = configClasses[i].getName();
+        }
+        configureStartup(configClasses.length > 0 ? configClasses[0].getSimpleName() : "context", classNames);
+        
         // 注册配置类
         register(configClasses);
         
@@ -36,6 +86,8 @@ public class AnnotationConfigApplicationContext {
         this.beanFactory = new DefaultBeanFactory_v4();
         this.scanner = new ClassPathBeanDefinitionScanner(beanFactory);
         
+        configureStartup("packages", basePackages);
+        
         // 扫描包
         scan(basePackages);
         
@@ -43,6 +95,25 @@ public class AnnotationConfigApplicationContext {
         refresh();
     }
     
+    /**
+     * 读取启动模式配置
+     * 
+     * @param name 上下文名称（用于默认的热点集合文件名）
+     * @param sources 配置类名或包名（用于区分不同的上下文）
+     */
+    private void configureStartup(String name, String[] sources) {
+        this.startupMode = StartupMode.fromString(System.getProperty(STARTUP_MODE_PROPERTY));
+        this.backgroundWarmup = Boolean.parseBoolean(System.getProperty(WARMUP_PROPERTY));
+        
+        String profile = System.getProperty(USAGE_PROFILE_PROPERTY);
+        if (profile != null && !profile.trim().isEmpty()) {
+            this.usageProfilePath = Paths.get(profile.trim());
+        } else {
+            String contextId = name + "-" + Integer.toHexString(Arrays.hashCode(sources));
+            this.usageProfilePath = Paths.get(".litespring", contextId + ".beans");
+        }
+    }
+    
     /**
      * 注册配置类
      */
@@ -55,7 +126,7 @@ public class AnnotationConfigApplicationContext {
             
             // 注册配置类本身
             String beanName = getBeanName(configClass);
-            BeanDefinition bd = new BeanDefinition(configClass.getName());
+            BeanDefinition bd = new BeanDefinition(configClass);
             beanFactory.registerBeanDefinition(beanName, bd);
         }
     }
@@ -82,6 +153,9 @@ public class AnnotationConfigApplicationContext {
         
         // 4. 实例化所有非懒加载的单例Bean
         finishBeanFactoryInitialization();
+        
+        // 5. 启动Lifecycle Bean
+        finishRefresh();
     }
     
     /**
@@ -111,7 +185,7 @@ public class AnnotationConfigApplicationContext {
             BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
             
             try {
-                Class<?> clazz = Class.forName(bd.getBeanClassName());
+                Class<?> clazz = bd.resolveBeanClass(ClassUtils.getDefaultClassLoader());
                 
                 // 检查是否有@ComponentScan注解
                 ComponentScan componentScan = clazz.getAnnotation(ComponentScan.class);
@@ -144,7 +218,7 @@ public class AnnotationConfigApplicationContext {
             BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
             
             try {
-                Class<?> clazz = Class.forName(bd.getBeanClassName());
+                Class<?> clazz = bd.resolveBeanClass(ClassUtils.getDefaultClassLoader());
                 
                 // 检查是否有@Configuration注解
                 if (clazz.isAnnotationPresent(Configuration.class)) {
@@ -166,9 +240,58 @@ public class AnnotationConfigApplicationContext {
     }
     
     /**
-     * 完成BeanFactory初始化（实例化所有单例Bean）
+     * 完成BeanFactory初始化（根据启动模式实例化单例Bean）
      */
     private void finishBeanFactoryInitialization() {
+        switch (startupMode) {
+            case RECORD:
+                // 不提前实例化，只记录运行期间实际被请求的Bean
+                beanFactory.startRecordingBeanUsage();
+                return;
+            case LEARNED:
+                applyUsageProfile();
+                break;
+            case CHECK:
+                validateBeanDefinitions();
+                break;
+            default:
+                break;
+        }
+        
+        preInstantiateSingletons();
+        
+        if (startupMode == StartupMode.LEARNED && backgroundWarmup && !coldBeanNames.isEmpty()) {
+            startBackgroundWarmup();
+        }
+    }
+    
+    /**
+     * 完成刷新：按阶段启动SmartLifecycle Bean
+     * 启动失败时停止已经启动的组件并销毁单例，再抛出异常
+     */
+    private void finishRefresh() {
+        this.lifecycleProcessor = new DefaultLifecycleProcessor(beanFactory);
+        String timeout = System.getProperty(LIFECYCLE_TIMEOUT_PROPERTY);
+        if (timeout != null && !timeout.trim().isEmpty()) {
+            long timeoutMillis = Long.parseLong(timeout.trim());
+            lifecycleProcessor.setTimeoutPerStartupPhase(timeoutMillis);
+            lifecycleProcessor.setTimeoutPerShutdownPhase(timeoutMillis);
+        }
+        
+        try {
+            lifecycleProcessor.onRefresh();
+        } catch (RuntimeException e) {
+            closed = true;
+            lifecycleProcessor.onClose();
+            beanFactory.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * 实例化所有非懒加载的单例Bean
+     */
+    private void preInstantiateSingletons() {
         // 获取所有Bean名称
         String[] beanNames = beanFactory.getBeanDefinitionNames();
         
@@ -183,6 +306,104 @@ public class AnnotationConfigApplicationContext {
         }
     }
     
+    /**
+     * 应用热点集合：不在集合中的单例标记为懒加载
+     */
+    private void applyUsageProfile() {
+        BeanUsageProfile profile;
+        try {
+            profile = BeanUsageProfile.load(usageProfilePath);
+        } catch (IOException e) {
+            throw new BeansException("读取Bean使用记录失败: " + usageProfilePath, e);
+        }
+        
+        if (profile == null) {
+            // 还没有记录，按默认方式启动
+            return;
+        }
+        
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
+            if (bd.isSingleton() && !bd.isLazyInit() && !profile.contains(beanName)) {
+                bd.setLazyInit(true);
+                coldBeanNames.add(beanName);
+            }
+        }
+    }
+    
+    /**
+     * 检查所有Bean定义：解析所有Bean的类，并实例化所有单例（包括懒加载的）
+     */
+    private void validateBeanDefinitions() {
+        String[] beanNames = beanFactory.getBeanDefinitionNames();
+        
+        for (String beanName : beanNames) {
+            BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
+            try {
+                bd.resolveBeanClass(ClassUtils.getDefaultClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new BeansException("Bean[" + beanName + "]的类不存在: " + bd.getBeanClassName(), e);
+            }
+        }
+        
+        for (String beanName : beanNames) {
+            if (beanFactory.getBeanDefinition(beanName).isSingleton()) {
+                beanFactory.getBean(beanName);
+            }
+        }
+    }
+    
+    /**
+     * 启动后台线程预热被标记为懒加载的单例
+     */
+    private void startBackgroundWarmup() {
+        List<String> beanNames = new ArrayList<>(coldBeanNames);
+        Thread warmupThread = new Thread(() -> {
+            for (String beanName : beanNames) {
+                if (closed || Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                try {
+                    beanFactory.getBean(beanName);
+                } catch (RuntimeException e) {
+                    System.err.println("后台预热Bean失败: " + beanName + ", " + e.getMessage());
+                }
+            }
+        }, "litespring-warmup");
+        warmupThread.setDaemon(true);
+        warmupThread.start();
+        this.warmupThread = warmupThread;
+    }
+    
+    /**
+     * 停止后台预热并等待正在创建的Bean完成，
+     * 否则预热线程可能在单例销毁之后才创建出Bean，这个Bean的销毁回调永远不会执行
+     */
+    private void stopBackgroundWarmup() {
+        Thread warmupThread = this.warmupThread;
+        if (warmupThread == null || warmupThread == Thread.currentThread()) {
+            return;
+        }
+        warmupThread.interrupt();
+        try {
+            warmupThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * 保存本次运行记录的热点集合
+     */
+    private void saveUsageProfile() {
+        BeanUsageProfile profile = new BeanUsageProfile(beanFactory.getRecordedBeanUsage());
+        try {
+            profile.save(usageProfilePath);
+        } catch (IOException e) {
+            System.err.println("保存Bean使用记录失败: " + usageProfilePath + ", " + e.getMessage());
+        }
+    }
+    
     /**
      * 获取Bean名称
      */
@@ -214,7 +435,51 @@ public class AnnotationConfigApplicationContext {
         return beanFactory.containsBean(name);
     }
     
+    public DefaultBeanFactory_v4 getBeanFactory() {
+        return beanFactory;
+    }
+    
+    public StartupMode getStartupMode() {
+        return startupMode;
+    }
+    
+    public Path getUsageProfilePath() {
+        return usageProfilePath;
+    }
+    
+    public DefaultLifecycleProcessor getLifecycleProcessor() {
+        return lifecycleProcessor;
+    }
+    
+    /**
+     * 启动所有Lifecycle Bean（包括不自动启动的）
+     */
+    public void start() {
+        lifecycleProcessor.start();
+    }
+    
+    /**
+     * 停止所有正在运行的Lifecycle Bean（不销毁）
+     */
+    public void stop() {
+        lifecycleProcessor.stop();
+    }
+    
+    public boolean isRunning() {
+        return lifecycleProcessor.isRunning();
+    }
+    
     public void close() {
+        closed = true;
+        stopBackgroundWarmup();
+        
+        if (startupMode == StartupMode.RECORD) {
+            saveUsageProfile();
+        }
+        
+        // 先停止组件（排空正在处理的请求），再销毁Bean
+        lifecycleProcessor.onClose();
+        
         beanFactory.close();
     }
 }
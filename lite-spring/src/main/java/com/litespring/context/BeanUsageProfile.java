@@ -0,0 +1,84 @@
+package com.litespring.context;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Bean使用记录（热点集合）
+ * 保存一次运行中实际被请求过的Bean名称，供下次启动时决定哪些Bean需要提前实例化
+ * 
+ * 文件格式：每行一个Bean名称，#开头的行为注释
+ * 
+ * @author lite-spring
+ */
+public class BeanUsageProfile {
+    
+    private final Set<String> beanNames;
+    
+    public BeanUsageProfile(Collection<String> beanNames) {
+        this.beanNames = Collections.unmodifiableSet(new LinkedHashSet<>(beanNames));
+    }
+    
+    /**
+     * 从文件加载，文件不存在时返回null
+     */
+    public static BeanUsageProfile load(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        
+        Set<String> names = new LinkedHashSet<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String name = line.trim();
+            if (!name.isEmpty() && !name.startsWith("#")) {
+                names.add(name);
+            }
+        }
+        return new BeanUsageProfile(names);
+    }
+    
+    /**
+     * 保存到文件
+     * 先写临时文件再替换，避免进程中途退出留下不完整的记录
+     */
+    public void save(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            writer.write("# lite-spring bean usage profile");
+            writer.newLine();
+            for (String name : new TreeSet<>(beanNames)) {
+                writer.write(name);
+                writer.newLine();
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+    
+    /**
+     * 判断Bean是否在热点集合中
+     */
+    public boolean contains(String beanName) {
+        return beanNames.contains(beanName);
+    }
+    
+    /**
+     * 获取所有热点Bean名称
+     */
+    public Set<String> getBeanNames() {
+        return beanNames;
+    }
+}
@@ -4,6 +4,7 @@ import com.litespring.annotation.*;
 import com.litespring.core.BeanDefinition;
 import com.litespring.core.BeanDefinitionRegistry;
 import com.litespring.core.BeansException;
+import com.litespring.util.ClassUtils;
 
 import java.io.File;
 import java.lang.annotation.Annotation;
@@ -89,7 +90,7 @@ public class ClassPathBeanDefinitionScanner {
                 // 加载类
                 String className = packageName + "." + file.getName().substring(0, file.getName().length() - 6);
                 try {
-                    Class<?> clazz = Class.forName(className);
+                    Class<?> clazz = ClassUtils.forName(className);
                     classes.add(clazz);
                 } catch (ClassNotFoundException e) {
                     // 忽略无法加载的类
@@ -146,7 +147,7 @@ public class ClassPathBeanDefinitionScanner {
         String beanName = determineBeanName(clazz);
         
         // 2. 创建BeanDefinition
-        BeanDefinition bd = new BeanDefinition(clazz.getName());
+        BeanDefinition bd = new BeanDefinition(clazz);
         
         // 3. 注册
         registry.registerBeanDefinition(beanName, bd);
@@ -0,0 +1,294 @@
+package com.litespring.context;
+
+import com.litespring.core.BeanDefinition;
+import com.litespring.core.BeansException;
+import com.litespring.core.DefaultBeanFactory_v4;
+import com.litespring.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 默认的生命周期处理器
+ * 
+ * 负责按阶段启动和停止容器中的Lifecycle Bean：
+ * 1. 收集所有Lifecycle单例，按阶段分组（非Phased的Bean阶段为0）
+ * 2. 启动时按阶段从小到大，同一阶段的Bean并发启动，等待整个阶段完成后再进入下一阶段
+ * 3. 停止时按阶段从大到小，同一阶段的Bean并发停止
+ * 
+ * 每个阶段都有超时时间：
+ * - 启动超时视为启动失败，抛出BeansException
+ * - 停止超时只打印警告，继续停止下一阶段（关闭流程不能因为一个组件卡住而挂起）
+ * 
+ * @author lite-spring
+ */
+public class DefaultLifecycleProcessor {
+    
+    /**
+     * 默认的每阶段超时时间（毫秒）
+     */
+    public static final long DEFAULT_TIMEOUT_PER_PHASE = 30000;
+    
+    private final DefaultBeanFactory_v4 beanFactory;
+    
+    private long timeoutPerStartupPhase = DEFAULT_TIMEOUT_PER_PHASE;
+    
+    private long timeoutPerShutdownPhase = DEFAULT_TIMEOUT_PER_PHASE;
+    
+    private volatile boolean running = false;
+    
+    /**
+     * 并发启动/停止使用的线程池（第一次需要时创建）
+     */
+    private ExecutorService executor;
+    
+    public DefaultLifecycleProcessor(DefaultBeanFactory_v4 beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+    
+    public void setTimeoutPerStartupPhase(long timeoutPerStartupPhase) {
+        this.timeoutPerStartupPhase = timeoutPerStartupPhase;
+    }
+    
+    public void setTimeoutPerShutdownPhase(long timeoutPerShutdownPhase) {
+        this.timeoutPerShutdownPhase = timeoutPerShutdownPhase;
+    }
+    
+    // ==================== 容器回调 ====================
+    
+    /**
+     * 容器刷新完成：启动所有自动启动的SmartLifecycle
+     */
+    public void onRefresh() {
+        startBeans(true);
+        this.running = true;
+    }
+    
+    /**
+     * 容器关闭：停止所有正在运行的Lifecycle，并释放线程池
+     */
+    public void onClose() {
+        try {
+            stopBeans();
+            this.running = false;
+        } finally {
+            shutdownExecutor();
+        }
+    }
+    
+    /**
+     * 显式启动：启动所有Lifecycle（包括不自动启动的）
+     */
+    public void start() {
+        startBeans(false);
+        this.running = true;
+    }
+    
+    /**
+     * 显式停止：停止所有正在运行的Lifecycle
+     */
+    public void stop() {
+        stopBeans();
+        this.running = false;
+    }
+    
+    public boolean isRunning() {
+        return this.running;
+    }
+    
+    // ==================== 启动 ====================
+    
+    private void startBeans(boolean autoStartupOnly) {
+        Map<String, Lifecycle> lifecycleBeans = getLifecycleBeans(true);
+        
+        Map<Integer, Map<String, Lifecycle>> phases = new TreeMap<>();
+        for (Map.Entry<String, Lifecycle> entry : lifecycleBeans.entrySet()) {
+            Lifecycle bean = entry.getValue();
+            if (!autoStartupOnly || (bean instanceof SmartLifecycle && ((SmartLifecycle) bean).isAutoStartup())) {
+                phases.computeIfAbsent(getPhase(bean), k -> new LinkedHashMap<>())
+                    .put(entry.getKey(), bean);
+            }
+        }
+        
+        for (Map.Entry<Integer, Map<String, Lifecycle>> phase : phases.entrySet()) {
+            startPhase(phase.getKey(), phase.getValue());
+        }
+    }
+    
+    /**
+     * 并发启动同一阶段的Bean，等待全部完成
+     */
+    private void startPhase(int phase, Map<String, Lifecycle> members) {
+        Map<String, Future<?>> futures = new LinkedHashMap<>();
+        for (Map.Entry<String, Lifecycle> entry : members.entrySet()) {
+            Lifecycle bean = entry.getValue();
+            if (!bean.isRunning()) {
+                futures.put(entry.getKey(), getExecutor().submit(bean::start));
+            }
+        }
+        
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutPerStartupPhase);
+        for (Map.Entry<String, Future<?>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                cancelAll(futures.values());
+                throw new BeansException("阶段[" + phase + "]启动超时（" + timeoutPerStartupPhase
+                    + "ms），未完成的Bean: " + entry.getKey());
+            } catch (ExecutionException e) {
+                cancelAll(futures.values());
+                throw new BeansException("启动Bean失败: " + entry.getKey(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll(futures.values());
+                throw new BeansException("等待阶段[" + phase + "]启动时被中断", e);
+            }
+        }
+    }
+    
+    private void cancelAll(Iterable<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+    
+    // ==================== 停止 ====================
+    
+    private void stopBeans() {
+        Map<String, Lifecycle> lifecycleBeans = getLifecycleBeans(false);
+        
+        Map<Integer, Map<String, Lifecycle>> phases = new TreeMap<>(Collections.reverseOrder());
+        for (Map.Entry<String, Lifecycle> entry : lifecycleBeans.entrySet()) {
+            phases.computeIfAbsent(getPhase(entry.getValue()), k -> new LinkedHashMap<>())
+                .put(entry.getKey(), entry.getValue());
+        }
+        
+        for (Map.Entry<Integer, Map<String, Lifecycle>> phase : phases.entrySet()) {
+            stopPhase(phase.getKey(), phase.getValue());
+        }
+    }
+    
+    /**
+     * 并发停止同一阶段的Bean，最多等待一个阶段超时时间
+     */
+    private void stopPhase(int phase, Map<String, Lifecycle> members) {
+        Set<String> pending = ConcurrentHashMap.newKeySet();
+        for (Map.Entry<String, Lifecycle> entry : members.entrySet()) {
+            if (entry.getValue().isRunning()) {
+                pending.add(entry.getKey());
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        
+        CountDownLatch latch = new CountDownLatch(pending.size());
+        for (String beanName : new ArrayList<>(pending)) {
+            Lifecycle bean = members.get(beanName);
+            // 回调可能被重复调用（如stop抛异常前已经回调），只计数一次
+            Runnable callback = () -> {
+                if (pending.remove(beanName)) {
+                    latch.countDown();
+                }
+            };
+            getExecutor().execute(() -> {
+                try {
+                    if (bean instanceof SmartLifecycle) {
+                        ((SmartLifecycle) bean).stop(callback);
+                    } else {
+                        bean.stop();
+                        callback.run();
+                    }
+                } catch (Throwable e) {
+                    System.err.println("停止Bean失败: " + beanName + ", " + e.getMessage());
+                    callback.run();
+                }
+            });
+        }
+        
+        try {
+            if (!latch.await(timeoutPerShutdownPhase, TimeUnit.MILLISECONDS)) {
+                System.err.println("阶段[" + phase + "]停止超时（" + timeoutPerShutdownPhase
+                    + "ms），仍未停止的Bean: " + pending);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // ==================== 辅助方法 ====================
+    
+    /**
+     * 收集容器中的Lifecycle单例
+     * 
+     * @param includeUncreated 是否包括还没有创建的SmartLifecycle单例（启动时需要，停止时不需要）
+     */
+    private Map<String, Lifecycle> getLifecycleBeans(boolean includeUncreated) {
+        Map<String, Lifecycle> beans = new LinkedHashMap<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
+            if (!bd.isSingleton()) {
+                continue;
+            }
+            
+            // 没有创建的懒加载Bean只有SmartLifecycle需要创建（它要随容器自动启动），
+            // 其他的不为了判断类型而提前创建
+            if (!beanFactory.containsSingleton(beanName)
+                    && !(includeUncreated && isSmartLifecycleClass(beanName, bd))) {
+                continue;
+            }
+            
+            Object bean = beanFactory.getBean(beanName);
+            if (bean instanceof Lifecycle) {
+                beans.put(beanName, (Lifecycle) bean);
+            }
+        }
+        return beans;
+    }
+    
+    private boolean isSmartLifecycleClass(String beanName, BeanDefinition bd) {
+        try {
+            return SmartLifecycle.class.isAssignableFrom(
+                bd.resolveBeanClass(ClassUtils.getDefaultClassLoader()));
+        } catch (ClassNotFoundException e) {
+            throw new BeansException("Bean[" + beanName + "]的类不存在: " + bd.getBeanClassName(), e);
+        }
+    }
+    
+    private int getPhase(Lifecycle bean) {
+        return bean instanceof Phased ? ((Phased) bean).getPhase() : 0;
+    }
+    
+    private synchronized ExecutorService getExecutor() {
+        if (this.executor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "litespring-lifecycle-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.executor;
+    }
+    
+    private synchronized void shutdownExecutor() {
+        if (this.executor != null) {
+            // 不等待超时未停止的组件，它们运行在守护线程上
+            this.executor.shutdown();
+            this.executor = null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.litespring.context;
+
+/**
+ * 生命周期接口
+ * 用于需要在容器就绪后启动、在容器关闭前停止的组件（消息消费者、调度器、内嵌服务器等）
+ * 
+ * 与InitializingBean/DisposableBean的区别：
+ * - InitializingBean在Bean自身装配完成时调用，此时其他Bean可能还没有创建
+ * - Lifecycle在整个容器刷新完成后才启动，在任何Bean销毁之前停止
+ * 
+ * 普通的Lifecycle只在显式调用容器的start()/stop()时参与；
+ * 需要随容器自动启动的组件请实现{@link SmartLifecycle}
+ * 
+ * @author lite-spring
+ */
+public interface Lifecycle {
+    
+    /**
+     * 启动组件
+     * 如果组件已经在运行，不应该产生任何效果
+     */
+    void start();
+    
+    /**
+     * 停止组件（同步）
+     * 方法返回时组件应该已经完全停止
+     */
+    void stop();
+    
+    /**
+     * 组件是否正在运行
+     */
+    boolean isRunning();
+}
@@ -0,0 +1,15 @@
+package com.litespring.context;
+
+/**
+ * 分阶段接口
+ * 启动时阶段值小的先启动，停止时阶段值大的先停止
+ * 
+ * @author lite-spring
+ */
+public interface Phased {
+    
+    /**
+     * 获取阶段值
+     */
+    int getPhase();
+}
@@ -0,0 +1,42 @@
+package com.litespring.context;
+
+/**
+ * 支持自动启动、分阶段和异步停止的生命周期接口
+ * 
+ * 同一阶段的组件会并发启动和停止，阶段之间按顺序进行：
+ * - 启动：按阶段值从小到大，前一阶段全部启动完成后才启动下一阶段
+ * - 停止：按阶段值从大到小，前一阶段全部停止（或超时）后才停止下一阶段
+ * 
+ * @author lite-spring
+ */
+public interface SmartLifecycle extends Lifecycle, Phased {
+    
+    /**
+     * 默认阶段：最后启动，最先停止
+     */
+    int DEFAULT_PHASE = Integer.MAX_VALUE;
+    
+    /**
+     * 容器刷新完成后是否自动启动
+     */
+    default boolean isAutoStartup() {
+        return true;
+    }
+    
+    /**
+     * 异步停止组件
+     * 组件停止完成后必须调用callback，容器据此判断当前阶段是否已经停止完成。
+     * 需要优雅排空（等待处理中的请求完成）的组件可以在后台排空后再调用callback
+     * 
+     * @param callback 停止完成的回调
+     */
+    default void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+    
+    @Override
+    default int getPhase() {
+        return DEFAULT_PHASE;
+    }
+}
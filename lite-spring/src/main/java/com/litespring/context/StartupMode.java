@@ -0,0 +1,50 @@
+package com.litespring.context;
+
+/**
+ * 容器启动模式
+ * 控制refresh时哪些单例Bean会被提前实例化
+ * 
+ * 通过系统属性 litespring.startup.mode 指定（eager/record/learned/check）
+ * 
+ * @author lite-spring
+ */
+public enum StartupMode {
+    
+    /**
+     * 默认模式：实例化所有非懒加载的单例Bean
+     */
+    EAGER,
+    
+    /**
+     * 记录模式：启动时不提前实例化单例，记录运行期间实际被请求的Bean，
+     * 容器关闭时将这些Bean名称（热点集合）保存到本地文件
+     */
+    RECORD,
+    
+    /**
+     * 学习模式：读取记录的热点集合，只提前实例化热点Bean，
+     * 其余单例标记为懒加载（可选择在启动完成后由后台线程预热）
+     * 如果没有记录文件，等同于EAGER
+     */
+    LEARNED,
+    
+    /**
+     * 检查模式：实例化所有单例（包括懒加载的），并解析所有Bean的类，
+     * 用于在CI或发布前快速发现配置错误
+     */
+    CHECK;
+    
+    /**
+     * 解析模式名称（不区分大小写），为空时返回EAGER
+     */
+    public static StartupMode fromString(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return EAGER;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的启动模式: " + value);
+        }
+    }
+}
@@ -1,28 +1,52 @@
 package com.litespring.core;
 
+import com.litespring.util.ClassUtils;
+
 /**
  * Bean定义 - 存储Bean的元数据信息
  * 包括Bean的类名、作用域、属性等
  * 
+ * 为了支持大量Bean定义（插件化模块可能生成数万个），采用紧凑的内存布局：
+ * - 作用域和懒加载标记编码在一个byte中，判断作用域不再需要字符串比较
+ * - 没有属性值/构造器参数的定义共享同一个空实例，第一次修改时才分配
+ * - 类名在注册时intern，同一个类的多个定义共享类名字符串
+ * 
  * @author lite-spring
  */
 public class BeanDefinition {
     
+    public static final String SCOPE_SINGLETON = "singleton";
+    
+    public static final String SCOPE_PROTOTYPE = "prototype";
+    
+    // ==================== 标记位 ====================
+    
+    private static final byte SCOPE_MASK = 0x03;
+    private static final byte SCOPE_SINGLETON_FLAG = 0x00;
+    private static final byte SCOPE_PROTOTYPE_FLAG = 0x01;
+    private static final byte SCOPE_CUSTOM_FLAG = 0x02;
+    private static final byte LAZY_INIT_FLAG = 0x04;
+    
     /**
-     * Bean的完全限定类名
+     * Bean的完全限定类名（已intern）
      */
     private String beanClassName;
     
     /**
-     * Bean的作用域：singleton（单例）或 prototype（原型）
-     * 默认为单例
+     * 已解析的Bean类（懒加载，解析一次后缓存）
+     */
+    private volatile Class<?> beanClass;
+    
+    /**
+     * 作用域和懒加载标记
+     * 低2位：作用域（默认单例），第3位：是否懒加载
      */
-    private String scope = "singleton";
+    private byte flags = SCOPE_SINGLETON_FLAG;
     
     /**
-     * 是否懒加载
+     * 自定义作用域名称（仅当作用域不是singleton/prototype时使用）
      */
-    private boolean lazyInit = false;
+    private String customScope;
     
     /**
      * Bean的初始化方法名
@@ -36,16 +60,26 @@ public class BeanDefinition {
     
     /**
      * Bean的属性值集合（第二阶段新增）
+     * 初始为共享的空实例，第一次获取时替换为可修改的实例
      */
-    private PropertyValues propertyValues = new PropertyValues();
+    private PropertyValues propertyValues = PropertyValues.EMPTY;
     
     /**
      * Bean的构造器参数（第二阶段新增）
+     * 初始为共享的空实例，第一次获取时替换为可修改的实例
      */
-    private ConstructorArgument constructorArgument = new ConstructorArgument();
+    private ConstructorArgument constructorArgument = ConstructorArgument.EMPTY;
     
     public BeanDefinition(String beanClassName) {
-        this.beanClassName = beanClassName;
+        this.beanClassName = intern(beanClassName);
+    }
+    
+    /**
+     * 使用已加载的类创建（扫描和注解注册时类已经加载，无需再按名称解析）
+     */
+    public BeanDefinition(Class<?> beanClass) {
+        this.beanClassName = intern(beanClass.getName());
+        this.beanClass = beanClass;
     }
     
     public String getBeanClassName() {
@@ -53,31 +87,74 @@ public class BeanDefinition {
     }
     
     public void setBeanClassName(String beanClassName) {
-        this.beanClassName = beanClassName;
+        this.beanClassName = intern(beanClassName);
+        this.beanClass = null;
+    }
+    
+    /**
+     * 解析Bean类
+     * 第一次调用时按类名加载，之后直接返回缓存的结果
+     * 
+     * @param classLoader 类加载器，为null时使用默认类加载器
+     * @return Bean类
+     * @throws ClassNotFoundException 如果类不存在
+     */
+    public Class<?> resolveBeanClass(ClassLoader classLoader) throws ClassNotFoundException {
+        Class<?> clazz = this.beanClass;
+        if (clazz == null) {
+            clazz = ClassUtils.forName(this.beanClassName, classLoader);
+            this.beanClass = clazz;
+        }
+        return clazz;
+    }
+    
+    /**
+     * 是否已经解析过Bean类
+     */
+    public boolean hasBeanClass() {
+        return this.beanClass != null;
     }
     
     public String getScope() {
-        return scope;
+        switch (flags & SCOPE_MASK) {
+            case SCOPE_SINGLETON_FLAG:
+                return SCOPE_SINGLETON;
+            case SCOPE_PROTOTYPE_FLAG:
+                return SCOPE_PROTOTYPE;
+            default:
+                return customScope;
+        }
     }
     
     public void setScope(String scope) {
-        this.scope = scope;
+        byte scopeFlag;
+        String custom = null;
+        if (SCOPE_SINGLETON.equals(scope)) {
+            scopeFlag = SCOPE_SINGLETON_FLAG;
+        } else if (SCOPE_PROTOTYPE.equals(scope)) {
+            scopeFlag = SCOPE_PROTOTYPE_FLAG;
+        } else {
+            scopeFlag = SCOPE_CUSTOM_FLAG;
+            custom = scope;
+        }
+        this.flags = (byte) ((flags & ~SCOPE_MASK) | scopeFlag);
+        this.customScope = custom;
     }
     
     public boolean isSingleton() {
-        return "singleton".equals(scope);
+        return (flags & SCOPE_MASK) == SCOPE_SINGLETON_FLAG;
     }
     
     public boolean isPrototype() {
-        return "prototype".equals(scope);
+        return (flags & SCOPE_MASK) == SCOPE_PROTOTYPE_FLAG;
     }
     
     public boolean isLazyInit() {
-        return lazyInit;
+        return (flags & LAZY_INIT_FLAG) != 0;
     }
     
     public void setLazyInit(boolean lazyInit) {
-        this.lazyInit = lazyInit;
+        this.flags = (byte) (lazyInit ? (flags | LAZY_INIT_FLAG) : (flags & ~LAZY_INIT_FLAG));
     }
     
     public String getInitMethodName() {
@@ -98,15 +175,30 @@ public class BeanDefinition {
     
     /**
      * 获取属性值集合
+     * 返回的集合可以直接修改；只读场景请先用{@link #hasPropertyValues()}判断，避免分配
      */
     public PropertyValues getPropertyValues() {
+        if (this.propertyValues == PropertyValues.EMPTY) {
+            this.propertyValues = new PropertyValues();
+        }
         return this.propertyValues;
     }
     
+    /**
+     * 判断是否有属性值
+     */
+    public boolean hasPropertyValues() {
+        return !this.propertyValues.isEmpty();
+    }
+    
     /**
      * 获取构造器参数
+     * 返回的对象可以直接修改；只读场景请先用{@link #hasConstructorArgumentValues()}判断，避免分配
      */
     public ConstructorArgument getConstructorArgument() {
+        if (this.constructorArgument == ConstructorArgument.EMPTY) {
+            this.constructorArgument = new ConstructorArgument();
+        }
         return this.constructorArgument;
     }
     
@@ -116,5 +208,8 @@ public class BeanDefinition {
     public boolean hasConstructorArgumentValues() {
         return !this.constructorArgument.isEmpty();
     }
+    
+    private static String intern(String className) {
+        return className != null ? className.intern() : null;
+    }
 }
-
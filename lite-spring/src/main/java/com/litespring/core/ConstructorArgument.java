@@ -1,51 +1,80 @@
 package com.litespring.core;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * 构造器参数
  * 存储Bean的构造器参数列表
  * 
+ * 使用数组存储，按需扩容；大多数Bean没有或只有少量构造器参数
+ * 
  * @author lite-spring
  */
 public class ConstructorArgument {
     
-    private final List<ValueHolder> argumentValues = new ArrayList<>();
+    /**
+     * 共享的空实例（不可修改），供没有构造器参数的BeanDefinition使用
+     */
+    static final ConstructorArgument EMPTY = new ConstructorArgument(new ValueHolder[0]);
+    
+    private static final ValueHolder[] NO_VALUES = new ValueHolder[0];
+    
+    private ValueHolder[] argumentValues;
+    
+    private int size;
+    
+    public ConstructorArgument() {
+        this.argumentValues = NO_VALUES;
+    }
+    
+    private ConstructorArgument(ValueHolder[] frozen) {
+        this.argumentValues = frozen;
+    }
     
     /**
      * 添加参数值
      */
     public void addArgumentValue(ValueHolder valueHolder) {
-        this.argumentValues.add(valueHolder);
+        if (this == EMPTY) {
+            throw new UnsupportedOperationException("共享的空ConstructorArgument不能修改");
+        }
+        if (this.size == this.argumentValues.length) {
+            this.argumentValues = Arrays.copyOf(this.argumentValues, Math.max(2, this.size * 2));
+        }
+        this.argumentValues[this.size++] = valueHolder;
     }
     
     /**
      * 添加参数值（便捷方法）
      */
     public void addArgumentValue(Object value) {
-        this.argumentValues.add(new ValueHolder(value));
+        addArgumentValue(new ValueHolder(value));
     }
     
     /**
-     * 获取所有参数值
+     * 获取所有参数值（只读）
      */
     public List<ValueHolder> getArgumentValues() {
-        return this.argumentValues;
+        if (this.size == 0) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(this.argumentValues).subList(0, this.size));
     }
     
     /**
      * 获取参数个数
      */
     public int getArgumentCount() {
-        return this.argumentValues.size();
+        return this.size;
     }
     
     /**
      * 判断是否为空
      */
     public boolean isEmpty() {
-        return this.argumentValues.isEmpty();
+        return this.size == 0;
     }
     
     /**
@@ -78,4 +107,3 @@ public class ConstructorArgument {
         }
     }
 }
-
@@ -357,10 +357,10 @@ public class DefaultBeanFactory_v2 implements BeanDefinitionRegistry, BeanFactor
      * 填充Bean属性（Setter注入）
      */
     private void populateBean(String beanName, Object bean, BeanDefinition bd) {
-        PropertyValues pvs = bd.getPropertyValues();
-        if (pvs.isEmpty()) {
+        if (!bd.hasPropertyValues()) {
             return;
         }
+        PropertyValues pvs = bd.getPropertyValues();
         
         try {
             // 获取Bean信息
@@ -236,7 +236,8 @@ public class DefaultBeanFactory_v3 implements BeanDefinitionRegistry, BeanFactor
         
         // 2. 单例Bean提前暴露
         if (bd.isSingleton() && !bd.hasConstructorArgumentValues()) {
-            addSingletonFactory(beanName, () -> getEarlyBeanReference(beanName, bd, bean));
+            final Object earlyBean = bean;
+            addSingletonFactory(beanName, () -> getEarlyBeanReference(beanName, bd, earlyBean));
         }
         
         // 3. 属性注入
@@ -518,10 +519,10 @@ public class DefaultBeanFactory_v3 implements BeanDefinitionRegistry, BeanFactor
     }
     
     private void populateBean(String beanName, Object bean, BeanDefinition bd) {
-        PropertyValues pvs = bd.getPropertyValues();
-        if (pvs.isEmpty()) {
+        if (!bd.hasPropertyValues()) {
             return;
         }
+        PropertyValues pvs = bd.getPropertyValues();
         
         try {
             BeanInfo beanInfo = Introspector.getBeanInfo(bean.getClass());
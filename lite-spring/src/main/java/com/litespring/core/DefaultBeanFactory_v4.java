@@ -32,6 +32,11 @@ public class DefaultBeanFactory_v4 implements BeanDefinitionRegistry, BeanFactor
     // ==================== 其他存储 ====================
     
     private final Map<String, BeanDefinition> beanDefinitions = new ConcurrentHashMap<>();
+    
+    /**
+     * 类型 -> Bean名称缓存，注册新的Bean定义时清空
+     */
+    private final Map<Class<?>, String[]> beanNamesByType = new ConcurrentHashMap<>();
     private final Set<String> singletonsCurrentlyInCreation = 
         Collections.newSetFromMap(new ConcurrentHashMap<>());
     
@@ -40,6 +45,11 @@ public class DefaultBeanFactory_v4 implements BeanDefinitionRegistry, BeanFactor
     
     private final SimpleTypeConverter typeConverter = new SimpleTypeConverter();
     
+    /**
+     * 记录被请求过的Bean名称（为null表示未开启记录）
+     */
+    private volatile Set<String> beanUsageRecord;
+    
     // ==================== BeanDefinitionRegistry接口实现 ====================
     
     @Override
@@ -50,6 +60,7 @@ public class DefaultBeanFactory_v4 implements BeanDefinitionRegistry, BeanFactor
         
         // 允许覆盖（第四阶段需要，因为配置类本身也会被注册）
         beanDefinitions.put(beanName, definition);
+        beanNamesByType.clear();
     }
     
     @Override
@@ -118,26 +129,48 @@ public class DefaultBeanFactory_v4 implements BeanDefinitionRegistry, BeanFactor
     public <T> Map<String, T> getBeansOfType(Class<T> type) throws BeansException {
         Map<String, T> result = new LinkedHashMap<>();
         
+        for (String beanName : getBeanNamesForType(type)) {
+            result.put(beanName, getBean(beanName, type));
+        }
+        
+        return result;
+    }
+    
+    /**
+     * 获取指定类型的所有Bean名称（不创建Bean）
+     * 结果按类型缓存，注册新的Bean定义后重新计算
+     * 
+     * @param type 类型
+     * @return Bean名称（调用方可以修改返回的数组）
+     */
+    public String[] getBeanNamesForType(Class<?> type) {
+        String[] names = beanNamesByType.get(type);
+        if (names == null) {
+            names = doGetBeanNamesForType(type);
+            beanNamesByType.put(type, names);
+        }
+        return names.clone();
+    }
+    
+    private String[] doGetBeanNamesForType(Class<?> type) {
+        List<String> names = new ArrayList<>();
+        
         for (String beanName : getBeanDefinitionNames()) {
             BeanDefinition bd = beanDefinitions.get(beanName);
             
             try {
                 // 加载类并检查类型
-                Class<?> beanClass = ClassUtils.forName(
-                    bd.getBeanClassName(), 
-                    ClassUtils.getDefaultClassLoader()
-                );
+                Class<?> beanClass = bd.resolveBeanClass(ClassUtils.getDefaultClassLoader());
                 
                 if (type.isAssignableFrom(beanClass)) {
-                    T bean = getBean(beanName, type);
-                    result.put(beanName, bean);
+                    names.add(beanName);
                 }
             } catch (ClassNotFoundException e) {
                 // 忽略无法加载的类
             }
         }
         
-        return result;
+        return names.toArray(new String[0]);
     }
     
     /**
@@ -147,6 +180,33 @@ public class DefaultBeanFactory_v4 implements BeanDefinitionRegistry, BeanFactor
         return beanDefinitions.keySet().toArray(new String[0]);
     }
     
+    /**
+     * 判断单例Bean是否已经创建
+     */
+    public boolean containsSingleton(String beanName) {
+        return singletonObjects.containsKey(beanName);
+    }
+    
+    // ==================== Bean使用记录 ====================
+    
+    /**
+     * 开始记录被请求的Bean名称
+     * 开启后每次getBean（包括依赖注入触发的）都会记录Bean名称
+     */
+    public void startRecordingBeanUsage() {
+        if (this.beanUsageRecord == null) {
+            this.beanUsageRecord = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        }
+    }
+    
+    /**
+     * 获取记录的Bean名称，未开启记录时返回空集合
+     */
+    public Set<String> getRecordedBeanUsage() {
+        Set<String> record = this.beanUsageRecord;
+        return record != null ? Collections.unmodifiableSet(record) : Collections.emptySet();
+    }
+    
     // ==================== BeanPostProcessor管理 ====================
     
     public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
@@ -182,6 +242,11 @@ public class DefaultBeanFactory_v4 implements BeanDefinitionRegistry, BeanFactor
             throw new IllegalArgumentException("Bean name不能为null");
         }
         
+        Set<String> usageRecord = this.beanUsageRecord;
+        if (usageRecord != null) {
+            usageRecord.add(beanName);
+        }
+        
         Object sharedInstance = getSingleton(beanName);
         if (sharedInstance != null) {
             return sharedInstance;
@@ -262,7 +327,8 @@ public class DefaultBeanFactory_v4 implements BeanDefinitionRegistry, BeanFactor
         Object bean = instantiateBean(bd);
         
         if (bd.isSingleton() && !bd.hasConstructorArgumentValues()) {
-            addSingletonFactory(beanName, () -> getEarlyBeanReference(beanName, bd, bean));
+            final Object earlyBean = bean;
+            addSingletonFactory(beanName, () -> getEarlyBeanReference(beanName, bd, earlyBean));
         }
         
         populateBean(beanName, bean, bd);
@@ -282,14 +348,14 @@ public class DefaultBeanFactory_v4 implements BeanDefinitionRegistry, BeanFactor
         }
         
         try {
-            Class<?> clazz = ClassUtils.forName(className, ClassUtils.getDefaultClassLoader());
+            Class<?> clazz = bd.resolveBeanClass(ClassUtils.getDefaultClassLoader());
             
             if (bd.hasConstructorArgumentValues()) {
                 return instantiateUsingConstructor(clazz, bd.getConstructorArgument());
             } else {
                 return clazz.getConstructor().newInstance();
             }
-            
+        
         } catch (ClassNotFoundException e) {
             throw new BeansException("类不存在: " + className, e);
         } catch (NoSuchMethodException e) {
@@ -368,10 +434,10 @@ public class DefaultBeanFactory_v4 implements BeanDefinitionRegistry, BeanFactor
     }
     
     private void populateBean(String beanName, Object bean, BeanDefinition bd) {
-        PropertyValues pvs = bd.getPropertyValues();
-        if (pvs.isEmpty()) {
+        if (!bd.hasPropertyValues()) {
             return;
         }
+        PropertyValues pvs = bd.getPropertyValues();
         
         try {
             BeanInfo beanInfo = Introspector.getBeanInfo(bean.getClass());
@@ -1,23 +1,49 @@
 package com.litespring.core;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * 属性值集合
  * 存储Bean的所有属性值
  * 
+ * 使用数组存储，按需扩容；大多数Bean只有少量属性，避免ArrayList的额外开销
+ * 
  * @author lite-spring
  */
 public class PropertyValues {
     
-    private final List<PropertyValue> propertyValueList = new ArrayList<>();
+    /**
+     * 共享的空实例（不可修改），供没有属性值的BeanDefinition使用
+     */
+    static final PropertyValues EMPTY = new PropertyValues(new PropertyValue[0]);
+    
+    private static final PropertyValue[] NO_VALUES = new PropertyValue[0];
+    
+    private PropertyValue[] propertyValues;
+    
+    private int size;
+    
+    public PropertyValues() {
+        this.propertyValues = NO_VALUES;
+    }
+    
+    private PropertyValues(PropertyValue[] frozen) {
+        this.propertyValues = frozen;
+    }
     
     /**
      * 添加属性值
      */
     public void addPropertyValue(PropertyValue pv) {
-        this.propertyValueList.add(pv);
+        if (this == EMPTY) {
+            throw new UnsupportedOperationException("共享的空PropertyValues不能修改");
+        }
+        if (this.size == this.propertyValues.length) {
+            this.propertyValues = Arrays.copyOf(this.propertyValues, Math.max(2, this.size * 2));
+        }
+        this.propertyValues[this.size++] = pv;
     }
     
     /**
@@ -28,17 +54,26 @@ public class PropertyValues {
     }
     
     /**
-     * 获取所有属性值
+     * 获取所有属性值（只读）
      */
     public List<PropertyValue> getPropertyValues() {
-        return this.propertyValueList;
+        if (this.size == 0) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(this.propertyValues).subList(0, this.size));
+    }
+    
+    /**
+     * 获取属性值个数
+     */
+    public int size() {
+        return this.size;
     }
     
     /**
      * 判断是否为空
      */
     public boolean isEmpty() {
-        return this.propertyValueList.isEmpty();
+        return this.size == 0;
     }
 }
-
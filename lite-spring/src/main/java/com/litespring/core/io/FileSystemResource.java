@@ -0,0 +1,81 @@
+package com.litespring.core.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+
+/**
+ * 从文件系统加载资源的实现
+ *
+ * @author lite-spring
+ */
+public class FileSystemResource implements Resource {
+
+    private final File file;
+    private final String path;
+
+    /**
+     * 使用文件路径创建
+     */
+    public FileSystemResource(String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path不能为null");
+        }
+        this.file = new File(path);
+        this.path = path;
+    }
+
+    /**
+     * 使用File对象创建
+     */
+    public FileSystemResource(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File不能为null");
+        }
+        this.file = file;
+        this.path = file.getPath();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        try {
+            return Files.newInputStream(this.file.toPath());
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("资源不存在: " + getDescription());
+        }
+    }
+
+    @Override
+    public boolean exists() {
+        return this.file.exists();
+    }
+
+    @Override
+    public String getDescription() {
+        return "file [" + this.file.getAbsolutePath() + "]";
+    }
+
+    /**
+     * 获取对应的文件
+     */
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * 获取资源路径
+     */
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * 获取文件长度
+     */
+    public long contentLength() {
+        return this.file.length();
+    }
+}
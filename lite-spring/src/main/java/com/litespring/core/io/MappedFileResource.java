@@ -0,0 +1,133 @@
+package com.litespring.core.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 基于内存映射的文件资源
+ * 适用于启动时加载的大型配置文件、查找表等数据文件
+ *
+ * 文件只映射一次，之后每次调用{@link #getByteBuffer()}都返回一个
+ * 独立position的只读视图，数据直接从页缓存读取，不经过InputStream拷贝
+ *
+ * @author lite-spring
+ */
+public class MappedFileResource extends FileSystemResource {
+
+    /**
+     * 已映射的缓冲区（懒加载）
+     */
+    private volatile MappedByteBuffer mappedBuffer;
+
+    public MappedFileResource(String path) {
+        super(path);
+    }
+
+    public MappedFileResource(File file) {
+        super(file);
+    }
+
+    /**
+     * 获取文件内容的只读视图
+     * 每次返回的视图position都从0开始，多个线程可以各自持有视图并发读取
+     *
+     * @return 只读ByteBuffer
+     * @throws IOException 如果文件不存在、无法映射或超过2GB
+     */
+    public ByteBuffer getByteBuffer() throws IOException {
+        return map().asReadOnlyBuffer();
+    }
+
+    /**
+     * 以流的方式读取（兼容Resource接口）
+     * 流直接读取映射区域，不会额外打开文件句柄
+     */
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new ByteBufferInputStream(getByteBuffer());
+    }
+
+    /**
+     * 映射文件（只执行一次）
+     */
+    private MappedByteBuffer map() throws IOException {
+        MappedByteBuffer buffer = this.mappedBuffer;
+        if (buffer == null) {
+            synchronized (this) {
+                buffer = this.mappedBuffer;
+                if (buffer == null) {
+                    buffer = doMap();
+                    this.mappedBuffer = buffer;
+                }
+            }
+        }
+        return buffer;
+    }
+
+    private MappedByteBuffer doMap() throws IOException {
+        try (FileChannel channel = FileChannel.open(getFile().toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("文件超过2GB，无法映射为单个缓冲区: " + getDescription());
+            }
+            // 映射在channel关闭后依然有效
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("资源不存在: " + getDescription());
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "mapped " + super.getDescription();
+    }
+
+    /**
+     * 基于ByteBuffer的输入流
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.litespring.core.io;
+
+import com.litespring.util.AntPathMatcher;
+import com.litespring.util.ClassUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * 基于Ant风格路径匹配的资源解析器
+ *
+ * 解析过程：
+ * 1. 拆分出不含通配符的根目录，如 classpath*:com/acme/**&#47;*.xml → classpath*:com/acme/
+ * 2. 找到根目录对应的所有URL（目录或jar）
+ * 3. 列出根目录下的所有文件，用AntPathMatcher过滤
+ *
+ * 目录和jar的文件列表会被缓存，重复解析同一个根目录时不再遍历文件系统。
+ * 如果运行期间文件发生变化，调用{@link #clearCache()}清除缓存
+ *
+ * @author lite-spring
+ */
+public class PathMatchingResourcePatternResolver implements ResourcePatternResolver {
+
+    private final ClassLoader classLoader;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * 目录文件列表缓存：目录绝对路径 -> 目录下所有文件的相对路径
+     */
+    private final Map<String, List<String>> directoryListingCache = new ConcurrentHashMap<>();
+
+    /**
+     * jar条目缓存：jar文件URL -> jar中所有条目名称
+     */
+    private final Map<String, List<String>> jarEntryCache = new ConcurrentHashMap<>();
+
+    /**
+     * 文件系统中匹配的资源是否以内存映射方式返回
+     */
+    private boolean useMappedFiles = false;
+
+    public PathMatchingResourcePatternResolver() {
+        this(ClassUtils.getDefaultClassLoader());
+    }
+
+    public PathMatchingResourcePatternResolver(ClassLoader classLoader) {
+        this.classLoader = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader());
+    }
+
+    /**
+     * 设置文件系统资源是否以MappedFileResource返回
+     * 适用于启动时需要加载大量数据文件的场景
+     */
+    public void setUseMappedFiles(boolean useMappedFiles) {
+        this.useMappedFiles = useMappedFiles;
+    }
+
+    public ClassLoader getClassLoader() {
+        return this.classLoader;
+    }
+
+    /**
+     * 清除目录和jar的列表缓存
+     */
+    public void clearCache() {
+        this.directoryListingCache.clear();
+        this.jarEntryCache.clear();
+    }
+
+    // ==================== ResourcePatternResolver接口实现 ====================
+
+    @Override
+    public Resource getResource(String location) {
+        if (location == null) {
+            throw new IllegalArgumentException("Location不能为null");
+        }
+
+        if (location.startsWith(CLASSPATH_URL_PREFIX)) {
+            return new ClassPathResource(stripLeadingSlash(
+                location.substring(CLASSPATH_URL_PREFIX.length())), this.classLoader);
+        }
+
+        if (location.startsWith(FILE_URL_PREFIX)) {
+            String path = location.substring(FILE_URL_PREFIX.length());
+            return createFileResource(new File(path));
+        }
+
+        try {
+            return new UrlResource(new URL(location));
+        } catch (MalformedURLException e) {
+            // 不是URL，按classpath路径处理
+            return new ClassPathResource(stripLeadingSlash(location), this.classLoader);
+        }
+    }
+
+    @Override
+    public Resource[] getResources(String locationPattern) throws IOException {
+        if (locationPattern == null) {
+            throw new IllegalArgumentException("Location pattern不能为null");
+        }
+
+        if (locationPattern.startsWith(CLASSPATH_ALL_URL_PREFIX)) {
+            String path = locationPattern.substring(CLASSPATH_ALL_URL_PREFIX.length());
+            if (pathMatcher.isPattern(path)) {
+                return findPathMatchingResources(locationPattern);
+            }
+            return findAllClassPathResources(path);
+        }
+
+        // 只检查前缀之后的部分，避免URL中的特殊字符被误判
+        int prefixEnd = locationPattern.indexOf(':') + 1;
+        if (pathMatcher.isPattern(locationPattern.substring(prefixEnd))) {
+            return findPathMatchingResources(locationPattern);
+        }
+
+        Resource resource = getResource(locationPattern);
+        return resource.exists() ? new Resource[] {resource} : new Resource[0];
+    }
+
+    // ==================== 解析逻辑 ====================
+
+    /**
+     * 查找classpath下所有同名资源（classpath*:无通配符的情况）
+     */
+    private Resource[] findAllClassPathResources(String path) throws IOException {
+        path = stripLeadingSlash(path);
+        Set<Resource> result = new LinkedHashSet<>();
+        Enumeration<URL> urls = this.classLoader.getResources(path);
+        while (urls.hasMoreElements()) {
+            result.add(new UrlResource(urls.nextElement()));
+        }
+        return result.toArray(new Resource[0]);
+    }
+
+    /**
+     * 查找匹配通配符的资源
+     */
+    private Resource[] findPathMatchingResources(String locationPattern) throws IOException {
+        String rootDirPath = pathMatcher.determineRootDir(locationPattern);
+        String subPattern = locationPattern.substring(rootDirPath.length());
+
+        Set<Resource> result = new LinkedHashSet<>();
+        for (URL rootUrl : resolveRootDirUrls(rootDirPath)) {
+            String protocol = rootUrl.getProtocol();
+            if ("file".equals(protocol)) {
+                result.addAll(findMatchingFileResources(toFile(rootUrl), subPattern));
+            } else if ("jar".equals(protocol) || "war".equals(protocol) || "zip".equals(protocol)) {
+                result.addAll(findMatchingJarResources(rootUrl, subPattern));
+            }
+        }
+        return result.toArray(new Resource[0]);
+    }
+
+    /**
+     * 解析根目录对应的URL
+     */
+    private List<URL> resolveRootDirUrls(String rootDirPath) throws IOException {
+        List<URL> urls = new ArrayList<>();
+
+        if (rootDirPath.startsWith(CLASSPATH_ALL_URL_PREFIX)) {
+            String path = stripLeadingSlash(rootDirPath.substring(CLASSPATH_ALL_URL_PREFIX.length()));
+            Enumeration<URL> found = this.classLoader.getResources(path);
+            while (found.hasMoreElements()) {
+                urls.add(found.nextElement());
+            }
+        } else if (rootDirPath.startsWith(CLASSPATH_URL_PREFIX)) {
+            String path = stripLeadingSlash(rootDirPath.substring(CLASSPATH_URL_PREFIX.length()));
+            URL url = this.classLoader.getResource(path);
+            if (url != null) {
+                urls.add(url);
+            }
+        } else if (rootDirPath.startsWith(FILE_URL_PREFIX)) {
+            String path = rootDirPath.substring(FILE_URL_PREFIX.length());
+            urls.add(new File(path.isEmpty() ? "." : path).toURI().toURL());
+        } else {
+            try {
+                urls.add(new URL(rootDirPath));
+            } catch (MalformedURLException e) {
+                // 不是URL，按classpath路径处理
+                URL url = this.classLoader.getResource(stripLeadingSlash(rootDirPath));
+                if (url != null) {
+                    urls.add(url);
+                }
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * 在文件系统目录中查找匹配的文件
+     */
+    private List<Resource> findMatchingFileResources(File rootDir, String subPattern) {
+        List<Resource> result = new ArrayList<>();
+        if (!rootDir.isDirectory()) {
+            return result;
+        }
+
+        String rootKey = rootDir.getAbsolutePath();
+        List<String> files = directoryListingCache.computeIfAbsent(rootKey, key -> listFiles(rootDir));
+        for (String relativePath : files) {
+            if (pathMatcher.match(subPattern, relativePath)) {
+                result.add(createFileResource(new File(rootDir, relativePath)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 递归列出目录下的所有文件（相对路径，使用/分隔）
+     */
+    private List<String> listFiles(File rootDir) {
+        List<String> files = new ArrayList<>();
+        doListFiles(rootDir, "", files);
+        Collections.sort(files);
+        return Collections.unmodifiableList(files);
+    }
+
+    private void doListFiles(File dir, String prefix, List<String> files) {
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            String relativePath = prefix + child.getName();
+            if (child.isDirectory()) {
+                doListFiles(child, relativePath + "/", files);
+            } else {
+                files.add(relativePath);
+            }
+        }
+    }
+
+    /**
+     * 在jar中查找匹配的条目
+     */
+    private List<Resource> findMatchingJarResources(URL rootUrl, String subPattern) throws IOException {
+        List<Resource> result = new ArrayList<>();
+
+        URLConnection con = rootUrl.openConnection();
+        if (!(con instanceof JarURLConnection)) {
+            return result;
+        }
+        JarURLConnection jarCon = (JarURLConnection) con;
+        URL jarFileUrl = jarCon.getJarFileURL();
+        String rootEntryPath = jarCon.getEntryName() != null ? jarCon.getEntryName() : "";
+        if (!rootEntryPath.isEmpty() && !rootEntryPath.endsWith("/")) {
+            rootEntryPath = rootEntryPath + "/";
+        }
+
+        List<String> entries = jarEntryCache.get(jarFileUrl.toString());
+        if (entries == null) {
+            entries = listJarEntries(jarCon);
+            jarEntryCache.put(jarFileUrl.toString(), entries);
+        }
+
+        for (String entryPath : entries) {
+            if (entryPath.startsWith(rootEntryPath)) {
+                String relativePath = entryPath.substring(rootEntryPath.length());
+                if (pathMatcher.match(subPattern, relativePath)) {
+                    result.add(new UrlResource(new URL("jar:" + jarFileUrl + "!/" + entryPath)));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 列出jar中的所有文件条目
+     */
+    private List<String> listJarEntries(JarURLConnection jarCon) throws IOException {
+        jarCon.setUseCaches(false);
+        List<String> entries = new ArrayList<>();
+        try (JarFile jarFile = jarCon.getJarFile()) {
+            Enumeration<JarEntry> en = jarFile.entries();
+            while (en.hasMoreElements()) {
+                JarEntry entry = en.nextElement();
+                if (!entry.isDirectory()) {
+                    entries.add(entry.getName());
+                }
+            }
+        }
+        Collections.sort(entries);
+        return Collections.unmodifiableList(entries);
+    }
+
+    // ==================== 辅助方法 ====================
+
+    private Resource createFileResource(File file) {
+        return this.useMappedFiles ? new MappedFileResource(file) : new FileSystemResource(file);
+    }
+
+    private File toFile(URL url) {
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return new File(url.getFile());
+        }
+    }
+
+    private String stripLeadingSlash(String path) {
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+}
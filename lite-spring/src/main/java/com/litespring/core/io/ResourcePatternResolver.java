@@ -0,0 +1,50 @@
+package com.litespring.core.io;
+
+import java.io.IOException;
+
+/**
+ * 资源模式解析器
+ * 将位置字符串（可以包含Ant风格通配符）解析为Resource
+ *
+ * 支持的写法：
+ * - classpath:beans.xml                   单个classpath资源
+ * - classpath*:com/acme/**&#47;*.xml          所有classpath根下匹配的资源
+ * - file:/etc/app/*.properties            文件系统资源
+ * - http://host/config.xml                URL资源
+ *
+ * @author lite-spring
+ */
+public interface ResourcePatternResolver {
+
+    /**
+     * classpath单资源前缀
+     */
+    String CLASSPATH_URL_PREFIX = "classpath:";
+
+    /**
+     * classpath全部资源前缀（会查找所有jar和目录）
+     */
+    String CLASSPATH_ALL_URL_PREFIX = "classpath*:";
+
+    /**
+     * 文件系统资源前缀
+     */
+    String FILE_URL_PREFIX = "file:";
+
+    /**
+     * 获取单个资源（不支持通配符）
+     *
+     * @param location 资源位置
+     * @return 资源（不保证存在）
+     */
+    Resource getResource(String location);
+
+    /**
+     * 解析位置模式，返回所有匹配的资源
+     *
+     * @param locationPattern 位置模式
+     * @return 匹配的资源，没有匹配时返回空数组
+     * @throws IOException 如果读取目录或jar失败
+     */
+    Resource[] getResources(String locationPattern) throws IOException;
+}
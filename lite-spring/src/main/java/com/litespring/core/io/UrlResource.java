@@ -0,0 +1,122 @@
+package com.litespring.core.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+
+/**
+ * 基于URL加载资源的实现
+ * 支持file:、jar:、http:等协议
+ *
+ * @author lite-spring
+ */
+public class UrlResource implements Resource {
+
+    private final URL url;
+
+    public UrlResource(URL url) {
+        if (url == null) {
+            throw new IllegalArgumentException("URL不能为null");
+        }
+        this.url = url;
+    }
+
+    public UrlResource(String url) throws MalformedURLException {
+        this(new URL(url));
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        URLConnection con = this.url.openConnection();
+        try {
+            return con.getInputStream();
+        } catch (IOException e) {
+            if (con instanceof HttpURLConnection) {
+                ((HttpURLConnection) con).disconnect();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean exists() {
+        // file协议直接检查文件，避免打开流
+        if ("file".equals(this.url.getProtocol())) {
+            File file = getFile();
+            return file != null && file.exists();
+        }
+
+        try {
+            URLConnection con = this.url.openConnection();
+            if (con instanceof HttpURLConnection) {
+                HttpURLConnection httpCon = (HttpURLConnection) con;
+                httpCon.setRequestMethod("HEAD");
+                int code = httpCon.getResponseCode();
+                httpCon.disconnect();
+                return code == HttpURLConnection.HTTP_OK;
+            }
+            // 其他协议（如jar:）：尝试打开流
+            con.getInputStream().close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "URL [" + this.url + "]";
+    }
+
+    /**
+     * 获取URL
+     */
+    public URL getURL() {
+        return this.url;
+    }
+
+    /**
+     * 如果是file协议，返回对应的文件，否则返回null
+     */
+    public File getFile() {
+        if (!"file".equals(this.url.getProtocol())) {
+            return null;
+        }
+        try {
+            return new File(this.url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return new File(this.url.getFile());
+        }
+    }
+
+    /**
+     * 根据相对路径创建新的资源
+     */
+    public UrlResource createRelative(String relativePath) throws MalformedURLException {
+        if (relativePath.startsWith("/")) {
+            relativePath = relativePath.substring(1);
+        }
+        return new UrlResource(new URL(this.url, relativePath));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other ||
+            (other instanceof UrlResource && this.url.toString().equals(((UrlResource) other).url.toString()));
+    }
+
+    @Override
+    public int hashCode() {
+        return this.url.toString().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
@@ -3,6 +3,7 @@ package com.litespring.jdbc;
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -96,6 +97,38 @@ public class JdbcTemplate {
         });
     }
     
+    /**
+     * IN查询
+     * SQL中的"(?)"会展开为与values个数相同的占位符，例如：
+     * <pre>
+     * jdbcTemplate.queryForIn("SELECT * FROM users WHERE id IN (?)", rowMapper, ids);
+     * </pre>
+     * values为空时直接返回空列表，不访问数据库
+     * 
+     * @param sql 包含一个"(?)"的SQL语句
+     * @param rowMapper 行映射器
+     * @param values IN列表的值
+     * @return 查询结果列表
+     */
+    public <T> List<T> queryForIn(String sql, RowMapper<T> rowMapper, Collection<?> values) {
+        int index = sql.indexOf("(?)");
+        if (index < 0 || sql.indexOf("(?)", index + 3) >= 0) {
+            throw new IllegalArgumentException("IN查询的SQL必须包含且只包含一个\"(?)\": " + sql);
+        }
+        if (values.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        StringBuilder expanded = new StringBuilder(sql.length() + values.size() * 3);
+        expanded.append(sql, 0, index).append('(');
+        for (int i = 0; i < values.size(); i++) {
+            expanded.append(i == 0 ? "?" : ", ?");
+        }
+        expanded.append(')').append(sql, index + 3, sql.length());
+        
+        return query(expanded.toString(), rowMapper, values.toArray());
+    }
+    
     /**
      * 查询基本类型
      */
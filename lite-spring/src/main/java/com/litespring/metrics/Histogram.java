@@ -0,0 +1,104 @@
+package com.litespring.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁、固定内存的对数线性直方图
+ * 
+ * 桶的划分：小于16的值每个值一个桶；之后每个2的幂区间再线性分成16个桶，
+ * 所以任何值的相对误差不超过1/16（约6%）。能精确区分的最大值为2^40-1（纳秒约18分钟），
+ * 更大的值计入最后一个桶，但最大值仍然精确记录
+ * 
+ * 记录一个值只需要一次数组元素的原子自增和几次LongAdder/CAS操作，不加锁、不分配内存；
+ * 快照在并发记录时不是严格一致的，但每个桶的计数都是准确的
+ * 
+ * @author lite-spring
+ */
+public class Histogram {
+    
+    /**
+     * 每个2的幂区间的子桶数 = 2^SUB_BUCKET_BITS
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    
+    /**
+     * 能精确区分的最大值的位数
+     */
+    private static final int MAX_BITS = 40;
+    
+    static final int BUCKET_COUNT = (MAX_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+    
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    
+    /**
+     * 记录一个值（负数按0记录）
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+        
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+    
+    /**
+     * 获取快照
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        return new HistogramSnapshot(counts, count, sum.sum(), max.get());
+    }
+    
+    /**
+     * 清空所有记录
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        sum.reset();
+        max.set(0);
+    }
+    
+    // ==================== 桶计算 ====================
+    
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_BITS) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+    
+    /**
+     * 桶中能记录的最大值
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,77 @@
+package com.litespring.metrics;
+
+/**
+ * 直方图在某一时刻的快照
+ * 分位数返回所在桶的上界，与真实值的相对误差不超过约6%，且不超过最大值
+ * 
+ * @author lite-spring
+ */
+public class HistogramSnapshot {
+    
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+    
+    HistogramSnapshot(long[] counts, long count, long sum, long max) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public long getSum() {
+        return sum;
+    }
+    
+    public long getMax() {
+        return max;
+    }
+    
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+    
+    /**
+     * 获取分位数
+     * 
+     * @param quantile 0到1之间，例如0.99
+     * @return 分位数的值，没有记录时返回0
+     */
+    public long getValue(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("分位数必须在0到1之间: " + quantile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // 最后一个桶还包含超出范围的值，只能用最大值
+                return i == counts.length - 1 ? max : Math.min(Histogram.bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+    
+    public long getMedian() {
+        return getValue(0.5);
+    }
+    
+    public long get99thPercentile() {
+        return getValue(0.99);
+    }
+    
+    @Override
+    public String toString() {
+        return "count=" + count + ", mean=" + String.format("%.1f", getMean())
+            + ", p50=" + getMedian() + ", p99=" + get99thPercentile() + ", max=" + max;
+    }
+}
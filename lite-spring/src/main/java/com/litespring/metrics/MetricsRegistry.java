@@ -0,0 +1,113 @@
+package com.litespring.metrics;
+
+import com.litespring.core.DisposableBean;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 指标注册表
+ * 按名称管理{@link Timer}，同名的计时器只创建一次
+ * 
+ * 开启JMX后每个计时器注册为一个MBean（ObjectName为 域:type=Timer,name=计时器名称），
+ * 可以在JConsole等工具中查看p50/p99/max；容器关闭时注销
+ * 
+ * @author lite-spring
+ */
+public class MetricsRegistry implements DisposableBean {
+    
+    public static final String DEFAULT_JMX_DOMAIN = "com.litespring.metrics";
+    
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    
+    private final List<ObjectName> registeredNames = Collections.synchronizedList(new ArrayList<>());
+    
+    private boolean jmxEnabled = false;
+    
+    private String jmxDomain = DEFAULT_JMX_DOMAIN;
+    
+    public void setJmxEnabled(boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+    }
+    
+    public void setJmxDomain(String jmxDomain) {
+        this.jmxDomain = jmxDomain;
+    }
+    
+    /**
+     * 获取或创建计时器
+     */
+    public Timer timer(String name) {
+        Timer timer = timers.get(name);
+        if (timer != null) {
+            return timer;
+        }
+        Timer created = new Timer(name);
+        timer = timers.putIfAbsent(name, created);
+        if (timer != null) {
+            return timer;
+        }
+        if (jmxEnabled) {
+            registerMBean(created);
+        }
+        return created;
+    }
+    
+    /**
+     * 获取已创建的计时器
+     * 
+     * @return 计时器，不存在时返回null
+     */
+    public Timer getTimer(String name) {
+        return timers.get(name);
+    }
+    
+    public Collection<Timer> getTimers() {
+        return Collections.unmodifiableCollection(timers.values());
+    }
+    
+    /**
+     * 计时器在JMX中的名称
+     */
+    public ObjectName getObjectName(String timerName) throws JMException {
+        return new ObjectName(jmxDomain + ":type=Timer,name=" + ObjectName.quote(timerName));
+    }
+    
+    private void registerMBean(Timer timer) {
+        try {
+            ObjectName objectName = getObjectName(timer.getName());
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(timer, objectName);
+            registeredNames.add(objectName);
+        } catch (JMException e) {
+            // 注册失败（例如另一个注册表已注册同名计时器）不影响计时
+            System.err.println("注册计时器MBean失败: " + timer.getName() + ", " + e);
+        }
+    }
+    
+    /**
+     * 注销已注册的MBean
+     */
+    @Override
+    public void destroy() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        synchronized (registeredNames) {
+            for (ObjectName objectName : registeredNames) {
+                try {
+                    server.unregisterMBean(objectName);
+                } catch (JMException e) {
+                    System.err.println("注销计时器MBean失败: " + objectName + ", " + e);
+                }
+            }
+            registeredNames.clear();
+        }
+    }
+}
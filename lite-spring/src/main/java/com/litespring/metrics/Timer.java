@@ -0,0 +1,92 @@
+package com.litespring.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 计时器
+ * 把耗时记录到{@link Histogram}，并单独统计以异常结束的调用次数（异常调用的耗时同样计入直方图）
+ * 
+ * 记录不加锁、不分配内存，可以放在热点路径上
+ * 
+ * @author lite-spring
+ */
+public class Timer implements TimerMBean {
+    
+    private final String name;
+    private final Histogram histogram = new Histogram();
+    private final LongAdder errors = new LongAdder();
+    
+    public Timer(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * 记录一次成功调用的耗时
+     */
+    public void record(long durationNanos) {
+        histogram.record(durationNanos);
+    }
+    
+    public void record(long duration, TimeUnit unit) {
+        histogram.record(unit.toNanos(duration));
+    }
+    
+    /**
+     * 记录一次以异常结束的调用的耗时
+     */
+    public void recordError(long durationNanos) {
+        histogram.record(durationNanos);
+        errors.increment();
+    }
+    
+    public HistogramSnapshot snapshot() {
+        return histogram.snapshot();
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public long getCount() {
+        return histogram.snapshot().getCount();
+    }
+    
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+    
+    @Override
+    public double getMeanNanos() {
+        return histogram.snapshot().getMean();
+    }
+    
+    @Override
+    public long getP50Nanos() {
+        return histogram.snapshot().getMedian();
+    }
+    
+    @Override
+    public long getP99Nanos() {
+        return histogram.snapshot().get99thPercentile();
+    }
+    
+    @Override
+    public long getMaxNanos() {
+        return histogram.snapshot().getMax();
+    }
+    
+    @Override
+    public void reset() {
+        histogram.reset();
+        errors.reset();
+    }
+    
+    @Override
+    public String toString() {
+        return name + "[" + histogram.snapshot() + ", errors=" + errors.sum() + "]";
+    }
+}
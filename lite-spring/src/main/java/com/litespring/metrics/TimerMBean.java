@@ -0,0 +1,29 @@
+package com.litespring.metrics;
+
+/**
+ * 计时器的JMX管理接口
+ * 时间单位都是纳秒，分位数的相对误差不超过约6%
+ * 
+ * @author lite-spring
+ */
+public interface TimerMBean {
+    
+    String getName();
+    
+    long getCount();
+    
+    long getErrorCount();
+    
+    double getMeanNanos();
+    
+    long getP50Nanos();
+    
+    long getP99Nanos();
+    
+    long getMaxNanos();
+    
+    /**
+     * 清空记录
+     */
+    void reset();
+}
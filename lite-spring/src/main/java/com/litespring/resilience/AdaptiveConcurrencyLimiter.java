@@ -0,0 +1,72 @@
+package com.litespring.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 自适应并发数限制器（AIMD：加性增、乘性减）
+ * 
+ * 每次调用完成后根据耗时调整上限：
+ * - 耗时超过阈值：说明下游已经过载，上限乘以backoffRatio（默认0.9），不低于最小值
+ * - 耗时正常且并发数已经用到上限的一半以上：上限加1，不超过最大值
+ * 
+ * 上限只在[minLimit, maxLimit]之间变化，初始为最大值
+ * 
+ * @author lite-spring
+ */
+public class AdaptiveConcurrencyLimiter extends ConcurrencyLimiter {
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    
+    /**
+     * 上限的精确值（乘性减会产生小数），只在synchronized中修改
+     */
+    private double estimatedLimit;
+    
+    public AdaptiveConcurrencyLimiter(String name, int minLimit, int maxLimit, long latencyThreshold, TimeUnit unit) {
+        this(name, minLimit, maxLimit, unit.toNanos(latencyThreshold), 0.9);
+    }
+    
+    public AdaptiveConcurrencyLimiter(String name, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos, double backoffRatio) {
+        super(name, maxLimit);
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("并发上限范围无效: [" + minLimit + ", " + maxLimit + "]");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio必须在0到1之间: " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.estimatedLimit = maxLimit;
+    }
+    
+    @Override
+    protected void onSample(long latencyNanos) {
+        boolean overloaded = latencyNanos > latencyThresholdNanos;
+        if (!overloaded && getInFlight() * 2 < getLimit()) {
+            // 并发数远低于上限，看不出上限是否合适，不调整
+            return;
+        }
+        synchronized (this) {
+            double next = overloaded ? estimatedLimit * backoffRatio : estimatedLimit + 1;
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+            int limit = (int) estimatedLimit;
+            if (limit != getLimit()) {
+                setLimit(limit);
+            }
+        }
+    }
+    
+    public int getMinLimit() {
+        return minLimit;
+    }
+    
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+}
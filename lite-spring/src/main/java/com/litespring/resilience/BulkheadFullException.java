@@ -0,0 +1,29 @@
+package com.litespring.resilience;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 舱壁已满异常
+ * 并发数达到上限且在等待时间内没有拿到许可时抛出
+ * 
+ * @author lite-spring
+ */
+public class BulkheadFullException extends RejectedExecutionException {
+    
+    private final String name;
+    private final int limit;
+    
+    public BulkheadFullException(String name, int limit) {
+        super("舱壁已满（并发上限" + limit + "）: " + name);
+        this.name = name;
+        this.limit = limit;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,26 @@
+package com.litespring.resilience;
+
+/**
+ * 熔断器打开（或半开状态的试探名额已用完）时拒绝调用抛出的异常
+ * 
+ * @author lite-spring
+ */
+public class CallNotPermittedException extends RuntimeException {
+    
+    private final String name;
+    private final CircuitBreaker.State state;
+    
+    public CallNotPermittedException(String name, CircuitBreaker.State state) {
+        super("熔断器" + state + "，拒绝调用: " + name);
+        this.name = name;
+        this.state = state;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public CircuitBreaker.State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,356 @@
+package com.litespring.resilience;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 熔断器（无锁）
+ * 
+ * 状态机：
+ * - CLOSED：正常放行，把最近slidingWindowSize次调用的结果记录在滑动窗口中；
+ *   调用数达到minimumNumberOfCalls且失败率或慢调用率达到阈值时转为OPEN
+ * - OPEN：直接拒绝所有调用，不访问下游；经过waitDurationInOpenState后转为HALF_OPEN
+ * - HALF_OPEN：只放行permittedNumberOfCallsInHalfOpenState次试探调用，
+ *   全部完成后按同样的阈值判断转为OPEN还是CLOSED
+ * 
+ * 每个状态持有自己的窗口，状态变化时通过一次CAS整体替换，不需要加锁。
+ * 窗口是原子环形缓冲区：每个槽位记录一次调用的结果，总数/失败数/慢调用数打包在一个long中，
+ * 新结果覆盖旧结果时用一次addAndGet同时更新三个计数，读到的三个计数来自同一次更新
+ * （并发线程数超过窗口大小时可能短暂不准，但误差不会累积）
+ * 
+ * 用法：
+ * <pre>
+ * if (!breaker.tryAcquirePermission()) {
+ *     throw new CallNotPermittedException(name, breaker.getState());
+ * }
+ * long start = System.nanoTime();
+ * try {
+ *     result = ...;
+ *     breaker.onSuccess(System.nanoTime() - start);
+ * } catch (Exception e) {
+ *     breaker.onError(System.nanoTime() - start);
+ *     throw e;
+ * }
+ * </pre>
+ * 
+ * @author lite-spring
+ */
+public class CircuitBreaker {
+    
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+    
+    private final String name;
+    private final CircuitBreakerConfig config;
+    
+    private final AtomicReference<StateHolder> state;
+    
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+    
+    private final LongAdder notPermitted = new LongAdder();
+    
+    public CircuitBreaker(String name, CircuitBreakerConfig config) {
+        this.name = name;
+        this.config = config;
+        this.state = new AtomicReference<>(closedState());
+    }
+    
+    public void addListener(CircuitBreakerListener listener) {
+        this.listeners.add(listener);
+    }
+    
+    // ==================== 调用 ====================
+    
+    /**
+     * 尝试获取调用许可
+     * 
+     * @return 可以调用返回true；熔断器打开或半开状态的试探名额已用完时返回false
+     */
+    public boolean tryAcquirePermission() {
+        while (true) {
+            StateHolder current = state.get();
+            switch (current.state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (System.nanoTime() - current.since < config.getWaitDurationInOpenStateNanos()) {
+                        notPermitted.increment();
+                        return false;
+                    }
+                    // 等待时间已过，进入半开状态后重新判断
+                    transition(current, halfOpenState());
+                    break;
+                default:
+                    if (current.permits.getAndDecrement() > 0) {
+                        return true;
+                    }
+                    current.permits.incrementAndGet();
+                    notPermitted.increment();
+                    return false;
+            }
+        }
+    }
+    
+    /**
+     * 归还许可而不记录结果（例如调用抛出了被忽略的异常）
+     */
+    public void releasePermission() {
+        StateHolder current = state.get();
+        if (current.state == State.HALF_OPEN) {
+            current.permits.incrementAndGet();
+        }
+    }
+    
+    /**
+     * 记录一次成功调用
+     * 
+     * @param durationNanos 调用耗时，用于判断是否为慢调用
+     */
+    public void onSuccess(long durationNanos) {
+        record(false, durationNanos);
+    }
+    
+    /**
+     * 记录一次失败调用
+     */
+    public void onError(long durationNanos) {
+        record(true, durationNanos);
+    }
+    
+    private void record(boolean failure, long durationNanos) {
+        StateHolder current = state.get();
+        if (current.window == null) {
+            // 打开状态下不记录（获取许可之后熔断器被其他调用打开了）
+            return;
+        }
+        boolean slow = durationNanos >= config.getSlowCallDurationNanos();
+        long counts = current.window.record(failure, slow);
+        
+        int total = SlidingWindow.total(counts);
+        if (current.state == State.CLOSED) {
+            if (total >= Math.min(config.getMinimumNumberOfCalls(), current.window.size)
+                    && exceedsThresholds(counts)) {
+                transition(current, openState());
+            }
+        } else if (total >= current.window.size) {
+            // 半开状态的试探调用全部完成
+            transition(current, exceedsThresholds(counts) ? openState() : closedState());
+        }
+    }
+    
+    private boolean exceedsThresholds(long counts) {
+        return SlidingWindow.failureRate(counts) >= config.getFailureRateThreshold()
+            || SlidingWindow.slowCallRate(counts) >= config.getSlowCallRateThreshold();
+    }
+    
+    // ==================== 状态变化 ====================
+    
+    /**
+     * 手动转为关闭状态（清空统计）
+     */
+    public void reset() {
+        forceTransition(closedState());
+    }
+    
+    /**
+     * 手动转为打开状态
+     */
+    public void transitionToOpenState() {
+        forceTransition(openState());
+    }
+    
+    private void forceTransition(StateHolder next) {
+        while (true) {
+            StateHolder current = state.get();
+            if (transition(current, next)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * 从current转为next，只有一个线程能成功，成功的线程通知监听器
+     */
+    private boolean transition(StateHolder current, StateHolder next) {
+        if (!state.compareAndSet(current, next)) {
+            return false;
+        }
+        if (current.state != next.state) {
+            for (CircuitBreakerListener listener : listeners) {
+                try {
+                    listener.onStateTransition(this, current.state, next.state);
+                } catch (RuntimeException e) {
+                    System.err.println("熔断器监听器执行失败: " + name + ", " + e);
+                }
+            }
+        }
+        return true;
+    }
+    
+    private StateHolder closedState() {
+        return new StateHolder(State.CLOSED, new SlidingWindow(config.getSlidingWindowSize()), 0);
+    }
+    
+    private StateHolder openState() {
+        return new StateHolder(State.OPEN, null, 0);
+    }
+    
+    private StateHolder halfOpenState() {
+        int permitted = config.getPermittedNumberOfCallsInHalfOpenState();
+        return new StateHolder(State.HALF_OPEN, new SlidingWindow(permitted), permitted);
+    }
+    
+    // ==================== 指标 ====================
+    
+    public String getName() {
+        return name;
+    }
+    
+    public CircuitBreakerConfig getConfig() {
+        return config;
+    }
+    
+    public State getState() {
+        return state.get().state;
+    }
+    
+    /**
+     * 当前窗口的失败率（百分比），调用数不足最少调用数时返回-1
+     */
+    public float getFailureRate() {
+        long counts = currentCounts();
+        return counts < 0 ? -1 : SlidingWindow.failureRate(counts);
+    }
+    
+    /**
+     * 当前窗口的慢调用率（百分比），调用数不足最少调用数时返回-1
+     */
+    public float getSlowCallRate() {
+        long counts = currentCounts();
+        return counts < 0 ? -1 : SlidingWindow.slowCallRate(counts);
+    }
+    
+    /**
+     * 当前窗口中记录的调用数
+     */
+    public int getNumberOfBufferedCalls() {
+        SlidingWindow window = state.get().window;
+        return window == null ? 0 : SlidingWindow.total(window.counts.get());
+    }
+    
+    /**
+     * 被拒绝的调用数
+     */
+    public long getNotPermittedCount() {
+        return notPermitted.sum();
+    }
+    
+    private long currentCounts() {
+        SlidingWindow window = state.get().window;
+        if (window == null) {
+            return -1;
+        }
+        long counts = window.counts.get();
+        return SlidingWindow.total(counts) < Math.min(config.getMinimumNumberOfCalls(), window.size) ? -1 : counts;
+    }
+    
+    @Override
+    public String toString() {
+        return name + "[" + getState() + ", failureRate=" + getFailureRate() + "%]";
+    }
+    
+    /**
+     * 不可变的状态：状态、该状态的窗口、进入时间和半开状态剩余的试探名额
+     */
+    private static final class StateHolder {
+        
+        final State state;
+        final SlidingWindow window;
+        final long since = System.nanoTime();
+        final AtomicInteger permits;
+        
+        StateHolder(State state, SlidingWindow window, int permits) {
+            this.state = state;
+            this.window = window;
+            this.permits = new AtomicInteger(permits);
+        }
+    }
+    
+    /**
+     * 基于调用次数的原子环形缓冲区
+     */
+    static final class SlidingWindow {
+        
+        private static final int RECORDED = 1;
+        private static final int FAILURE = 2;
+        private static final int SLOW = 4;
+        
+        private static final int BITS = 20;
+        private static final long MASK = (1L << BITS) - 1;
+        private static final long ONE_FAILURE = 1L << BITS;
+        private static final long ONE_SLOW = 1L << (BITS * 2);
+        
+        final int size;
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong cursor = new AtomicLong();
+        
+        /**
+         * 打包的计数：低20位总数，中间20位失败数，高位慢调用数
+         */
+        final AtomicLong counts = new AtomicLong();
+        
+        SlidingWindow(int size) {
+            this.size = size;
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+        
+        /**
+         * 记录一次调用，覆盖最旧的结果
+         * 
+         * @return 记录后的打包计数
+         */
+        long record(boolean failure, boolean slow) {
+            int outcome = RECORDED | (failure ? FAILURE : 0) | (slow ? SLOW : 0);
+            int index = (int) (cursor.getAndIncrement() % size);
+            int previous = outcomes.getAndSet(index, outcome);
+            return counts.addAndGet(packed(outcome) - packed(previous));
+        }
+        
+        private static long packed(int outcome) {
+            long value = 0;
+            if ((outcome & RECORDED) != 0) {
+                value += 1;
+            }
+            if ((outcome & FAILURE) != 0) {
+                value += ONE_FAILURE;
+            }
+            if ((outcome & SLOW) != 0) {
+                value += ONE_SLOW;
+            }
+            return value;
+        }
+        
+        static int total(long counts) {
+            return (int) (counts & MASK);
+        }
+        
+        static float failureRate(long counts) {
+            int total = total(counts);
+            return total == 0 ? 0 : ((counts >>> BITS) & MASK) * 100f / total;
+        }
+        
+        static float slowCallRate(long counts) {
+            int total = total(counts);
+            return total == 0 ? 0 : (counts >>> (BITS * 2)) * 100f / total;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.litespring.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 熔断器配置
+ * 
+ * @author lite-spring
+ */
+public class CircuitBreakerConfig {
+    
+    /**
+     * 滑动窗口能记录的最大调用数（计数打包在一个long中，每项占20位）
+     */
+    public static final int MAX_WINDOW_SIZE = (1 << 20) - 1;
+    
+    private int slidingWindowSize = 100;
+    private int minimumNumberOfCalls = 10;
+    private float failureRateThreshold = 50;
+    private float slowCallRateThreshold = 100;
+    private long slowCallDurationNanos = TimeUnit.SECONDS.toNanos(60);
+    private long waitDurationInOpenStateNanos = TimeUnit.SECONDS.toNanos(60);
+    private int permittedNumberOfCallsInHalfOpenState = 10;
+    
+    /**
+     * 关闭状态下统计最近多少次调用
+     */
+    public void setSlidingWindowSize(int slidingWindowSize) {
+        if (slidingWindowSize < 1 || slidingWindowSize > MAX_WINDOW_SIZE) {
+            throw new IllegalArgumentException("滑动窗口大小必须在1到" + MAX_WINDOW_SIZE + "之间: " + slidingWindowSize);
+        }
+        this.slidingWindowSize = slidingWindowSize;
+    }
+    
+    /**
+     * 窗口中至少有多少次调用才计算失败率
+     */
+    public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+        if (minimumNumberOfCalls < 1) {
+            throw new IllegalArgumentException("最少调用数必须大于0: " + minimumNumberOfCalls);
+        }
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+    }
+    
+    /**
+     * 失败率阈值（百分比），达到时打开熔断器
+     */
+    public void setFailureRateThreshold(float failureRateThreshold) {
+        checkPercentage(failureRateThreshold);
+        this.failureRateThreshold = failureRateThreshold;
+    }
+    
+    /**
+     * 慢调用率阈值（百分比），达到时打开熔断器
+     */
+    public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+        checkPercentage(slowCallRateThreshold);
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+    
+    /**
+     * 耗时达到多少算慢调用
+     */
+    public void setSlowCallDuration(long duration, TimeUnit unit) {
+        this.slowCallDurationNanos = unit.toNanos(duration);
+    }
+    
+    /**
+     * 打开状态保持多久后进入半开状态
+     */
+    public void setWaitDurationInOpenState(long duration, TimeUnit unit) {
+        this.waitDurationInOpenStateNanos = unit.toNanos(duration);
+    }
+    
+    /**
+     * 半开状态下放行多少次试探调用
+     */
+    public void setPermittedNumberOfCallsInHalfOpenState(int permittedCalls) {
+        if (permittedCalls < 1 || permittedCalls > MAX_WINDOW_SIZE) {
+            throw new IllegalArgumentException("半开状态的试探调用数必须在1到" + MAX_WINDOW_SIZE + "之间: " + permittedCalls);
+        }
+        this.permittedNumberOfCallsInHalfOpenState = permittedCalls;
+    }
+    
+    private static void checkPercentage(float value) {
+        if (value <= 0 || value > 100) {
+            throw new IllegalArgumentException("阈值必须在0到100之间（不含0）: " + value);
+        }
+    }
+    
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+    
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+    
+    public float getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+    
+    public float getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+    
+    public long getSlowCallDurationNanos() {
+        return slowCallDurationNanos;
+    }
+    
+    public long getWaitDurationInOpenStateNanos() {
+        return waitDurationInOpenStateNanos;
+    }
+    
+    public int getPermittedNumberOfCallsInHalfOpenState() {
+        return permittedNumberOfCallsInHalfOpenState;
+    }
+}
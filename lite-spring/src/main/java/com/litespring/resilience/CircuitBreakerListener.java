@@ -0,0 +1,20 @@
+package com.litespring.resilience;
+
+/**
+ * 熔断器状态变化监听器
+ * 在触发状态变化的调用线程中同步回调，实现不应阻塞
+ * 
+ * @author lite-spring
+ */
+@FunctionalInterface
+public interface CircuitBreakerListener {
+    
+    /**
+     * 熔断器状态变化后回调
+     * 
+     * @param circuitBreaker 熔断器
+     * @param from 原状态
+     * @param to 新状态
+     */
+    void onStateTransition(CircuitBreaker circuitBreaker, CircuitBreaker.State from, CircuitBreaker.State to);
+}
@@ -0,0 +1,194 @@
+package com.litespring.resilience;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 并发数限制器（无锁信号量）
+ * 
+ * 获取许可只是对正在执行的计数做CAS，不需要加锁；
+ * 需要等待的线程挂起在等待队列中，释放许可时唤醒队首线程重新竞争；
+ * 被唤醒的线程离开队列时如果还有空闲许可，继续唤醒新的队首，连续释放的许可不会只唤醒同一个线程
+ * 
+ * 用法：
+ * <pre>
+ * if (!limiter.acquire(waitNanos)) {
+ *     throw new BulkheadFullException(name, limiter.getLimit());
+ * }
+ * long start = System.nanoTime();
+ * try {
+ *     ...
+ * } finally {
+ *     limiter.release(System.nanoTime() - start);
+ * }
+ * </pre>
+ * 
+ * @author lite-spring
+ */
+public class ConcurrencyLimiter {
+    
+    private final String name;
+    
+    private volatile int limit;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+    
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    public ConcurrencyLimiter(String name, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("并发上限必须大于0: " + limit);
+        }
+        this.name = name;
+        this.limit = limit;
+    }
+    
+    /**
+     * 尝试立即获取许可
+     * 
+     * @return 获取成功返回true；达到上限返回false并计入拒绝次数
+     */
+    public boolean tryAcquire() {
+        if (tryIncrement()) {
+            accepted.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+    
+    /**
+     * 获取许可，达到上限时最多等待指定时间
+     * 
+     * @param maxWaitNanos 最长等待时间（纳秒），小于等于0表示不等待
+     * @return 获取成功返回true；超时返回false并计入拒绝次数
+     * @throws InterruptedException 如果等待时被中断
+     */
+    public boolean acquire(long maxWaitNanos) throws InterruptedException {
+        if (maxWaitNanos <= 0) {
+            return tryAcquire();
+        }
+        if (tryIncrement()) {
+            accepted.increment();
+            return true;
+        }
+        
+        long deadline = System.nanoTime() + maxWaitNanos;
+        Thread current = Thread.currentThread();
+        // 先入队再重试：释放方先减计数再唤醒，入队之后的重试一定能看到释放的许可
+        waiters.add(current);
+        try {
+            while (true) {
+                if (tryIncrement()) {
+                    accepted.increment();
+                    return true;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    rejected.increment();
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    rejected.increment();
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            waiters.remove(current);
+            signalNext();
+        }
+    }
+    
+    /**
+     * 释放许可
+     * 
+     * @param latencyNanos 本次调用的耗时，用于自适应调整
+     */
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        onSample(latencyNanos);
+        signalNext();
+    }
+    
+    /**
+     * 还有空闲许可时唤醒队首的等待线程
+     */
+    private void signalNext() {
+        if (inFlight.get() >= limit) {
+            return;
+        }
+        Thread waiter = waiters.peek();
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+    
+    /**
+     * 每次调用完成后回调，子类可以根据耗时调整上限
+     */
+    protected void onSample(long latencyNanos) {
+    }
+    
+    private boolean tryIncrement() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * 调整并发上限（已经获取许可的调用不受影响）
+     */
+    protected void setLimit(int limit) {
+        int previous = this.limit;
+        this.limit = limit;
+        if (limit > previous) {
+            // 上限提高，唤醒等待的线程
+            for (Thread waiter : waiters) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+    
+    // ==================== 指标 ====================
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    /**
+     * 正在执行的调用数
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+    
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+    
+    @Override
+    public String toString() {
+        return name + "[limit=" + limit + ", inFlight=" + getInFlight()
+            + ", rejected=" + getRejectedCount() + "]";
+    }
+}
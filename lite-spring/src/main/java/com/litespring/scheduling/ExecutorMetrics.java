@@ -0,0 +1,34 @@
+package com.litespring.scheduling;
+
+/**
+ * 执行器的运行指标
+ * 
+ * @author lite-spring
+ */
+public interface ExecutorMetrics {
+    
+    /**
+     * 已提交的任务数（包括被拒绝的）
+     */
+    long getSubmittedCount();
+    
+    /**
+     * 被拒绝的任务数
+     */
+    long getRejectedCount();
+    
+    /**
+     * 已完成的任务数
+     */
+    long getCompletedCount();
+    
+    /**
+     * 正在执行的任务数
+     */
+    int getActiveCount();
+    
+    /**
+     * 排队等待执行的任务数
+     */
+    int getQueueDepth();
+}
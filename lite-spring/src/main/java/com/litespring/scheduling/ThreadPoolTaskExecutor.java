@@ -0,0 +1,222 @@
+package com.litespring.scheduling;
+
+import com.litespring.core.BeanNameAware;
+import com.litespring.core.DisposableBean;
+import com.litespring.core.InitializingBean;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 有界线程池执行器
+ * 
+ * 线程数和队列长度都有上限：队列满且线程数达到maxPoolSize时立即拒绝任务
+ * （抛出RejectedExecutionException），不会让调用线程阻塞或无限堆积任务
+ * 
+ * 可以作为Bean注册，属性：
+ * - corePoolSize       核心线程数，默认为CPU核数
+ * - maxPoolSize        最大线程数，默认与corePoolSize相同
+ * - queueCapacity      队列容量，默认1000（0表示不排队）
+ * - keepAliveSeconds   非核心线程的空闲存活时间，默认60秒
+ * - threadNamePrefix   线程名前缀，默认使用Bean名称
+ * - awaitTerminationSeconds  关闭时等待正在执行的任务完成的时间，默认0（不等待）
+ * 
+ * @author lite-spring
+ */
+public class ThreadPoolTaskExecutor implements Executor, ExecutorMetrics,
+        BeanNameAware, InitializingBean, DisposableBean {
+    
+    private int corePoolSize = Runtime.getRuntime().availableProcessors();
+    private int maxPoolSize = -1;
+    private int queueCapacity = 1000;
+    private int keepAliveSeconds = 60;
+    private String threadNamePrefix;
+    private int awaitTerminationSeconds = 0;
+    
+    private volatile ThreadPoolExecutor executor;
+    
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    // ==================== 配置 ====================
+    
+    public void setCorePoolSize(int corePoolSize) {
+        this.corePoolSize = corePoolSize;
+    }
+    
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+    
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+    
+    public void setKeepAliveSeconds(int keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+    
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+    
+    public void setAwaitTerminationSeconds(int awaitTerminationSeconds) {
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+    }
+    
+    @Override
+    public void setBeanName(String name) {
+        if (this.threadNamePrefix == null) {
+            this.threadNamePrefix = name + "-";
+        }
+    }
+    
+    // ==================== 生命周期 ====================
+    
+    @Override
+    public void afterPropertiesSet() {
+        initialize();
+    }
+    
+    /**
+     * 创建线程池（重复调用无效）
+     */
+    public synchronized void initialize() {
+        if (this.executor != null) {
+            return;
+        }
+        int core = Math.max(1, this.corePoolSize);
+        int max = Math.max(core, this.maxPoolSize);
+        
+        BlockingQueue<Runnable> queue;
+        if (this.queueCapacity <= 0) {
+            queue = new SynchronousQueue<>();
+        } else if (this.queueCapacity == Integer.MAX_VALUE) {
+            queue = new LinkedBlockingQueue<>();
+        } else {
+            queue = new ArrayBlockingQueue<>(this.queueCapacity);
+        }
+        
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(core, max, this.keepAliveSeconds, TimeUnit.SECONDS,
+            queue, new NamedThreadFactory(this.threadNamePrefix != null ? this.threadNamePrefix : "litespring-task-"),
+            new CountingRejectionHandler());
+        this.executor = pool;
+    }
+    
+    @Override
+    public void destroy() throws InterruptedException {
+        ThreadPoolExecutor pool = this.executor;
+        if (pool == null) {
+            return;
+        }
+        pool.shutdown();
+        if (this.awaitTerminationSeconds > 0 && !pool.awaitTermination(this.awaitTerminationSeconds, TimeUnit.SECONDS)) {
+            System.err.println("线程池" + this.threadNamePrefix + "未能在" + this.awaitTerminationSeconds + "秒内结束");
+        }
+    }
+    
+    // ==================== 执行 ====================
+    
+    /**
+     * 提交任务
+     * 
+     * @throws RejectedExecutionException 如果线程池和队列都已满，或已经关闭
+     */
+    @Override
+    public void execute(Runnable task) {
+        ThreadPoolExecutor pool = this.executor;
+        if (pool == null) {
+            initialize();
+            pool = this.executor;
+        }
+        this.submitted.increment();
+        pool.execute(task);
+    }
+    
+    // ==================== 指标 ====================
+    
+    @Override
+    public long getSubmittedCount() {
+        return this.submitted.sum();
+    }
+    
+    @Override
+    public long getRejectedCount() {
+        return this.rejected.sum();
+    }
+    
+    @Override
+    public long getCompletedCount() {
+        ThreadPoolExecutor pool = this.executor;
+        return pool != null ? pool.getCompletedTaskCount() : 0;
+    }
+    
+    @Override
+    public int getActiveCount() {
+        ThreadPoolExecutor pool = this.executor;
+        return pool != null ? pool.getActiveCount() : 0;
+    }
+    
+    @Override
+    public int getQueueDepth() {
+        ThreadPoolExecutor pool = this.executor;
+        return pool != null ? pool.getQueue().size() : 0;
+    }
+    
+    /**
+     * 队列剩余容量
+     */
+    public int getQueueRemainingCapacity() {
+        ThreadPoolExecutor pool = this.executor;
+        return pool != null ? pool.getQueue().remainingCapacity() : this.queueCapacity;
+    }
+    
+    public int getPoolSize() {
+        ThreadPoolExecutor pool = this.executor;
+        return pool != null ? pool.getPoolSize() : 0;
+    }
+    
+    /**
+     * 记录拒绝次数后立即抛出异常
+     */
+    private class CountingRejectionHandler implements RejectedExecutionHandler {
+        
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor pool) {
+            rejected.increment();
+            throw new RejectedExecutionException(pool.isShutdown()
+                ? "执行器已关闭: " + threadNamePrefix
+                : "执行器已满（线程数" + pool.getPoolSize() + "，排队" + pool.getQueue().size() + "）: " + threadNamePrefix);
+        }
+    }
+    
+    /**
+     * 创建带编号的守护线程
+     */
+    static final class NamedThreadFactory implements ThreadFactory {
+        
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+        
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+        
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, this.prefix + this.counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.litespring.scheduling;
+
+import com.litespring.core.BeanNameAware;
+import com.litespring.core.DisposableBean;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 每个任务一个虚拟线程的执行器（需要Java 21及以上）
+ * 
+ * 虚拟线程很廉价，不需要线程池和队列，适合大量阻塞IO的任务；
+ * 可以通过concurrencyLimit限制同时执行的任务数，超过时立即拒绝（默认不限制）
+ * 
+ * 框架本身按Java 11编译，虚拟线程的API通过反射获取；
+ * 在低版本JDK上创建实例会抛出IllegalStateException，可以先用{@link #isSupported()}判断
+ * 
+ * @author lite-spring
+ */
+public class VirtualThreadTaskExecutor implements Executor, ExecutorMetrics, BeanNameAware, DisposableBean {
+    
+    private final ThreadFactory threadFactory;
+    
+    /**
+     * 线程名前缀，没有显式设置时使用Bean名称
+     */
+    private String threadNamePrefix;
+    
+    /**
+     * 同时执行的任务数上限，小于等于0表示不限制
+     */
+    private int concurrencyLimit = -1;
+    
+    private volatile boolean shutdown = false;
+    
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger counter = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    
+    public VirtualThreadTaskExecutor() {
+        this.threadFactory = createVirtualThreadFactory();
+    }
+    
+    /**
+     * 当前JDK是否支持虚拟线程
+     */
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+    
+    /**
+     * 通过反射调用Thread.ofVirtual().factory()
+     */
+    private static ThreadFactory createVirtualThreadFactory() {
+        if (!isSupported()) {
+            throw new IllegalStateException("虚拟线程需要Java 21及以上，当前版本: " + Runtime.version());
+        }
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("创建虚拟线程工厂失败", e);
+        }
+    }
+    
+    public void setConcurrencyLimit(int concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+    
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+    
+    @Override
+    public void setBeanName(String name) {
+        if (this.threadNamePrefix == null) {
+            this.threadNamePrefix = name + "-";
+        }
+    }
+    
+    private String getThreadNamePrefix() {
+        return this.threadNamePrefix != null ? this.threadNamePrefix : "litespring-virtual-";
+    }
+    
+    /**
+     * 在新的虚拟线程中执行任务
+     * 
+     * @throws RejectedExecutionException 如果达到并发上限或已经关闭
+     */
+    @Override
+    public void execute(Runnable task) {
+        this.submitted.increment();
+        if (this.shutdown) {
+            this.rejected.increment();
+            throw new RejectedExecutionException("执行器已关闭: " + getThreadNamePrefix());
+        }
+        
+        int limit = this.concurrencyLimit;
+        int current;
+        do {
+            current = this.active.get();
+            if (limit > 0 && current >= limit) {
+                this.rejected.increment();
+                throw new RejectedExecutionException("执行器已达到并发上限" + limit + ": " + getThreadNamePrefix());
+            }
+        } while (!this.active.compareAndSet(current, current + 1));
+        
+        Thread thread = this.threadFactory.newThread(() -> {
+            try {
+                task.run();
+            } finally {
+                this.active.decrementAndGet();
+                this.completed.increment();
+            }
+        });
+        thread.setName(getThreadNamePrefix() + this.counter.incrementAndGet());
+        thread.start();
+    }
+    
+    /**
+     * 停止接收新任务（已经开始的虚拟线程继续执行到结束）
+     */
+    @Override
+    public void destroy() {
+        this.shutdown = true;
+    }
+    
+    // ==================== 指标 ====================
+    
+    @Override
+    public long getSubmittedCount() {
+        return this.submitted.sum();
+    }
+    
+    @Override
+    public long getRejectedCount() {
+        return this.rejected.sum();
+    }
+    
+    @Override
+    public long getCompletedCount() {
+        return this.completed.sum();
+    }
+    
+    @Override
+    public int getActiveCount() {
+        return this.active.get();
+    }
+    
+    /**
+     * 每个任务直接启动线程，没有排队
+     */
+    @Override
+    public int getQueueDepth() {
+        return 0;
+    }
+}
@@ -0,0 +1,126 @@
+package com.litespring.tracing;
+
+import com.litespring.core.DisposableBean;
+import com.litespring.core.InitializingBean;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文件导出器
+ * 把跨度以每行一个JSON对象的格式追加到文件
+ * 
+ * 导出时只把跨度放入有界队列，由后台线程批量写入，调用线程不做I/O；
+ * 队列满时丢弃跨度并计数，不阻塞业务线程
+ * 
+ * @author lite-spring
+ */
+public class FileSpanExporter implements SpanExporter, InitializingBean, DisposableBean {
+    
+    private String path;
+    private int queueCapacity = 8192;
+    
+    private BlockingQueue<Span> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+    
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    
+    public FileSpanExporter() {
+    }
+    
+    public FileSpanExporter(String path) {
+        this.path = path;
+        afterPropertiesSet();
+    }
+    
+    public void setPath(String path) {
+        this.path = path;
+    }
+    
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+    
+    @Override
+    public void afterPropertiesSet() {
+        if (path == null) {
+            throw new IllegalStateException("必须设置文件路径");
+        }
+        if (running) {
+            return;
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.running = true;
+        this.writerThread = new Thread(this::writeLoop, "litespring-span-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+    
+    @Override
+    public void export(Span span) {
+        BlockingQueue<Span> q = this.queue;
+        if (q == null || !q.offer(span)) {
+            dropped.increment();
+        }
+    }
+    
+    private void writeLoop() {
+        Path file = Paths.get(path);
+        List<Span> batch = new ArrayList<>();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (running || !queue.isEmpty()) {
+                Span first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                for (Span span : batch) {
+                    writer.write(span.toJson());
+                    writer.newLine();
+                }
+                writer.flush();
+                written.add(batch.size());
+                batch.clear();
+            }
+        } catch (IOException e) {
+            System.err.println("写入跨度文件失败: " + path + ", " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * 写完队列中剩余的跨度后停止后台线程
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        Thread thread = this.writerThread;
+        if (thread != null) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+    
+    public long getWrittenCount() {
+        return written.sum();
+    }
+    
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,79 @@
+package com.litespring.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 内存环形缓冲区导出器（无锁）
+ * 保留最近capacity个跨度，新跨度覆盖最旧的跨度；导出只需要一次getAndIncrement和一次数组写入
+ * 
+ * 读取是快照：并发写入时可能少看到正在写入的跨度，但不会阻塞写入方
+ * 
+ * @author lite-spring
+ */
+public class RingBufferSpanExporter implements SpanExporter {
+    
+    private final AtomicReferenceArray<Span> buffer;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    
+    /**
+     * @param capacity 容量，向上取整为2的幂
+     */
+    public RingBufferSpanExporter(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("容量必须在1到2^30之间: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+    
+    @Override
+    public void export(Span span) {
+        long index = sequence.getAndIncrement();
+        buffer.set((int) (index & mask), span);
+    }
+    
+    /**
+     * 获取缓冲区中的跨度（从旧到新）
+     */
+    public List<Span> getSpans() {
+        long end = sequence.get();
+        long start = Math.max(0, end - buffer.length());
+        List<Span> spans = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            Span span = buffer.get((int) (i & mask));
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+    
+    /**
+     * 获取某个请求在缓冲区中的所有跨度
+     */
+    public List<Span> getTrace(long traceId) {
+        List<Span> trace = new ArrayList<>();
+        for (Span span : getSpans()) {
+            if (span.getTraceId() == traceId) {
+                trace.add(span);
+            }
+        }
+        return trace;
+    }
+    
+    public int getCapacity() {
+        return buffer.length();
+    }
+    
+    /**
+     * 累计导出的跨度数
+     */
+    public long getExportedCount() {
+        return sequence.get();
+    }
+}
@@ -0,0 +1,53 @@
+package com.litespring.tracing;
+
+/**
+ * 采样器
+ * 在请求的根跨度创建时决定整个请求是否被记录（头部采样），子跨度沿用根跨度的决定
+ * 
+ * @author lite-spring
+ */
+@FunctionalInterface
+public interface Sampler {
+    
+    /**
+     * 判断请求是否被采样
+     * 
+     * @param traceId 新请求的traceId（随机值）
+     * @return 如果需要记录返回true
+     */
+    boolean isSampled(long traceId);
+    
+    /**
+     * 记录所有请求
+     */
+    static Sampler always() {
+        return traceId -> true;
+    }
+    
+    /**
+     * 不记录任何请求
+     */
+    static Sampler never() {
+        return traceId -> false;
+    }
+    
+    /**
+     * 按比例采样
+     * 直接比较traceId的低位，同一个traceId的决定总是相同的
+     * 
+     * @param probability 采样比例，0到1之间
+     */
+    static Sampler ratio(double probability) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("采样比例必须在0到1之间: " + probability);
+        }
+        if (probability == 0) {
+            return never();
+        }
+        if (probability == 1) {
+            return always();
+        }
+        long bound = (long) (probability * (1L << 53));
+        return traceId -> (traceId & ((1L << 53) - 1)) < bound;
+    }
+}
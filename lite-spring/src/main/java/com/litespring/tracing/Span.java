@@ -0,0 +1,162 @@
+package com.litespring.tracing;
+
+/**
+ * 一次操作的耗时记录（跨度）
+ * 同一个请求的所有跨度有相同的traceId，通过parentSpanId组成调用树
+ * 
+ * 只有被采样的请求才创建Span对象；未被采样的请求使用共享的常量（{@link #isSampled()}为false），
+ * 不分配内存也不导出
+ * 
+ * @author lite-spring
+ */
+public final class Span {
+    
+    /**
+     * 未被采样的请求的根跨度：放在线程本地变量中，让后续的子调用知道不需要采样
+     */
+    static final Span UNSAMPLED_ROOT = new Span();
+    
+    /**
+     * 未被采样的请求中的子跨度
+     */
+    static final Span UNSAMPLED_CHILD = new Span();
+    
+    private final long traceId;
+    private final long spanId;
+    private final Span parent;
+    private final String name;
+    private final String threadName;
+    private final long startEpochMillis;
+    private final long startNanos;
+    
+    private volatile long durationNanos = -1;
+    private volatile String error;
+    
+    private Span() {
+        this.traceId = 0;
+        this.spanId = 0;
+        this.parent = null;
+        this.name = "unsampled";
+        this.threadName = null;
+        this.startEpochMillis = 0;
+        this.startNanos = 0;
+    }
+    
+    Span(long traceId, long spanId, Span parent, String name) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parent = parent;
+        this.name = name;
+        this.threadName = Thread.currentThread().getName();
+        this.startEpochMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+    
+    /**
+     * 结束跨度
+     * 
+     * @param error 操作抛出的异常，正常结束时为null
+     */
+    void finish(Throwable error) {
+        this.durationNanos = System.nanoTime() - startNanos;
+        if (error != null) {
+            this.error = error.getClass().getName();
+        }
+    }
+    
+    public boolean isSampled() {
+        return spanId != 0;
+    }
+    
+    public boolean isFinished() {
+        return durationNanos >= 0;
+    }
+    
+    public long getTraceId() {
+        return traceId;
+    }
+    
+    public long getSpanId() {
+        return spanId;
+    }
+    
+    /**
+     * 父跨度的ID，根跨度返回0
+     */
+    public long getParentSpanId() {
+        return parent != null ? parent.spanId : 0;
+    }
+    
+    Span getParent() {
+        return parent;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getThreadName() {
+        return threadName;
+    }
+    
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+    
+    /**
+     * 耗时（纳秒），未结束时返回-1
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+    
+    /**
+     * 异常类名，正常结束时返回null
+     */
+    public String getError() {
+        return error;
+    }
+    
+    /**
+     * 转换为一行JSON
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(160);
+        sb.append("{\"traceId\":\"").append(Long.toHexString(traceId))
+            .append("\",\"spanId\":\"").append(Long.toHexString(spanId)).append('"');
+        if (parent != null) {
+            sb.append(",\"parentId\":\"").append(Long.toHexString(parent.spanId)).append('"');
+        }
+        sb.append(",\"name\":");
+        appendString(sb, name);
+        sb.append(",\"thread\":");
+        appendString(sb, threadName);
+        sb.append(",\"start\":").append(startEpochMillis)
+            .append(",\"durationNanos\":").append(durationNanos);
+        if (error != null) {
+            sb.append(",\"error\":");
+            appendString(sb, error);
+        }
+        return sb.append('}').toString();
+    }
+    
+    private static void appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+    
+    @Override
+    public String toString() {
+        return isSampled() ? toJson() : "Span[unsampled]";
+    }
+}
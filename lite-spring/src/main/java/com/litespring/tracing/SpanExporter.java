@@ -0,0 +1,16 @@
+package com.litespring.tracing;
+
+/**
+ * 跨度导出器
+ * 被采样的跨度结束时在调用线程中同步调用，实现应尽快返回（不要在这里做阻塞I/O）
+ * 
+ * @author lite-spring
+ */
+@FunctionalInterface
+public interface SpanExporter {
+    
+    /**
+     * 导出已结束的跨度
+     */
+    void export(Span span);
+}
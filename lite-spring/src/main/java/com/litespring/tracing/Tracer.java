@@ -0,0 +1,130 @@
+package com.litespring.tracing;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 跟踪器
+ * 当前跨度保存在线程本地变量中：startSpan在当前跨度下创建子跨度并把它设为当前跨度，
+ * finishSpan结束跨度并恢复父跨度。没有当前跨度时创建的是新请求的根跨度，由采样器决定是否记录
+ * 
+ * 未被采样的请求只在根跨度处设置一个共享的标记，之后的子跨度读一次线程本地变量就返回，不分配对象
+ * 
+ * 用法（startSpan和finishSpan必须在同一个线程中成对调用）：
+ * <pre>
+ * Span span = tracer.startSpan("OrderService.place");
+ * Throwable error = null;
+ * try {
+ *     ...
+ * } catch (Throwable ex) {
+ *     error = ex;
+ *     throw ex;
+ * } finally {
+ *     tracer.finishSpan(span, error);
+ * }
+ * </pre>
+ * 
+ * @author lite-spring
+ */
+public class Tracer {
+    
+    private final ThreadLocal<Span> currentSpan = new ThreadLocal<>();
+    
+    private volatile Sampler sampler = Sampler.always();
+    
+    private final List<SpanExporter> exporters = new CopyOnWriteArrayList<>();
+    
+    public void setSampler(Sampler sampler) {
+        this.sampler = sampler;
+    }
+    
+    /**
+     * 按比例采样（0到1之间）
+     */
+    public void setSampleRate(double sampleRate) {
+        this.sampler = Sampler.ratio(sampleRate);
+    }
+    
+    public void addExporter(SpanExporter exporter) {
+        this.exporters.add(exporter);
+    }
+    
+    public void setExporters(List<SpanExporter> exporters) {
+        this.exporters.clear();
+        this.exporters.addAll(exporters);
+    }
+    
+    /**
+     * 获取当前线程的跨度
+     * 
+     * @return 当前跨度；没有进行中的请求时返回null，请求未被采样时返回isSampled为false的跨度
+     */
+    public Span currentSpan() {
+        return currentSpan.get();
+    }
+    
+    /**
+     * 开始一个跨度并设为当前跨度
+     */
+    public Span startSpan(String name) {
+        Span parent = currentSpan.get();
+        if (parent != null && !parent.isSampled()) {
+            return Span.UNSAMPLED_CHILD;
+        }
+        
+        Span span;
+        if (parent == null) {
+            long traceId = nextId();
+            if (!sampler.isSampled(traceId)) {
+                currentSpan.set(Span.UNSAMPLED_ROOT);
+                return Span.UNSAMPLED_ROOT;
+            }
+            span = new Span(traceId, nextId(), null, name);
+        } else {
+            span = new Span(parent.getTraceId(), nextId(), parent, name);
+        }
+        currentSpan.set(span);
+        return span;
+    }
+    
+    /**
+     * 结束跨度，恢复父跨度为当前跨度，并导出被采样的跨度
+     * 
+     * @param error 操作抛出的异常，正常结束时为null
+     */
+    public void finishSpan(Span span, Throwable error) {
+        if (span == Span.UNSAMPLED_CHILD) {
+            return;
+        }
+        Span parent = span.getParent();
+        if (parent == null) {
+            currentSpan.remove();
+        } else {
+            currentSpan.set(parent);
+        }
+        if (span == Span.UNSAMPLED_ROOT) {
+            return;
+        }
+        
+        span.finish(error);
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.export(span);
+            } catch (RuntimeException e) {
+                System.err.println("导出跨度失败: " + span.getName() + ", " + e);
+            }
+        }
+    }
+    
+    /**
+     * 生成非0的随机ID
+     */
+    private static long nextId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+}
@@ -0,0 +1,141 @@
+package com.litespring.util;
+
+/**
+ * Ant风格的路径匹配器
+ *
+ * 支持的通配符：
+ * - ?  匹配一个字符（不含/）
+ * - *  匹配零个或多个字符（不含/）
+ * - ** 匹配零个或多个目录
+ *
+ * 例如：com/acme/**&#47;*.xml 可以匹配 com/acme/a.xml 和 com/acme/x/y/b.xml
+ *
+ * @author lite-spring
+ */
+public class AntPathMatcher {
+
+    private static final String SEPARATOR = "/";
+
+    /**
+     * 判断路径中是否包含通配符
+     */
+    public boolean isPattern(String path) {
+        return path != null && (path.indexOf('*') != -1 || path.indexOf('?') != -1);
+    }
+
+    /**
+     * 判断路径是否匹配模式
+     *
+     * @param pattern 模式，如 com/acme/**&#47;*.xml
+     * @param path 路径，如 com/acme/config/app.xml
+     * @return 匹配返回true
+     */
+    public boolean match(String pattern, String path) {
+        if (pattern == null || path == null) {
+            return false;
+        }
+        String[] patternParts = tokenize(pattern);
+        String[] pathParts = tokenize(path);
+        return matchParts(patternParts, 0, pathParts, 0);
+    }
+
+    /**
+     * 获取模式中不含通配符的根目录部分
+     * 例如：com/acme/**&#47;*.xml → com/acme/
+     */
+    public String determineRootDir(String pattern) {
+        int prefixEnd = pattern.indexOf(':') + 1;
+        int rootDirEnd = pattern.length();
+        while (rootDirEnd > prefixEnd && isPattern(pattern.substring(prefixEnd, rootDirEnd))) {
+            rootDirEnd = pattern.lastIndexOf('/', rootDirEnd - 2) + 1;
+        }
+        if (rootDirEnd == 0) {
+            rootDirEnd = prefixEnd;
+        }
+        return pattern.substring(0, rootDirEnd);
+    }
+
+    /**
+     * 逐段匹配（递归处理**）
+     */
+    private boolean matchParts(String[] patternParts, int pi, String[] pathParts, int si) {
+        while (pi < patternParts.length) {
+            String patternPart = patternParts[pi];
+
+            if ("**".equals(patternPart)) {
+                // 连续的**等价于一个
+                while (pi + 1 < patternParts.length && "**".equals(patternParts[pi + 1])) {
+                    pi++;
+                }
+                if (pi == patternParts.length - 1) {
+                    return true;
+                }
+                // **匹配零个或多个目录，逐一尝试
+                for (int i = si; i <= pathParts.length; i++) {
+                    if (matchParts(patternParts, pi + 1, pathParts, i)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            if (si >= pathParts.length || !matchSegment(patternPart, pathParts[si])) {
+                return false;
+            }
+            pi++;
+            si++;
+        }
+        return si == pathParts.length;
+    }
+
+    /**
+     * 单段匹配（处理*和?）
+     */
+    private boolean matchSegment(String pattern, String str) {
+        int p = 0;
+        int s = 0;
+        int starIdx = -1;
+        int match = 0;
+
+        while (s < str.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == str.charAt(s))) {
+                p++;
+                s++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+                starIdx = p++;
+                match = s;
+            } else if (starIdx != -1) {
+                // 回溯：让*多匹配一个字符
+                p = starIdx + 1;
+                s = ++match;
+            } else {
+                return false;
+            }
+        }
+
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    /**
+     * 按/拆分路径，忽略空段
+     */
+    private String[] tokenize(String path) {
+        String trimmed = trimSlash(path);
+        return trimmed.isEmpty() ? new String[0] : trimmed.split(SEPARATOR + "+");
+    }
+
+    private String trimSlash(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+}
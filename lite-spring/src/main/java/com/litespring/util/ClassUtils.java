@@ -1,5 +1,13 @@
 package com.litespring.util;
 
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * 类相关的工具方法
  * 
@@ -7,6 +15,42 @@ package com.litespring.util;
  */
 public class ClassUtils {
     
+    /**
+     * 数组类名后缀，如 java.lang.String[]
+     */
+    private static final String ARRAY_SUFFIX = "[]";
+    
+    /**
+     * 基本类型名称 -> 基本类型
+     */
+    private static final Map<String, Class<?>> primitiveTypeNameMap = new HashMap<>(16);
+    
+    /**
+     * 查找失败的标记（负缓存）
+     */
+    private static final Object NOT_FOUND = new Object();
+    
+    /**
+     * 类解析缓存：类加载器 -> (类名 -> WeakReference<Class> 或 NOT_FOUND)
+     * 
+     * 类加载器作为弱引用键，加载器被回收后对应的缓存自动清除；
+     * 值同样使用弱引用，避免Class反向持有加载器导致键无法回收。
+     * 只有系统类加载器及其父加载器的查找失败会被缓存，
+     * 其他加载器（如运行期间可以添加URL的加载器）之后可能找到这个类
+     */
+    private static final Map<ClassLoader, Map<String, Object>> classCache =
+        Collections.synchronizedMap(new WeakHashMap<>());
+    
+    static {
+        Class<?>[] primitiveTypes = {
+            boolean.class, byte.class, char.class, short.class,
+            int.class, long.class, float.class, double.class, void.class
+        };
+        for (Class<?> primitiveType : primitiveTypes) {
+            primitiveTypeNameMap.put(primitiveType.getName(), primitiveType);
+        }
+    }
+    
     /**
      * 获取默认的类加载器
      * 优先使用线程上下文类加载器，如果没有则使用当前类的类加载器
@@ -36,20 +80,139 @@ public class ClassUtils {
         return cl;
     }
     
+    /**
+     * 加载指定名称的类（使用默认类加载器）
+     * 
+     * @param className 类名
+     * @return 类对象
+     * @throws ClassNotFoundException 如果类不存在
+     */
+    public static Class<?> forName(String className) throws ClassNotFoundException {
+        return forName(className, null);
+    }
+    
     /**
      * 加载指定名称的类
      * 
+     * 支持以下写法：
+     * - 完全限定名：com.example.Foo
+     * - 基本类型：int、long等
+     * - 数组：int[]、java.lang.String[][]、[Ljava.lang.String;
+     * 
+     * 查找到的类按类加载器缓存，重复查找同一个类名不再访问类加载器；
+     * 查找失败只对系统类加载器及其父加载器缓存
+     * 
      * @param className 类的完全限定名
      * @param classLoader 类加载器
      * @return 类对象
      * @throws ClassNotFoundException 如果类不存在
      */
-    public static Class<?> forName(String className, ClassLoader classLoader) 
+    public static Class<?> forName(String className, ClassLoader classLoader)
             throws ClassNotFoundException {
+        if (className == null) {
+            throw new IllegalArgumentException("类名不能为null");
+        }
+        
+        Class<?> primitive = primitiveTypeNameMap.get(className);
+        if (primitive != null) {
+            return primitive;
+        }
+        
         if (classLoader == null) {
             classLoader = getDefaultClassLoader();
         }
+        
+        Map<String, Object> cache = getCache(classLoader);
+        Object cached = cache.get(className);
+        if (cached == NOT_FOUND) {
+            throw new ClassNotFoundException(className);
+        }
+        if (cached != null) {
+            Class<?> clazz = ((ClassRef) cached).get();
+            if (clazz != null) {
+                return clazz;
+            }
+        }
+        
+        try {
+            Class<?> clazz = doForName(className, classLoader);
+            cache.put(className, new ClassRef(clazz));
+            return clazz;
+        } catch (ClassNotFoundException e) {
+            if (isSystemClassLoader(classLoader)) {
+                cache.put(className, NOT_FOUND);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * 是否是系统类加载器或它的父加载器（类路径在运行期间不变，可以缓存查找失败）
+     */
+    private static boolean isSystemClassLoader(ClassLoader classLoader) {
+        for (ClassLoader cl = ClassLoader.getSystemClassLoader(); cl != null; cl = cl.getParent()) {
+            if (cl == classLoader) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 判断类是否存在（可以被加载）
+     */
+    public static boolean isPresent(String className, ClassLoader classLoader) {
+        try {
+            forName(className, classLoader);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+    
+    /**
+     * 清除类解析缓存
+     * 系统类加载器在运行期间可以加载新类时（如通过Instrumentation添加类路径），需要清除负缓存
+     */
+    public static void clearCache() {
+        classCache.clear();
+    }
+    
+    /**
+     * 获取类加载器对应的缓存
+     */
+    private static Map<String, Object> getCache(ClassLoader classLoader) {
+        Map<String, Object> cache = classCache.get(classLoader);
+        if (cache == null) {
+            synchronized (classCache) {
+                cache = classCache.computeIfAbsent(classLoader, cl -> new ConcurrentHashMap<>(256));
+            }
+        }
+        return cache;
+    }
+    
+    /**
+     * 实际加载类（处理数组写法）
+     */
+    private static Class<?> doForName(String className, ClassLoader classLoader)
+            throws ClassNotFoundException {
+        // java.lang.String[] 风格的数组
+        if (className.endsWith(ARRAY_SUFFIX)) {
+            String elementClassName = className.substring(0, className.length() - ARRAY_SUFFIX.length());
+            Class<?> elementClass = forName(elementClassName, classLoader);
+            return Array.newInstance(elementClass, 0).getClass();
+        }
+        
+        // [Ljava.lang.String; 和 [I 风格的数组由Class.forName直接支持
         return Class.forName(className, true, classLoader);
     }
+    
+    /**
+     * 对已加载类的弱引用
+     */
+    private static final class ClassRef extends WeakReference<Class<?>> {
+        ClassRef(Class<?> clazz) {
+            super(clazz);
+        }
+    }
 }
-
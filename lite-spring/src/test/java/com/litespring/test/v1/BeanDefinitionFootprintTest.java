@@ -0,0 +1,87 @@
+package com.litespring.test.v1;
+
+import com.litespring.core.BeanDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * BeanDefinition内存占用测试
+ * 统计创建大量定义时每个定义实际分配的字节数
+ * 
+ * @author lite-spring
+ */
+public class BeanDefinitionFootprintTest {
+    
+    private static final int DEFINITION_COUNT = 20_000;
+    
+    /**
+     * 每个定义允许的最大字节数
+     * 紧凑布局下对象本身约40~48字节（压缩指针），
+     * 旧布局额外分配PropertyValues、ConstructorArgument和两个ArrayList，约128字节
+     */
+    private static final long MAX_BYTES_PER_DEFINITION = 64;
+    
+    /**
+     * 测试：扫描型定义（无属性、无构造器参数）的内存占用
+     */
+    @Test
+    public void testBytesPerDefinition() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocBean = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocBean.isThreadAllocatedMemorySupported() && allocBean.isThreadAllocatedMemoryEnabled());
+        
+        BeanDefinition[] definitions = new BeanDefinition[DEFINITION_COUNT];
+        String className = "com.litespring.test.v1.service.HelloService";
+        long threadId = Thread.currentThread().getId();
+        
+        // 预热，排除类加载和intern表初始化的分配
+        for (int i = 0; i < 1000; i++) {
+            definitions[i] = createDefinition(className, i);
+        }
+        
+        long before = allocBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < DEFINITION_COUNT; i++) {
+            definitions[i] = createDefinition(className, i);
+        }
+        long after = allocBean.getThreadAllocatedBytes(threadId);
+        
+        long bytesPerDefinition = (after - before) / DEFINITION_COUNT;
+        assertTrue(bytesPerDefinition <= MAX_BYTES_PER_DEFINITION,
+            "每个BeanDefinition分配了" + bytesPerDefinition + "字节");
+        
+        // 只读访问不应分配属性值和构造器参数
+        for (BeanDefinition bd : definitions) {
+            assertFalse(bd.hasPropertyValues());
+            assertFalse(bd.hasConstructorArgumentValues());
+        }
+    }
+    
+    /**
+     * 测试：类名被intern，多个定义共享同一个字符串
+     */
+    @Test
+    public void testClassNameInterned() {
+        String name1 = new String("com.example.SharedName");
+        String name2 = new String("com.example.SharedName");
+        
+        BeanDefinition bd1 = new BeanDefinition(name1);
+        BeanDefinition bd2 = new BeanDefinition(name2);
+        
+        assertSame(bd1.getBeanClassName(), bd2.getBeanClassName());
+    }
+    
+    private BeanDefinition createDefinition(String className, int i) {
+        BeanDefinition bd = new BeanDefinition(className);
+        if ((i & 1) == 0) {
+            bd.setScope("prototype");
+        }
+        bd.setLazyInit((i & 2) == 0);
+        return bd;
+    }
+}
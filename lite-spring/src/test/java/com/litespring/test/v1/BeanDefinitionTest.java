@@ -130,5 +130,52 @@ public class BeanDefinitionTest {
         bd.setDestroyMethodName("destroy");
         assertEquals("destroy", bd.getDestroyMethodName());
     }
+    
+    /**
+     * 测试：自定义作用域
+     */
+    @Test
+    public void testCustomScope() {
+        BeanDefinition bd = new BeanDefinition("com.example.TestClass");
+        bd.setLazyInit(true);
+        
+        bd.setScope("request");
+        assertFalse(bd.isSingleton());
+        assertFalse(bd.isPrototype());
+        assertEquals("request", bd.getScope());
+        
+        // 修改作用域不影响懒加载标记
+        assertTrue(bd.isLazyInit());
+        
+        bd.setScope("singleton");
+        assertTrue(bd.isSingleton());
+        assertTrue(bd.isLazyInit());
+    }
+    
+    /**
+     * 测试：属性值和构造器参数按需分配
+     */
+    @Test
+    public void testValuesAllocatedOnDemand() {
+        BeanDefinition bd = new BeanDefinition("com.example.TestClass");
+        
+        assertFalse(bd.hasPropertyValues());
+        assertFalse(bd.hasConstructorArgumentValues());
+        
+        bd.getPropertyValues().addPropertyValue("name", "value");
+        bd.getPropertyValues().addPropertyValue("age", "18");
+        bd.getPropertyValues().addPropertyValue("city", "Beijing");
+        assertTrue(bd.hasPropertyValues());
+        assertEquals(3, bd.getPropertyValues().size());
+        assertEquals("city", bd.getPropertyValues().getPropertyValues().get(2).getName());
+        
+        bd.getConstructorArgument().addArgumentValue("arg");
+        assertTrue(bd.hasConstructorArgumentValues());
+        assertEquals(1, bd.getConstructorArgument().getArgumentCount());
+        
+        // 其他定义仍然共享空实例
+        BeanDefinition other = new BeanDefinition("com.example.TestClass");
+        assertFalse(other.hasPropertyValues());
+        assertFalse(other.hasConstructorArgumentValues());
+    }
 }
-
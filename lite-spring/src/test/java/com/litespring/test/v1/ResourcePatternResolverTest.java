@@ -0,0 +1,112 @@
+package com.litespring.test.v1;
+
+import com.litespring.core.io.ClassPathResource;
+import com.litespring.core.io.FileSystemResource;
+import com.litespring.core.io.MappedFileResource;
+import com.litespring.core.io.PathMatchingResourcePatternResolver;
+import com.litespring.core.io.Resource;
+import com.litespring.util.AntPathMatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 资源模式解析测试
+ *
+ * @author lite-spring
+ */
+public class ResourcePatternResolverTest {
+
+    private final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+    /**
+     * 测试：Ant风格路径匹配
+     */
+    @Test
+    public void testAntPathMatcher() {
+        AntPathMatcher matcher = new AntPathMatcher();
+
+        assertTrue(matcher.match("com/acme/**/*.xml", "com/acme/a.xml"));
+        assertTrue(matcher.match("com/acme/**/*.xml", "com/acme/x/y/b.xml"));
+        assertFalse(matcher.match("com/acme/**/*.xml", "com/acme/x/b.properties"));
+        assertTrue(matcher.match("beans-v?.xml", "beans-v1.xml"));
+        assertFalse(matcher.match("*.xml", "dir/beans.xml"));
+
+        assertEquals("classpath*:com/acme/", matcher.determineRootDir("classpath*:com/acme/**/*.xml"));
+        assertEquals("classpath*:", matcher.determineRootDir("classpath*:*.xml"));
+    }
+
+    /**
+     * 测试：classpath*:通配符查找
+     */
+    @Test
+    public void testClassPathAllPattern() throws IOException {
+        Resource[] resources = resolver.getResources("classpath*:beans-v*.xml");
+
+        assertEquals(3, resources.length);
+        for (Resource resource : resources) {
+            assertTrue(resource.exists());
+            assertTrue(resource.getDescription().contains("beans-v"));
+        }
+    }
+
+    /**
+     * 测试：递归目录匹配
+     */
+    @Test
+    public void testRecursivePattern() throws IOException {
+        Resource[] resources = resolver.getResources(
+            "classpath*:com/litespring/test/**/service/*Service.class");
+
+        assertTrue(resources.length >= 3);
+        for (Resource resource : resources) {
+            assertTrue(resource.getDescription().endsWith("Service.class]"));
+        }
+    }
+
+    /**
+     * 测试：单个资源位置
+     */
+    @Test
+    public void testSingleLocation() throws IOException {
+        Resource resource = resolver.getResource("classpath:beans-v1.xml");
+        assertTrue(resource instanceof ClassPathResource);
+        assertTrue(resource.exists());
+
+        assertEquals(0, resolver.getResources("classpath:nonexistent.xml").length);
+    }
+
+    /**
+     * 测试：文件系统模式匹配及目录缓存
+     */
+    @Test
+    public void testFilePatternAndCache(@TempDir Path tempDir) throws IOException {
+        Files.createDirectories(tempDir.resolve("conf/sub"));
+        Files.write(tempDir.resolve("conf/a.xml"), new byte[] {1});
+        Files.write(tempDir.resolve("conf/sub/b.xml"), new byte[] {2});
+        Files.write(tempDir.resolve("conf/sub/c.txt"), new byte[] {3});
+
+        String pattern = "file:" + tempDir.toAbsolutePath() + "/conf/**/*.xml";
+        Resource[] resources = resolver.getResources(pattern);
+        assertEquals(2, resources.length);
+        assertTrue(resources[0] instanceof FileSystemResource);
+
+        // 新增的文件在缓存清除前不可见
+        Files.write(tempDir.resolve("conf/d.xml"), new byte[] {4});
+        assertEquals(2, resolver.getResources(pattern).length);
+
+        resolver.clearCache();
+        assertEquals(3, resolver.getResources(pattern).length);
+
+        // 可以选择以内存映射方式返回
+        resolver.setUseMappedFiles(true);
+        Resource[] mapped = resolver.getResources(pattern);
+        assertTrue(mapped[0] instanceof MappedFileResource);
+        assertEquals(1, ((MappedFileResource) mapped[0]).getByteBuffer().remaining());
+    }
+}
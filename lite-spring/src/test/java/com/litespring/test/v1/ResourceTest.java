@@ -1,13 +1,21 @@
 package com.litespring.test.v1;
 
 import com.litespring.core.io.ClassPathResource;
+import com.litespring.core.io.FileSystemResource;
+import com.litespring.core.io.MappedFileResource;
 import com.litespring.core.io.Resource;
+import com.litespring.core.io.UrlResource;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -69,5 +77,72 @@ public class ResourceTest {
         assertNotNull(description);
         assertTrue(description.contains("beans-v1.xml"));
     }
-}
 
+    /**
+     * 测试：从文件系统加载资源
+     */
+    @Test
+    public void testFileSystemResource(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("app.properties");
+        Files.write(file, "name=lite-spring".getBytes(StandardCharsets.UTF_8));
+        
+        Resource resource = new FileSystemResource(file.toFile());
+        assertTrue(resource.exists());
+        assertTrue(resource.getDescription().contains("app.properties"));
+        
+        try (InputStream is = resource.getInputStream()) {
+            assertEquals("name=lite-spring", new String(is.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        
+        Resource missing = new FileSystemResource(tempDir.resolve("missing.xml").toFile());
+        assertFalse(missing.exists());
+        assertThrows(IOException.class, missing::getInputStream);
+    }
+    
+    /**
+     * 测试：从URL加载资源
+     */
+    @Test
+    public void testUrlResource() throws IOException {
+        Resource resource = new UrlResource(getClass().getClassLoader().getResource("beans-v1.xml"));
+        
+        assertTrue(resource.exists());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream()))) {
+            assertTrue(reader.readLine().contains("<?xml"));
+        }
+        
+        UrlResource missing = ((UrlResource) resource).createRelative("nonexistent.xml");
+        assertFalse(missing.exists());
+    }
+    
+    /**
+     * 测试：内存映射资源返回独立的只读视图
+     */
+    @Test
+    public void testMappedFileResource(@TempDir Path tempDir) throws IOException {
+        byte[] data = new byte[64 * 1024];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        Path file = tempDir.resolve("lookup.bin");
+        Files.write(file, data);
+        
+        MappedFileResource resource = new MappedFileResource(file.toFile());
+        
+        ByteBuffer first = resource.getByteBuffer();
+        ByteBuffer second = resource.getByteBuffer();
+        assertTrue(first.isReadOnly());
+        assertEquals(data.length, first.remaining());
+        
+        // 两个视图的position互不影响
+        first.position(100);
+        assertEquals(0, second.position());
+        assertEquals((byte) 100, first.get());
+        assertEquals((byte) 0, second.get());
+        
+        // 流方式读取结果一致
+        try (InputStream is = resource.getInputStream()) {
+            assertArrayEquals(data, is.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.litespring.test.v4;
+
+import com.litespring.core.BeanDefinition;
+import com.litespring.util.ClassUtils;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ClassUtils类解析缓存测试
+ * 
+ * @author lite-spring
+ */
+public class ClassUtilsTest {
+    
+    /**
+     * 测试：基本类型和数组写法
+     */
+    @Test
+    public void testPrimitiveAndArrayNames() throws ClassNotFoundException {
+        assertSame(int.class, ClassUtils.forName("int"));
+        assertSame(void.class, ClassUtils.forName("void"));
+        assertSame(int[].class, ClassUtils.forName("int[]"));
+        assertSame(String[][].class, ClassUtils.forName("java.lang.String[][]"));
+        assertSame(String[].class, ClassUtils.forName("[Ljava.lang.String;"));
+        assertSame(long[].class, ClassUtils.forName("[J"));
+    }
+    
+    /**
+     * 测试：成功的查找只访问类加载器一次；自定义类加载器的查找失败不缓存
+     */
+    @Test
+    public void testPositiveAndNegativeCache() throws ClassNotFoundException {
+        CountingClassLoader loader = new CountingClassLoader(getClass().getClassLoader());
+        
+        Class<?> first = ClassUtils.forName("com.litespring.test.v4.dao.UserDaoImpl", loader);
+        Class<?> second = ClassUtils.forName("com.litespring.test.v4.dao.UserDaoImpl", loader);
+        assertSame(first, second);
+        assertEquals(1, loader.count("com.litespring.test.v4.dao.UserDaoImpl"));
+        
+        // 自定义加载器之后可能找到这个类（如运行期间添加了URL），每次都重新查找
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ClassNotFoundException.class,
+                () -> ClassUtils.forName("com.example.DoesNotExist", loader));
+        }
+        assertEquals(3, loader.count("com.example.DoesNotExist"));
+        assertFalse(ClassUtils.isPresent("com.example.DoesNotExist", loader));
+        assertEquals(4, loader.count("com.example.DoesNotExist"));
+        
+        // 系统类加载器的查找失败照常缓存
+        ClassLoader system = ClassLoader.getSystemClassLoader();
+        assertFalse(ClassUtils.isPresent("com.example.DoesNotExist", system));
+        assertFalse(ClassUtils.isPresent("com.example.DoesNotExist", system));
+    }
+    
+    /**
+     * 测试：BeanDefinition缓存解析后的类
+     */
+    @Test
+    public void testBeanDefinitionMemoizesClass() throws ClassNotFoundException {
+        CountingClassLoader loader = new CountingClassLoader(getClass().getClassLoader());
+        ClassUtils.clearCache();
+        
+        BeanDefinition bd = new BeanDefinition("com.litespring.test.v4.service.UserService");
+        assertFalse(bd.hasBeanClass());
+        
+        Class<?> clazz = bd.resolveBeanClass(loader);
+        assertTrue(bd.hasBeanClass());
+        assertSame(clazz, bd.resolveBeanClass(loader));
+        
+        // 修改类名后需要重新解析
+        bd.setBeanClassName("com.litespring.test.v4.dao.UserDaoImpl");
+        assertFalse(bd.hasBeanClass());
+        assertEquals("UserDaoImpl", bd.resolveBeanClass(loader).getSimpleName());
+        
+        // 通过Class创建的定义无需解析
+        BeanDefinition typed = new BeanDefinition(String.class);
+        assertTrue(typed.hasBeanClass());
+        assertEquals("java.lang.String", typed.getBeanClassName());
+    }
+    
+    /**
+     * 记录loadClass调用次数的类加载器
+     */
+    private static class CountingClassLoader extends URLClassLoader {
+        
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+        
+        CountingClassLoader(ClassLoader parent) {
+            super(new URL[0], parent);
+        }
+        
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            counts.computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet();
+            return super.loadClass(name, resolve);
+        }
+        
+        int count(String name) {
+            AtomicInteger count = counts.get(name);
+            return count == null ? 0 : count.get();
+        }
+    }
+}
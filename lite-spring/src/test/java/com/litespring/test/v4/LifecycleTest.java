@@ -0,0 +1,310 @@
+package com.litespring.test.v4;
+
+import com.litespring.context.AnnotationConfigApplicationContext;
+import com.litespring.context.DefaultLifecycleProcessor;
+import com.litespring.context.Lifecycle;
+import com.litespring.context.SmartLifecycle;
+import com.litespring.core.BeanDefinition;
+import com.litespring.core.BeansException;
+import com.litespring.core.DefaultBeanFactory_v4;
+import com.litespring.test.v4.lifecycle.MessageConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lifecycle/SmartLifecycle分阶段启动和停止测试
+ * 
+ * @author lite-spring
+ */
+public class LifecycleTest {
+    
+    private static final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    
+    private static CyclicBarrier barrier;
+    
+    private DefaultBeanFactory_v4 factory;
+    
+    @BeforeEach
+    public void setUp() {
+        events.clear();
+        barrier = new CyclicBarrier(2);
+        factory = new DefaultBeanFactory_v4();
+    }
+    
+    /**
+     * 测试：按阶段从小到大启动，从大到小停止
+     */
+    @Test
+    public void testPhaseOrder() {
+        register("late", LatePhaseBean.class);
+        register("early", EarlyPhaseBean.class);
+        register("middle", MiddlePhaseBean.class);
+        
+        DefaultLifecycleProcessor processor = new DefaultLifecycleProcessor(factory);
+        processor.onRefresh();
+        assertTrue(processor.isRunning());
+        assertEquals(Arrays.asList("start:early", "start:middle", "start:late"), events);
+        
+        events.clear();
+        processor.onClose();
+        assertFalse(processor.isRunning());
+        assertEquals(Arrays.asList("stop:late", "stop:middle", "stop:early"), events);
+    }
+    
+    /**
+     * 测试：同一阶段的Bean并发启动和停止
+     * 两个Bean在start/stop中互相等待，只有并发执行时才能通过
+     */
+    @Test
+    public void testSamePhaseRunsConcurrently() {
+        register("first", BarrierBean.class);
+        register("second", BarrierBean.class);
+        
+        DefaultLifecycleProcessor processor = new DefaultLifecycleProcessor(factory);
+        processor.onRefresh();
+        assertTrue(((Lifecycle) factory.getBean("first")).isRunning());
+        assertTrue(((Lifecycle) factory.getBean("second")).isRunning());
+        
+        processor.onClose();
+        assertFalse(((Lifecycle) factory.getBean("first")).isRunning());
+        assertFalse(((Lifecycle) factory.getBean("second")).isRunning());
+    }
+    
+    /**
+     * 测试：阶段启动超时视为启动失败
+     */
+    @Test
+    public void testStartupTimeout() {
+        register("slow", SlowStartBean.class);
+        
+        DefaultLifecycleProcessor processor = new DefaultLifecycleProcessor(factory);
+        processor.setTimeoutPerStartupPhase(100);
+        
+        BeansException e = assertThrows(BeansException.class, processor::onRefresh);
+        assertTrue(e.getMessage().contains("slow"));
+        processor.onClose();
+    }
+    
+    /**
+     * 测试：阶段停止超时不阻塞关闭，后续阶段继续停止
+     */
+    @Test
+    public void testShutdownTimeoutContinuesWithNextPhase() {
+        register("stuck", StuckStopBean.class);
+        register("early", EarlyPhaseBean.class);
+        
+        DefaultLifecycleProcessor processor = new DefaultLifecycleProcessor(factory);
+        processor.setTimeoutPerShutdownPhase(100);
+        processor.onRefresh();
+        
+        long start = System.nanoTime();
+        processor.onClose();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        assertTrue(events.contains("stop:early"));
+    }
+    
+    /**
+     * 测试：普通Lifecycle不自动启动，显式start()时才启动
+     */
+    @Test
+    public void testPlainLifecycleStartsOnlyExplicitly() {
+        register("plain", PlainLifecycleBean.class);
+        
+        DefaultLifecycleProcessor processor = new DefaultLifecycleProcessor(factory);
+        processor.onRefresh();
+        assertFalse(((Lifecycle) factory.getBean("plain")).isRunning());
+        
+        processor.start();
+        assertTrue(((Lifecycle) factory.getBean("plain")).isRunning());
+        
+        processor.stop();
+        assertFalse(((Lifecycle) factory.getBean("plain")).isRunning());
+        processor.onClose();
+    }
+    
+    /**
+     * 测试：懒加载的SmartLifecycle也会被创建并启动
+     */
+    @Test
+    public void testLazySmartLifecycleIsStarted() {
+        register("early", EarlyPhaseBean.class).setLazyInit(true);
+        
+        DefaultLifecycleProcessor processor = new DefaultLifecycleProcessor(factory);
+        processor.onRefresh();
+        assertTrue(factory.containsSingleton("early"));
+        assertEquals(Collections.singletonList("start:early"), events);
+        processor.onClose();
+    }
+    
+    /**
+     * 测试：容器刷新后自动启动，关闭时停止
+     */
+    @Test
+    public void testContextDrivesLifecycle() {
+        AnnotationConfigApplicationContext ctx =
+            new AnnotationConfigApplicationContext("com.litespring.test.v4.lifecycle");
+        MessageConsumer consumer = ctx.getBean(MessageConsumer.class);
+        
+        assertTrue(ctx.isRunning());
+        assertTrue(consumer.isRunning());
+        
+        // 已经在运行的组件不会被重复启动
+        ctx.start();
+        assertEquals(1, consumer.getStartCount());
+        
+        ctx.close();
+        assertFalse(consumer.isRunning());
+    }
+    
+    private BeanDefinition register(String beanName, Class<?> beanClass) {
+        BeanDefinition bd = new BeanDefinition(beanClass);
+        factory.registerBeanDefinition(beanName, bd);
+        return bd;
+    }
+    
+    // ==================== 测试用Bean ====================
+    
+    public abstract static class RecordingBean implements SmartLifecycle {
+        
+        private volatile boolean running;
+        
+        protected abstract String name();
+        
+        @Override
+        public void start() {
+            events.add("start:" + name());
+            running = true;
+        }
+        
+        @Override
+        public void stop() {
+            events.add("stop:" + name());
+            running = false;
+        }
+        
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+    }
+    
+    public static class EarlyPhaseBean extends RecordingBean {
+        @Override
+        protected String name() {
+            return "early";
+        }
+        
+        @Override
+        public int getPhase() {
+            return -10;
+        }
+    }
+    
+    public static class MiddlePhaseBean extends RecordingBean {
+        @Override
+        protected String name() {
+            return "middle";
+        }
+        
+        @Override
+        public int getPhase() {
+            return 0;
+        }
+    }
+    
+    public static class LatePhaseBean extends RecordingBean {
+        @Override
+        protected String name() {
+            return "late";
+        }
+    }
+    
+    public static class BarrierBean implements SmartLifecycle {
+        
+        private volatile boolean running;
+        
+        @Override
+        public void start() {
+            await();
+            running = true;
+        }
+        
+        @Override
+        public void stop() {
+            await();
+            running = false;
+        }
+        
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+        
+        private void await() {
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException("同一阶段的Bean没有并发执行", e);
+            }
+        }
+    }
+    
+    public static class SlowStartBean extends RecordingBean {
+        @Override
+        protected String name() {
+            return "slow";
+        }
+        
+        @Override
+        public void start() {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            super.start();
+        }
+    }
+    
+    public static class StuckStopBean extends RecordingBean {
+        @Override
+        protected String name() {
+            return "stuck";
+        }
+        
+        @Override
+        public void stop(Runnable callback) {
+            // 模拟一直排空不完，永远不回调
+        }
+    }
+    
+    public static class PlainLifecycleBean implements Lifecycle {
+        
+        private volatile boolean running;
+        
+        @Override
+        public void start() {
+            running = true;
+        }
+        
+        @Override
+        public void stop() {
+            running = false;
+        }
+        
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+    }
+}
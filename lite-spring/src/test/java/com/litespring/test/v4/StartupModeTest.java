@@ -0,0 +1,133 @@
+package com.litespring.test.v4;
+
+import com.litespring.context.AnnotationConfigApplicationContext;
+import com.litespring.context.StartupMode;
+import com.litespring.core.DefaultBeanFactory_v4;
+import com.litespring.test.v4.config.AppConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 启动模式测试（记录热点Bean、按记录懒加载、检查模式）
+ * 
+ * @author lite-spring
+ */
+public class StartupModeTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(AnnotationConfigApplicationContext.STARTUP_MODE_PROPERTY);
+        System.clearProperty(AnnotationConfigApplicationContext.USAGE_PROFILE_PROPERTY);
+        System.clearProperty(AnnotationConfigApplicationContext.WARMUP_PROPERTY);
+    }
+    
+    /**
+     * 测试：记录模式不提前实例化，关闭时保存实际使用的Bean
+     */
+    @Test
+    public void testRecordMode() throws Exception {
+        Path profile = configure(StartupMode.RECORD);
+        
+        AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class);
+        DefaultBeanFactory_v4 factory = ctx.getBeanFactory();
+        assertEquals(StartupMode.RECORD, ctx.getStartupMode());
+        assertFalse(factory.containsSingleton("userService"));
+        
+        ctx.getBean("userService");
+        ctx.close();
+        
+        List<String> lines = Files.readAllLines(profile, StandardCharsets.UTF_8);
+        assertTrue(lines.contains("userService"));
+        assertTrue(lines.contains("userDaoImpl"));  // 依赖注入触发的请求也会记录
+        assertFalse(lines.contains("appConfig"));
+    }
+    
+    /**
+     * 测试：学习模式只提前实例化热点Bean
+     */
+    @Test
+    public void testLearnedMode() throws Exception {
+        Path profile = configure(StartupMode.LEARNED);
+        Files.write(profile, "# test\nuserService\nuserDaoImpl\n".getBytes(StandardCharsets.UTF_8));
+        
+        AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class);
+        DefaultBeanFactory_v4 factory = ctx.getBeanFactory();
+        
+        assertTrue(factory.containsSingleton("userService"));
+        assertTrue(factory.containsSingleton("userDaoImpl"));
+        assertFalse(factory.containsSingleton("appConfig"));
+        assertTrue(factory.getBeanDefinition("appConfig").isLazyInit());
+        
+        // 冷Bean仍然可以按需获取
+        assertNotNull(ctx.getBean("appConfig"));
+        assertTrue(factory.containsSingleton("appConfig"));
+        
+        ctx.close();
+    }
+    
+    /**
+     * 测试：学习模式下后台预热其余单例
+     */
+    @Test
+    public void testLearnedModeWithBackgroundWarmup() throws Exception {
+        Path profile = configure(StartupMode.LEARNED);
+        System.setProperty(AnnotationConfigApplicationContext.WARMUP_PROPERTY, "true");
+        Files.write(profile, "userService\n".getBytes(StandardCharsets.UTF_8));
+        
+        AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class);
+        DefaultBeanFactory_v4 factory = ctx.getBeanFactory();
+        
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!factory.containsSingleton("appConfig") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(factory.containsSingleton("appConfig"));
+        
+        ctx.close();
+    }
+    
+    /**
+     * 测试：没有记录文件时学习模式按默认方式启动
+     */
+    @Test
+    public void testLearnedModeWithoutProfile() {
+        configure(StartupMode.LEARNED);
+        
+        AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class);
+        assertTrue(ctx.getBeanFactory().containsSingleton("appConfig"));
+        ctx.close();
+    }
+    
+    /**
+     * 测试：检查模式实例化所有单例（包括懒加载的）
+     */
+    @Test
+    public void testCheckMode() {
+        configure(StartupMode.CHECK);
+        
+        AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class);
+        DefaultBeanFactory_v4 factory = ctx.getBeanFactory();
+        for (String beanName : factory.getBeanDefinitionNames()) {
+            assertTrue(factory.containsSingleton(beanName), beanName);
+        }
+        ctx.close();
+    }
+    
+    private Path configure(StartupMode mode) {
+        Path profile = tempDir.resolve("usage.beans");
+        System.setProperty(AnnotationConfigApplicationContext.STARTUP_MODE_PROPERTY, mode.name().toLowerCase());
+        System.setProperty(AnnotationConfigApplicationContext.USAGE_PROFILE_PROPERTY, profile.toString());
+        return profile;
+    }
+}
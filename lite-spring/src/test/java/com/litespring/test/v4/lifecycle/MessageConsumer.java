@@ -0,0 +1,43 @@
+package com.litespring.test.v4.lifecycle;
+
+import com.litespring.annotation.Component;
+import com.litespring.context.SmartLifecycle;
+
+/**
+ * 模拟消息消费者
+ * 容器就绪后开始消费，关闭时先停止消费再销毁
+ * 
+ * @author lite-spring
+ */
+@Component
+public class MessageConsumer implements SmartLifecycle {
+    
+    private volatile boolean running = false;
+    
+    private int startCount = 0;
+    
+    @Override
+    public void start() {
+        startCount++;
+        running = true;
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    @Override
+    public int getPhase() {
+        return 100;
+    }
+    
+    public int getStartCount() {
+        return startCount;
+    }
+}
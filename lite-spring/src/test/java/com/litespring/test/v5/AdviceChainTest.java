@@ -0,0 +1,122 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.*;
+import com.litespring.test.v5.service.OrderService;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 静态通知链（只有前置/返回后通知）测试
+ * 
+ * @author lite-spring
+ */
+public class AdviceChainTest {
+    
+    /**
+     * 测试：静态执行与逐个proceed()的执行顺序一致
+     */
+    @Test
+    public void testStaticExecutionOrderMatchesInvocation() throws Throwable {
+        List<String> calls = new ArrayList<>();
+        Object[] interceptors = {
+            after("after1", calls), before("before1", calls), after("after2", calls), before("before2", calls)
+        };
+        Method method = Greeter.class.getMethod("greet");
+        Greeter target = () -> {
+            calls.add("target");
+            return "hi";
+        };
+        
+        new ReflectiveMethodInvocation(target, method, null, interceptors).proceed();
+        List<String> expected = new ArrayList<>(calls);
+        calls.clear();
+        
+        AdviceChain chain = AdviceChain.of(interceptors);
+        assertTrue(chain.isStatic());
+        chain.invokeBefore(method, null, target);
+        Object returnValue = target.greet();
+        chain.invokeAfterReturning(returnValue, method, null, target);
+        
+        assertEquals(expected, calls);
+        assertEquals(Arrays.asList("before1", "before2", "target", "after2:hi", "after1:hi"), calls);
+    }
+    
+    /**
+     * 测试：链中有MethodInterceptor时不是静态链
+     */
+    @Test
+    public void testChainWithInterceptorIsNotStatic() {
+        List<String> calls = new ArrayList<>();
+        AdviceChain chain = AdviceChain.of(new Object[] {
+            before("before", calls), (MethodInterceptor) MethodInvocation::proceed
+        });
+        assertFalse(chain.isStatic());
+        assertTrue(AdviceChain.of(new Object[0]).isEmpty());
+    }
+    
+    /**
+     * 测试：代理使用静态链，前置通知异常阻止目标方法执行
+     */
+    @Test
+    public void testProxyWithStaticChain() {
+        List<String> calls = new ArrayList<>();
+        Greeter target = () -> {
+            calls.add("target");
+            return "hi";
+        };
+        Greeter proxy = (Greeter) createProxy(target, before("before", calls), after("after", calls));
+        
+        assertEquals("hi", proxy.greet());
+        assertEquals(Arrays.asList("before", "target", "after:hi"), calls);
+        
+        calls.clear();
+        MethodBeforeAdvice failing = (method, args, t) -> {
+            throw new IllegalStateException("拒绝调用");
+        };
+        Greeter rejecting = (Greeter) createProxy(target, failing, after("after", calls));
+        assertThrows(IllegalStateException.class, rejecting::greet);
+        assertTrue(calls.isEmpty());
+    }
+    
+    /**
+     * 测试：静态通知链每次调用不分配对象（JDK代理和子类代理）
+     */
+    @Test
+    public void testStaticChainDoesNotAllocate() {
+        MethodBeforeAdvice before = (method, args, target) -> { };
+        AfterReturningAdvice after = (returnValue, method, args, target) -> { };
+        
+        Greeter jdkProxy = (Greeter) createProxy((Greeter) () -> "hi", before, after);
+        assertEquals(0, AllocationMeter.allocatedBytesPerCall(jdkProxy::greet));
+        
+        OrderService subclassProxy = (OrderService) createProxy(new OrderService(), before, after);
+        assertEquals(0, AllocationMeter.allocatedBytesPerCall(subclassProxy::getOrderCount));
+    }
+    
+    private Object createProxy(Object target, Advice... advices) {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(target);
+        for (Advice advice : advices) {
+            proxyFactory.addAdvisor(new DefaultPointcutAdvisor((method, targetClass) -> true, advice));
+        }
+        return proxyFactory.getProxy();
+    }
+    
+    private MethodBeforeAdvice before(String name, List<String> calls) {
+        return (method, args, target) -> calls.add(name);
+    }
+    
+    private AfterReturningAdvice after(String name, List<String> calls) {
+        return (returnValue, method, args, target) -> calls.add(name + ":" + returnValue);
+    }
+    
+    public interface Greeter {
+        String greet();
+    }
+}
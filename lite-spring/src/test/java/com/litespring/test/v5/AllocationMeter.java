@@ -0,0 +1,50 @@
+package com.litespring.test.v5;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 测量当前线程每次调用分配的字节数，供"不分配内存"类的测试共用
+ * 
+ * @author lite-spring
+ */
+final class AllocationMeter {
+    
+    private static final int CALLS = 20_000;
+    private static final int ROUNDS = 20;
+    
+    private AllocationMeter() {
+    }
+    
+    /**
+     * 重复执行call，返回每次调用分配的字节数
+     * 多轮测量取最小值，等待JIT编译并排除偶发分配（如类加载、统计本身）；JVM不支持线程分配统计时跳过测试
+     */
+    static long allocatedBytesPerCall(Runnable call) {
+        com.sun.management.ThreadMXBean threadBean = threadMXBean();
+        assumeTrue(threadBean != null, "JVM不支持线程分配统计");
+        long threadId = Thread.currentThread().getId();
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS && best > 0; round++) {
+            long start = threadBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < CALLS; i++) {
+                call.run();
+            }
+            long allocated = threadBean.getThreadAllocatedBytes(threadId) - start;
+            best = Math.min(best, allocated / CALLS);
+        }
+        return best;
+    }
+    
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+            if (threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled()) {
+                return threadBean;
+            }
+        }
+        return null;
+    }
+}
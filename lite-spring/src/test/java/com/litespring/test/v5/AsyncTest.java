@@ -0,0 +1,150 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.DefaultAdvisorAutoProxyCreator;
+import com.litespring.aop.SubclassProxy;
+import com.litespring.aop.interceptor.AsyncAnnotationAdvisor;
+import com.litespring.core.BeanDefinition;
+import com.litespring.core.DefaultBeanFactory_v4;
+import com.litespring.scheduling.ThreadPoolTaskExecutor;
+import com.litespring.scheduling.VirtualThreadTaskExecutor;
+import com.litespring.test.v5.service.MailService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * &#64;Async异步执行测试
+ * 
+ * @author lite-spring
+ */
+public class AsyncTest {
+    
+    private DefaultBeanFactory_v4 factory;
+    
+    private MailService mailService;
+    
+    @BeforeEach
+    public void setUp() {
+        factory = new DefaultBeanFactory_v4();
+        factory.registerBeanDefinition("mailService", new BeanDefinition(MailService.class));
+        factory.registerBeanDefinition("taskExecutor", new BeanDefinition(ThreadPoolTaskExecutor.class));
+        
+        BeanDefinition small = new BeanDefinition(ThreadPoolTaskExecutor.class);
+        small.getPropertyValues().addPropertyValue("corePoolSize", "1");
+        small.getPropertyValues().addPropertyValue("queueCapacity", "1");
+        factory.registerBeanDefinition("smallExecutor", small);
+        
+        factory.registerBeanDefinition("asyncAdvisor", new BeanDefinition(AsyncAnnotationAdvisor.class));
+        
+        DefaultAdvisorAutoProxyCreator autoProxyCreator = new DefaultAdvisorAutoProxyCreator();
+        autoProxyCreator.setBeanFactory(factory);
+        factory.addBeanPostProcessor(autoProxyCreator);
+        
+        mailService = (MailService) factory.getBean("mailService");
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        factory.close();
+    }
+    
+    /**
+     * 测试：void方法在执行器线程中执行，调用方立即返回
+     */
+    @Test
+    public void testVoidMethodRunsOnExecutor() throws Exception {
+        assertTrue(mailService instanceof SubclassProxy);
+        
+        mailService.send("tom@example.com");
+        assertTrue(mailService.awaitSent(5));
+        assertTrue(mailService.getSentBy().get(0).startsWith("taskExecutor-"));
+        
+        // 没有@Async的方法同步执行
+        assertEquals(Thread.currentThread().getName(), mailService.currentThread());
+    }
+    
+    /**
+     * 测试：返回Future的方法得到异步结果，异常通过Future传递
+     */
+    @Test
+    public void testFutureResultAndException() throws Exception {
+        CompletableFuture<String> rendered = mailService.render("welcome");
+        assertTrue(rendered.get(5, TimeUnit.SECONDS).startsWith("welcome@taskExecutor-"));
+        
+        Future<String> failed = mailService.fail("boom");
+        ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+        assertEquals("boom", e.getCause().getMessage());
+    }
+    
+    /**
+     * 测试：指定执行器，队列满时立即拒绝，并记录队列深度和拒绝次数
+     */
+    @Test
+    public void testNamedBoundedExecutorRejects() throws Exception {
+        ThreadPoolTaskExecutor small = (ThreadPoolTaskExecutor) factory.getBean("smallExecutor");
+        CountDownLatch release = new CountDownLatch(1);
+        mailService.setRelease(release);
+        
+        Future<String> running = mailService.await();
+        Conditions.waitUntil(() -> small.getActiveCount() == 1);
+        Future<String> queued = mailService.await();
+        assertEquals(1, small.getQueueDepth());
+        
+        assertThrows(RejectedExecutionException.class, () -> mailService.await());
+        assertEquals(1, small.getRejectedCount());
+        assertEquals(3, small.getSubmittedCount());
+        
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS).startsWith("smallExecutor-"));
+        assertTrue(queued.get(5, TimeUnit.SECONDS).startsWith("smallExecutor-"));
+        assertEquals(0, small.getQueueDepth());
+    }
+    
+    /**
+     * 测试：虚拟线程执行器（低于Java 21时不可用）
+     */
+    @Test
+    public void testVirtualThreadExecutor() throws Exception {
+        if (!VirtualThreadTaskExecutor.isSupported()) {
+            assertThrows(IllegalStateException.class, VirtualThreadTaskExecutor::new);
+            return;
+        }
+        
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+        executor.setConcurrencyLimit(1);
+        // 显式设置的线程名前缀不会被Bean名称覆盖
+        executor.setThreadNamePrefix("io-");
+        executor.setBeanName("ioExecutor");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> threadName = new AtomicReference<>();
+        executor.execute(() -> {
+            threadName.set(Thread.currentThread().getName());
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertEquals(1, executor.getRejectedCount());
+        
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(threadName.get().startsWith("io-"), threadName.get());
+        executor.destroy();
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+    }
+}
@@ -0,0 +1,150 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.*;
+import com.litespring.core.BeanDefinition;
+import com.litespring.core.DefaultBeanFactory_v4;
+import com.litespring.test.v5.service.OrderService;
+import com.litespring.test.v5.service.UserService;
+import com.litespring.test.v5.service.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 自动代理缓存测试
+ * 
+ * @author lite-spring
+ */
+public class AutoProxyCacheTest {
+    
+    private CountingBeanFactory factory;
+    
+    @BeforeEach
+    public void setUp() {
+        CountingAdvisor.matchCount.set(0);
+        CountingAdvisor.calls.clear();
+        
+        factory = new CountingBeanFactory();
+        
+        BeanDefinition userService = new BeanDefinition(UserServiceImpl.class);
+        userService.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        factory.registerBeanDefinition("userService", userService);
+        
+        BeanDefinition orderService = new BeanDefinition(OrderService.class);
+        orderService.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        factory.registerBeanDefinition("orderService", orderService);
+        
+        factory.registerBeanDefinition("countingAdvisor", new BeanDefinition(CountingAdvisor.class));
+        
+        DefaultAdvisorAutoProxyCreator autoProxyCreator = new DefaultAdvisorAutoProxyCreator();
+        autoProxyCreator.setBeanFactory(factory);
+        factory.addBeanPostProcessor(autoProxyCreator);
+    }
+    
+    /**
+     * 测试：原型Bean重复创建时不再扫描容器和匹配切点
+     */
+    @Test
+    public void testPrototypeProxyCreationUsesCache() {
+        UserService first = (UserService) factory.getBean("userService");
+        assertTrue(Proxy.isProxyClass(first.getClass()));
+        first.saveUser("Tom");
+        
+        int lookups = factory.beansOfTypeCalls.get();
+        int matches = CountingAdvisor.matchCount.get();
+        
+        for (int i = 0; i < 20; i++) {
+            UserService proxy = (UserService) factory.getBean("userService");
+            assertNotSame(first, proxy);
+            proxy.saveUser("user" + i);
+            proxy.findUser(i);
+        }
+        
+        assertEquals(lookups, factory.beansOfTypeCalls.get());
+        // saveUser的通知链已由第一个代理计算，之后只有findUser第一次调用时匹配一次
+        assertEquals(matches + 1, CountingAdvisor.matchCount.get());
+        assertEquals(21, CountingAdvisor.calls.size());
+    }
+    
+    /**
+     * 测试：不匹配的类的结果同样被缓存
+     */
+    @Test
+    public void testIneligibleClassCached() {
+        factory.getBean("userService");
+        int matches = CountingAdvisor.matchCount.get();
+        
+        Object order = factory.getBean("orderService");
+        assertFalse(order instanceof SubclassProxy);
+        int afterFirstOrder = CountingAdvisor.matchCount.get();
+        assertTrue(afterFirstOrder > matches);
+        
+        for (int i = 0; i < 5; i++) {
+            assertFalse(factory.getBean("orderService") instanceof SubclassProxy);
+        }
+        assertEquals(afterFirstOrder, CountingAdvisor.matchCount.get());
+    }
+    
+    /**
+     * 测试：注册新的Advisor定义后缓存失效
+     */
+    @Test
+    public void testNewAdvisorDefinitionInvalidatesCache() {
+        UserService before = (UserService) factory.getBean("userService");
+        before.saveUser("Tom");
+        assertEquals(1, CountingAdvisor.calls.size());
+        
+        factory.registerBeanDefinition("secondAdvisor", new BeanDefinition(CountingAdvisor.class));
+        
+        UserService after = (UserService) factory.getBean("userService");
+        after.saveUser("Jerry");
+        assertEquals(3, CountingAdvisor.calls.size());
+    }
+    
+    /**
+     * 记录getBeansOfType调用次数的Bean工厂
+     */
+    private static class CountingBeanFactory extends DefaultBeanFactory_v4 {
+        
+        final AtomicInteger beansOfTypeCalls = new AtomicInteger();
+        
+        @Override
+        public <T> Map<String, T> getBeansOfType(Class<T> type) {
+            beansOfTypeCalls.incrementAndGet();
+            return super.getBeansOfType(type);
+        }
+    }
+    
+    /**
+     * 匹配saveUser方法的Advisor，记录切点匹配次数和通知执行
+     */
+    public static class CountingAdvisor implements PointcutAdvisor {
+        
+        static final AtomicInteger matchCount = new AtomicInteger();
+        static final List<String> calls = new ArrayList<>();
+        
+        private final Pointcut pointcut = (method, targetClass) -> {
+            matchCount.incrementAndGet();
+            return method.getName().equals("saveUser");
+        };
+        
+        private final MethodBeforeAdvice advice = (method, args, target) -> calls.add(method.getName());
+        
+        @Override
+        public Pointcut getPointcut() {
+            return pointcut;
+        }
+        
+        @Override
+        public Advice getAdvice() {
+            return advice;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.ProxyFactory;
+import com.litespring.aop.interceptor.BulkheadAnnotationAdvisor;
+import com.litespring.resilience.AdaptiveConcurrencyLimiter;
+import com.litespring.resilience.BulkheadFullException;
+import com.litespring.resilience.ConcurrencyLimiter;
+import com.litespring.test.v5.service.InventoryService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 舱壁和并发限制测试
+ * 
+ * @author lite-spring
+ */
+public class BulkheadTest {
+    
+    /**
+     * 测试：达到上限立即拒绝，释放后可以再次获取
+     */
+    @Test
+    public void testFixedLimiter() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 2);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getRejectedCount());
+        
+        limiter.release(0);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(3, limiter.getAcceptedCount());
+    }
+    
+    /**
+     * 测试：等待中的线程在许可释放后被唤醒
+     */
+    @Test
+    public void testAcquireWaitsForRelease() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1);
+        assertTrue(limiter.tryAcquire());
+        
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> waiting = executor.submit(() -> limiter.acquire(TimeUnit.SECONDS.toNanos(5)));
+            Thread.sleep(50);
+            assertFalse(waiting.isDone());
+            
+            limiter.release(0);
+            assertTrue(waiting.get(5, TimeUnit.SECONDS));
+            assertEquals(1, limiter.getInFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertFalse(limiter.acquire(TimeUnit.MILLISECONDS.toNanos(20)));
+        assertEquals(1, limiter.getRejectedCount());
+    }
+    
+    /**
+     * 测试：连续释放多个许可时每个等待的线程都被唤醒，不会等到超时才被拒绝
+     */
+    @Test
+    public void testConsecutiveReleasesWakeAllWaiters() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 8);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> waiting = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                waiting.add(executor.submit(() -> limiter.acquire(TimeUnit.SECONDS.toNanos(10))));
+            }
+            Thread.sleep(100);
+            
+            long start = System.nanoTime();
+            for (int i = 0; i < 8; i++) {
+                limiter.release(0);
+            }
+            for (Future<Boolean> future : waiting) {
+                assertTrue(future.get(10, TimeUnit.SECONDS));
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            assertEquals(8, limiter.getInFlight());
+            assertEquals(0, limiter.getRejectedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * 测试：自适应限制器在延迟超过阈值时降低上限，恢复后逐步提高
+     */
+    @Test
+    public void testAdaptiveLimiter() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            "adaptive", 2, 20, 100, TimeUnit.MILLISECONDS);
+        assertEquals(20, limiter.getLimit());
+        
+        long slow = TimeUnit.MILLISECONDS.toNanos(500);
+        for (int i = 0; i < 30; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(slow);
+        }
+        assertEquals(2, limiter.getLimit());
+        
+        // 并发数用满上限且延迟正常时逐个提高
+        long fast = TimeUnit.MILLISECONDS.toNanos(1);
+        for (int round = 0; round < 3; round++) {
+            int limit = limiter.getLimit();
+            for (int i = 0; i < limit; i++) {
+                assertTrue(limiter.tryAcquire());
+            }
+            for (int i = 0; i < limit; i++) {
+                limiter.release(fast);
+            }
+        }
+        assertTrue(limiter.getLimit() > 2);
+        assertTrue(limiter.getLimit() <= 20);
+    }
+    
+    /**
+     * 测试：通过代理使用@Bulkhead，超过并发数的调用被快速拒绝
+     */
+    @Test
+    public void testBulkheadInterceptor() throws Exception {
+        InventoryService target = new InventoryService();
+        BulkheadAnnotationAdvisor advisor = new BulkheadAnnotationAdvisor();
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(target);
+        proxyFactory.addAdvisor(advisor);
+        InventoryService proxy = (InventoryService) proxyFactory.getProxy();
+        
+        CountDownLatch release = new CountDownLatch(1);
+        proxy.setRelease(release);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executor.submit(() -> proxy.reserve("apple"));
+            ConcurrencyLimiter limiter = advisor.getInterceptor().getLimiter(
+                InventoryService.class.getMethod("reserve", String.class), InventoryService.class);
+            Conditions.waitUntil(() -> limiter.getInFlight() == 1);
+            
+            BulkheadFullException e = assertThrows(BulkheadFullException.class, () -> proxy.reserve("pear"));
+            assertEquals(1, e.getLimit());
+            assertEquals(1, limiter.getRejectedCount());
+            
+            // 不同方法各自计数
+            Future<Integer> other = executor.submit(() -> proxy.reserveWaiting("kiwi"));
+            
+            release.countDown();
+            assertEquals(5, first.get(5, TimeUnit.SECONDS));
+            assertEquals(4, other.get(5, TimeUnit.SECONDS));
+            assertEquals(0, limiter.getInFlight());
+            assertEquals(4, proxy.reserve("plum"));
+            assertEquals(2, advisor.getInterceptor().getLimiters().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.DefaultPointcutAdvisor;
+import com.litespring.aop.MethodInterceptor;
+import com.litespring.aop.MethodInvocation;
+import com.litespring.aop.ProxyFactory;
+import com.litespring.aop.cache.Cache;
+import com.litespring.aop.cache.CacheStats;
+import com.litespring.aop.cache.ConcurrentMapCacheManager;
+import com.litespring.aop.interceptor.CacheAnnotationAdvisor;
+import com.litespring.aop.interceptor.CacheInterceptor;
+import com.litespring.test.v5.service.ReferenceDataService;
+import com.litespring.test.v5.service.RegionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 缓存注解测试
+ * 
+ * @author lite-spring
+ */
+public class CacheTest {
+    
+    private ReferenceDataService proxy;
+    private CacheInterceptor interceptor;
+    
+    @BeforeEach
+    public void setUp() {
+        CacheAnnotationAdvisor advisor = new CacheAnnotationAdvisor();
+        interceptor = advisor.getInterceptor();
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new ReferenceDataService());
+        proxyFactory.addAdvisor(advisor);
+        proxy = (ReferenceDataService) proxyFactory.getProxy();
+    }
+    
+    /**
+     * 测试：命中时不执行方法，null值也被缓存，统计命中/未命中/加载
+     */
+    @Test
+    public void testCacheable() {
+        assertEquals("China", proxy.country("CN"));
+        assertEquals("China", proxy.country("CN"));
+        assertNull(proxy.country("XX"));
+        assertNull(proxy.country("XX"));
+        assertEquals(2, proxy.getLoads());
+        
+        CacheStats stats = cache("countries").getStats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(0.5, stats.getHitRate());
+        assertEquals(2, stats.getLoadSuccessCount());
+        assertTrue(stats.getTotalLoadTime() > 0);
+        assertTrue(stats.getAverageLoadPenalty() > 0);
+        
+        // 未指定名称时使用"类名.方法名"
+        assertEquals(2000, proxy.population(2));
+        assertEquals(2000, proxy.population(2));
+        assertEquals(3, proxy.getLoads());
+        assertEquals(1, cache("ReferenceDataService.population").getStats().getHitCount());
+    }
+    
+    /**
+     * 测试：方法抛出异常时不缓存，记录加载失败
+     */
+    @Test
+    public void testExceptionIsNotCached() {
+        assertThrows(IllegalArgumentException.class, () -> proxy.country(""));
+        assertThrows(IllegalArgumentException.class, () -> proxy.country(""));
+        assertEquals(2, proxy.getLoads());
+        assertEquals(2, cache("countries").getStats().getLoadFailureCount());
+        assertNull(cache("countries").get(""));
+    }
+    
+    /**
+     * 测试：keyArgs只用部分参数计算键，单个参数直接作为键
+     */
+    @Test
+    public void testKeyArgs() {
+        assertEquals(4.5, proxy.rate("USD", 1));
+        assertEquals(4.5, proxy.rate("USD", 2));
+        assertEquals(1, proxy.getLoads());
+        
+        Cache.ValueWrapper cached = cache("rates").get("USD");
+        assertNotNull(cached);
+        assertEquals(4.5, cached.get());
+    }
+    
+    /**
+     * 测试：@CachePut更新缓存，@CacheEvict按键移除或清空
+     */
+    @Test
+    public void testPutAndEvict() {
+        assertEquals("France", proxy.country("FR"));
+        assertEquals("French Republic", proxy.updateCountry("FR", "French Republic"));
+        assertEquals("French Republic", proxy.country("FR"));
+        assertEquals(1, proxy.getLoads());
+        
+        proxy.removeCountry("FR");
+        assertNull(proxy.country("FR"));
+        assertEquals(2, proxy.getLoads());
+        
+        proxy.country("CN");
+        proxy.rate("EUR", 1);
+        assertEquals(4, proxy.getLoads());
+        proxy.reload();
+        proxy.country("CN");
+        proxy.rate("EUR", 1);
+        assertEquals(6, proxy.getLoads());
+    }
+    
+    /**
+     * 测试：固定了名称的缓存管理器拒绝未知的缓存
+     */
+    @Test
+    public void testStaticCacheManager() {
+        interceptor.setCacheManager(new ConcurrentMapCacheManager("countries"));
+        assertEquals("China", proxy.country("CN"));
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> proxy.rate("USD", 1));
+        assertTrue(ex.getMessage().contains("rates"));
+        assertEquals(1, interceptor.getCacheManager().getCacheNames().size());
+    }
+    
+    /**
+     * 测试：@Cacheable方法调用另一个使用同一个缓存的@Cacheable方法
+     */
+    @Test
+    public void testNestedCacheable() {
+        RegionService countries = (RegionService) createProxy(new RegionService());
+        RegionService regionTarget = new RegionService();
+        regionTarget.setCountries(countries);
+        RegionService regions = (RegionService) createProxy(regionTarget);
+        
+        for (int id = 0; id < 200; id++) {
+            assertEquals("R" + id + "/c" + id, regions.region(id));
+        }
+        for (int id = 0; id < 200; id++) {
+            assertEquals("R" + id + "/c" + id, regions.region(id));
+            assertEquals("c" + id, countries.country("C" + id));
+        }
+        assertEquals(200, regionTarget.getLoads());
+        assertEquals(200, countries.getLoads());
+    }
+    
+    /**
+     * 测试：命中时缓存拦截器不比直接放行的拦截器多分配内存
+     */
+    @Test
+    public void testCacheHitDoesNotAllocate() {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new ReferenceDataService());
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(
+            (method, targetClass) -> true, (MethodInterceptor) MethodInvocation::proceed));
+        ReferenceDataService passThrough = (ReferenceDataService) proxyFactory.getProxy();
+        
+        proxy.country("CN");
+        long baseline = AllocationMeter.allocatedBytesPerCall(() -> passThrough.country("CN"));
+        long hit = AllocationMeter.allocatedBytesPerCall(() -> proxy.country("CN"));
+        assertEquals(baseline, hit);
+    }
+    
+    private Object createProxy(Object target) {
+        CacheAnnotationAdvisor advisor = new CacheAnnotationAdvisor();
+        advisor.getInterceptor().setCacheManager(interceptor.getCacheManager());
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(target);
+        proxyFactory.addAdvisor(advisor);
+        return proxyFactory.getProxy();
+    }
+    
+    private Cache cache(String name) {
+        return interceptor.getCacheManager().getCache(name);
+    }
+}
@@ -0,0 +1,226 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.ProxyFactory;
+import com.litespring.aop.interceptor.CircuitBreakerAnnotationAdvisor;
+import com.litespring.resilience.CallNotPermittedException;
+import com.litespring.resilience.CircuitBreaker;
+import com.litespring.resilience.CircuitBreaker.State;
+import com.litespring.resilience.CircuitBreakerConfig;
+import com.litespring.test.v5.service.QuoteService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 熔断器测试
+ * 
+ * @author lite-spring
+ */
+public class CircuitBreakerTest {
+    
+    /**
+     * 测试：失败率达到阈值后打开，等待后半开，试探成功后关闭
+     */
+    @Test
+    public void testStateMachine() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("test", config(10, 4, 50));
+        List<String> transitions = Collections.synchronizedList(new ArrayList<>());
+        breaker.addListener((cb, from, to) -> transitions.add(from + "->" + to));
+        
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onError(0);
+        }
+        // 调用数不足最少调用数，不计算失败率
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(-1, breaker.getFailureRate());
+        
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess(0);
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(1, breaker.getNotPermittedCount());
+        
+        Thread.sleep(80);
+        // 半开状态只放行2次试探调用
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        breaker.onSuccess(0);
+        breaker.onSuccess(0);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getNumberOfBufferedCalls());
+        
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+    
+    /**
+     * 测试：半开状态的试探调用失败后重新打开
+     */
+    @Test
+    public void testHalfOpenFailureReopens() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("test", config(10, 2, 50));
+        breaker.transitionToOpenState();
+        Thread.sleep(80);
+        
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess(0);
+        breaker.onError(0);
+        assertEquals(State.OPEN, breaker.getState());
+        
+        breaker.reset();
+        assertEquals(State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+    
+    /**
+     * 测试：滑动窗口只统计最近的调用，旧结果被覆盖
+     */
+    @Test
+    public void testSlidingWindow() {
+        CircuitBreaker breaker = new CircuitBreaker("test", config(4, 4, 60));
+        breaker.onError(0);
+        breaker.onError(0);
+        breaker.onSuccess(0);
+        breaker.onSuccess(0);
+        assertEquals(50f, breaker.getFailureRate());
+        
+        breaker.onSuccess(0);
+        breaker.onSuccess(0);
+        assertEquals(0f, breaker.getFailureRate());
+        assertEquals(4, breaker.getNumberOfBufferedCalls());
+        
+        breaker.onError(0);
+        breaker.onError(0);
+        assertEquals(State.CLOSED, breaker.getState());
+        breaker.onError(0);
+        assertEquals(State.OPEN, breaker.getState());
+    }
+    
+    /**
+     * 测试：慢调用率达到阈值后打开
+     */
+    @Test
+    public void testSlowCallRate() {
+        CircuitBreakerConfig config = config(10, 4, 100);
+        config.setSlowCallRateThreshold(50);
+        config.setSlowCallDuration(100, TimeUnit.MILLISECONDS);
+        CircuitBreaker breaker = new CircuitBreaker("slow", config);
+        
+        long slow = TimeUnit.MILLISECONDS.toNanos(200);
+        breaker.onSuccess(slow);
+        breaker.onSuccess(0);
+        breaker.onSuccess(0);
+        assertEquals(State.CLOSED, breaker.getState());
+        breaker.onSuccess(slow);
+        assertEquals(State.OPEN, breaker.getState());
+    }
+    
+    /**
+     * 测试：多线程并发记录后计数一致
+     */
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("concurrent", config(1000, 1000, 100));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        if (breaker.tryAcquirePermission()) {
+                            breaker.onSuccess(0);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(1000, breaker.getNumberOfBufferedCalls());
+        assertEquals(0f, breaker.getFailureRate());
+    }
+    
+    /**
+     * 测试：通过代理使用@CircuitBreaker，打开后不再调用下游，执行降级方法或快速失败
+     */
+    @Test
+    public void testCircuitBreakerInterceptor() throws Exception {
+        QuoteService target = new QuoteService();
+        CircuitBreakerAnnotationAdvisor advisor = new CircuitBreakerAnnotationAdvisor();
+        List<String> transitions = Collections.synchronizedList(new ArrayList<>());
+        advisor.getInterceptor().addListener((cb, from, to) -> transitions.add(cb.getName() + ":" + to));
+        
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(target);
+        proxyFactory.addAdvisor(advisor);
+        QuoteService proxy = (QuoteService) proxyFactory.getProxy();
+        
+        assertEquals("ACME:100", proxy.quote("ACME"));
+        
+        target.setAvailable(false);
+        assertEquals("ACME:cached(IllegalStateException)", proxy.quote("ACME"));
+        assertEquals(List.of("QuoteService.quote:OPEN"), transitions);
+        
+        // 打开后直接降级，不再访问下游
+        int remoteCalls = target.getRemoteCalls();
+        assertEquals("ACME:cached(CallNotPermittedException)", proxy.quote("ACME"));
+        assertEquals(remoteCalls, target.getRemoteCalls());
+        
+        // 没有降级方法时抛出异常；被忽略的异常不计为失败
+        assertThrows(IllegalArgumentException.class, () -> proxy.volume(""));
+        assertThrows(IllegalArgumentException.class, () -> proxy.volume(""));
+        CircuitBreaker volume = advisor.getInterceptor().getCircuitBreaker(
+            QuoteService.class.getMethod("volume", String.class), QuoteService.class);
+        assertEquals(State.CLOSED, volume.getState());
+        assertEquals(0, volume.getNumberOfBufferedCalls());
+        
+        assertThrows(IllegalStateException.class, () -> proxy.volume("ACME"));
+        assertThrows(IllegalStateException.class, () -> proxy.volume("ACME"));
+        assertEquals(State.OPEN, volume.getState());
+        CallNotPermittedException e = assertThrows(CallNotPermittedException.class, () -> proxy.volume("ACME"));
+        assertEquals("QuoteService.volume", e.getName());
+        assertEquals(2, advisor.getInterceptor().getCircuitBreakers().size());
+    }
+    
+    /**
+     * 测试：无参方法（参数数组为null）也能执行降级方法
+     */
+    @Test
+    public void testNoArgFallback() {
+        QuoteService target = new QuoteService();
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(target);
+        proxyFactory.addAdvisor(new CircuitBreakerAnnotationAdvisor());
+        QuoteService proxy = (QuoteService) proxyFactory.getProxy();
+        
+        assertEquals("OPEN", proxy.marketStatus());
+        target.setAvailable(false);
+        assertEquals("UNKNOWN(IllegalStateException)", proxy.marketStatus());
+        assertEquals("UNKNOWN(CallNotPermittedException)", proxy.marketStatus());
+    }
+    
+    private static CircuitBreakerConfig config(int windowSize, int minimumCalls, float failureRate) {
+        CircuitBreakerConfig config = new CircuitBreakerConfig();
+        config.setSlidingWindowSize(windowSize);
+        config.setMinimumNumberOfCalls(minimumCalls);
+        config.setFailureRateThreshold(failureRate);
+        config.setWaitDurationInOpenState(50, TimeUnit.MILLISECONDS);
+        config.setPermittedNumberOfCallsInHalfOpenState(2);
+        return config;
+    }
+}
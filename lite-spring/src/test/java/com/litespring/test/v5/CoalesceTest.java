@@ -0,0 +1,119 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.ProxyFactory;
+import com.litespring.aop.interceptor.CoalesceAnnotationAdvisor;
+import com.litespring.aop.interceptor.CoalescingInterceptor;
+import com.litespring.test.v5.service.CatalogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 请求合并测试
+ * 
+ * @author lite-spring
+ */
+public class CoalesceTest {
+    
+    private CatalogService proxy;
+    private CoalescingInterceptor interceptor;
+    private ExecutorService executor;
+    
+    @BeforeEach
+    public void setUp() {
+        CoalesceAnnotationAdvisor advisor = new CoalesceAnnotationAdvisor();
+        interceptor = advisor.getInterceptor();
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new CatalogService());
+        proxyFactory.addAdvisor(advisor);
+        proxy = (CatalogService) proxyFactory.getProxy();
+        executor = Executors.newFixedThreadPool(10);
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * 测试：并发的相同调用只执行一次，所有调用得到同一个结果
+     */
+    @Test
+    public void testConcurrentCallsShareOneExecution() throws Exception {
+        Method load = CatalogService.class.getMethod("load", String.class);
+        CountDownLatch release = new CountDownLatch(1);
+        proxy.setRelease(release);
+        
+        List<Future<StringBuilder>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(executor.submit(() -> proxy.load("sku-1")));
+        }
+        Conditions.waitUntil(() -> interceptor.getCoalescedCount(load, CatalogService.class) == 9);
+        release.countDown();
+        
+        StringBuilder first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<StringBuilder> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, proxy.getLoadCount());
+        assertEquals(1, interceptor.getExecutionCount(load, CatalogService.class));
+        
+        // 执行结束后不保留结果
+        assertNotSame(first, proxy.load("sku-1"));
+        assertEquals(2, proxy.getLoadCount());
+    }
+    
+    /**
+     * 测试：等待中的调用得到执行者的异常
+     */
+    @Test
+    public void testExceptionIsShared() throws Exception {
+        Method load = CatalogService.class.getMethod("load", String.class);
+        CountDownLatch release = new CountDownLatch(1);
+        proxy.setRelease(release);
+        
+        Future<StringBuilder> leader = executor.submit(() -> proxy.load("missing-1"));
+        Future<StringBuilder> follower = executor.submit(() -> proxy.load("missing-1"));
+        Conditions.waitUntil(() -> interceptor.getCoalescedCount(load, CatalogService.class) == 1);
+        release.countDown();
+        
+        for (Future<StringBuilder> result : List.of(leader, follower)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        assertEquals(1, proxy.getLoadCount());
+    }
+    
+    /**
+     * 测试：不同的键分别执行，keyArgs之外的参数不影响合并
+     */
+    @Test
+    public void testKeyExtraction() throws Exception {
+        Method price = CatalogService.class.getMethod("price", String.class, long.class);
+        CountDownLatch release = new CountDownLatch(1);
+        proxy.setRelease(release);
+        
+        Future<String> a = executor.submit(() -> proxy.price("sku-1", 1L));
+        Future<String> b = executor.submit(() -> proxy.price("sku-1", 2L));
+        Future<String> c = executor.submit(() -> proxy.price("sku-2", 3L));
+        Conditions.waitUntil(() -> interceptor.getCoalescedCount(price, CatalogService.class) == 1
+            && interceptor.getExecutionCount(price, CatalogService.class) == 2);
+        release.countDown();
+        
+        assertEquals(a.get(5, TimeUnit.SECONDS), b.get(5, TimeUnit.SECONDS));
+        assertEquals("sku-2:3", c.get(5, TimeUnit.SECONDS));
+        assertEquals(2, proxy.getLoadCount());
+    }
+}
@@ -0,0 +1,29 @@
+package com.litespring.test.v5;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 等待其他线程达到某个状态，供并发测试共用
+ * 
+ * @author lite-spring
+ */
+final class Conditions {
+    
+    private static final long TIMEOUT_MILLIS = 5000;
+    
+    private Conditions() {
+    }
+    
+    /**
+     * 轮询直到条件成立，超过5秒仍不成立时测试失败
+     */
+    static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "等待超时");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 动态切点（按参数值匹配）测试
+ * 
+ * @author lite-spring
+ */
+public class DynamicPointcutTest {
+    
+    public interface Account {
+        
+        long withdraw(long amount);
+        
+        long deposit(long amount);
+    }
+    
+    public static class SimpleAccount implements Account {
+        
+        private long balance = 1_000_000;
+        
+        @Override
+        public long withdraw(long amount) {
+            balance -= amount;
+            return balance;
+        }
+        
+        @Override
+        public long deposit(long amount) {
+            balance += amount;
+            return balance;
+        }
+    }
+    
+    /**
+     * 测试：只有参数满足条件的调用执行通知，静态匹配不通过的方法不受影响
+     */
+    @Test
+    public void testArgumentMatchPointcut() throws Exception {
+        AtomicInteger audited = new AtomicInteger();
+        MethodInterceptor audit = invocation -> {
+            audited.incrementAndGet();
+            return invocation.proceed();
+        };
+        ProxyFactory proxyFactory = createProxyFactory(new DefaultPointcutAdvisor(largeWithdrawal(), audit));
+        Account proxy = (Account) proxyFactory.getProxy();
+        
+        assertEquals(999_900, proxy.withdraw(100));
+        assertEquals(0, audited.get());
+        assertEquals(949_900, proxy.withdraw(50_000));
+        assertEquals(1, audited.get());
+        assertEquals(1_049_900, proxy.deposit(100_000));
+        assertEquals(1, audited.get());
+        
+        // deposit的通知链为空，withdraw的通知链需要动态匹配
+        assertTrue(proxyFactory.getAdviceChain(Account.class.getMethod("deposit", long.class)).isEmpty());
+        AdviceChain chain = proxyFactory.getAdviceChain(Account.class.getMethod("withdraw", long.class));
+        assertFalse(chain.isStatic());
+        assertTrue(chain.getInterceptors()[0] instanceof InterceptorAndDynamicMethodMatcher);
+    }
+    
+    /**
+     * 测试：动态匹配的前置通知与静态通知在链中保持原来的顺序
+     */
+    @Test
+    public void testDynamicBeforeAdviceOrder() throws Exception {
+        List<String> calls = new ArrayList<>();
+        MethodBeforeAdvice always = (method, args, target) -> calls.add("always");
+        MethodBeforeAdvice large = (method, args, target) -> calls.add("large:" + args[0]);
+        
+        NameMatchPointcut withdraw = new NameMatchPointcut();
+        withdraw.addMethodName("withdraw");
+        ProxyFactory proxyFactory = createProxyFactory(
+            new DefaultPointcutAdvisor(largeWithdrawal(), large),
+            new DefaultPointcutAdvisor(withdraw, always));
+        proxyFactory.setProxyTargetClass(true);
+        SimpleAccount proxy = (SimpleAccount) proxyFactory.getProxy();
+        
+        proxy.withdraw(10);
+        proxy.withdraw(20_000);
+        assertEquals(List.of("always", "large:20000", "always"), calls);
+    }
+    
+    /**
+     * 测试：动态匹配不增加每次调用的内存分配
+     */
+    @Test
+    public void testDynamicMatchingDoesNotAllocate() {
+        MethodInterceptor passThrough = MethodInvocation::proceed;
+        NameMatchPointcut withdraw = new NameMatchPointcut();
+        withdraw.addMethodName("withdraw");
+        Account staticProxy = (Account) createProxyFactory(
+            new DefaultPointcutAdvisor(withdraw, passThrough)).getProxy();
+        Account dynamicProxy = (Account) createProxyFactory(
+            new DefaultPointcutAdvisor(withdraw, passThrough),
+            new DefaultPointcutAdvisor(largeWithdrawal(), passThrough)).getProxy();
+        
+        long staticBytes = AllocationMeter.allocatedBytesPerCall(() -> staticProxy.withdraw(1));
+        long dynamicBytes = AllocationMeter.allocatedBytesPerCall(() -> dynamicProxy.withdraw(1));
+        assertEquals(staticBytes, dynamicBytes);
+    }
+    
+    private static ArgumentMatchPointcut largeWithdrawal() {
+        NameMatchPointcut withdraw = new NameMatchPointcut();
+        withdraw.addMethodName("withdraw");
+        return new ArgumentMatchPointcut(withdraw, 0, amount -> (Long) amount >= 10_000);
+    }
+    
+    private static ProxyFactory createProxyFactory(Advisor... advisors) {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new SimpleAccount());
+        for (Advisor advisor : advisors) {
+            proxyFactory.addAdvisor(advisor);
+        }
+        return proxyFactory;
+    }
+}
@@ -0,0 +1,217 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.DefaultPointcutAdvisor;
+import com.litespring.aop.ExpressionPointcut;
+import com.litespring.aop.ProxyFactory;
+import com.litespring.test.v5.advice.LoggingBeforeAdvice;
+import com.litespring.test.v5.service.OrderService;
+import com.litespring.test.v5.service.UserService;
+import com.litespring.test.v5.service.UserServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 表达式切点测试
+ * 
+ * @author lite-spring
+ */
+public class ExpressionPointcutTest {
+    
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    public @interface Audited {
+    }
+    
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public @interface Monitored {
+    }
+    
+    @Monitored
+    public static class ReportService {
+        
+        @Audited
+        public String export(String name) {
+            return "report-" + name;
+        }
+        
+        public int count() {
+            return 1;
+        }
+    }
+    
+    /**
+     * 测试：execution中的通配符、包通配符和参数模式
+     */
+    @Test
+    public void testExecution() throws Exception {
+        Method saveUser = UserService.class.getMethod("saveUser", String.class);
+        Method findUser = UserService.class.getMethod("findUser", int.class);
+        Method placeOrder = OrderService.class.getMethod("placeOrder", String.class, int.class);
+        
+        ExpressionPointcut anyFind = new ExpressionPointcut("execution(* com.litespring..*Service.find*(..))");
+        assertTrue(anyFind.matches(findUser, UserServiceImpl.class));
+        assertFalse(anyFind.matches(saveUser, UserServiceImpl.class));
+        
+        ExpressionPointcut packageOnly = new ExpressionPointcut("execution(* com.litespring.test.v5.service.*.*(..))");
+        assertTrue(packageOnly.matches(placeOrder, OrderService.class));
+        
+        ExpressionPointcut params = new ExpressionPointcut("execution(String *(String, int))");
+        assertTrue(params.matches(placeOrder, OrderService.class));
+        assertFalse(params.matches(findUser, UserServiceImpl.class));
+        
+        ExpressionPointcut leadingEllipsis = new ExpressionPointcut("execution(* *(.., int))");
+        assertTrue(leadingEllipsis.matches(placeOrder, OrderService.class));
+        assertTrue(leadingEllipsis.matches(findUser, UserServiceImpl.class));
+        assertFalse(leadingEllipsis.matches(saveUser, UserServiceImpl.class));
+        
+        ExpressionPointcut voidMethods = new ExpressionPointcut("execution(public void com.litespring..*(*))");
+        assertTrue(voidMethods.matches(saveUser, UserServiceImpl.class));
+        assertFalse(voidMethods.matches(findUser, UserServiceImpl.class));
+        
+        Method describe = OrderService.class.getDeclaredMethod("describe");
+        ExpressionPointcut publicOnly = new ExpressionPointcut("execution(public * *(..))");
+        assertFalse(publicOnly.matches(describe, OrderService.class));
+    }
+    
+    /**
+     * 测试："+"匹配子类型，声明类型可以按目标类匹配
+     */
+    @Test
+    public void testSubtypePattern() throws Exception {
+        Method findUser = UserService.class.getMethod("findUser", int.class);
+        
+        ExpressionPointcut exact = new ExpressionPointcut("execution(* UserServiceImpl.*(..))");
+        assertTrue(exact.matches(findUser, UserServiceImpl.class));
+        
+        ExpressionPointcut subtypes = new ExpressionPointcut("within(com.litespring.test.v5.service.UserService+)");
+        assertTrue(subtypes.matchesClass(UserServiceImpl.class));
+        assertFalse(subtypes.matchesClass(OrderService.class));
+        
+        ExpressionPointcut noSubtypes = new ExpressionPointcut("within(com.litespring.test.v5.service.UserService)");
+        assertFalse(noSubtypes.matchesClass(UserServiceImpl.class));
+    }
+    
+    /**
+     * 测试：@annotation和@within
+     */
+    @Test
+    public void testAnnotationDesignators() throws Exception {
+        Method export = ReportService.class.getMethod("export", String.class);
+        Method count = ReportService.class.getMethod("count");
+        
+        ExpressionPointcut audited = new ExpressionPointcut("@annotation(" + Audited.class.getName() + ")");
+        assertTrue(audited.matches(export, ReportService.class));
+        assertFalse(audited.matches(count, ReportService.class));
+        
+        ExpressionPointcut monitored = new ExpressionPointcut("@within(*Monitored)");
+        assertTrue(monitored.matchesClass(ReportService.class));
+        assertTrue(monitored.matches(count, ReportService.class));
+        assertFalse(monitored.matchesClass(OrderService.class));
+    }
+    
+    /**
+     * 测试：与、或、非和括号
+     */
+    @Test
+    public void testBooleanOperators() throws Exception {
+        Method saveUser = UserService.class.getMethod("saveUser", String.class);
+        Method findUser = UserService.class.getMethod("findUser", int.class);
+        Method deleteUser = UserService.class.getMethod("deleteUser", int.class);
+        
+        ExpressionPointcut pointcut = new ExpressionPointcut(
+            "within(com.litespring..*) && (execution(* save*(..)) || execution(* delete*(..)))"
+        );
+        assertTrue(pointcut.matches(saveUser, UserServiceImpl.class));
+        assertTrue(pointcut.matches(deleteUser, UserServiceImpl.class));
+        assertFalse(pointcut.matches(findUser, UserServiceImpl.class));
+        
+        ExpressionPointcut negated = new ExpressionPointcut("within(*ServiceImpl) and not execution(* find*(..))");
+        assertTrue(negated.matches(saveUser, UserServiceImpl.class));
+        assertFalse(negated.matches(findUser, UserServiceImpl.class));
+        
+        // 取反不能在类级别过滤
+        ExpressionPointcut notWithin = new ExpressionPointcut("!within(*ServiceImpl)");
+        assertTrue(notWithin.matchesClass(UserServiceImpl.class));
+        assertFalse(notWithin.matches(saveUser, UserServiceImpl.class));
+    }
+    
+    /**
+     * 测试：类级别预过滤，不匹配的类不会被代理
+     */
+    @Test
+    public void testClassPrefilter() throws Exception {
+        ExpressionPointcut pointcut = new ExpressionPointcut("execution(* com.litespring..OrderService.*(..))");
+        assertTrue(pointcut.matchesClass(OrderService.class));
+        assertFalse(pointcut.matchesClass(UserServiceImpl.class));
+        
+        Method saveUser = UserService.class.getMethod("saveUser", String.class);
+        assertFalse(pointcut.matches(saveUser, UserServiceImpl.class));
+        
+        LoggingBeforeAdvice advice = new LoggingBeforeAdvice();
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new UserServiceImpl());
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut, advice));
+        UserService proxy = (UserService) proxyFactory.getProxy();
+        proxy.saveUser("Tom");
+        assertTrue(advice.getLogs().isEmpty());
+    }
+    
+    /**
+     * 测试：通过代理使用表达式切点
+     */
+    @Test
+    public void testWithProxy() {
+        LoggingBeforeAdvice advice = new LoggingBeforeAdvice();
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new UserServiceImpl());
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(
+            new ExpressionPointcut("execution(* *User(int))"), advice
+        ));
+        UserService proxy = (UserService) proxyFactory.getProxy();
+        
+        proxy.saveUser("Tom");
+        proxy.findUser(1);
+        proxy.deleteUser(2);
+        
+        assertEquals(2, advice.getLogs().size());
+    }
+    
+    /**
+     * 测试：重新设置表达式后缓存失效
+     */
+    @Test
+    public void testCacheResetOnExpressionChange() throws Exception {
+        Method findUser = UserService.class.getMethod("findUser", int.class);
+        
+        ExpressionPointcut pointcut = new ExpressionPointcut("execution(* find*(..))");
+        assertTrue(pointcut.matches(findUser, UserServiceImpl.class));
+        assertTrue(pointcut.matches(findUser, UserServiceImpl.class));
+        
+        pointcut.setExpression("execution(* save*(..))");
+        assertFalse(pointcut.matches(findUser, UserServiceImpl.class));
+        assertEquals("execution(* save*(..))", pointcut.getExpression());
+    }
+    
+    /**
+     * 测试：语法错误
+     */
+    @Test
+    public void testParseErrors() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpressionPointcut(""));
+        assertThrows(IllegalArgumentException.class, () -> new ExpressionPointcut("execution(* find*(..)"));
+        assertThrows(IllegalArgumentException.class, () -> new ExpressionPointcut("execution(find())"));
+        assertThrows(IllegalArgumentException.class, () -> new ExpressionPointcut("target(com.acme.Foo)"));
+        assertThrows(IllegalArgumentException.class, () -> new ExpressionPointcut("within(*) &&"));
+        assertThrows(IllegalArgumentException.class, () -> new ExpressionPointcut("execution(volatile * *(..))"));
+        assertThrows(IllegalStateException.class,
+            () -> new ExpressionPointcut().matches(Object.class.getMethod("toString"), Object.class));
+    }
+}
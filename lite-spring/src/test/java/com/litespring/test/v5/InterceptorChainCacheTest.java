@@ -0,0 +1,104 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.*;
+import com.litespring.test.v5.advice.LoggingBeforeAdvice;
+import com.litespring.test.v5.service.UserService;
+import com.litespring.test.v5.service.UserServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 拦截器链缓存测试
+ * 
+ * @author lite-spring
+ */
+public class InterceptorChainCacheTest {
+    
+    /**
+     * 测试：每个方法只匹配一次切点
+     */
+    @Test
+    public void testPointcutMatchedOncePerMethod() {
+        CountingPointcut pointcut = new CountingPointcut("saveUser");
+        LoggingBeforeAdvice advice = new LoggingBeforeAdvice();
+        
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new UserServiceImpl());
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut, advice));
+        UserService proxy = (UserService) proxyFactory.getProxy();
+        
+        for (int i = 0; i < 10; i++) {
+            proxy.saveUser("Tom");
+            proxy.findUser(i);
+        }
+        
+        assertEquals(2, pointcut.getMatchCount());
+        assertEquals(10, advice.getLogs().size());
+    }
+    
+    /**
+     * 测试：同一方法返回同一个链数组，添加通知器后缓存失效
+     */
+    @Test
+    public void testChainInvalidatedOnAddAdvisor() throws Exception {
+        Method saveUser = UserService.class.getMethod("saveUser", String.class);
+        
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new UserServiceImpl());
+        
+        Object[] empty = proxyFactory.getInterceptorChain(saveUser);
+        assertEquals(0, empty.length);
+        
+        LoggingBeforeAdvice advice = new LoggingBeforeAdvice();
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(new CountingPointcut("saveUser"), advice));
+        
+        Object[] chain = proxyFactory.getInterceptorChain(saveUser);
+        assertEquals(1, chain.length);
+        assertSame(advice, chain[0]);
+        assertSame(chain, proxyFactory.getInterceptorChain(saveUser));
+        
+        // 已创建的代理也能看到新增的通知器
+        UserService proxy = (UserService) proxyFactory.getProxy();
+        proxyFactory.addAdvisor(0, new DefaultPointcutAdvisor(new CountingPointcut("saveUser"), advice));
+        proxy.saveUser("Tom");
+        assertEquals(2, advice.getLogs().size());
+    }
+    
+    /**
+     * 测试：通知器列表只读
+     */
+    @Test
+    public void testAdvisorsAreReadOnly() {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        assertThrows(UnsupportedOperationException.class,
+            () -> proxyFactory.getAdvisors().add(new DefaultPointcutAdvisor(
+                new CountingPointcut("saveUser"), new LoggingBeforeAdvice())));
+    }
+    
+    /**
+     * 记录匹配次数的切点
+     */
+    private static class CountingPointcut implements Pointcut {
+        
+        private final String methodName;
+        private final AtomicInteger matchCount = new AtomicInteger();
+        
+        CountingPointcut(String methodName) {
+            this.methodName = methodName;
+        }
+        
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            matchCount.incrementAndGet();
+            return methodName.equals(method.getName());
+        }
+        
+        int getMatchCount() {
+            return matchCount.get();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.*;
+import com.litespring.test.v5.advice.LoggingBeforeAdvice;
+import com.litespring.test.v5.service.UserService;
+import com.litespring.test.v5.service.UserServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 基于MethodHandle的连接点调用测试
+ * 
+ * @author lite-spring
+ */
+public class JoinpointInvokerTest {
+    
+    /**
+     * 测试：调用各种签名的方法
+     */
+    @Test
+    public void testInvokeMethods() throws Throwable {
+        JoinpointInvoker invoker = new JoinpointInvoker(new Calculator());
+        
+        assertEquals(5, invoker.invoke(Operations.class.getMethod("add", int.class, int.class), new Object[] {2, 3}));
+        assertEquals("ok", invoker.invoke(Operations.class.getMethod("status"), null));
+        assertNull(invoker.invoke(Operations.class.getMethod("reset"), new Object[0]));
+        assertEquals("Calculator", invoker.invoke(Object.class.getMethod("toString"), null));
+    }
+    
+    /**
+     * 测试：目标方法的异常原样抛出，不包装
+     */
+    @Test
+    public void testExceptionsAreNotWrapped() throws Exception {
+        JoinpointInvoker invoker = new JoinpointInvoker(new Calculator());
+        Method fail = Operations.class.getMethod("fail", boolean.class);
+        
+        assertThrows(IOException.class, () -> invoker.invoke(fail, new Object[] {true}));
+        assertThrows(IllegalStateException.class, () -> invoker.invoke(fail, new Object[] {false}));
+    }
+    
+    /**
+     * 测试：代理（有通知和没有通知的方法）抛出目标方法的原始异常
+     */
+    @Test
+    public void testProxyPropagatesTargetExceptions() {
+        NameMatchPointcut pointcut = new NameMatchPointcut();
+        pointcut.addMethodName("fail");
+        LoggingBeforeAdvice advice = new LoggingBeforeAdvice();
+        
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new Calculator());
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut, advice));
+        Operations proxy = (Operations) proxyFactory.getProxy();
+        
+        // 有通知的方法：经过拦截器链
+        assertThrows(IOException.class, () -> proxy.fail(true));
+        assertThrows(IllegalStateException.class, () -> proxy.fail(false));
+        assertEquals(2, advice.getLogs().size());
+        
+        // 没有通知的方法：直接调用目标
+        assertEquals(7, proxy.add(3, 4));
+    }
+    
+    /**
+     * 测试：直接创建的ReflectiveMethodInvocation同样解开InvocationTargetException
+     */
+    @Test
+    public void testReflectiveFallbackUnwraps() throws Exception {
+        Method fail = Operations.class.getMethod("fail", boolean.class);
+        ReflectiveMethodInvocation invocation = new ReflectiveMethodInvocation(
+            new Calculator(), fail, new Object[] {true}, new Object[0]);
+        
+        assertThrows(IOException.class, invocation::proceed);
+    }
+    
+    /**
+     * 测试：代理调用结果与直接调用一致
+     */
+    @Test
+    public void testProxyWithBeforeAdvice() {
+        NameMatchPointcut pointcut = new NameMatchPointcut();
+        pointcut.addMethodName("findUser");
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new UserServiceImpl());
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut, new LoggingBeforeAdvice()));
+        UserService proxy = (UserService) proxyFactory.getProxy();
+        
+        assertEquals(new UserServiceImpl().findUser(42), proxy.findUser(42));
+    }
+    
+    public interface Operations {
+        
+        int add(int a, int b);
+        
+        String status();
+        
+        void reset();
+        
+        void fail(boolean checked) throws IOException;
+    }
+    
+    static class Calculator implements Operations {
+        
+        @Override
+        public int add(int a, int b) {
+            return a + b;
+        }
+        
+        @Override
+        public String status() {
+            return "ok";
+        }
+        
+        @Override
+        public void reset() {
+        }
+        
+        @Override
+        public void fail(boolean checked) throws IOException {
+            if (checked) {
+                throw new IOException("checked");
+            }
+            throw new IllegalStateException("unchecked");
+        }
+        
+        @Override
+        public String toString() {
+            return "Calculator";
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.interceptor.CacheInterceptor;
+import com.litespring.cache.LocalCache;
+import com.litespring.cache.LocalCacheAdapter;
+import com.litespring.cache.LocalCacheConfig;
+import com.litespring.cache.LocalCacheManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * W-TinyLFU本地缓存测试
+ * 
+ * @author lite-spring
+ */
+public class LocalCacheTest {
+    
+    /**
+     * 测试：基本读写、移除和统计
+     */
+    @Test
+    public void testBasicOperations() {
+        LocalCache<String, Integer> cache = new LocalCache<>();
+        assertNull(cache.getIfPresent("a"));
+        cache.put("a", 1);
+        cache.put("a", 2);
+        assertEquals(2, cache.getIfPresent("a"));
+        assertEquals(1, cache.estimatedSize());
+        
+        cache.invalidate("a");
+        assertNull(cache.getIfPresent("a"));
+        
+        cache.put("b", 1);
+        cache.put("c", 1);
+        cache.invalidateAll();
+        cache.cleanUp();
+        assertEquals(0, cache.estimatedSize());
+        
+        assertEquals(1, cache.getStats().getHitCount());
+        assertEquals(2, cache.getStats().getMissCount());
+        assertThrows(IllegalArgumentException.class, () -> cache.put("d", null));
+    }
+    
+    /**
+     * 测试：条目数不超过上限
+     */
+    @Test
+    public void testMaximumSize() {
+        LocalCacheConfig config = new LocalCacheConfig();
+        config.setMaximumSize(100);
+        LocalCache<Integer, Integer> cache = new LocalCache<>(config);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+        cache.cleanUp();
+        assertEquals(100, cache.estimatedSize());
+        assertEquals(900, cache.getStats().getEvictionCount());
+    }
+    
+    /**
+     * 测试：只访问一次的扫描流量挤不掉频繁访问的热点数据（LRU会全部丢失）
+     */
+    @Test
+    public void testScanResistance() {
+        LocalCacheConfig config = new LocalCacheConfig();
+        config.setMaximumSize(100);
+        LocalCache<Integer, Integer> cache = new LocalCache<>(config);
+        for (int round = 0; round < 10; round++) {
+            for (int key = 0; key < 50; key++) {
+                if (cache.getIfPresent(key) == null) {
+                    cache.put(key, key);
+                }
+            }
+            cache.cleanUp();
+        }
+        
+        for (int key = 1000; key < 11_000; key++) {
+            cache.put(key, key);
+        }
+        cache.cleanUp();
+        
+        int retained = 0;
+        for (int key = 0; key < 50; key++) {
+            if (cache.getIfPresent(key) != null) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 45, "热点数据只保留了" + retained + "个");
+        assertEquals(100, cache.estimatedSize());
+    }
+    
+    /**
+     * 测试：写入后过期，时间轮在维护时清理到期条目（包括放在粗粒度轮子中的远期条目）
+     */
+    @Test
+    public void testExpireAfterWrite() {
+        AtomicLong time = new AtomicLong();
+        LocalCacheConfig config = new LocalCacheConfig();
+        config.setExpireAfterWrite(90, TimeUnit.MINUTES);
+        config.setTicker(time::get);
+        LocalCache<String, String> cache = new LocalCache<>(config);
+        
+        cache.put("a", "1");
+        cache.put("b", "2");
+        time.addAndGet(TimeUnit.MINUTES.toNanos(60));
+        cache.put("b", "3");
+        assertEquals("1", cache.getIfPresent("a"));
+        
+        time.addAndGet(TimeUnit.MINUTES.toNanos(31));
+        assertNull(cache.getIfPresent("a"));
+        assertEquals("3", cache.getIfPresent("b"));
+        cache.cleanUp();
+        assertEquals(1, cache.estimatedSize());
+        assertEquals(1, cache.getStats().getEvictionCount());
+        
+        time.addAndGet(TimeUnit.MINUTES.toNanos(60));
+        cache.cleanUp();
+        assertEquals(0, cache.estimatedSize());
+    }
+    
+    /**
+     * 测试：访问后过期，读取会推迟过期时间
+     */
+    @Test
+    public void testExpireAfterAccess() {
+        AtomicLong time = new AtomicLong();
+        LocalCacheConfig config = new LocalCacheConfig();
+        config.setExpireAfterAccess(10, TimeUnit.SECONDS);
+        config.setTicker(time::get);
+        LocalCache<String, String> cache = new LocalCache<>(config);
+        
+        cache.put("hot", "1");
+        cache.put("cold", "2");
+        for (int i = 0; i < 5; i++) {
+            time.addAndGet(TimeUnit.SECONDS.toNanos(4));
+            assertEquals("1", cache.getIfPresent("hot"));
+            cache.cleanUp();
+        }
+        assertNull(cache.getIfPresent("cold"));
+        assertEquals(1, cache.estimatedSize());
+        
+        time.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        cache.cleanUp();
+        assertEquals(0, cache.estimatedSize());
+    }
+    
+    /**
+     * 测试：同一个键的并发加载只执行一次，加载耗时计入统计
+     */
+    @Test
+    public void testConcurrentLoadsExecuteOnce() throws Exception {
+        LocalCache<String, String> cache = new LocalCache<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("config", key -> {
+                        loads.incrementAndGet();
+                        sleep(50);
+                        return key + "-value";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("config-value", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().getLoadSuccessCount());
+        assertTrue(cache.getStats().getAverageLoadPenalty() >= TimeUnit.MILLISECONDS.toNanos(50));
+        
+        // 返回null时不缓存
+        assertNull(cache.get("missing", key -> null));
+        assertEquals(1, cache.estimatedSize());
+    }
+    
+    /**
+     * 测试：多线程混合读写后容量仍然有界
+     */
+    @Test
+    public void testConcurrentAccessStaysBounded() throws Exception {
+        LocalCacheConfig config = new LocalCacheConfig();
+        config.setMaximumSize(500);
+        LocalCache<Integer, Integer> cache = new LocalCache<>(config);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        int key = (i * 31 + seed) % 2000;
+                        if (cache.getIfPresent(key) == null) {
+                            cache.put(key, key);
+                        }
+                        if (i % 100 == 0) {
+                            cache.invalidate(key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        cache.cleanUp();
+        assertTrue(cache.estimatedSize() <= 500, "size=" + cache.estimatedSize());
+    }
+    
+    /**
+     * 测试：缓存拦截器默认使用本地缓存
+     */
+    @Test
+    public void testDefaultCacheManager() {
+        CacheInterceptor interceptor = new CacheInterceptor();
+        assertTrue(interceptor.getCacheManager() instanceof LocalCacheManager);
+        assertTrue(interceptor.getCacheManager().getCache("users") instanceof LocalCacheAdapter);
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
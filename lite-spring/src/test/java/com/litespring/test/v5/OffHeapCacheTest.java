@@ -0,0 +1,261 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.ProxyFactory;
+import com.litespring.aop.cache.Cache;
+import com.litespring.aop.interceptor.CacheAnnotationAdvisor;
+import com.litespring.aop.interceptor.SimpleKey;
+import com.litespring.cache.LocalCacheConfig;
+import com.litespring.cache.OffHeapCache;
+import com.litespring.cache.OffHeapCacheConfig;
+import com.litespring.cache.StringSerializer;
+import com.litespring.cache.TieredCache;
+import com.litespring.cache.TieredCacheManager;
+import com.litespring.test.v5.service.ReferenceDataService;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 堆外缓存和两级缓存测试
+ * 
+ * @author lite-spring
+ */
+public class OffHeapCacheTest {
+    
+    /**
+     * 测试：读写、覆盖、null值、跨多个块的长值和移除
+     */
+    @Test
+    public void testBasicOperations() {
+        OffHeapCache cache = new OffHeapCache("json", new OffHeapCacheConfig(),
+            new StringSerializer(), new StringSerializer());
+        assertNull(cache.get("a"));
+        
+        cache.put("a", "{\"id\":1}");
+        cache.put("a", "{\"id\":2}");
+        assertEquals("{\"id\":2}", cache.get("a").get());
+        
+        cache.put("empty", null);
+        assertNotNull(cache.get("empty"));
+        assertNull(cache.get("empty").get());
+        
+        char[] chars = new char[10_000];
+        Arrays.fill(chars, 'x');
+        String large = new String(chars);
+        cache.put("large", large);
+        assertEquals(large, cache.get("large").get());
+        assertEquals(3, cache.getEntryCount());
+        
+        cache.evict("a");
+        assertNull(cache.get("a"));
+        cache.clear();
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getUsedBytes());
+        assertNull(cache.get("large"));
+        
+        assertEquals(4, cache.getStats().getHitCount());
+        assertEquals(3, cache.getStats().getMissCount());
+    }
+    
+    /**
+     * 测试：默认的Java序列化支持多参数键
+     */
+    @Test
+    public void testSerializableKeys() {
+        OffHeapCache cache = new OffHeapCache("rates", new OffHeapCacheConfig());
+        cache.put(new SimpleKey("USD", 2024), 7.1);
+        assertEquals(7.1, cache.get(new SimpleKey("USD", 2024)).get());
+        assertNull(cache.get(new SimpleKey("USD", 2023)));
+    }
+    
+    /**
+     * 测试：按字节预算淘汰，最近读过的条目被保留
+     */
+    @Test
+    public void testEvictionByByteBudget() {
+        OffHeapCacheConfig config = new OffHeapCacheConfig();
+        config.setMaximumBytes(256 * 1024);
+        config.setSegmentCount(1);
+        config.setSlabSize(64 * 1024);
+        OffHeapCache cache = new OffHeapCache("pages", config, new StringSerializer(), new StringSerializer());
+        
+        char[] chars = new char[400];
+        Arrays.fill(chars, 'p');
+        String page = new String(chars);
+        cache.put("hot", page);
+        for (int i = 0; i < 5000; i++) {
+            cache.put("page-" + i, page + i);
+            assertNotNull(cache.get("hot"));
+        }
+        
+        assertTrue(cache.getUsedBytes() <= 256 * 1024);
+        assertTrue(cache.getStats().getEvictionCount() > 4000);
+        assertEquals(page + 4999, cache.get("page-4999").get());
+        assertNull(cache.get("page-0"));
+        // 每个条目占两个256字节的块
+        assertEquals(512, cache.getEntryCount());
+    }
+    
+    /**
+     * 测试：每段的预算小于一个块时拒绝创建，刚好一个块时使用的内存不超过预算
+     */
+    @Test
+    public void testSegmentBudgetSmallerThanBlock() {
+        OffHeapCacheConfig config = new OffHeapCacheConfig();
+        config.setMaximumBytes(1024);
+        assertThrows(IllegalArgumentException.class,
+            () -> new OffHeapCache("tiny", config, new StringSerializer(), new StringSerializer()));
+        
+        config.setSegmentCount(4);
+        OffHeapCache cache = new OffHeapCache("tiny", config, new StringSerializer(), new StringSerializer());
+        for (int i = 0; i < 100; i++) {
+            cache.put("k" + i, "v" + i);
+        }
+        assertTrue(cache.getUsedBytes() <= 1024, "usedBytes=" + cache.getUsedBytes());
+        assertEquals(4, cache.getEntryCount());
+    }
+    
+    /**
+     * 测试：多线程并发读写时读到的值总是完整的
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        OffHeapCacheConfig config = new OffHeapCacheConfig();
+        config.setMaximumBytes(1024 * 1024);
+        config.setSegmentCount(4);
+        OffHeapCache cache = new OffHeapCache("concurrent", config, new StringSerializer(), new StringSerializer());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 20_000; i++) {
+                        String key = "k" + random.nextInt(5000);
+                        Cache.ValueWrapper value = cache.get(key);
+                        if (value == null) {
+                            cache.put(key, valueFor(key));
+                        } else {
+                            assertEquals(valueFor(key), value.get());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(cache.getUsedBytes() <= 1024 * 1024);
+    }
+    
+    /**
+     * 测试：缓存装入约60MB数据后堆的占用基本不变，数据在直接内存中
+     */
+    @Test
+    public void testHeapUsageStaysFlat() {
+        OffHeapCacheConfig config = new OffHeapCacheConfig();
+        config.setMaximumBytes(96L * 1024 * 1024);
+        OffHeapCache cache = new OffHeapCache("bulk", config, new StringSerializer(), new StringSerializer());
+        long heapBefore = usedHeapAfterGc();
+        long directBefore = directMemoryUsed();
+        
+        char[] chars = new char[1000];
+        Arrays.fill(chars, 'd');
+        String value = new String(chars);
+        for (int i = 0; i < 60_000; i++) {
+            cache.put("dto-" + i, value);
+        }
+        assertEquals(60_000, cache.getEntryCount());
+        assertTrue(cache.getUsedBytes() > 60_000_000L, "usedBytes=" + cache.getUsedBytes());
+        
+        long heapGrowth = usedHeapAfterGc() - heapBefore;
+        long directGrowth = directMemoryUsed() - directBefore;
+        assertTrue(heapGrowth < 8L * 1024 * 1024, "堆增长了" + heapGrowth + "字节");
+        assertTrue(directGrowth > 60_000_000L, "直接内存只增长了" + directGrowth + "字节");
+        assertEquals(value, cache.get("dto-12345").get());
+    }
+    
+    /**
+     * 测试：两级缓存，二级命中时提升到一级
+     */
+    @Test
+    public void testTieredCache() {
+        LocalCacheConfig heapConfig = new LocalCacheConfig();
+        heapConfig.setMaximumSize(10);
+        OffHeapCacheConfig offHeapConfig = new OffHeapCacheConfig();
+        offHeapConfig.setMaximumBytes(1024 * 1024);
+        TieredCache cache = (TieredCache) new TieredCacheManager(heapConfig, offHeapConfig).getCache("users");
+        
+        for (int i = 0; i < 100; i++) {
+            cache.put("user-" + i, "name-" + i);
+        }
+        assertEquals("name-0", cache.get("user-0").get());
+        assertEquals(1, cache.getSecondLevelCache().getStats().getHitCount());
+        assertEquals("name-0", cache.get("user-0").get());
+        assertEquals(1, cache.getSecondLevelCache().getStats().getHitCount());
+        assertEquals(2, cache.getStats().getHitCount());
+        
+        cache.evict("user-0");
+        assertNull(cache.get("user-0"));
+        assertEquals(1, cache.getStats().getMissCount());
+    }
+    
+    /**
+     * 测试：缓存注解使用两级缓存
+     */
+    @Test
+    public void testCacheableWithTieredCacheManager() {
+        CacheAnnotationAdvisor advisor = new CacheAnnotationAdvisor();
+        advisor.getInterceptor().setCacheManager(new TieredCacheManager(new LocalCacheConfig(), smallConfig()));
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new ReferenceDataService());
+        proxyFactory.addAdvisor(advisor);
+        ReferenceDataService proxy = (ReferenceDataService) proxyFactory.getProxy();
+        
+        assertEquals("China", proxy.country("CN"));
+        assertEquals("China", proxy.country("CN"));
+        assertNull(proxy.country("XX"));
+        assertNull(proxy.country("XX"));
+        assertEquals(2, proxy.getLoads());
+    }
+    
+    private static OffHeapCacheConfig smallConfig() {
+        OffHeapCacheConfig config = new OffHeapCacheConfig();
+        config.setMaximumBytes(1024 * 1024);
+        return config;
+    }
+    
+    private static String valueFor(String key) {
+        return key + ":" + key.hashCode() + ":" + new StringBuilder(key).reverse();
+    }
+    
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+    
+    private static long directMemoryUsed() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+}
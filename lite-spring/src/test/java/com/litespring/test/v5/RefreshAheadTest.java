@@ -0,0 +1,219 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.ProxyFactory;
+import com.litespring.aop.cache.Cache;
+import com.litespring.aop.interceptor.CacheAnnotationAdvisor;
+import com.litespring.cache.LocalCache;
+import com.litespring.cache.LocalCacheAdapter;
+import com.litespring.cache.LocalCacheConfig;
+import com.litespring.cache.LocalCacheManager;
+import com.litespring.test.v5.service.ReferenceDataService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 提前刷新和加载合并测试
+ * 
+ * 刷新任务放进列表，由测试手动执行，时间由假时钟控制
+ * 
+ * @author lite-spring
+ */
+public class RefreshAheadTest {
+    
+    private final AtomicLong time = new AtomicLong();
+    
+    private final List<Runnable> tasks = new ArrayList<>();
+    
+    private LocalCacheConfig config() {
+        LocalCacheConfig config = new LocalCacheConfig();
+        config.setExpireAfterWrite(10, TimeUnit.SECONDS);
+        config.setRefreshAheadFactor(0.5);
+        config.setRefreshExecutor(tasks::add);
+        config.setTicker(time::get);
+        return config;
+    }
+    
+    private void advance(long seconds) {
+        time.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+    
+    private void runTasks() {
+        List<Runnable> pending = new ArrayList<>(tasks);
+        tasks.clear();
+        pending.forEach(Runnable::run);
+    }
+    
+    /**
+     * 测试：过了TTL的一半后读取返回旧值并在后台刷新，同一个键的刷新只执行一次
+     */
+    @Test
+    public void testStaleValueReturnedWhileRefreshing() {
+        LocalCache<String, Integer> cache = new LocalCache<>(config());
+        AtomicInteger loads = new AtomicInteger();
+        cache.put("a", 1);
+        
+        advance(4);
+        assertEquals(1, cache.get("a", k -> loads.incrementAndGet() + 1));
+        assertTrue(tasks.isEmpty());
+        
+        advance(2);
+        assertEquals(1, cache.get("a", k -> loads.incrementAndGet() + 1));
+        assertEquals(1, cache.get("a", k -> loads.incrementAndGet() + 1));
+        assertEquals(1, tasks.size());
+        assertEquals(0, loads.get());
+        
+        runTasks();
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.get("a", k -> loads.incrementAndGet() + 1));
+        assertTrue(tasks.isEmpty());
+        
+        // 刷新后重新计算过期时间
+        advance(8);
+        assertEquals(2, cache.getIfPresent("a"));
+        assertEquals(1, cache.getStats().getLoadSuccessCount());
+    }
+    
+    /**
+     * 测试：刷新失败时保留旧值；加载期间值被覆盖时丢弃刷新结果
+     */
+    @Test
+    public void testFailedOrOutdatedRefresh() {
+        LocalCache<String, Integer> cache = new LocalCache<>(config());
+        cache.put("a", 1);
+        advance(6);
+        assertEquals(1, cache.get("a", k -> {
+            throw new IllegalStateException("数据库不可用");
+        }));
+        runTasks();
+        assertEquals(1, cache.getIfPresent("a"));
+        assertEquals(1, cache.getStats().getLoadFailureCount());
+        
+        CompletableFuture<Integer> future = cache.refresh("a", k -> 2);
+        assertSame(future, cache.refresh("a", k -> 3));
+        cache.put("a", 10);
+        runTasks();
+        assertEquals(2, future.join());
+        assertEquals(10, cache.getIfPresent("a"));
+    }
+    
+    /**
+     * 测试：提前刷新比例的校验，没有写入过期时间不能提前刷新
+     */
+    @Test
+    public void testInvalidConfig() {
+        LocalCacheConfig config = new LocalCacheConfig();
+        assertThrows(IllegalArgumentException.class, () -> config.setRefreshAheadFactor(1));
+        assertThrows(IllegalArgumentException.class, () -> config.setRefreshAheadFactor(-0.1));
+        config.setRefreshAheadFactor(0.8);
+        assertThrows(IllegalArgumentException.class, () -> new LocalCache<String, String>(config));
+        // 刷新执行器必须显式指定
+        config.setExpireAfterWrite(10, TimeUnit.SECONDS);
+        assertThrows(IllegalArgumentException.class, () -> new LocalCache<String, String>(config));
+        config.setRefreshExecutor(tasks::add);
+        assertNotNull(new LocalCache<String, String>(config));
+    }
+    
+    /**
+     * 测试：加载在锁外执行，loader可以读写同一个缓存，递归加载同一个键不会等待自己
+     */
+    @Test
+    public void testLoaderMayUseCache() {
+        LocalCache<Integer, Integer> cache = new LocalCache<>();
+        for (int i = 0; i < 200; i++) {
+            int key = i;
+            assertEquals(key * 3, cache.get(key, k -> cache.get(k + 1000, k2 -> k * 2) + k));
+        }
+        assertEquals(400, cache.estimatedSize());
+        assertEquals(7, cache.get(-1, k -> cache.get(-1, k2 -> 6) + 1));
+        assertEquals(7, cache.getIfPresent(-1));
+    }
+    
+    /**
+     * 测试：同一个键的并发未命中只加载一次，受检异常原样抛出
+     */
+    @Test
+    public void testConcurrentLoadsCoalesced() throws Throwable {
+        Cache cache = new LocalCacheAdapter("users", new LocalCacheConfig());
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return cache.get("u1", () -> {
+                            loads.incrementAndGet();
+                            Thread.sleep(50);
+                            return "alice";
+                        });
+                    } catch (Throwable ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Object> result : results) {
+                assertEquals("alice", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().getLoadSuccessCount());
+        
+        assertThrows(IOException.class, () -> cache.get("u2", () -> {
+            throw new IOException("连接断开");
+        }));
+        assertNull(cache.get("u2"));
+    }
+    
+    /**
+     * 测试：@Cacheable方法在缓存配置了提前刷新时，在后台重新执行方法，调用方先得到旧值
+     */
+    @Test
+    public void testCacheableRefreshAhead() {
+        LocalCacheManager cacheManager = new LocalCacheManager();
+        cacheManager.setCacheConfig("countries", config());
+        CacheAnnotationAdvisor advisor = new CacheAnnotationAdvisor();
+        advisor.getInterceptor().setCacheManager(cacheManager);
+        ReferenceDataService target = new ReferenceDataService();
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(target);
+        proxyFactory.addAdvisor(advisor);
+        ReferenceDataService proxy = (ReferenceDataService) proxyFactory.getProxy();
+        
+        assertEquals("China", proxy.country("CN"));
+        target.updateCountry("CN", "PRC");
+        assertEquals("China", proxy.country("CN"));
+        assertTrue(tasks.isEmpty());
+        
+        advance(6);
+        assertEquals("China", proxy.country("CN"));
+        assertEquals("China", proxy.country("CN"));
+        assertEquals(1, tasks.size());
+        runTasks();
+        assertEquals("PRC", proxy.country("CN"));
+        assertEquals(2, target.getLoads());
+        
+        // 其他缓存使用默认配置，不刷新
+        assertEquals(1.5, proxy.rate("X", 1));
+        advance(6);
+        assertEquals(1.5, proxy.rate("X", 2));
+        assertTrue(tasks.isEmpty());
+    }
+}
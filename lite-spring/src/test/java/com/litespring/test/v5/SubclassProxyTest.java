@@ -0,0 +1,164 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.*;
+import com.litespring.test.v5.advice.LoggingBeforeAdvice;
+import com.litespring.test.v5.service.OrderService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 子类代理测试（目标类没有实现接口）
+ * 
+ * @author lite-spring
+ */
+public class SubclassProxyTest {
+    
+    /**
+     * 测试：没有接口的目标类也可以创建代理
+     */
+    @Test
+    public void testProxyClassWithoutInterface() {
+        OrderService target = new OrderService();
+        LoggingBeforeAdvice advice = new LoggingBeforeAdvice();
+        
+        OrderService proxy = createProxy(target, advice, "placeOrder");
+        
+        assertTrue(proxy instanceof SubclassProxy);
+        assertNotSame(OrderService.class, proxy.getClass());
+        assertEquals("bookx2", proxy.placeOrder("book", 2));
+        assertEquals(1, advice.getLogs().size());
+        
+        // 没有通知的方法直接调用目标对象
+        assertEquals(1, proxy.getOrderCount());
+        assertArrayEquals(new String[] {"bookx2"}, proxy.listOrders());
+        assertEquals(1, target.getOrderCount());
+        assertEquals(1, advice.getLogs().size());
+    }
+    
+    /**
+     * 测试：基本类型参数和返回值的装箱/拆箱
+     */
+    @Test
+    public void testPrimitiveArgumentsAndReturn() {
+        List<Object[]> seenArgs = new ArrayList<>();
+        MethodInterceptor interceptor = invocation -> {
+            seenArgs.add(invocation.getArguments());
+            return (Long) invocation.proceed() + 1;
+        };
+        
+        OrderService proxy = createProxy(new OrderService(), interceptor, "total");
+        
+        assertEquals(41, proxy.total(10L, 8, 0.5, false));
+        assertEquals(21, proxy.total(10L, 8, 0.5, true));
+        assertArrayEquals(new Object[] {10L, 8, 0.5, false}, seenArgs.get(0));
+    }
+    
+    /**
+     * 测试：环绕通知可以修改返回值，前置和返回后通知按顺序执行
+     */
+    @Test
+    public void testAdviceChain() {
+        List<String> calls = new ArrayList<>();
+        NameMatchPointcut pointcut = new NameMatchPointcut();
+        pointcut.addMethodName("placeOrder");
+        
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new OrderService());
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut,
+            (MethodBeforeAdvice) (method, args, target) -> calls.add("before")));
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut,
+            (AfterReturningAdvice) (returnValue, method, args, target) -> calls.add("after:" + returnValue)));
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut,
+            (MethodInterceptor) invocation -> "[" + invocation.proceed() + "]"));
+        OrderService proxy = (OrderService) proxyFactory.getProxy();
+        
+        assertEquals("[penx1]", proxy.placeOrder("pen", 1));
+        assertEquals(2, calls.size());
+        assertEquals("before", calls.get(0));
+        assertEquals("after:[penx1]", calls.get(1));
+    }
+    
+    /**
+     * 测试：目标方法的异常原样抛出
+     */
+    @Test
+    public void testExceptionPropagation() {
+        OrderService advisedProxy = createProxy(new OrderService(), new LoggingBeforeAdvice(), "cancel");
+        assertThrows(IOException.class, () -> advisedProxy.cancel("missing"));
+        
+        OrderService plainProxy = createProxy(new OrderService(), new LoggingBeforeAdvice(), "placeOrder");
+        assertThrows(IOException.class, () -> plainProxy.cancel("missing"));
+    }
+    
+    /**
+     * 测试：与目标类同一个包中的protected和包可见方法也被代理，final方法不被代理
+     */
+    @Test
+    public void testNonPublicMethods() throws Exception {
+        LoggingBeforeAdvice advice = new LoggingBeforeAdvice();
+        OrderService target = new OrderService();
+        target.placeOrder("cup", 1);
+        
+        NameMatchPointcut pointcut = new NameMatchPointcut();
+        pointcut.addMethodName("describe");
+        pointcut.addMethodName("internalStatus");
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(target);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut, advice));
+        Object proxy = proxyFactory.getProxy();
+        
+        Method describe = proxy.getClass().getDeclaredMethod("describe");
+        describe.setAccessible(true);
+        assertEquals("orders=1", describe.invoke(proxy));
+        
+        Method internalStatus = proxy.getClass().getDeclaredMethod("internalStatus");
+        internalStatus.setAccessible(true);
+        assertEquals("ok", internalStatus.invoke(proxy));
+        assertEquals(2, advice.getLogs().size());
+        
+        assertThrows(NoSuchMethodException.class, () -> proxy.getClass().getDeclaredMethod("finalName"));
+    }
+    
+    /**
+     * 测试：代理类按目标类缓存，创建代理实例不会再次执行目标类的构造器
+     */
+    @Test
+    public void testProxyClassCachedAndConstructorSkipped() {
+        OrderService first = new OrderService();
+        OrderService second = new OrderService();
+        int instances = OrderService.instances.get();
+        
+        OrderService proxy1 = createProxy(first, new LoggingBeforeAdvice(), "placeOrder");
+        OrderService proxy2 = createProxy(second, new LoggingBeforeAdvice(), "getOrderCount");
+        
+        assertSame(proxy1.getClass(), proxy2.getClass());
+        assertEquals(instances, OrderService.instances.get());
+    }
+    
+    /**
+     * 测试：final类不能创建子类代理
+     */
+    @Test
+    public void testFinalClassRejected() {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget("final String");
+        proxyFactory.setProxyTargetClass(true);
+        assertThrows(IllegalArgumentException.class, proxyFactory::getProxy);
+    }
+    
+    private OrderService createProxy(OrderService target, Advice advice, String methodName) {
+        NameMatchPointcut pointcut = new NameMatchPointcut();
+        pointcut.addMethodName(methodName);
+        
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(target);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut, advice));
+        return (OrderService) proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,281 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.MethodInterceptor;
+import com.litespring.aop.NameMatchPointcut;
+import com.litespring.aop.DefaultPointcutAdvisor;
+import com.litespring.aop.ProxyFactory;
+import com.litespring.aop.SubclassProxy;
+import com.litespring.aop.interceptor.AsyncAnnotationAdvisor;
+import com.litespring.aop.target.PoolingTargetSource;
+import com.litespring.aop.target.ThreadLocalTargetSource;
+import com.litespring.core.BeanDefinition;
+import com.litespring.core.BeansException;
+import com.litespring.core.DefaultBeanFactory_v4;
+import com.litespring.test.v5.service.Formatter;
+import com.litespring.test.v5.service.StatefulFormatter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 目标源测试
+ * 
+ * @author lite-spring
+ */
+public class TargetSourceTest {
+    
+    @BeforeEach
+    public void setUp() {
+        StatefulFormatter.instances.set(0);
+        StatefulFormatter.destroyed.set(0);
+    }
+    
+    /**
+     * 测试：池化目标源让多个线程安全地使用非线程安全的目标对象，对象数不超过上限
+     */
+    @Test
+    public void testPoolingTargetSource() throws Exception {
+        PoolingTargetSource targetSource = new PoolingTargetSource();
+        targetSource.setTargetFactory(StatefulFormatter::new);
+        targetSource.setTargetClass(StatefulFormatter.class);
+        targetSource.setMaxSize(2);
+        
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTargetSource(targetSource);
+        Formatter proxy = (Formatter) proxyFactory.getProxy();
+        assertTrue(Proxy.isProxyClass(proxy.getClass()));
+        
+        assertEquals(8 * 200, runConcurrently(proxy, 8, 200));
+        assertTrue(targetSource.getCreatedCount() <= 2);
+        assertEquals(0, targetSource.getActiveCount());
+        assertEquals(targetSource.getCreatedCount(), targetSource.getIdleCount());
+        
+        targetSource.destroy();
+        assertEquals(StatefulFormatter.instances.get(), StatefulFormatter.destroyed.get());
+    }
+    
+    /**
+     * 测试：对象全部借出且等待超时时失败，归还后可以再次借出
+     */
+    @Test
+    public void testPoolExhausted() throws Exception {
+        PoolingTargetSource targetSource = new PoolingTargetSource();
+        targetSource.setTargetFactory(StatefulFormatter::new);
+        targetSource.setTargetClass(StatefulFormatter.class);
+        targetSource.setMaxSize(1);
+        targetSource.setMaxWait(20);
+        
+        Object borrowed = targetSource.getTarget();
+        assertThrows(IllegalStateException.class, targetSource::getTarget);
+        targetSource.releaseTarget(borrowed);
+        assertSame(borrowed, targetSource.getTarget());
+        assertEquals(1, targetSource.getCreatedCount());
+    }
+    
+    /**
+     * 测试：一直等待对象的调用在对象池关闭时失败返回，关闭后归还的对象被销毁
+     */
+    @Test
+    public void testDestroyWakesBlockedBorrower() throws Exception {
+        PoolingTargetSource targetSource = new PoolingTargetSource();
+        targetSource.setTargetFactory(StatefulFormatter::new);
+        targetSource.setTargetClass(StatefulFormatter.class);
+        targetSource.setMaxSize(1);
+        
+        Object borrowed = targetSource.getTarget();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> waiting = executor.submit(targetSource::getTarget);
+            Thread.sleep(100);
+            assertFalse(waiting.isDone());
+            
+            targetSource.destroy();
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        targetSource.releaseTarget(borrowed);
+        assertEquals(0, targetSource.getIdleCount());
+        assertEquals(0, targetSource.getCreatedCount());
+        assertEquals(1, StatefulFormatter.destroyed.get());
+        assertThrows(IllegalStateException.class, targetSource::getTarget);
+    }
+    
+    /**
+     * 测试：线程本地目标源（子类代理）每个线程一个目标对象，通知照常执行
+     */
+    @Test
+    public void testThreadLocalTargetSource() throws Exception {
+        ThreadLocalTargetSource targetSource = new ThreadLocalTargetSource();
+        targetSource.setTargetFactory(StatefulFormatter::new);
+        targetSource.setTargetClass(StatefulFormatter.class);
+        
+        AtomicInteger advised = new AtomicInteger();
+        MethodInterceptor counting = invocation -> {
+            advised.incrementAndGet();
+            return invocation.proceed();
+        };
+        NameMatchPointcut pointcut = new NameMatchPointcut();
+        pointcut.addMethodName("format");
+        
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTargetSource(targetSource);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut, counting));
+        StatefulFormatter proxy = (StatefulFormatter) proxyFactory.getProxy();
+        assertTrue(proxy instanceof SubclassProxy);
+        
+        assertEquals(3 * 100, runConcurrently(proxy, 3, 100));
+        assertEquals(300, advised.get());
+        assertEquals(3, targetSource.getObjectCount());
+        assertEquals(300 + 300 - 3, targetSource.getHitCount());
+        
+        // 没有通知的方法同样使用当前线程的目标对象
+        int id = proxy.getInstanceId();
+        assertEquals(id, proxy.getInstanceId());
+        assertEquals(4, targetSource.getObjectCount());
+        
+        targetSource.destroy();
+        assertEquals(4, StatefulFormatter.destroyed.get());
+    }
+    
+    /**
+     * 测试：@Async方法在调用方返回后才执行，池化的目标对象由执行线程借出，执行完才归还
+     */
+    @Test
+    public void testAsyncWithPoolingTargetSource() throws Exception {
+        PoolingTargetSource targetSource = new PoolingTargetSource();
+        targetSource.setTargetFactory(StatefulFormatter::new);
+        targetSource.setTargetClass(StatefulFormatter.class);
+        targetSource.setMaxSize(1);
+        targetSource.setMaxWait(20);
+        
+        AsyncAnnotationAdvisor advisor = new AsyncAnnotationAdvisor();
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTargetSource(targetSource);
+        proxyFactory.addAdvisor(advisor);
+        Formatter proxy = (Formatter) proxyFactory.getProxy();
+        
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            CompletableFuture<Integer> future = proxy.getInstanceIdLater(latch);
+            Conditions.waitUntil(() -> targetSource.getActiveCount() == 1);
+            assertEquals(0, targetSource.getIdleCount());
+            // 唯一的目标对象还在后台使用，其他调用借不到
+            assertThrows(IllegalStateException.class, proxy::getInstanceId);
+            
+            latch.countDown();
+            assertEquals(1, future.get(5, TimeUnit.SECONDS));
+            Conditions.waitUntil(() -> targetSource.getIdleCount() == 1);
+            assertEquals(0, targetSource.getActiveCount());
+            assertEquals(1, proxy.getInstanceId());
+        } finally {
+            latch.countDown();
+            advisor.destroy();
+        }
+    }
+    
+    /**
+     * 测试：@Async方法使用执行线程自己的线程本地目标对象，不和调用线程共用
+     */
+    @Test
+    public void testAsyncWithThreadLocalTargetSource() throws Exception {
+        ThreadLocalTargetSource targetSource = new ThreadLocalTargetSource();
+        targetSource.setTargetFactory(StatefulFormatter::new);
+        targetSource.setTargetClass(StatefulFormatter.class);
+        
+        AsyncAnnotationAdvisor advisor = new AsyncAnnotationAdvisor();
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTargetSource(targetSource);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(advisor);
+        StatefulFormatter proxy = (StatefulFormatter) proxyFactory.getProxy();
+        
+        try {
+            int callerId = proxy.getInstanceId();
+            int asyncId = proxy.getInstanceIdLater(new CountDownLatch(0)).get(5, TimeUnit.SECONDS);
+            assertNotEquals(callerId, asyncId);
+            assertEquals(callerId, proxy.getInstanceId());
+        } finally {
+            advisor.destroy();
+            targetSource.destroy();
+        }
+    }
+    
+    /**
+     * 测试：目标对象来自容器中的原型Bean，单例Bean不能作为目标
+     */
+    @Test
+    public void testTargetBeanFromContainer() throws Exception {
+        DefaultBeanFactory_v4 factory = new DefaultBeanFactory_v4();
+        BeanDefinition formatter = new BeanDefinition(StatefulFormatter.class);
+        formatter.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        factory.registerBeanDefinition("formatter", formatter);
+        factory.registerBeanDefinition("singletonFormatter", new BeanDefinition(StatefulFormatter.class));
+        
+        BeanDefinition pool = new BeanDefinition(PoolingTargetSource.class);
+        pool.getPropertyValues().addPropertyValue("targetBeanName", "formatter");
+        pool.getPropertyValues().addPropertyValue("maxSize", "3");
+        factory.registerBeanDefinition("formatterPool", pool);
+        
+        PoolingTargetSource targetSource = (PoolingTargetSource) factory.getBean("formatterPool");
+        assertEquals(StatefulFormatter.class, targetSource.getTargetClass());
+        
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTargetSource(targetSource);
+        Formatter proxy = (Formatter) proxyFactory.getProxy();
+        assertEquals("[abc]", proxy.format("abc"));
+        assertEquals(1, targetSource.getCreatedCount());
+        
+        PoolingTargetSource invalid = new PoolingTargetSource();
+        invalid.setBeanFactory(factory);
+        invalid.setTargetBeanName("singletonFormatter");
+        assertThrows(BeansException.class, invalid::getTarget);
+    }
+    
+    /**
+     * 多个线程并发调用，返回结果正确的调用数
+     */
+    private static int runConcurrently(Formatter proxy, int threads, int callsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    int correct = 0;
+                    for (int i = 0; i < callsPerThread; i++) {
+                        String value = "t" + thread + "-" + i;
+                        if (("[" + value + "]").equals(proxy.format(value))) {
+                            correct++;
+                        }
+                        assertTrue(proxy.getInstanceId() > 0);
+                    }
+                    return correct;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get(30, TimeUnit.SECONDS);
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.ProxyFactory;
+import com.litespring.aop.interceptor.TimedAnnotationAdvisor;
+import com.litespring.metrics.Histogram;
+import com.litespring.metrics.HistogramSnapshot;
+import com.litespring.metrics.MetricsRegistry;
+import com.litespring.metrics.Timer;
+import com.litespring.test.v5.service.ReportService;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 直方图、计时器和@Timed测试
+ * 
+ * @author lite-spring
+ */
+public class TimedTest {
+    
+    /**
+     * 测试：分位数的相对误差不超过1/16，最大值精确
+     */
+    @Test
+    public void testHistogramAccuracy() {
+        Histogram histogram = new Histogram();
+        Random random = new Random(42);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) (Math.exp(random.nextDouble() * 20));
+            histogram.record(values[i]);
+        }
+        java.util.Arrays.sort(values);
+        
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(values.length, snapshot.getCount());
+        assertEquals(values[values.length - 1], snapshot.getMax());
+        for (double quantile : new double[] {0.5, 0.9, 0.99, 0.999}) {
+            long expected = values[(int) Math.ceil(quantile * values.length) - 1];
+            long actual = snapshot.getValue(quantile);
+            assertTrue(actual >= expected, quantile + ": " + actual + " < " + expected);
+            assertTrue(actual <= expected + expected / 16 + 1, quantile + ": " + actual + " > " + expected);
+        }
+        
+        // 小于16的值精确记录，超出范围的值计入最后一个桶但最大值不变
+        Histogram small = new Histogram();
+        small.record(3);
+        small.record(Long.MAX_VALUE);
+        assertEquals(3, small.snapshot().getMedian());
+        assertEquals(Long.MAX_VALUE, small.snapshot().getValue(1.0));
+        
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().get99thPercentile());
+    }
+    
+    /**
+     * 测试：多线程并发记录不丢失
+     */
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        Timer timer = new Timer("concurrent");
+        int threads = 4;
+        int perThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long base = (t + 1) * 1000L;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        timer.record(base + i % 100);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals((long) threads * perThread, timer.getCount());
+        assertEquals(threads * 1000L + 99, timer.getMaxNanos());
+    }
+    
+    /**
+     * 测试：通过代理计时，异常调用单独计数，计时器名称可以自定义
+     */
+    @Test
+    public void testTimedInterceptor() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        TimedAnnotationAdvisor advisor = new TimedAnnotationAdvisor();
+        advisor.getInterceptor().setMetricsRegistry(registry);
+        
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(new ReportService());
+        proxyFactory.addAdvisor(advisor);
+        ReportService proxy = (ReportService) proxyFactory.getProxy();
+        
+        for (int i = 0; i < 10; i++) {
+            assertEquals("report:q" + i, proxy.render("q" + i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> proxy.render(null));
+        assertEquals(6, proxy.export(3));
+        assertEquals(42, proxy.count());
+        
+        Timer render = registry.getTimer("ReportService.render");
+        assertNotNull(render);
+        assertEquals(11, render.getCount());
+        assertEquals(1, render.getErrorCount());
+        assertTrue(render.getMaxNanos() > 0);
+        assertTrue(render.getP50Nanos() <= render.getP99Nanos());
+        assertTrue(render.getP99Nanos() <= render.getMaxNanos());
+        
+        assertEquals(1, registry.getTimer("reports.export").getCount());
+        assertEquals(2, registry.getTimers().size());
+    }
+    
+    /**
+     * 测试：开启JMX后计时器注册为MBean，关闭后注销
+     */
+    @Test
+    public void testJmxExport() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.setJmxEnabled(true);
+        registry.setJmxDomain("com.litespring.metrics.test");
+        Timer timer = registry.timer("orders.place");
+        timer.record(1500);
+        timer.recordError(2500);
+        
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = registry.getObjectName("orders.place");
+        try {
+            assertTrue(server.isRegistered(name));
+            assertEquals(2L, server.getAttribute(name, "Count"));
+            assertEquals(1L, server.getAttribute(name, "ErrorCount"));
+            assertEquals(2500L, server.getAttribute(name, "MaxNanos"));
+        } finally {
+            registry.destroy();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+    
+    /**
+     * 测试：记录耗时不分配内存，单次记录的开销有上限
+     */
+    @Test
+    public void testRecordingOverhead() {
+        Timer timer = new Timer("overhead");
+        
+        long best = Long.MAX_VALUE;
+        int calls = 100_000;
+        for (int round = 0; round < 20; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                timer.record(i);
+            }
+            best = Math.min(best, (System.nanoTime() - start) / calls);
+        }
+        // 正常情况下为几十纳秒，上限放宽以容忍慢速或繁忙的机器
+        assertTrue(best < 1000, "单次记录耗时过长: " + best + "ns");
+        
+        long[] value = {0};
+        long allocated = AllocationMeter.allocatedBytesPerCall(() -> timer.record(value[0]++));
+        assertEquals(0, allocated);
+    }
+}
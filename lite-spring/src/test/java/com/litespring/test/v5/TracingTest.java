@@ -0,0 +1,167 @@
+package com.litespring.test.v5;
+
+import com.litespring.aop.ProxyFactory;
+import com.litespring.aop.interceptor.TracedAnnotationAdvisor;
+import com.litespring.tracing.FileSpanExporter;
+import com.litespring.tracing.RingBufferSpanExporter;
+import com.litespring.tracing.Sampler;
+import com.litespring.tracing.Span;
+import com.litespring.tracing.Tracer;
+import com.litespring.test.v5.service.CheckoutService;
+import com.litespring.test.v5.service.CheckoutService.PaymentService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 跟踪测试
+ * 
+ * @author lite-spring
+ */
+public class TracingTest {
+    
+    /**
+     * 测试：嵌套调用的跨度组成调用树，异常记录在跨度中
+     */
+    @Test
+    public void testNestedSpans() {
+        Tracer tracer = new Tracer();
+        RingBufferSpanExporter exporter = new RingBufferSpanExporter(16);
+        tracer.addExporter(exporter);
+        CheckoutService checkout = createCheckout(tracer);
+        
+        assertEquals("A-1:paid-30", checkout.checkout("A-1", 30));
+        assertNull(tracer.currentSpan());
+        
+        List<Span> spans = exporter.getSpans();
+        assertEquals(2, spans.size());
+        Span pay = spans.get(0);
+        Span root = spans.get(1);
+        assertEquals("payment.pay", pay.getName());
+        assertEquals("CheckoutService.checkout", root.getName());
+        assertEquals(root.getTraceId(), pay.getTraceId());
+        assertEquals(root.getSpanId(), pay.getParentSpanId());
+        assertEquals(0, root.getParentSpanId());
+        assertTrue(root.getDurationNanos() >= pay.getDurationNanos());
+        
+        assertThrows(IllegalArgumentException.class, () -> checkout.checkout("A-2", 0));
+        List<Span> failed = exporter.getTrace(exporter.getSpans().get(3).getTraceId());
+        assertEquals(2, failed.size());
+        assertEquals(IllegalArgumentException.class.getName(), failed.get(0).getError());
+        assertEquals(IllegalArgumentException.class.getName(), failed.get(1).getError());
+        assertNull(tracer.currentSpan());
+    }
+    
+    /**
+     * 测试：未被采样的请求不导出任何跨度，子调用沿用根跨度的决定
+     */
+    @Test
+    public void testUnsampledRequest() {
+        Tracer tracer = new Tracer();
+        tracer.setSampler(Sampler.never());
+        RingBufferSpanExporter exporter = new RingBufferSpanExporter(16);
+        tracer.addExporter(exporter);
+        CheckoutService checkout = createCheckout(tracer);
+        
+        assertEquals("B-1:paid-5", checkout.checkout("B-1", 5));
+        assertEquals(0, exporter.getExportedCount());
+        assertNull(tracer.currentSpan());
+        
+        // 手动开始的未采样根跨度下，子跨度同样不采样
+        Span root = tracer.startSpan("manual");
+        assertFalse(root.isSampled());
+        Span child = tracer.startSpan("child");
+        assertFalse(child.isSampled());
+        tracer.finishSpan(child, null);
+        assertSame(root, tracer.currentSpan());
+        tracer.finishSpan(root, null);
+        assertNull(tracer.currentSpan());
+    }
+    
+    /**
+     * 测试：按比例采样
+     */
+    @Test
+    public void testRatioSampler() {
+        Sampler sampler = Sampler.ratio(0.25);
+        int sampled = 0;
+        int total = 100_000;
+        for (int i = 0; i < total; i++) {
+            long traceId = ThreadLocalRandom.current().nextLong();
+            if (sampler.isSampled(traceId)) {
+                sampled++;
+                assertTrue(sampler.isSampled(traceId));
+            }
+        }
+        assertEquals(0.25, (double) sampled / total, 0.02);
+        assertThrows(IllegalArgumentException.class, () -> Sampler.ratio(1.5));
+    }
+    
+    /**
+     * 测试：环形缓冲区只保留最近的跨度
+     */
+    @Test
+    public void testRingBufferOverwrite() {
+        Tracer tracer = new Tracer();
+        RingBufferSpanExporter exporter = new RingBufferSpanExporter(3);
+        tracer.addExporter(exporter);
+        assertEquals(4, exporter.getCapacity());
+        
+        for (int i = 0; i < 6; i++) {
+            tracer.finishSpan(tracer.startSpan("span-" + i), null);
+        }
+        List<Span> spans = exporter.getSpans();
+        assertEquals(4, spans.size());
+        assertEquals("span-2", spans.get(0).getName());
+        assertEquals("span-5", spans.get(3).getName());
+        assertEquals(6, exporter.getExportedCount());
+    }
+    
+    /**
+     * 测试：文件导出器把跨度按行写成JSON
+     */
+    @Test
+    public void testFileExporter(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("spans.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file.toString());
+        Tracer tracer = new Tracer();
+        tracer.addExporter(exporter);
+        
+        CheckoutService checkout = createCheckout(tracer);
+        checkout.checkout("C-1", 7);
+        checkout.checkout("C-2", 8);
+        exporter.destroy();
+        
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        assertEquals(4, exporter.getWrittenCount());
+        assertEquals(0, exporter.getDroppedCount());
+        assertTrue(lines.get(0).startsWith("{\"traceId\":\""));
+        assertTrue(lines.get(0).contains("\"name\":\"payment.pay\""));
+        assertTrue(lines.get(1).contains("\"name\":\"CheckoutService.checkout\""));
+        assertFalse(lines.get(1).contains("parentId"));
+    }
+    
+    private static CheckoutService createCheckout(Tracer tracer) {
+        TracedAnnotationAdvisor advisor = new TracedAnnotationAdvisor();
+        advisor.getInterceptor().setTracer(tracer);
+        
+        ProxyFactory paymentFactory = new ProxyFactory();
+        paymentFactory.setTarget(new PaymentService());
+        paymentFactory.addAdvisor(advisor);
+        
+        CheckoutService target = new CheckoutService();
+        target.setPaymentService((PaymentService) paymentFactory.getProxy());
+        ProxyFactory checkoutFactory = new ProxyFactory();
+        checkoutFactory.setTarget(target);
+        checkoutFactory.addAdvisor(advisor);
+        return (CheckoutService) checkoutFactory.getProxy();
+    }
+}
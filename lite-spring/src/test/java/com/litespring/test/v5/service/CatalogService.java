@@ -0,0 +1,44 @@
+package com.litespring.test.v5.service;
+
+import com.litespring.annotation.Coalesce;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 带@Coalesce方法的服务，模拟耗时的查询
+ * 
+ * @author lite-spring
+ */
+public class CatalogService {
+    
+    private final AtomicInteger loads = new AtomicInteger();
+    
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    
+    @Coalesce
+    public StringBuilder load(String id) throws InterruptedException {
+        loads.incrementAndGet();
+        release.await(5, TimeUnit.SECONDS);
+        if (id.startsWith("missing")) {
+            throw new IllegalArgumentException("商品不存在: " + id);
+        }
+        return new StringBuilder(id);
+    }
+    
+    @Coalesce(keyArgs = 0)
+    public String price(String id, long requestTime) throws InterruptedException {
+        loads.incrementAndGet();
+        release.await(5, TimeUnit.SECONDS);
+        return id + ":" + requestTime;
+    }
+    
+    public int getLoadCount() {
+        return loads.get();
+    }
+    
+    public void setRelease(CountDownLatch release) {
+        this.release = release;
+    }
+}
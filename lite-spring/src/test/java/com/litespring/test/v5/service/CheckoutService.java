@@ -0,0 +1,36 @@
+package com.litespring.test.v5.service;
+
+import com.litespring.annotation.Traced;
+
+/**
+ * 带@Traced方法的服务，checkout调用另一个被跟踪的服务
+ * 
+ * @author lite-spring
+ */
+@Traced
+public class CheckoutService {
+    
+    private PaymentService paymentService;
+    
+    public String checkout(String order, long amount) {
+        return order + ":" + paymentService.pay(amount);
+    }
+    
+    public void setPaymentService(PaymentService paymentService) {
+        this.paymentService = paymentService;
+    }
+    
+    /**
+     * 被checkout调用的支付服务
+     */
+    public static class PaymentService {
+        
+        @Traced("payment.pay")
+        public String pay(long amount) {
+            if (amount <= 0) {
+                throw new IllegalArgumentException("金额必须大于0");
+            }
+            return "paid-" + amount;
+        }
+    }
+}
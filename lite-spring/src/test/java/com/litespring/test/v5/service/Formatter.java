@@ -0,0 +1,28 @@
+package com.litespring.test.v5.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 格式化接口
+ * 用于测试目标源（JDK动态代理）
+ * 
+ * @author lite-spring
+ */
+public interface Formatter {
+    
+    /**
+     * 格式化一个值
+     */
+    String format(String value);
+    
+    /**
+     * 当前目标对象的编号
+     */
+    int getInstanceId();
+    
+    /**
+     * 在后台等待latch打开后返回目标对象的编号
+     */
+    CompletableFuture<Integer> getInstanceIdLater(CountDownLatch latch);
+}
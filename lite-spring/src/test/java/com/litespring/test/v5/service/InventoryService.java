@@ -0,0 +1,32 @@
+package com.litespring.test.v5.service;
+
+import com.litespring.annotation.Bulkhead;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带@Bulkhead方法的服务
+ * 
+ * @author lite-spring
+ */
+public class InventoryService {
+    
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    
+    @Bulkhead(maxConcurrent = 1)
+    public int reserve(String sku) throws InterruptedException {
+        release.await(5, TimeUnit.SECONDS);
+        return sku.length();
+    }
+    
+    @Bulkhead(maxConcurrent = 1, maxWait = 2000)
+    public int reserveWaiting(String sku) throws InterruptedException {
+        release.await(5, TimeUnit.SECONDS);
+        return sku.length();
+    }
+    
+    public void setRelease(CountDownLatch release) {
+        this.release = release;
+    }
+}
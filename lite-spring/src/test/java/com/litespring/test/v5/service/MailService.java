@@ -0,0 +1,64 @@
+package com.litespring.test.v5.service;
+
+import com.litespring.annotation.Async;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带@Async方法的服务（没有接口，使用子类代理）
+ * 
+ * @author lite-spring
+ */
+public class MailService {
+    
+    private final List<String> sentBy = new CopyOnWriteArrayList<>();
+    
+    private final CountDownLatch sent = new CountDownLatch(1);
+    
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    
+    @Async
+    public void send(String to) {
+        sentBy.add(Thread.currentThread().getName());
+        sent.countDown();
+    }
+    
+    @Async
+    public CompletableFuture<String> render(String template) {
+        return CompletableFuture.completedFuture(template + "@" + Thread.currentThread().getName());
+    }
+    
+    @Async
+    public Future<String> fail(String message) {
+        throw new IllegalArgumentException(message);
+    }
+    
+    @Async("smallExecutor")
+    public Future<String> await() throws InterruptedException {
+        release.await();
+        return CompletableFuture.completedFuture(Thread.currentThread().getName());
+    }
+    
+    public String currentThread() {
+        return Thread.currentThread().getName();
+    }
+    
+    // 代理对象自己的字段没有初始化，测试通过方法访问目标对象的状态
+    
+    public List<String> getSentBy() {
+        return sentBy;
+    }
+    
+    public boolean awaitSent(long seconds) throws InterruptedException {
+        return sent.await(seconds, TimeUnit.SECONDS);
+    }
+    
+    public void setRelease(CountDownLatch release) {
+        this.release = release;
+    }
+}
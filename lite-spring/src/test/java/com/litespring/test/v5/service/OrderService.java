@@ -0,0 +1,59 @@
+package com.litespring.test.v5.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 订单服务（没有实现接口，只能使用子类代理）
+ * 
+ * @author lite-spring
+ */
+public class OrderService {
+    
+    public static final AtomicInteger instances = new AtomicInteger();
+    
+    private final List<String> orders = new ArrayList<>();
+    
+    public OrderService() {
+        instances.incrementAndGet();
+    }
+    
+    public String placeOrder(String item, int quantity) {
+        String order = item + "x" + quantity;
+        orders.add(order);
+        return order;
+    }
+    
+    public long total(long price, int quantity, double discount, boolean vip) {
+        double total = price * quantity * discount;
+        return vip ? (long) total / 2 : (long) total;
+    }
+    
+    public int getOrderCount() {
+        return orders.size();
+    }
+    
+    public String[] listOrders() {
+        return orders.toArray(new String[0]);
+    }
+    
+    public void cancel(String order) throws IOException {
+        if (!orders.remove(order)) {
+            throw new IOException("订单不存在: " + order);
+        }
+    }
+    
+    protected String describe() {
+        return "orders=" + orders.size();
+    }
+    
+    String internalStatus() {
+        return "ok";
+    }
+    
+    public final String finalName() {
+        return "OrderService-" + orders.size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.litespring.test.v5.service;
+
+import com.litespring.annotation.CircuitBreaker;
+
+/**
+ * 带@CircuitBreaker方法的服务，下游是否可用由available控制
+ * 
+ * @author lite-spring
+ */
+public class QuoteService {
+    
+    private volatile boolean available = true;
+    
+    private volatile int remoteCalls;
+    
+    @CircuitBreaker(slidingWindowSize = 4, minimumNumberOfCalls = 2, fallbackMethod = "cachedQuote")
+    public String quote(String symbol) {
+        remoteCalls++;
+        if (!available) {
+            throw new IllegalStateException("行情服务不可用");
+        }
+        return symbol + ":100";
+    }
+    
+    private String cachedQuote(String symbol, Throwable cause) {
+        return symbol + ":cached(" + cause.getClass().getSimpleName() + ")";
+    }
+    
+    @CircuitBreaker(slidingWindowSize = 4, minimumNumberOfCalls = 2,
+                    ignoreExceptions = IllegalArgumentException.class)
+    public int volume(String symbol) {
+        remoteCalls++;
+        if (symbol.isEmpty()) {
+            throw new IllegalArgumentException("symbol不能为空");
+        }
+        if (!available) {
+            throw new IllegalStateException("行情服务不可用");
+        }
+        return symbol.length();
+    }
+    
+    @CircuitBreaker(slidingWindowSize = 4, minimumNumberOfCalls = 2, fallbackMethod = "unknownStatus")
+    public String marketStatus() {
+        remoteCalls++;
+        if (!available) {
+            throw new IllegalStateException("行情服务不可用");
+        }
+        return "OPEN";
+    }
+    
+    private String unknownStatus(Throwable cause) {
+        return "UNKNOWN(" + cause.getClass().getSimpleName() + ")";
+    }
+    
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+    
+    public int getRemoteCalls() {
+        return remoteCalls;
+    }
+}
@@ -0,0 +1,66 @@
+package com.litespring.test.v5.service;
+
+import com.litespring.annotation.CacheEvict;
+import com.litespring.annotation.CachePut;
+import com.litespring.annotation.Cacheable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 带缓存注解的参考数据服务，loads记录真正读取"数据库"的次数
+ * 
+ * @author lite-spring
+ */
+public class ReferenceDataService {
+    
+    private final Map<String, String> countries = new ConcurrentHashMap<>();
+    
+    private final AtomicInteger loads = new AtomicInteger();
+    
+    public ReferenceDataService() {
+        countries.put("CN", "China");
+        countries.put("FR", "France");
+    }
+    
+    @Cacheable("countries")
+    public String country(String code) {
+        loads.incrementAndGet();
+        if (code.isEmpty()) {
+            throw new IllegalArgumentException("code不能为空");
+        }
+        return countries.get(code);
+    }
+    
+    @Cacheable(value = "rates", keyArgs = 0)
+    public double rate(String currency, long requestId) {
+        loads.incrementAndGet();
+        return currency.length() * 1.5;
+    }
+    
+    @Cacheable
+    public int population(int year) {
+        loads.incrementAndGet();
+        return year * 1000;
+    }
+    
+    @CachePut(value = "countries", keyArgs = 0)
+    public String updateCountry(String code, String name) {
+        countries.put(code, name);
+        return name;
+    }
+    
+    @CacheEvict("countries")
+    public void removeCountry(String code) {
+        countries.remove(code);
+    }
+    
+    @CacheEvict(value = {"countries", "rates"}, allEntries = true)
+    public void reload() {
+    }
+    
+    public int getLoads() {
+        return loads.get();
+    }
+}
@@ -0,0 +1,37 @@
+package com.litespring.test.v5.service;
+
+import com.litespring.annotation.Cacheable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 带@Cacheable方法的地区服务，region通过另一个代理调用country，两个方法使用同一个缓存
+ * 
+ * @author lite-spring
+ */
+public class RegionService {
+    
+    private RegionService countries = this;
+    
+    private final AtomicInteger loads = new AtomicInteger();
+    
+    @Cacheable("ref")
+    public String region(int id) {
+        loads.incrementAndGet();
+        return "R" + id + "/" + countries.country("C" + id);
+    }
+    
+    @Cacheable("ref")
+    public String country(String code) {
+        loads.incrementAndGet();
+        return code.toLowerCase();
+    }
+    
+    public void setCountries(RegionService countries) {
+        this.countries = countries;
+    }
+    
+    public int getLoads() {
+        return loads.get();
+    }
+}
@@ -0,0 +1,28 @@
+package com.litespring.test.v5.service;
+
+import com.litespring.annotation.Timed;
+
+/**
+ * 带@Timed方法的服务
+ * 
+ * @author lite-spring
+ */
+public class ReportService {
+    
+    @Timed
+    public String render(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("name不能为null");
+        }
+        return "report:" + name;
+    }
+    
+    @Timed("reports.export")
+    public int export(int pages) {
+        return pages * 2;
+    }
+    
+    public int count() {
+        return 42;
+    }
+}
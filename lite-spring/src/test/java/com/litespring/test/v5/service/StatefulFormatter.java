@@ -0,0 +1,57 @@
+package com.litespring.test.v5.service;
+
+import com.litespring.annotation.Async;
+import com.litespring.core.DisposableBean;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 有状态、非线程安全的格式化器
+ * 复用内部缓冲区，多个线程同时调用同一个实例会得到错误结果
+ * 
+ * @author lite-spring
+ */
+public class StatefulFormatter implements Formatter, DisposableBean {
+    
+    public static final AtomicInteger instances = new AtomicInteger();
+    public static final AtomicInteger destroyed = new AtomicInteger();
+    
+    private final int instanceId = instances.incrementAndGet();
+    
+    private final StringBuilder buffer = new StringBuilder();
+    
+    @Override
+    public String format(String value) {
+        buffer.setLength(0);
+        buffer.append('[');
+        for (int i = 0; i < value.length(); i++) {
+            buffer.append(value.charAt(i));
+            Thread.yield();
+        }
+        buffer.append(']');
+        return buffer.toString();
+    }
+    
+    @Override
+    public int getInstanceId() {
+        return instanceId;
+    }
+    
+    @Async
+    @Override
+    public CompletableFuture<Integer> getInstanceIdLater(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return CompletableFuture.completedFuture(instanceId);
+    }
+    
+    @Override
+    public void destroy() {
+        destroyed.incrementAndGet();
+    }
+}
@@ -0,0 +1,173 @@
+package com.litespring.test.v7;
+
+import com.litespring.annotation.Batched;
+import com.litespring.aop.ProxyFactory;
+import com.litespring.aop.interceptor.BatchedAnnotationAdvisor;
+import com.litespring.jdbc.JdbcTemplate;
+import com.litespring.jdbc.datasource.DataSourceConfig;
+import com.litespring.jdbc.datasource.HikariDataSourceFactory;
+import com.litespring.test.v7.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 微批处理测试：并发的findById合并成一次IN查询
+ * 
+ * @author lite-spring
+ */
+public class BatchedTest {
+    
+    private static JdbcTemplate jdbcTemplate;
+    
+    private UserDao target;
+    private UserDao proxy;
+    private ExecutorService executor;
+    
+    @BeforeAll
+    public static void setUpClass() {
+        DataSourceConfig config = new DataSourceConfig();
+        config.setUrl("jdbc:h2:mem:batchdb;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setDriverClassName("org.h2.Driver");
+        config.setMaximumPoolSize(5);
+        jdbcTemplate = new JdbcTemplate(HikariDataSourceFactory.createDataSource(config));
+        
+        jdbcTemplate.update("DROP TABLE IF EXISTS users");
+        jdbcTemplate.update("CREATE TABLE users (id INT PRIMARY KEY, name VARCHAR(50), age INT, email VARCHAR(100))");
+        for (int i = 1; i <= 20; i++) {
+            jdbcTemplate.update("INSERT INTO users (id, name, age) VALUES (?, ?, ?)", i, "User" + i, 20 + i);
+        }
+    }
+    
+    @BeforeEach
+    public void setUp() {
+        target = new UserDao(jdbcTemplate);
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(target);
+        proxyFactory.addAdvisor(new BatchedAnnotationAdvisor());
+        proxy = (UserDao) proxyFactory.getProxy();
+        executor = Executors.newFixedThreadPool(16);
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * 测试：并发调用合并成少量批量查询，每个调用得到自己的结果
+     */
+    @Test
+    public void testConcurrentCallsAreBatched() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<User>> results = new ArrayList<>();
+        for (int i = 1; i <= 16; i++) {
+            int id = i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return proxy.findById(id);
+            }));
+        }
+        start.countDown();
+        
+        for (int i = 0; i < 16; i++) {
+            User user = results.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals(i + 1, user.getId());
+            assertEquals("User" + (i + 1), user.getName());
+        }
+        
+        int total = 0;
+        for (int size : target.batchSizes) {
+            assertTrue(size <= 8);
+            total += size;
+        }
+        assertEquals(16, total);
+        assertTrue(target.batchSizes.size() < 16, "调用没有被合并: " + target.batchSizes);
+    }
+    
+    /**
+     * 测试：相同的键只查询一次，不存在的键得到null
+     */
+    @Test
+    public void testDuplicateAndMissingKeys() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<User>> results = new ArrayList<>();
+        for (int id : new int[] {3, 3, 999}) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return proxy.findById(id);
+            }));
+        }
+        start.countDown();
+        
+        User first = results.get(0).get(5, TimeUnit.SECONDS);
+        assertEquals("User3", first.getName());
+        assertEquals("User3", results.get(1).get(5, TimeUnit.SECONDS).getName());
+        assertNull(results.get(2).get(5, TimeUnit.SECONDS));
+        
+        // 三个调用在同一个收集窗口内时，重复的键只出现一次
+        if (target.batchSizes.size() == 1) {
+            assertEquals(2, (int) target.batchSizes.get(0));
+        }
+    }
+    
+    /**
+     * 测试：批量方法的异常传递给批次中的所有调用
+     */
+    @Test
+    public void testBatchFailure() {
+        Future<User> result = executor.submit(() -> proxy.findById(-1));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+    
+    /**
+     * 按id查询用户的DAO
+     */
+    public static class UserDao {
+        
+        private final JdbcTemplate jdbcTemplate;
+        
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        
+        public UserDao(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+        
+        @Batched(value = "findByIds", maxBatchSize = 8, maxDelay = 50)
+        public User findById(Integer id) {
+            throw new UnsupportedOperationException("由findByIds批量执行");
+        }
+        
+        public Map<Integer, User> findByIds(Collection<Integer> ids) {
+            batchSizes.add(ids.size());
+            if (ids.contains(-1)) {
+                throw new IllegalArgumentException("无效的id");
+            }
+            Map<Integer, User> users = new HashMap<>();
+            for (User user : jdbcTemplate.queryForIn(
+                    "SELECT * FROM users WHERE id IN (?)", new JdbcTemplateTest.UserRowMapper(), ids)) {
+                users.put(user.getId(), user);
+            }
+            return users;
+        }
+    }
+}
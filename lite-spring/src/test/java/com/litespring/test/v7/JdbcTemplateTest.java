@@ -8,6 +8,8 @@ import com.litespring.test.v7.model.User;
 import org.junit.jupiter.api.*;
 
 import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -198,7 +200,7 @@ public class JdbcTemplateTest {
     public void testBatchUpdate() {
         String sql = "INSERT INTO users (name, age) VALUES (?, ?)";
         
-        List<Object[]> batchArgs = java.util.Arrays.asList(
+        List<Object[]> batchArgs = Arrays.asList(
             new Object[]{"User1", 21},
             new Object[]{"User2", 22},
             new Object[]{"User3", 23}
@@ -241,6 +243,31 @@ public class JdbcTemplateTest {
         System.out.println("Lambda RowMapper：" + user);
     }
     
+    /**
+     * 测试：IN查询
+     */
+    @Test
+    @Order(9)
+    public void testQueryForIn() {
+        for (int i = 1; i <= 5; i++) {
+            jdbcTemplate.update("INSERT INTO users (name, age) VALUES (?, ?)", "User" + i, 20 + i);
+        }
+        
+        List<User> users = jdbcTemplate.queryForIn(
+            "SELECT * FROM users WHERE id IN (?) ORDER BY id", new UserRowMapper(), Arrays.asList(2, 4, 5)
+        );
+        
+        assertEquals(3, users.size());
+        assertEquals("User2", users.get(0).getName());
+        assertEquals("User5", users.get(2).getName());
+        
+        assertTrue(jdbcTemplate.queryForIn(
+            "SELECT * FROM users WHERE id IN (?)", new UserRowMapper(), Collections.emptyList()
+        ).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+            () -> jdbcTemplate.queryForIn("SELECT * FROM users WHERE id = ?", new UserRowMapper(), List.of(1)));
+    }
+    
     // ==================== 辅助类 ====================
     
     /**